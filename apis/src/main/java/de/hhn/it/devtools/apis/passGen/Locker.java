@@ -100,6 +100,38 @@ public interface Locker {
    */
   int getPassword();
 
+  /**
+   * Attempts to unlock the locker with a passcode of variable length.
+   *
+   * @param passcode The passcode packed with {@link PackedPasscode}.
+   * @throws IllegalParameterException If the passcode is incorrect.
+   */
+  void unlockWithPasscode(long passcode) throws IllegalParameterException;
+
+  /**
+   * Sets a new passcode of variable length for the locker, replacing the old one.
+   *
+   * @param newPasscode The new passcode packed with {@link PackedPasscode}.
+   * @throws IllegalParameterException If the new passcode is not valid or too short.
+   */
+  void setPasscode(long newPasscode) throws IllegalParameterException;
+
+  /**
+   * Retrieves the passcode of the locker including its length.
+   *
+   * @return The passcode packed with {@link PackedPasscode}, 0 if the locker has none.
+   */
+  long getPasscode();
+
+  /**
+   * Retrieves the number of digits of new passcodes for this locker.
+   *
+   * @return The passcode length.
+   */
+  default int getPasscodeLength() {
+    return PasscodeGenerator.DEFAULT_LENGTH;
+  }
+
   /**
    * Retrieves the unique identifier for the locker.
    *
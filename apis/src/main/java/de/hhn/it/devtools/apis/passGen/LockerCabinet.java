@@ -18,6 +18,7 @@
 
 package de.hhn.it.devtools.apis.passGen;
 
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
 import java.util.Map;
 
 /**
@@ -69,4 +70,22 @@ public interface LockerCabinet {
    */
   Locker getLocker(int id);
 
+  /**
+   * Gets the number of digits of new passcodes for the lockers of this cabinet.
+   *
+   * @return the passcode length
+   */
+  default int getPasscodeLength() {
+    return PasscodeGenerator.DEFAULT_LENGTH;
+  }
+
+  /**
+   * Sets the number of digits of new passcodes for the lockers of this cabinet.
+   * Existing passcodes stay valid until the lockers are rekeyed.
+   *
+   * @param passcodeLength the passcode length
+   * @throws IllegalParameterException if the length is not supported
+   */
+  void setPasscodeLength(int passcodeLength) throws IllegalParameterException;
+
 }
@@ -19,7 +19,7 @@
 package de.hhn.it.devtools.apis.passGen;
 
 import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
 
 /**
  * This interface provides methods for managing a collection of lockers.
@@ -46,11 +46,12 @@ public interface LockerService {
   void removeCallback(int id, LockerListener listener) throws IllegalParameterException;
 
   /**
-   * Returns a concurrent map of registered lockers with their IDs as keys.
+   * Returns a read-only map of registered lockers with their IDs as keys.
+   * It follows later changes, lockers are added and removed through the admin service.
    *
-   * @return ConcurrentHashMap of registered lockers
+   * @return read-only map of registered lockers
    */
-  ConcurrentHashMap<Integer, Locker> getLockers();
+  Map<Integer, Locker> getLockers();
 
   /**
    * Retrieves a specific locker by its ID.
@@ -81,6 +82,18 @@ public interface LockerService {
    */
   void unlockLocker(int id, int password) throws IllegalParameterException, IllegalStateException;
 
+  /**
+   * Unlocks a locker with the given ID and a passcode of variable length.
+   *
+   * @param id       ID of the locker
+   * @param passcode Passcode packed with {@link PackedPasscode}
+   * @throws IllegalParameterException if the ID is invalid or the passcode is incorrect
+   * @throws IllegalStateException     if the locker's current state
+   *                                   does not allow it to be unlocked
+   */
+  void unlockLockerWithPasscode(int id, long passcode)
+          throws IllegalParameterException, IllegalStateException;
+
   /**
    * Locks a locker with the given ID.
    *
@@ -132,4 +145,71 @@ public interface LockerService {
   void setLockerPassword(int id, int newPassword)
           throws IllegalParameterException, IllegalStateException;
 
+  /**
+   * Sets a passcode of variable length for a locker with the given ID.
+   *
+   * @param id          ID of the locker
+   * @param newPasscode The new passcode packed with {@link PackedPasscode}
+   * @throws IllegalParameterException if the ID or the passcode is invalid
+   * @throws IllegalStateException     if the locker's current state
+   *                                   does not allow a new passcode to be set
+   */
+  void setLockerPasscode(int id, long newPasscode)
+          throws IllegalParameterException, IllegalStateException;
+
+  /**
+   * Creates new passwords for all lockers with the given IDs in one call.
+   * All IDs and states are checked before the first password is set, so nothing is changed
+   * if one of them is invalid. The passwords are then set one locker after the other and
+   * not as one atomic step: if no password can be found for a locker, the lockers before it
+   * keep their new passwords.
+   *
+   * @param ids IDs of the lockers
+   * @throws IllegalParameterException if the IDs are null, one of the IDs is invalid
+   *                                   or no usable password was found for a locker
+   * @throws IllegalStateException     if the state of one of the lockers
+   *                                   does not allow a new password to be set
+   */
+  void createLockerPasswords(int[] ids) throws IllegalParameterException, IllegalStateException;
+
+  /**
+   * Creates new passwords for all active lockers of a locker cabinet in one call.
+   *
+   * @param cabinetId ID of the locker cabinet
+   * @return number of lockers that got a new password
+   * @throws IllegalParameterException if a locker cabinet with this ID does not exist
+   */
+  int createLockerCabinetPasswords(int cabinetId) throws IllegalParameterException;
+
+  /**
+   * Claims a free locker for a user. A free locker is a deactivated one, it is activated in
+   * one atomic step, so two users claiming at the same time never get the same locker.
+   * Deactivating the locker frees it again.
+   *
+   * @return ID of the claimed locker
+   * @throws IllegalStateException if no locker is free
+   */
+  int claimLocker() throws IllegalStateException;
+
+  /**
+   * Claims a free locker in the locker cabinet with the given ID, like {@link #claimLocker()}.
+   *
+   * @param cabinetId ID of the locker cabinet
+   * @return ID of the claimed locker
+   * @throws IllegalParameterException if a locker cabinet with this ID does not exist
+   * @throws IllegalStateException     if no locker in the cabinet is free
+   */
+  int claimLocker(int cabinetId) throws IllegalParameterException, IllegalStateException;
+
+  /**
+   * Claims a free locker in one of the locker cabinets at the given location,
+   * like {@link #claimLocker()}.
+   *
+   * @param location location of the locker cabinets
+   * @return ID of the claimed locker
+   * @throws IllegalParameterException if there is no locker cabinet at the location
+   * @throws IllegalStateException     if no locker at the location is free
+   */
+  int claimLocker(String location) throws IllegalParameterException, IllegalStateException;
+
 }
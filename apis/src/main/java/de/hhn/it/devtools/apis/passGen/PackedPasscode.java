@@ -0,0 +1,177 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.apis.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+
+/**
+ * Helper for passcodes of variable length that are stored in a single long.
+ * The lower 60 bits hold the digits as a number and the upper 4 bits hold the length,
+ * so leading zeros are kept and two passcodes are compared with one long comparison.
+ * A packed passcode is never 0, which stays free for "no passcode".
+ */
+public final class PackedPasscode {
+
+  /**
+   * The shortest supported passcode.
+   */
+  public static final int MIN_LENGTH = 4;
+
+  /**
+   * The longest supported passcode.
+   */
+  public static final int MAX_LENGTH = 18;
+
+  private static final int LENGTH_SHIFT = 60;
+  private static final long VALUE_MASK = (1L << LENGTH_SHIFT) - 1;
+  // stored length is length - LENGTH_OFFSET, so the length bits are never zero
+  private static final int LENGTH_OFFSET = MIN_LENGTH - 1;
+  private static final long[] POWERS_OF_TEN = new long[MAX_LENGTH + 1];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i <= MAX_LENGTH; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  private PackedPasscode() {
+  }
+
+  /**
+   * Packs the digits of a passcode and its length.
+   *
+   * @param value  the digits as a number, leading zeros are given by the length
+   * @param length number of digits
+   * @return the packed passcode
+   * @throws IllegalParameterException if the length is not supported or the value has more digits
+   */
+  public static long of(long value, int length) throws IllegalParameterException {
+    if (length < MIN_LENGTH || length > MAX_LENGTH) {
+      throw new IllegalParameterException("A passcode has to have between " + MIN_LENGTH
+          + " and " + MAX_LENGTH + " digits.");
+    }
+    if (value < 0 || value >= POWERS_OF_TEN[length]) {
+      throw new IllegalParameterException("The passcode " + value + " does not have "
+          + length + " digits.");
+    }
+    return pack(value, length);
+  }
+
+  /**
+   * Packs a passcode without checking it.
+   * Only for callers that have already made sure the value has at most the given digits.
+   *
+   * @param value  the digits as a number
+   * @param length number of digits
+   * @return the packed passcode
+   */
+  public static long pack(long value, int length) {
+    return ((long) (length - LENGTH_OFFSET) << LENGTH_SHIFT) | value;
+  }
+
+  /**
+   * Packs an int password, its length is the number of its digits.
+   *
+   * @param password a positive password
+   * @return the packed passcode or 0 if the password is not positive or too short
+   */
+  public static long fromPassword(int password) {
+    if (password <= 0) {
+      return 0;
+    }
+    int length = digitCount(password);
+    return length < MIN_LENGTH ? 0 : pack(password, length);
+  }
+
+  /**
+   * Parses a passcode, leading zeros are kept.
+   *
+   * @param digits the digits of the passcode
+   * @return the packed passcode
+   * @throws IllegalParameterException if the text is not a passcode of a supported length
+   */
+  public static long parse(String digits) throws IllegalParameterException {
+    if (digits == null) {
+      throw new IllegalParameterException("Passcode is a null reference.");
+    }
+    long value = 0;
+    for (int i = 0; i < digits.length(); i++) {
+      char digit = digits.charAt(i);
+      if (digit < '0' || digit > '9' || i >= MAX_LENGTH) {
+        throw new IllegalParameterException("The passcode " + digits + " is not valid.");
+      }
+      value = value * 10 + (digit - '0');
+    }
+    return of(value, digits.length());
+  }
+
+  /**
+   * Getter for the digits of a packed passcode as a number.
+   *
+   * @param passcode the packed passcode
+   * @return the digits without leading zeros
+   */
+  public static long valueOf(long passcode) {
+    return passcode & VALUE_MASK;
+  }
+
+  /**
+   * Getter for the length of a packed passcode.
+   *
+   * @param passcode the packed passcode
+   * @return number of digits or 0 for no passcode
+   */
+  public static int lengthOf(long passcode) {
+    return passcode == 0 ? 0 : (int) (passcode >>> LENGTH_SHIFT) + LENGTH_OFFSET;
+  }
+
+  /**
+   * Returns the number of passcodes with the given length.
+   *
+   * @param length number of digits
+   * @return 10 to the power of the length
+   */
+  public static long spaceOf(int length) {
+    return POWERS_OF_TEN[length];
+  }
+
+  /**
+   * Formats a packed passcode with its leading zeros.
+   *
+   * @param passcode the packed passcode
+   * @return the digits or an empty string for no passcode
+   */
+  public static String toString(long passcode) {
+    if (passcode == 0) {
+      return "";
+    }
+    String digits = Long.toString(valueOf(passcode));
+    return "0".repeat(lengthOf(passcode) - digits.length()) + digits;
+  }
+
+  private static int digitCount(int value) {
+    int count = 1;
+    while (value >= 10) {
+      value /= 10;
+      count++;
+    }
+    return count;
+  }
+}
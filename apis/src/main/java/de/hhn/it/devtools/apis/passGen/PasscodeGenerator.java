@@ -39,4 +39,39 @@ public interface PasscodeGenerator {
    */
   int createPasscode() throws IllegalParameterException;
 
+  /**
+   * Creates a passcode with the given length that may start with zeros.
+   * Generators that only support the default length reject every other length.
+   *
+   * @param length number of digits, see {@link PackedPasscode#MIN_LENGTH} and
+   *               {@link PackedPasscode#MAX_LENGTH}
+   * @return the passcode packed with {@link PackedPasscode}
+   * @throws IllegalParameterException if the length is not supported
+   */
+  default long createPasscode(int length) throws IllegalParameterException {
+    if (length != DEFAULT_LENGTH) {
+      throw new IllegalParameterException("Passcodes with " + length
+          + " digits are not supported.");
+    }
+    return PackedPasscode.of(createPasscode(), DEFAULT_LENGTH);
+  }
+
+  /**
+   * Creates several passcodes at once and writes them to the start of the given array.
+   * Every passcode has the default length.
+   *
+   * @param count number of passcodes to be created
+   * @param out   array that receives the passcodes
+   * @throws IllegalParameterException if the array is null or count is negative
+   *                                   or larger than the array
+   */
+  default void createPasscodes(int count, int[] out) throws IllegalParameterException {
+    if (out == null || count < 0 || count > out.length) {
+      throw new IllegalParameterException("Cannot create " + count + " passcodes.");
+    }
+    for (int i = 0; i < count; i++) {
+      out[i] = createPasscode();
+    }
+  }
+
 }
\ No newline at end of file
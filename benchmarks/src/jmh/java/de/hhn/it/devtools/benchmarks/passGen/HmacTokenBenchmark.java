@@ -0,0 +1,96 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.components.passGen.provider.HmacTokenService;
+import de.hhn.it.devtools.components.passGen.provider.TokenFilterConfig;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures issuing and verifying signed tokens with {@link HmacTokenService}, to compare with
+ * the lookups in {@link TokenBenchmark} and {@link UserManagementBenchmark}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class HmacTokenBenchmark {
+
+  // with the Bloom filter, valid tokens are verified without the revocation set
+  @Param({"false", "true"})
+  public boolean revokedFilter;
+
+  private HmacTokenService service;
+  private String token;
+  private String revokedToken;
+
+  /**
+   * Creates the service, a valid token and a revoked one.
+   *
+   * @throws IllegalParameterException if the key is invalid
+   */
+  @Setup
+  public void setUp() throws IllegalParameterException {
+    service = new HmacTokenService(HmacTokenService.createKey());
+    if (revokedFilter) {
+      service.setTokenFilterConfig(new TokenFilterConfig());
+    }
+    token = service.issueToken(1);
+    revokedToken = service.issueToken(2);
+    service.revokeToken(revokedToken);
+  }
+
+  /**
+   * Issues a token.
+   *
+   * @return the token
+   */
+  @Benchmark
+  public String issueToken() {
+    return service.issueToken(1);
+  }
+
+  /**
+   * Verifies a valid token.
+   *
+   * @return the user id
+   */
+  @Benchmark
+  public int verifyToken() {
+    return service.verifyToken(token);
+  }
+
+  /**
+   * Verifies a revoked token.
+   *
+   * @return 0
+   */
+  @Benchmark
+  public int verifyRevokedToken() {
+    return service.verifyToken(revokedToken);
+  }
+}
@@ -0,0 +1,108 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.apis.passGen.Locker;
+import de.hhn.it.devtools.components.passGen.provider.IntObjectMap;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLocker;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares looking up lockers by id in a {@link ConcurrentHashMap} with boxed keys, as the
+ * locker repository did, with an {@link IntObjectMap}. The ids are drawn at random, so
+ * most of them are above the range of the Integer cache once there are more than 127.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class IntMapBenchmark {
+
+  @Param({"64", "4096", "1000000"})
+  public int lockerCount;
+
+  private ConcurrentHashMap<Integer, Locker> boxedMap;
+  private IntObjectMap<Locker> intMap;
+
+  /**
+   * Puts the same lockers into both maps.
+   */
+  @Setup
+  public void setUp() {
+    boxedMap = new ConcurrentHashMap<>();
+    intMap = new IntObjectMap<>();
+    for (int id = 1; id <= lockerCount; id++) {
+      Locker locker = new SimpleLocker(id, null, "Benchmark");
+      boxedMap.put(id, locker);
+      intMap.put(id, locker);
+    }
+  }
+
+  /**
+   * Looks up a random locker in the map with boxed keys.
+   *
+   * @return the locker
+   */
+  @Benchmark
+  public Locker boxedGet() {
+    return boxedMap.get(1 + ThreadLocalRandom.current().nextInt(lockerCount));
+  }
+
+  /**
+   * Looks up a random locker in the map with int keys.
+   *
+   * @return the locker
+   */
+  @Benchmark
+  public Locker intGet() {
+    return intMap.get(1 + ThreadLocalRandom.current().nextInt(lockerCount));
+  }
+
+  /**
+   * Looks up a random locker in the map with boxed keys on four threads.
+   *
+   * @return the locker
+   */
+  @Benchmark
+  @Threads(4)
+  public Locker boxedGetShared() {
+    return boxedGet();
+  }
+
+  /**
+   * Looks up a random locker in the map with int keys on four threads.
+   *
+   * @return the locker
+   */
+  @Benchmark
+  @Threads(4)
+  public Locker intGetShared() {
+    return intGet();
+  }
+}
@@ -0,0 +1,103 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.passGen.LockerCabinet;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.components.passGen.provider.SimpleAdminLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SingletonLockerRepository;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures claiming a free locker through {@link SimpleLockerService#claimLocker()} and
+ * freeing it again, on one thread and on eight threads that race for the same lockers.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LockerClaimBenchmark {
+
+  @Param({"64", "4096"})
+  public int lockerCount;
+
+  private SimpleLockerService lockerService;
+
+  /**
+   * Creates the lockers and deactivates them, so they are free.
+   *
+   * @throws IllegalParameterException if a locker cannot be set up
+   */
+  @Setup
+  public void setUp() throws IllegalParameterException {
+    SingletonLockerRepository.getInstance().resetRepository();
+    SimpleAdminLockerService adminLockerService = new SimpleAdminLockerService();
+    LockerCabinet cabinet = adminLockerService.getLockerCabinet(
+        adminLockerService.createLockerCabinet("Benchmark"));
+    lockerService = new SimpleLockerService();
+    for (int i = 0; i < lockerCount; i++) {
+      int id = adminLockerService.createLocker(cabinet, "Benchmark");
+      adminLockerService.setLockerState(id, LockerState.DEACTIVATED);
+    }
+  }
+
+  /**
+   * Removes the lockers again.
+   */
+  @TearDown
+  public void tearDown() {
+    SingletonLockerRepository.getInstance().resetRepository();
+  }
+
+  /**
+   * Claims a locker and frees it again on a single thread.
+   *
+   * @return id of the claimed locker
+   * @throws IllegalParameterException if the claimed locker does not exist
+   */
+  @Benchmark
+  public int claimAndFree() throws IllegalParameterException {
+    int id = lockerService.claimLocker();
+    lockerService.deactivateLocker(id);
+    return id;
+  }
+
+  /**
+   * Claims a locker and frees it again while seven other threads do the same.
+   *
+   * @return id of the claimed locker
+   * @throws IllegalParameterException if the claimed locker does not exist
+   */
+  @Benchmark
+  @Threads(8)
+  public int claimAndFreeContended() throws IllegalParameterException {
+    return claimAndFree();
+  }
+}
@@ -0,0 +1,112 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.apis.passGen.Locker;
+import de.hhn.it.devtools.apis.passGen.LockerCabinet;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.components.passGen.provider.CompactLockerStore;
+import de.hhn.it.devtools.components.passGen.provider.LockerStorage;
+import de.hhn.it.devtools.components.passGen.provider.SimpleAdminLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLocker;
+import de.hhn.it.devtools.components.passGen.provider.SingletonLockerRepository;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the heap that lockers take up, once as {@link SimpleLocker} objects in a
+ * {@link ConcurrentHashMap} like the one of the locker repository and once in a
+ * {@link CompactLockerStore}, and then as the admin service creates them in the repository
+ * with each {@link LockerStorage}, including the indexes of the repository.
+ * Works like {@link TokenFootprint}.
+ * Run it with {@code ./gradlew :benchmarks:lockerFootprint}.
+ */
+public final class LockerFootprint {
+  private static final int DEFAULT_LOCKER_COUNT = 1_000_000;
+
+  private LockerFootprint() {
+  }
+
+  /**
+   * Prints the bytes per locker of both locker implementations.
+   *
+   * @param args optional number of lockers, one million by default
+   */
+  public static void main(String[] args) {
+    int lockerCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LOCKER_COUNT;
+
+    long before = usedHeap();
+    ConcurrentHashMap<Integer, Locker> lockers = new ConcurrentHashMap<>();
+    for (int id = 1; id <= lockerCount; id++) {
+      lockers.put(id, new SimpleLocker(id, null, "Campus"));
+    }
+    long mapBytes = usedHeap() - before;
+    report("SimpleLocker map", mapBytes, lockerCount);
+
+    before = usedHeap();
+    CompactLockerStore store = new CompactLockerStore();
+    for (int i = 0; i < lockerCount; i++) {
+      store.addLocker(0, LockerState.LOCKED);
+    }
+    long compactBytes = usedHeap() - before;
+    report("CompactLockerStore", compactBytes, lockerCount);
+    System.out.printf("CompactLockerStore arrays: %d bytes%n", store.getFootprintBytes());
+
+    // keep both alive until everything has been measured
+    if (lockers.size() != lockerCount || store.size() != lockerCount) {
+      throw new IllegalStateException("Lockers went missing during the measurement.");
+    }
+    lockers = null;
+    store = null;
+
+    for (LockerStorage storage : LockerStorage.values()) {
+      report("Repository " + storage, repositoryBytes(storage, lockerCount), lockerCount);
+    }
+  }
+
+  private static long repositoryBytes(LockerStorage storage, int lockerCount) {
+    SingletonLockerRepository repository = SingletonLockerRepository.getInstance();
+    repository.resetRepository();
+    repository.setLockerStorage(storage);
+    SimpleAdminLockerService admin = new SimpleAdminLockerService();
+    LockerCabinet cabinet = repository.getLockerCabinet(admin.createLockerCabinet("Campus"));
+    long before = usedHeap();
+    for (int i = 0; i < lockerCount; i++) {
+      admin.createLocker(cabinet, "Campus");
+    }
+    long bytes = usedHeap() - before;
+    if (repository.getLockers().size() != lockerCount) {
+      throw new IllegalStateException("Lockers went missing during the measurement.");
+    }
+    repository.resetRepository();
+    return bytes;
+  }
+
+  private static void report(String name, long bytes, int lockerCount) {
+    System.out.printf("%-20s %,d lockers: %,d bytes, %.1f bytes per locker%n", name,
+        lockerCount, bytes, (double) bytes / lockerCount);
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,117 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.apis.passGen.Locker;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.components.passGen.provider.CompactLockerStore;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLocker;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures a query for the lockers in one state, once as a full scan over
+ * {@link SimpleLocker} objects in a {@link ConcurrentHashMap} like the one of the locker
+ * repository and once with the state index of a {@link CompactLockerStore}.
+ * Every eighth locker is active.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LockerScanBenchmark {
+
+  @Param({"4096", "1000000"})
+  public int lockerCount;
+
+  private ConcurrentHashMap<Integer, Locker> lockers;
+  private CompactLockerStore store;
+
+  /**
+   * Creates the same lockers in the map and in the store.
+   */
+  @Setup
+  public void setUp() {
+    lockers = new ConcurrentHashMap<>();
+    store = new CompactLockerStore(lockerCount);
+    for (int i = 0; i < lockerCount; i++) {
+      LockerState state = i % 8 == 0 ? LockerState.ACTIVE : LockerState.DEACTIVATED;
+      int id = store.addLocker(0, state);
+      SimpleLocker locker = new SimpleLocker(id, null, "Campus");
+      locker.adminSetState(state);
+      lockers.put(id, locker);
+    }
+  }
+
+  /**
+   * Counts the active lockers by asking every locker of the map for its state.
+   *
+   * @return number of active lockers
+   */
+  @Benchmark
+  public int countMap() {
+    int count = 0;
+    for (Locker locker : lockers.values()) {
+      if (locker.getState() == LockerState.ACTIVE) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Counts the active lockers with the state index of the store.
+   *
+   * @return number of active lockers
+   */
+  @Benchmark
+  public int countStore() {
+    return store.count(LockerState.ACTIVE);
+  }
+
+  /**
+   * Collects the ids of the active lockers of the map.
+   *
+   * @return ids of the active lockers
+   */
+  @Benchmark
+  public int[] findMap() {
+    return lockers.values().stream()
+        .filter(locker -> locker.getState() == LockerState.ACTIVE)
+        .mapToInt(Locker::getId)
+        .toArray();
+  }
+
+  /**
+   * Collects the ids of the active lockers from the state index of the store.
+   *
+   * @return ids of the active lockers
+   */
+  @Benchmark
+  public int[] findStore() {
+    return store.findLockers(LockerState.ACTIVE);
+  }
+}
@@ -0,0 +1,137 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import de.hhn.it.devtools.apis.passGen.LockerCabinet;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.components.passGen.provider.SimpleAdminLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SingletonLockerRepository;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures unlocking and locking through {@link SimpleLockerService}.
+ * In the contended group four threads unlock and four threads lock the same lockers,
+ * calls that lose a race against the other side end with an exception and count as well.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LockerServiceBenchmark {
+
+  private static final int PASSWORD = 987123;
+
+  @Param({"1", "64", "4096"})
+  public int lockerCount;
+
+  private SimpleLockerService lockerService;
+  private int[] lockerIds;
+
+  /**
+   * Creates the lockers, activates them and sets their password.
+   *
+   * @throws IllegalParameterException if a locker cannot be set up
+   */
+  @Setup
+  public void setUp() throws IllegalParameterException {
+    SingletonLockerRepository.getInstance().resetRepository();
+    SimpleAdminLockerService adminLockerService = new SimpleAdminLockerService();
+    LockerCabinet cabinet = adminLockerService.getLockerCabinet(
+        adminLockerService.createLockerCabinet("Benchmark"));
+    lockerService = new SimpleLockerService();
+    lockerIds = new int[lockerCount];
+    for (int i = 0; i < lockerCount; i++) {
+      lockerIds[i] = adminLockerService.createLocker(cabinet, "Benchmark");
+      adminLockerService.setLockerState(lockerIds[i], LockerState.ACTIVE);
+      lockerService.setLockerPassword(lockerIds[i], PASSWORD);
+    }
+  }
+
+  /**
+   * Removes the lockers again.
+   */
+  @TearDown
+  public void tearDown() {
+    SingletonLockerRepository.getInstance().resetRepository();
+  }
+
+  /**
+   * Unlocks and locks a random locker on a single thread.
+   *
+   * @throws IllegalParameterException if the password is wrong
+   */
+  @Benchmark
+  public void unlockAndLock() throws IllegalParameterException {
+    int id = lockerIds[ThreadLocalRandom.current().nextInt(lockerCount)];
+    lockerService.unlockLocker(id, PASSWORD);
+    lockerService.lockLocker(id);
+  }
+
+  /**
+   * Unlocks a random locker while other threads lock them.
+   *
+   * @return true if the locker was unlocked, false if it was not in a state to be unlocked
+   * @throws IllegalParameterException if the password is wrong
+   */
+  @Benchmark
+  @Group("contended")
+  @GroupThreads(4)
+  public boolean unlockLocker() throws IllegalParameterException {
+    int id = lockerIds[ThreadLocalRandom.current().nextInt(lockerCount)];
+    try {
+      lockerService.unlockLocker(id, PASSWORD);
+      return true;
+    } catch (IllegalStateException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Locks a random locker while other threads unlock them.
+   *
+   * @return true if the locker was locked, false if it was not in a state to be locked
+   * @throws IllegalParameterException if the locker does not exist
+   */
+  @Benchmark
+  @Group("contended")
+  @GroupThreads(4)
+  public boolean lockLocker() throws IllegalParameterException {
+    int id = lockerIds[ThreadLocalRandom.current().nextInt(lockerCount)];
+    try {
+      lockerService.lockLocker(id);
+      return true;
+    } catch (IllegalStateException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.components.passGen.provider.CredentialExecutor;
+import de.hhn.it.devtools.components.passGen.provider.PasswordHasher;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Finds the highest PBKDF2 work factor at which the 99th percentile of the login latency stays
+ * below a target at a given login rate. Logins are started on a fixed schedule with
+ * {@link SimpleUserManagementService#loginAsync}, whether the earlier ones have finished or
+ * not, and the latency is counted from the scheduled start, so waiting in the queue of the
+ * {@link CredentialExecutor} is part of it. JMH measures closed loops only, so this runs
+ * outside of it.
+ * Run it with {@code ./gradlew :benchmarks:loginLatency -Pargs="rate targetMillis seconds"}.
+ */
+public final class LoginLatencyProbe {
+  private static final int[] WORK_FACTORS = {10_000, 25_000, 50_000, 100_000, 210_000,
+      310_000, 600_000, 1_200_000};
+  private static final int USER_COUNT = 8;
+
+  private LoginLatencyProbe() {
+  }
+
+  /**
+   * Prints the latencies per work factor and the highest work factor within the target.
+   *
+   * @param args optional login rate per second (20), p99 target in milliseconds (250),
+   *             seconds per work factor (5) and number of pool threads (one per processor)
+   * @throws IllegalParameterException if a work factor is invalid
+   */
+  public static void main(String[] args) throws IllegalParameterException {
+    int rate = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+    long targetMillis = args.length > 1 ? Long.parseLong(args[1]) : 250;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+    int threads = args.length > 3 ? Integer.parseInt(args[3])
+        : Runtime.getRuntime().availableProcessors();
+    System.out.printf("%d logins/s for %d s per work factor, p99 target %d ms, %d threads%n",
+        rate, seconds, targetMillis, threads);
+    System.out.printf("%10s %10s %10s %10s %10s %10s%n", "iterations", "hash ms", "p50 ms",
+        "p99 ms", "max queue", "refused");
+
+    int best = 0;
+    for (int iterations : WORK_FACTORS) {
+      PasswordHasher hasher = new PasswordHasher(iterations);
+      long hashStart = System.nanoTime();
+      String hash = hasher.hash("password");
+      double hashMillis = (System.nanoTime() - hashStart) / 1e6;
+      if (!PasswordHasher.matches("password", hash)) {
+        throw new IllegalStateException("Hash does not match its password.");
+      }
+
+      SimpleUserManagementService service = new SimpleUserManagementService();
+      service.setPasswordHasher(hasher);
+      for (int i = 0; i < USER_COUNT; i++) {
+        service.createUser("user" + i + "@example.com", "password" + i, true);
+      }
+      try (CredentialExecutor executor = new CredentialExecutor(threads,
+          CredentialExecutor.DEFAULT_QUEUE_CAPACITY)) {
+        service.setCredentialExecutor(executor);
+        long[] latencies = run(service, rate, seconds);
+        Arrays.sort(latencies);
+        double p50 = latencies[latencies.length / 2] / 1e6;
+        double p99 = latencies[(int) Math.ceil(latencies.length * 0.99) - 1] / 1e6;
+        System.out.printf("%,10d %10.1f %10.1f %10.1f %10d %10d%n", iterations, hashMillis,
+            p50, p99, executor.getMaxQueueDepth(), executor.getRejectedCount());
+        if (p99 > targetMillis || executor.getRejectedCount() > 0) {
+          // higher work factors only take longer
+          break;
+        }
+        best = iterations;
+      }
+    }
+    if (best == 0) {
+      System.out.printf("No work factor keeps the p99 below %d ms at %d logins/s%n",
+          targetMillis, rate);
+    } else {
+      System.out.printf("Highest work factor within the target: %,d iterations%n", best);
+    }
+  }
+
+  /**
+   * Starts logins on a fixed schedule and waits until all have finished.
+   *
+   * @return the latency of every login in nanoseconds, refused logins count as infinite
+   */
+  private static long[] run(SimpleUserManagementService service, int rate, int seconds) {
+    int count = rate * seconds;
+    long periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+    long[] latencies = new long[count];
+    CompletableFuture<?>[] logins = new CompletableFuture<?>[count];
+    AtomicInteger failures = new AtomicInteger();
+    long start = System.nanoTime();
+    for (int i = 0; i < count; i++) {
+      long scheduled = start + i * periodNanos;
+      long wait = scheduled - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      int index = i;
+      int user = i % USER_COUNT;
+      logins[i] = service.loginAsync("user" + user + "@example.com", "password" + user)
+          .handle((ignored, failure) -> {
+            latencies[index] = failure == null ? System.nanoTime() - scheduled : Long.MAX_VALUE;
+            if (failure != null) {
+              failures.incrementAndGet();
+            }
+            return null;
+          });
+    }
+    CompletableFuture.allOf(logins).join();
+    if (failures.get() > 0) {
+      System.out.printf("%d logins failed or were refused%n", failures.get());
+    }
+    return latencies;
+  }
+}
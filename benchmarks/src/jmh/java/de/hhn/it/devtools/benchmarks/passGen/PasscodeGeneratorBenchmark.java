@@ -0,0 +1,73 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
+import de.hhn.it.devtools.components.passGen.provider.PrimitivePasscodeGenerator;
+import de.hhn.it.devtools.components.passGen.provider.SimplePasscodeGenerator;
+import de.hhn.it.devtools.components.passGen.provider.TablePasscodeGenerator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the creation of a single passcode.
+ * The simple generator is the baseline, the other generators are listed for comparison.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PasscodeGeneratorBenchmark {
+
+  @Param({"simple", "primitive", "table"})
+  public String generator;
+
+  private PasscodeGenerator passcodeGenerator;
+
+  /**
+   * Creates the generator under test.
+   */
+  @Setup
+  public void setUp() {
+    switch (generator) {
+      case "simple" -> passcodeGenerator = new SimplePasscodeGenerator();
+      case "primitive" -> passcodeGenerator = new PrimitivePasscodeGenerator();
+      case "table" -> passcodeGenerator = new TablePasscodeGenerator();
+      default -> throw new IllegalArgumentException("Unknown generator " + generator);
+    }
+  }
+
+  /**
+   * Creates one passcode of the default length.
+   *
+   * @return the passcode
+   * @throws IllegalParameterException if the generator fails
+   */
+  @Benchmark
+  public int createPasscode() throws IllegalParameterException {
+    return passcodeGenerator.createPasscode();
+  }
+}
@@ -0,0 +1,167 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.components.passGen.provider.BufferedRandomSource;
+import de.hhn.it.devtools.components.passGen.provider.DrbgRandomSource;
+import de.hhn.it.devtools.components.passGen.provider.RandomSource;
+import de.hhn.it.devtools.components.passGen.provider.SeededRandomSource;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the throughput of the random sources at 1, 8 and 32 threads.
+ * The "shared" source is the single static SecureRandom that the token generation used before,
+ * so it shows how much the callers wait for each other.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RandomSourceBenchmark {
+
+  @Param({"shared", "drbg", "buffered", "seeded"})
+  public String source;
+
+  private RandomSource randomSource;
+
+  /**
+   * Creates the random source under test.
+   */
+  @Setup
+  public void setUp() {
+    switch (source) {
+      case "shared" -> randomSource = new SharedSecureRandomSource();
+      case "drbg" -> randomSource = new DrbgRandomSource();
+      case "buffered" -> randomSource = new BufferedRandomSource();
+      case "seeded" -> randomSource = new SeededRandomSource(42L);
+      default -> throw new IllegalArgumentException("Unknown random source " + source);
+    }
+  }
+
+  /**
+   * Draws the bytes of one token with a single thread.
+   *
+   * @param bytes per-thread token buffer
+   * @return the buffer
+   */
+  @Benchmark
+  @Threads(1)
+  public byte[] tokenBytes1(TokenBuffer bytes) {
+    randomSource.nextBytes(bytes.value);
+    return bytes.value;
+  }
+
+  /**
+   * Draws the bytes of one token with eight threads.
+   *
+   * @param bytes per-thread token buffer
+   * @return the buffer
+   */
+  @Benchmark
+  @Threads(8)
+  public byte[] tokenBytes8(TokenBuffer bytes) {
+    randomSource.nextBytes(bytes.value);
+    return bytes.value;
+  }
+
+  /**
+   * Draws the bytes of one token with 32 threads.
+   *
+   * @param bytes per-thread token buffer
+   * @return the buffer
+   */
+  @Benchmark
+  @Threads(32)
+  public byte[] tokenBytes32(TokenBuffer bytes) {
+    randomSource.nextBytes(bytes.value);
+    return bytes.value;
+  }
+
+  /**
+   * Draws one passcode digit with a single thread.
+   *
+   * @return the digit
+   */
+  @Benchmark
+  @Threads(1)
+  public int digit1() {
+    return randomSource.nextInt(10);
+  }
+
+  /**
+   * Draws one passcode digit with eight threads.
+   *
+   * @return the digit
+   */
+  @Benchmark
+  @Threads(8)
+  public int digit8() {
+    return randomSource.nextInt(10);
+  }
+
+  /**
+   * Draws one passcode digit with 32 threads.
+   *
+   * @return the digit
+   */
+  @Benchmark
+  @Threads(32)
+  public int digit32() {
+    return randomSource.nextInt(10);
+  }
+
+  /**
+   * Buffer for the eight random bytes of a token, one per thread.
+   */
+  @State(Scope.Thread)
+  public static class TokenBuffer {
+    final byte[] value = new byte[8];
+  }
+
+  /**
+   * The former token entropy: one SecureRandom shared by all threads.
+   */
+  static final class SharedSecureRandomSource implements RandomSource {
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Override
+    public int nextInt(int bound) {
+      return secureRandom.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+      return secureRandom.nextLong();
+    }
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+      secureRandom.nextBytes(bytes);
+    }
+  }
+}
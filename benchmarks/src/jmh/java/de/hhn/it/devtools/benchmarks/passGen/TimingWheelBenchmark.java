@@ -0,0 +1,98 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.components.passGen.provider.TimingWheel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the {@link TimingWheel} that expires tokens while millions of tasks are pending.
+ * The wheel is driven by a clock of the benchmark instead of its own thread.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TimingWheelBenchmark {
+  private static final long TICK_MILLIS = 1000;
+  private static final Runnable NOTHING = () -> { };
+
+  @Param({"10000", "1000000"})
+  public int pendingCount;
+
+  private final AtomicLong clock = new AtomicLong();
+  private TimingWheel wheel;
+  private long nextDelay;
+
+  /**
+   * Fills the wheel with tasks spread over the lifetime of a token.
+   */
+  @Setup
+  public void setUp() {
+    wheel = new TimingWheel(TICK_MILLIS, clock::get);
+    for (int i = 0; i < pendingCount; i++) {
+      wheel.schedule(NOTHING, 1 + i % 599, TimeUnit.SECONDS);
+    }
+    wheel.advance();
+  }
+
+  /**
+   * Closes the wheel.
+   */
+  @TearDown
+  public void tearDown() {
+    wheel.close();
+  }
+
+  /**
+   * Schedules a task and cancels it again, like a token that is removed before it expires.
+   *
+   * @return true
+   */
+  @Benchmark
+  public boolean scheduleAndCancel() {
+    TimingWheel.Timeout timeout = wheel.schedule(NOTHING, 599, TimeUnit.SECONDS);
+    boolean cancelled = timeout.cancel();
+    wheel.advance();
+    return cancelled;
+  }
+
+  /**
+   * Schedules a task and moves the clock by a 64th of a tick, so every 64th call runs the
+   * tasks of a whole tick.
+   * The number of pending tasks stays about the same.
+   *
+   * @return number of tasks that ran
+   */
+  @Benchmark
+  public int scheduleAndTick() {
+    wheel.schedule(NOTHING, 1 + nextDelay++ % 599, TimeUnit.SECONDS);
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS) / 64);
+    return wheel.advance();
+  }
+}
@@ -0,0 +1,123 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.TooManyTokensException;
+import de.hhn.it.devtools.components.passGen.provider.CompactTokenStore;
+import de.hhn.it.devtools.components.passGen.provider.SimpleToken;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUser;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import de.hhn.it.devtools.components.passGen.provider.TokenIssue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares issuing the tokens of a team one by one with issuing them as a batch,
+ * for {@link SimpleToken} and for {@link CompactTokenStore}.
+ * The tokens of the team are removed before every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class TokenBatchBenchmark {
+
+  @Param({"simple", "compact"})
+  public String store;
+
+  @Param({"16", "256"})
+  public int teamSize;
+
+  private SimpleUserManagementService userService;
+  private SimpleToken simpleTokens;
+  private CompactTokenStore compactTokens;
+  private List<Integer> team;
+
+  /**
+   * Creates the users of the team.
+   */
+  @Setup
+  public void setUp() {
+    userService = new SimpleUserManagementService();
+    simpleTokens = new SimpleToken(null, new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+        userService);
+    compactTokens = new CompactTokenStore();
+    team = new ArrayList<>();
+    for (int i = 0; i < teamSize; i++) {
+      team.add(userService.createUser("user" + i + "@example.com", "password" + i, true));
+    }
+  }
+
+  /**
+   * Takes the tokens of the team away.
+   */
+  @Setup(Level.Invocation)
+  public void removeTokens() {
+    for (int userId : team) {
+      if ("simple".equals(store)) {
+        SimpleUser user = userService.getUser(userId);
+        if (user.getToken() != null) {
+          simpleTokens.removeTokenTimeInfo(user.getToken());
+          user.removeTokenFromUser();
+        }
+      } else {
+        compactTokens.removeToken(userId);
+      }
+    }
+  }
+
+  /**
+   * Issues the tokens of the team one by one.
+   *
+   * @throws TooManyTokensException if a user still has a token
+   */
+  @Benchmark
+  public void oneByOne() throws TooManyTokensException {
+    for (int userId : team) {
+      if ("simple".equals(store)) {
+        simpleTokens.generateToken(userId);
+      } else {
+        compactTokens.generateToken(userId);
+      }
+    }
+  }
+
+  /**
+   * Issues the tokens of the team as a batch.
+   *
+   * @return the outcome per user
+   */
+  @Benchmark
+  public Map<Integer, TokenIssue> batch() {
+    return "simple".equals(store)
+        ? simpleTokens.generateTokens(team)
+        : compactTokens.generateTokens(team);
+  }
+}
@@ -0,0 +1,152 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.TooManyTokensException;
+import de.hhn.it.devtools.components.passGen.provider.SimpleToken;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUser;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures token generation and the expiry check of {@link SimpleToken}.
+ * Token generation on many threads is measured by {@link TokenContentionBenchmark}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TokenBenchmark {
+  @Param({"100", "10000", "1000000"})
+  public int userCount;
+
+  private SimpleUserManagementService userService;
+  private SimpleToken tokens;
+  private int nextUserId;
+
+  /**
+   * Creates the users and gives every user a token.
+   *
+   * @throws TooManyTokensException if a user already has a token
+   */
+  @Setup
+  public void setUp() throws TooManyTokensException {
+    userService = new SimpleUserManagementService();
+    for (int i = 0; i < userCount; i++) {
+      userService.createUser("user" + i + "@example.com", "password" + i, true);
+    }
+    tokens = new SimpleToken(null, new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+        userService);
+    // renewToken runs far longer than a token may live by default
+    tokens.setMaxLifetime(Duration.ofDays(365));
+    for (int userId = 1; userId <= userCount; userId++) {
+      tokens.generateToken(userId);
+    }
+  }
+
+  /**
+   * Takes the token of the next user away and generates a new one.
+   * The old token is removed first, so the token maps keep their size.
+   *
+   * @return the new token
+   * @throws TooManyTokensException if the user still has a token
+   */
+  @Benchmark
+  public SimpleToken generateToken() throws TooManyTokensException {
+    int userId = nextUserId % userCount + 1;
+    nextUserId++;
+    SimpleUser user = userService.getUser(userId);
+    tokens.removeTokenTimeInfo(user.getToken());
+    user.removeTokenFromUser();
+    tokens.generateToken(userId);
+    return user.getToken();
+  }
+
+  /**
+   * Renews the token of the next user, to compare with {@link #generateToken()}.
+   *
+   * @return the new expiration time
+   */
+  @Benchmark
+  public LocalDateTime renewToken() {
+    int userId = nextUserId % userCount + 1;
+    nextUserId++;
+    return tokens.renewToken(userService.getUser(userId).getToken());
+  }
+
+  /**
+   * Checks a token that has not expired yet.
+   *
+   * @return false
+   */
+  @Benchmark
+  public boolean isExpired() {
+    int userId = nextUserId % userCount + 1;
+    nextUserId++;
+    SimpleUser user = userService.getUser(userId);
+    return tokens.isExpired(user.getToken(), user);
+  }
+
+  /**
+   * Checks a token that has expired, which also removes it from the user.
+   *
+   * @param expired a user with an expired token
+   * @return true
+   */
+  @Benchmark
+  public boolean isExpiredHit(ExpiredToken expired) {
+    return tokens.isExpired(expired.user.getToken(), expired.user);
+  }
+
+  /**
+   * A user whose token is replaced by an expired one before every call.
+   */
+  @State(Scope.Thread)
+  public static class ExpiredToken {
+    SimpleUser user;
+
+    /**
+     * Gives the last user a new token and lets it expire.
+     *
+     * @param benchmark the benchmark state
+     * @throws TooManyTokensException if the user still has a token
+     */
+    @Setup(Level.Invocation)
+    public void expire(TokenBenchmark benchmark) throws TooManyTokensException {
+      user = benchmark.userService.getUser(benchmark.userCount);
+      if (user.getToken() != null) {
+        benchmark.tokens.removeTokenTimeInfo(user.getToken());
+        user.removeTokenFromUser();
+      }
+      benchmark.tokens.generateToken(benchmark.userCount);
+      benchmark.tokens.setExpirationTime(user.getToken(), 600);
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.TooManyTokensException;
+import de.hhn.it.devtools.components.passGen.provider.SimpleToken;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUser;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares token generation under a login storm with the per-user lock stripes of
+ * {@link SimpleToken} and with the single instance monitor it used before.
+ * SimpleToken falls back to the instance monitor when its time maps are not concurrent, so
+ * "instance" builds it with synchronized maps and "striped" with concurrent ones.
+ * The throughput of "striped" should grow with the threads, run it with
+ * {@code -PjmhThreads=1}, 2, 4 and so on up to the number of cores.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TokenContentionBenchmark {
+  private static final int MAX_THREADS = 64;
+
+  @Param({"striped", "instance"})
+  public String locking;
+
+  @Param({"10000"})
+  public int userCount;
+
+  private SimpleUserManagementService userService;
+  private SimpleToken tokens;
+  private final AtomicInteger nextThreadIndex = new AtomicInteger();
+
+  /**
+   * Creates the users and gives every user a token.
+   *
+   * @throws TooManyTokensException if a user already has a token
+   */
+  @Setup
+  public void setUp() throws TooManyTokensException {
+    userService = new SimpleUserManagementService();
+    for (int i = 0; i < userCount; i++) {
+      userService.createUser("user" + i + "@example.com", "password" + i, true);
+    }
+    tokens = new SimpleToken(null, timeMap(), timeMap(), userService);
+    // the benchmark runs far longer than a token may live by default
+    tokens.setMaxLifetime(Duration.ofDays(365));
+    for (int userId = 1; userId <= userCount; userId++) {
+      tokens.generateToken(userId);
+    }
+  }
+
+  private Map<SimpleToken, LocalDateTime> timeMap() {
+    return switch (locking) {
+      case "striped" -> new ConcurrentHashMap<>();
+      case "instance" -> Collections.synchronizedMap(new HashMap<>());
+      default -> throw new IllegalArgumentException("Unknown locking " + locking);
+    };
+  }
+
+  /**
+   * Takes the token of a user away and generates a new one. Every thread works on users of
+   * its own, so the threads only wait for each other where the token generation locks more
+   * than the user.
+   *
+   * @param users the users of the calling thread
+   * @return the new token
+   * @throws TooManyTokensException if the user still has a token
+   */
+  @Benchmark
+  @Threads(8)
+  public SimpleToken generateToken(ThreadUsers users) throws TooManyTokensException {
+    int userId = users.nextUserId();
+    SimpleUser user = userService.getUser(userId);
+    tokens.removeTokenTimeInfo(user.getToken());
+    user.removeTokenFromUser();
+    tokens.generateToken(userId);
+    return user.getToken();
+  }
+
+  /**
+   * The users of one thread of {@link #generateToken}, disjoint from the users of the
+   * other threads.
+   */
+  @State(Scope.Thread)
+  public static class ThreadUsers {
+    int firstUserId;
+    int userCount;
+    int next;
+
+    /**
+     * Assigns the next range of users to the calling thread.
+     *
+     * @param benchmark the benchmark state
+     */
+    @Setup
+    public void assign(TokenContentionBenchmark benchmark) {
+      int threadIndex = benchmark.nextThreadIndex.getAndIncrement() % MAX_THREADS;
+      userCount = Math.max(1, benchmark.userCount / MAX_THREADS);
+      firstUserId = 1 + threadIndex * userCount;
+    }
+
+    int nextUserId() {
+      return firstUserId + next++ % userCount;
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.TooManyTokensException;
+import de.hhn.it.devtools.components.passGen.provider.CompactTokenStore;
+import de.hhn.it.devtools.components.passGen.provider.SimpleToken;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the heap that live tokens take up, once as {@link SimpleToken} objects and once
+ * in a {@link CompactTokenStore}. JMH only reports allocation rates, so this compares the
+ * used heap after a full collection before and after the tokens were created.
+ * Run it with {@code ./gradlew :benchmarks:tokenFootprint}.
+ */
+public final class TokenFootprint {
+  private static final int DEFAULT_TOKEN_COUNT = 1_000_000;
+
+  private TokenFootprint() {
+  }
+
+  /**
+   * Prints the bytes per token of both token implementations.
+   *
+   * @param args optional number of tokens, one million by default
+   * @throws TooManyTokensException if a user already has a token
+   */
+  public static void main(String[] args) throws TooManyTokensException {
+    int tokenCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TOKEN_COUNT;
+
+    SimpleUserManagementService userService = new SimpleUserManagementService();
+    for (int i = 0; i < tokenCount; i++) {
+      userService.createUser("user" + i + "@example.com", "password" + i, true);
+    }
+    SimpleToken tokens = new SimpleToken(null, new ConcurrentHashMap<>(),
+        new ConcurrentHashMap<>(), userService);
+    long before = usedHeap();
+    for (int userId = 1; userId <= tokenCount; userId++) {
+      tokens.generateToken(userId);
+    }
+    long simpleBytes = usedHeap() - before;
+    report("SimpleToken", simpleBytes, tokenCount);
+
+    CompactTokenStore store = new CompactTokenStore();
+    before = usedHeap();
+    for (int userId = 1; userId <= tokenCount; userId++) {
+      store.generateToken(userId);
+    }
+    long compactBytes = usedHeap() - before;
+    report("CompactTokenStore", compactBytes, tokenCount);
+    System.out.printf("CompactTokenStore arrays: %d bytes%n", store.getFootprintBytes());
+
+    // keep both alive until everything has been measured
+    if (tokens.getTokenFromMap(userService.getUser(1)) == null || store.size() != tokenCount) {
+      throw new IllegalStateException("Tokens went missing during the measurement.");
+    }
+  }
+
+  private static void report(String name, long bytes, int tokenCount) {
+    System.out.printf("%-18s %,d tokens: %,d bytes, %.1f bytes per token%n", name, tokenCount,
+        bytes, (double) bytes / tokenCount);
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
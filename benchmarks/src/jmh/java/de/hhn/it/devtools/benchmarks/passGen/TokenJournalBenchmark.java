@@ -0,0 +1,151 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.TooManyTokensException;
+import de.hhn.it.devtools.components.passGen.provider.SimpleToken;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUser;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import de.hhn.it.devtools.components.passGen.provider.TokenJournal;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures how much a {@link TokenJournal} slows down token generation, compared to
+ * {@link TokenBenchmark#generateToken()} without a journal. With "async" events only have
+ * to be queued, with "sync" every call waits for the group commit of its event.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TokenJournalBenchmark {
+  private static final int USER_COUNT = 10_000;
+  private static final int THREADS = 8;
+
+  @Param({"none", "async", "sync"})
+  public String journalMode;
+
+  private SimpleUserManagementService userService;
+  private SimpleToken tokens;
+  private Path directory;
+  private TokenJournal journal;
+
+  /**
+   * Creates the users, the journal and a token for every user.
+   *
+   * @throws IOException               if the journal directory cannot be created
+   * @throws IllegalParameterException if the journal cannot be opened
+   * @throws TooManyTokensException    if a user already has a token
+   */
+  @Setup
+  public void setUp() throws IOException, IllegalParameterException, TooManyTokensException {
+    userService = new SimpleUserManagementService();
+    for (int i = 0; i < USER_COUNT; i++) {
+      userService.createUser("user" + i + "@example.com", "password" + i, true);
+    }
+    tokens = new SimpleToken(null, new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+        userService);
+    directory = Files.createTempDirectory("token-journal");
+    if (!journalMode.equals("none")) {
+      journal = new TokenJournal(directory, journalMode.equals("sync"),
+          TokenJournal.DEFAULT_SNAPSHOT_THRESHOLD, System::currentTimeMillis);
+      tokens.restoreTokens(journal);
+    }
+    for (int userId = 1; userId <= USER_COUNT; userId++) {
+      tokens.generateToken(userId);
+    }
+  }
+
+  /**
+   * Closes the journal and deletes its files.
+   *
+   * @throws IOException if a file cannot be deleted
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    if (journal != null) {
+      journal.close();
+      System.out.printf("%n%d events in %d commits%n", journal.getLoggedEventCount(),
+          journal.getCommitCount());
+    }
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  /**
+   * Takes the token of a user away and generates a new one with eight threads at once, which
+   * logs a revocation and an issue.
+   *
+   * @param users the users of the calling thread
+   * @return the new token
+   * @throws TooManyTokensException if the user still has a token
+   */
+  @Benchmark
+  @Threads(THREADS)
+  public SimpleToken generateToken(ThreadUsers users) throws TooManyTokensException {
+    int userId = users.nextUserId();
+    SimpleUser user = userService.getUser(userId);
+    tokens.removeTokenTimeInfo(user.getToken());
+    user.removeTokenFromUser();
+    tokens.generateToken(userId);
+    return user.getToken();
+  }
+
+  /**
+   * The users of one thread, disjoint from the users of the other threads.
+   */
+  @State(Scope.Thread)
+  public static class ThreadUsers {
+    private static final AtomicInteger nextThreadIndex = new AtomicInteger();
+    int firstUserId;
+    int next;
+
+    /**
+     * Assigns the next range of users to the calling thread.
+     */
+    @Setup
+    public void assign() {
+      firstUserId = 1 + nextThreadIndex.getAndIncrement() % THREADS * (USER_COUNT / THREADS);
+    }
+
+    int nextUserId() {
+      return firstUserId + next++ % (USER_COUNT / THREADS);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.benchmarks.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.WrongLoginCredentialsException;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures login and the credential check of {@link SimpleUserManagementService}
+ * for 10^2 to 10^6 users. Every call picks a random user, misses check a wrong password.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class UserManagementBenchmark {
+
+  @Param({"100", "1000", "10000", "100000", "1000000"})
+  public int userCount;
+
+  private SimpleUserManagementService userService;
+  private String[] addresses;
+  private String[] passwords;
+
+  /**
+   * Creates the users.
+   */
+  @Setup
+  public void setUp() {
+    userService = new SimpleUserManagementService();
+    addresses = new String[userCount];
+    passwords = new String[userCount];
+    for (int i = 0; i < userCount; i++) {
+      addresses[i] = "user" + i + "@example.com";
+      passwords[i] = "password" + i;
+      userService.createUser(addresses[i], passwords[i], true);
+    }
+  }
+
+  /**
+   * Logs in a random user.
+   *
+   * @throws WrongLoginCredentialsException if the credentials are wrong
+   */
+  @Benchmark
+  public void login() throws WrongLoginCredentialsException {
+    int index = ThreadLocalRandom.current().nextInt(userCount);
+    userService.login(addresses[index], passwords[index]);
+  }
+
+  /**
+   * Tries to log in a random user with a wrong password.
+   *
+   * @return true if the login was rejected
+   */
+  @Benchmark
+  public boolean loginMiss() {
+    int index = ThreadLocalRandom.current().nextInt(userCount);
+    try {
+      userService.login(addresses[index], "wrong");
+      return false;
+    } catch (WrongLoginCredentialsException e) {
+      return true;
+    }
+  }
+
+  /**
+   * Checks the credentials of a random user.
+   *
+   * @return true
+   */
+  @Benchmark
+  public boolean checkCredentials() {
+    int index = ThreadLocalRandom.current().nextInt(userCount);
+    return userService.checkCredentials(addresses[index], passwords[index]);
+  }
+
+  /**
+   * Checks the credentials of a random user with a wrong password.
+   *
+   * @return false
+   */
+  @Benchmark
+  public boolean checkCredentialsMiss() {
+    int index = ThreadLocalRandom.current().nextInt(userCount);
+    return userService.checkCredentials(addresses[index], "wrong");
+  }
+}
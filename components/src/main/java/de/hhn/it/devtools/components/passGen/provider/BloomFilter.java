@@ -0,0 +1,151 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A Bloom filter of token strings. It answers "maybe contained" or "surely not contained":
+ * a token that was put in is always found, a token that was not put in is found only with
+ * the false positive rate the filter was sized for. The filter never forgets a token,
+ * callers replace it by a new generation to drop old ones.
+ */
+public class BloomFilter {
+  private final AtomicLongArray bits;
+  private final long bitCount;
+  private final int hashCount;
+  private final LongAdder insertions = new LongAdder();
+
+  /**
+   * Creates a filter for the given number of tokens.
+   *
+   * @param expectedInsertions number of tokens the filter is sized for
+   * @param falsePositiveRate  rate of wrong "maybe contained" answers at that number of tokens
+   * @throws IllegalArgumentException if the number is not positive or the rate is not between
+   *                                  0 and 1
+   */
+  public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException("Expected insertions have to be positive but were "
+          + expectedInsertions + ".");
+    }
+    if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+      throw new IllegalArgumentException("False positive rate has to be between 0 and 1 but was "
+          + falsePositiveRate + ".");
+    }
+    // m = -n ln p / (ln 2)^2 and k = m / n ln 2 give the lowest rate for n tokens
+    long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate)
+        / (Math.log(2) * Math.log(2)));
+    int words = (int) Math.max(1, (optimalBits + 63) / 64);
+    bits = new AtomicLongArray(words);
+    bitCount = 64L * words;
+    hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedInsertions
+        * Math.log(2)));
+  }
+
+  /**
+   * Puts a token into the filter.
+   *
+   * @param token the token
+   */
+  public void put(CharSequence token) {
+    long hash = hash64(token);
+    int first = (int) hash;
+    int second = (int) (hash >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(first + (long) i * second, bitCount);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current = bits.get(word);
+      while ((current & mask) == 0
+          && !bits.weakCompareAndSetVolatile(word, current, current | mask)) {
+        current = bits.get(word);
+      }
+    }
+    insertions.increment();
+  }
+
+  /**
+   * Checks if a token may have been put into the filter.
+   *
+   * @param token the token
+   * @return false if the token has surely not been put in, true if it may have been
+   */
+  public boolean mightContain(CharSequence token) {
+    long hash = hash64(token);
+    int first = (int) hash;
+    int second = (int) (hash >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(first + (long) i * second, bitCount);
+      if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Getter for the number of tokens put into the filter.
+   *
+   * @return number of insertions
+   */
+  public long getInsertionCount() {
+    return insertions.sum();
+  }
+
+  /**
+   * Getter for the size of the filter.
+   *
+   * @return number of bits
+   */
+  public long getBitCount() {
+    return bitCount;
+  }
+
+  /**
+   * Getter for the number of bits set per token.
+   *
+   * @return number of hash functions
+   */
+  public int getHashCount() {
+    return hashCount;
+  }
+
+  /**
+   * Hashes a token to 64 bits with FNV-1a and the finalizer of MurmurHash3,
+   * which spreads the bits of similar tokens.
+   *
+   * @param token the token
+   * @return the hash
+   */
+  static long hash64(CharSequence token) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < token.length(); i++) {
+      hash ^= token.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,124 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import java.security.SecureRandom;
+
+/**
+ * A random source that reads entropy in blocks.
+ * Every thread fills its own buffer with a single call of its DRBG {@link SecureRandom}
+ * and serves the following requests from that buffer until it is used up.
+ */
+public class BufferedRandomSource implements RandomSource {
+
+  /**
+   * The default number of bytes read from the generator at once.
+   */
+  public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+  private final ThreadLocal<EntropyBlock> block;
+
+  /**
+   * Creates a random source with the default block size.
+   */
+  public BufferedRandomSource() {
+    this(DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * Creates a random source that reads the given number of bytes at once.
+   *
+   * @param blockSize number of bytes per block, at least eight
+   * @throws IllegalArgumentException if the block size is smaller than eight
+   */
+  public BufferedRandomSource(int blockSize) {
+    if (blockSize < Long.BYTES) {
+      throw new IllegalArgumentException("Block size has to be at least " + Long.BYTES + ".");
+    }
+    block = ThreadLocal.withInitial(() -> new EntropyBlock(blockSize));
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException("Bound has to be positive.");
+    }
+    EntropyBlock entropy = block.get();
+    // reject the top values that would make the lower results more likely
+    int limit = Integer.MAX_VALUE - (Integer.MAX_VALUE % bound);
+    int value;
+    do {
+      value = (int) (entropy.nextLong() >>> 33);
+    } while (value >= limit);
+    return value % bound;
+  }
+
+  @Override
+  public long nextLong() {
+    return block.get().nextLong();
+  }
+
+  @Override
+  public void nextBytes(byte[] bytes) {
+    block.get().nextBytes(bytes);
+  }
+
+  /**
+   * Buffer of random bytes of one thread.
+   */
+  private static final class EntropyBlock {
+    private final SecureRandom secureRandom = DrbgRandomSource.createSecureRandom();
+    private final byte[] buffer;
+    private int position;
+
+    private EntropyBlock(int blockSize) {
+      buffer = new byte[blockSize];
+      position = blockSize;
+    }
+
+    private long nextLong() {
+      if (position + Long.BYTES > buffer.length) {
+        refill();
+      }
+      long value = 0;
+      for (int i = 0; i < Long.BYTES; i++) {
+        value = (value << 8) | (buffer[position++] & 0xFF);
+      }
+      return value;
+    }
+
+    private void nextBytes(byte[] bytes) {
+      int copied = 0;
+      while (copied < bytes.length) {
+        if (position == buffer.length) {
+          refill();
+        }
+        int length = Math.min(bytes.length - copied, buffer.length - position);
+        System.arraycopy(buffer, position, bytes, copied, length);
+        position += length;
+        copied += length;
+      }
+    }
+
+    private void refill() {
+      secureRandom.nextBytes(buffer);
+      position = 0;
+    }
+  }
+}
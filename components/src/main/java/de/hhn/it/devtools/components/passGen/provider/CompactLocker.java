@@ -0,0 +1,217 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import de.hhn.it.devtools.apis.passGen.LockerListener;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
+import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
+import java.util.List;
+
+/**
+ * A locker held in a {@link CompactLockerStore}.
+ * The view only knows the store and the id, every call reads or changes the record in the
+ * store, so any number of views of the same locker can exist and they all see the same data.
+ * Once the locker is removed from its store, every call but {@link #getId()} fails with an
+ * {@link IllegalArgumentException}.
+ */
+public final class CompactLocker implements ManagedLocker {
+  private final CompactLockerStore store;
+  private final int id;
+
+  /**
+   * Creates a view of a locker.
+   *
+   * @param store the store that holds the locker
+   * @param id    id of the locker
+   */
+  CompactLocker(CompactLockerStore store, int id) {
+    this.store = store;
+    this.id = id;
+  }
+
+  @Override
+  public void addCallback(LockerListener listener) throws IllegalParameterException {
+    store.addListener(id, listener);
+  }
+
+  @Override
+  public void removeCallback(LockerListener listener) throws IllegalParameterException {
+    store.removeListener(id, listener);
+  }
+
+  @Override
+  public List<LockerListener> getListener() {
+    return store.getListeners(id);
+  }
+
+  @Override
+  public void unlock(int password) throws IllegalParameterException {
+    store.unlock(id, PackedPasscode.fromPassword(password));
+  }
+
+  @Override
+  public void unlockWithPasscode(long passcode) throws IllegalParameterException {
+    store.unlock(id, passcode);
+  }
+
+  @Override
+  public void lock() throws IllegalStateException {
+    store.apply(id, LockerTransition.LOCK);
+  }
+
+  @Override
+  public LockerState apply(LockerTransition transition) throws IllegalStateException {
+    return store.apply(id, transition);
+  }
+
+  @Override
+  public boolean applyFrom(LockerState expected, LockerTransition transition)
+      throws IllegalStateException {
+    return store.applyFrom(id, expected, transition);
+  }
+
+  @Override
+  public boolean isLocked() {
+    return store.getState(id) == LockerState.LOCKED;
+  }
+
+  @Override
+  public LockerState getState() {
+    return store.getState(id);
+  }
+
+  @Override
+  public void adminSetState(LockerState state) {
+    store.setState(id, state);
+  }
+
+  @Override
+  public void setPassword(int newPassword) throws IllegalParameterException {
+    store.setPasscode(id, packPassword(newPassword));
+  }
+
+  @Override
+  public void setPasswordIfActive(int newPassword)
+      throws IllegalParameterException, IllegalStateException {
+    store.setPasscodeIfActive(id, packPassword(newPassword));
+  }
+
+  private static long packPassword(int password) throws IllegalParameterException {
+    if (password <= 0
+        || String.valueOf(password).length() < PasscodeGenerator.DEFAULT_LENGTH) {
+      throw new IllegalParameterException("The password cannot be used for security reasons.");
+    }
+    return PackedPasscode.fromPassword(password);
+  }
+
+  @Override
+  public int getPassword() {
+    return toPassword(store.getPasscode(id));
+  }
+
+  @Override
+  public void setPasscode(long newPasscode) throws IllegalParameterException {
+    store.setPasscode(id, newPasscode);
+  }
+
+  @Override
+  public void setPasscodeIfActive(long newPasscode)
+      throws IllegalParameterException, IllegalStateException {
+    store.setPasscodeIfActive(id, newPasscode);
+  }
+
+  @Override
+  public long getPasscode() {
+    return store.getPasscode(id);
+  }
+
+  @Override
+  public int getPasscodeLength() {
+    return store.getPasscodeLength(id);
+  }
+
+  @Override
+  public int getId() {
+    return id;
+  }
+
+  /**
+   * Getter for the cabinet of the locker.
+   *
+   * @return id of the cabinet, 0 if the locker has none
+   */
+  public int getCabinetId() {
+    return store.getCabinetId(id);
+  }
+
+  @Override
+  public void activate() throws IllegalStateException {
+    store.apply(id, LockerTransition.ACTIVATE);
+  }
+
+  @Override
+  public void deactivate() throws IllegalStateException {
+    store.apply(id, LockerTransition.DEACTIVATE);
+  }
+
+  @Override
+  public void disable() throws IllegalStateException {
+    store.apply(id, LockerTransition.DISABLE);
+    store.releasePasscode(id);
+  }
+
+  @Override
+  public void releasePassword() {
+    store.releasePasscode(id);
+  }
+
+  @Override
+  public boolean isActivated() {
+    return store.getState(id) == LockerState.ACTIVE;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof CompactLocker
+        && ((CompactLocker) other).store == store && ((CompactLocker) other).id == id;
+  }
+
+  @Override
+  public int hashCode() {
+    return Integer.hashCode(id);
+  }
+
+  @Override
+  public String toString() {
+    return "CompactLocker{id=" + id + "}";
+  }
+
+  /**
+   * Turns a passcode into a password like {@link SimpleLocker#getPassword()}.
+   *
+   * @param passcode the passcode packed with {@link PackedPasscode}
+   * @return the password or 0 if there is none or it does not fit into an int
+   */
+  static int toPassword(long passcode) {
+    return PackedPasscode.lengthOf(passcode) <= 9 ? (int) PackedPasscode.valueOf(passcode) : 0;
+  }
+}
@@ -0,0 +1,846 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import de.hhn.it.devtools.apis.passGen.Locker;
+import de.hhn.it.devtools.apis.passGen.LockerCabinet;
+import de.hhn.it.devtools.apis.passGen.LockerListener;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
+import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A locker store that keeps every locker as a flat record of primitives instead of a
+ * {@link SimpleLocker} object. The state, passcode and cabinet id of a locker are held in
+ * parallel arrays at the position of its id, ids are handed out densely starting at 1.
+ * A {@link LockerStateIndex} follows every state change, so the lockers in a state are
+ * counted and found without looking at every locker.
+ *
+ * <p>The {@link SingletonLockerRepository} keeps its lockers in a store like this with
+ * {@link LockerStorage#COMPACT}; the locker services then create, claim and rekey the records
+ * through the views without knowing the difference. A store can also be used on its own,
+ * with ids it hands out itself.</p>
+ *
+ * <p>{@link #getLocker(int)} returns a {@link CompactLocker}, a view of two fields over the
+ * record, so the store can be used wherever a {@link de.hhn.it.devtools.apis.passGen.Locker}
+ * is expected. Listeners are kept only for the lockers that have some.</p>
+ *
+ * <p>State changes follow the table of {@link LockerTransition} like those of
+ * {@link SimpleLocker}: they hold the read lock, which keeps the arrays from being replaced,
+ * and swap the state with a compare-and-set. Adding and removing lockers, changing passcodes
+ * and setting states as an admin take the write lock, so the passcode of a locker cannot
+ * change between the check of an unlock and its state change.</p>
+ */
+public class CompactLockerStore implements LockerStore {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(CompactLockerStore.class);
+
+  private static final int INITIAL_CAPACITY = 16;
+  private static final VarHandle STATES = MethodHandles.arrayElementVarHandle(byte[].class);
+  // state of a position whose locker was removed
+  private static final byte REMOVED = 0;
+  private static final LockerState[] STATE_VALUES = LockerState.values();
+
+  private final StampedLock lock = new StampedLock();
+  private final LockerStateIndex stateIndex = new LockerStateIndex();
+  private final ConcurrentHashMap<Integer, List<LockerListener>> listeners =
+      new ConcurrentHashMap<>();
+
+  // the records, the locker with id i is at position i - 1, positions 0 to size - 1 are used
+  // ordinal of the LockerState + 1, REMOVED for removed lockers
+  private byte[] states;
+  // packed with PackedPasscode, 0 if the locker has no passcode
+  private long[] passcodes;
+  // 0 for lockers without a cabinet
+  private int[] cabinetIds;
+  private int size;
+  private int lockerCount;
+  private final Map<Integer, Locker> lockersView = new LockerMap();
+
+  /**
+   * Creates an empty store.
+   */
+  public CompactLockerStore() {
+    this(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Creates an empty store with room for the given number of lockers.
+   *
+   * @param capacity number of lockers the store can hold before it has to grow
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public CompactLockerStore(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity has to be positive but was "
+          + capacity + ".");
+    }
+    states = new byte[capacity];
+    passcodes = new long[capacity];
+    cabinetIds = new int[capacity];
+  }
+
+  /**
+   * Adds a locker without a passcode.
+   *
+   * @param cabinetId id of the cabinet of the locker, 0 for none
+   * @param state     the initial state
+   * @return the id of the new locker
+   * @throws IllegalArgumentException if the cabinet id is negative or the state is null
+   */
+  public int addLocker(int cabinetId, LockerState state) {
+    if (cabinetId < 0 || state == null) {
+      throw new IllegalArgumentException("Cabinet id " + cabinetId + " or state " + state
+          + " is not valid.");
+    }
+    int id;
+    long stamp = lock.writeLock();
+    try {
+      id = size + 1;
+      insert(id, cabinetId, state);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+    logger.debug("Added locker with id {} to cabinet {}", id, cabinetId);
+    return id;
+  }
+
+  /**
+   * Adds a locker without a passcode under an id chosen by the caller. Ids that are skipped
+   * stay free, later ids handed out by {@link #addLocker(int, LockerState)} follow the
+   * highest id.
+   *
+   * @param id        id of the locker
+   * @param cabinetId id of the cabinet of the locker, 0 for none
+   * @param state     the initial state
+   * @throws IllegalArgumentException if the id is not positive or taken, the cabinet id is
+   *                                  negative or the state is null
+   */
+  public void addLocker(int id, int cabinetId, LockerState state) {
+    if (id <= 0 || cabinetId < 0 || state == null) {
+      throw new IllegalArgumentException("Id " + id + ", cabinet id " + cabinetId
+          + " or state " + state + " is not valid.");
+    }
+    long stamp = lock.writeLock();
+    try {
+      if (exists(id)) {
+        throw new IllegalArgumentException("Locker with id " + id + " already exists.");
+      }
+      insert(id, cabinetId, state);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+    logger.debug("Added locker with id {} to cabinet {}", id, cabinetId);
+  }
+
+  private void insert(int id, int cabinetId, LockerState state) {
+    while (id > states.length) {
+      grow();
+    }
+    int position = id - 1;
+    states[position] = encode(state);
+    passcodes[position] = 0;
+    cabinetIds[position] = cabinetId;
+    lockerCount++;
+    size = Math.max(size, id);
+    stateIndex.add(id, cabinetId, state);
+  }
+
+  /**
+   * Removes a locker and gives its passcode back. The id is not handed out again.
+   *
+   * @param id id of the locker
+   * @return true if the locker was removed, false if it did not exist
+   */
+  public boolean removeLocker(int id) {
+    long stamp = lock.writeLock();
+    try {
+      if (!exists(id)) {
+        return false;
+      }
+      int position = id - 1;
+      releasePasscodeAt(position);
+      states[position] = REMOVED;
+      stateIndex.remove(id, cabinetIds[position]);
+      lockerCount--;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+    listeners.remove(id);
+    logger.debug("Removed locker with id {}", id);
+    return true;
+  }
+
+  /**
+   * Checks if a locker exists.
+   *
+   * @param id id of the locker
+   * @return true if the store holds a locker with this id
+   */
+  public boolean contains(int id) {
+    long stamp = lock.readLock();
+    try {
+      return exists(id);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Returns a view of a locker. Views are cheap, every call creates a new one and all views
+   * of a locker are equal.
+   *
+   * @param id id of the locker
+   * @return the view
+   * @throws IllegalArgumentException if the locker does not exist
+   */
+  public CompactLocker getLocker(int id) {
+    if (!contains(id)) {
+      throw new IllegalArgumentException("Locker with id " + id + " does not exist.");
+    }
+    return new CompactLocker(this, id);
+  }
+
+  /**
+   * Getter for the state of a locker.
+   *
+   * @param id id of the locker
+   * @return the current state
+   * @throws IllegalArgumentException if the locker does not exist
+   */
+  public LockerState getState(int id) {
+    long stamp = lock.readLock();
+    try {
+      return decode((byte) STATES.getVolatile(states, positionOf(id)));
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Sets the state of a locker regardless of the transition table, like
+   * {@link SimpleLocker#adminSetState(LockerState)}. Disabling gives the passcode back.
+   *
+   * @param id    id of the locker
+   * @param state the new state
+   * @throws IllegalArgumentException if the locker does not exist or the state is null
+   */
+  public void setState(int id, LockerState state) {
+    if (state == null) {
+      throw new IllegalArgumentException("State is a null reference.");
+    }
+    long stamp = lock.writeLock();
+    try {
+      int position = positionOf(id);
+      STATES.setVolatile(states, position, encode(state));
+      // no transition runs while the write lock is held
+      stateIndex.set(id, cabinetIds[position], state);
+      if (state == LockerState.DISABLED) {
+        releasePasscodeAt(position);
+      }
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Changes the state of a locker as the transition says, with a single compare-and-set,
+   * and informs its listeners.
+   *
+   * @param id         id of the locker
+   * @param transition the transition
+   * @return the state before the transition
+   * @throws IllegalArgumentException if the locker does not exist
+   * @throws IllegalStateException    if the transition is not allowed from the current state
+   */
+  public LockerState apply(int id, LockerTransition transition) throws IllegalStateException {
+    LockerState previous;
+    long stamp = lock.readLock();
+    try {
+      previous = transit(id, positionOf(id), transition);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+    notifyState(id, transition.getTarget());
+    return previous;
+  }
+
+  /**
+   * Changes the state of a locker as the transition says, but only if it is in the expected
+   * state, with a single compare-and-set. Of several threads that try this at the same time
+   * exactly one succeeds.
+   *
+   * @param id         id of the locker
+   * @param expected   the state the locker has to be in
+   * @param transition the transition
+   * @return true if the locker was in the expected state and has changed
+   * @throws IllegalArgumentException if the locker does not exist
+   * @throws IllegalStateException    if the transition is not allowed from the expected state
+   */
+  public boolean applyFrom(int id, LockerState expected, LockerTransition transition)
+      throws IllegalStateException {
+    LockerState target = requireAllowed(id, transition, expected);
+    long stamp = lock.readLock();
+    try {
+      int position = positionOf(id);
+      if (!STATES.compareAndSet(states, position, encode(expected), encode(target))) {
+        return false;
+      }
+      indexState(id, position, expected, target);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+    notifyState(id, target);
+    return true;
+  }
+
+  /**
+   * Unlocks a locker if the passcode is its passcode.
+   *
+   * @param id       id of the locker
+   * @param passcode the passcode packed with {@link PackedPasscode}
+   * @throws IllegalArgumentException  if the locker does not exist
+   * @throws IllegalParameterException if the passcode is not correct
+   * @throws IllegalStateException     if the locker cannot be unlocked in its current state
+   */
+  public void unlock(int id, long passcode) throws IllegalParameterException {
+    long stamp = lock.readLock();
+    try {
+      int position = positionOf(id);
+      requireAllowed(id, LockerTransition.UNLOCK,
+          decode((byte) STATES.getVolatile(states, position)));
+      if (passcode == 0 || passcode != passcodes[position]) {
+        throw new IllegalParameterException("The password is not correct.");
+      }
+      transit(id, position, LockerTransition.UNLOCK);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+    notifyState(id, LockerState.UNLOCKED);
+  }
+
+  /**
+   * Getter for the passcode of a locker.
+   *
+   * @param id id of the locker
+   * @return the passcode packed with {@link PackedPasscode}, 0 if the locker has none
+   * @throws IllegalArgumentException if the locker does not exist
+   */
+  public long getPasscode(int id) {
+    long stamp = lock.readLock();
+    try {
+      return passcodes[positionOf(id)];
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Sets the passcode of a locker and informs its listeners.
+   * The passcode is reserved in the registry of the cabinet if passcodes have to be unique.
+   *
+   * @param id       id of the locker
+   * @param passcode the passcode packed with {@link PackedPasscode}
+   * @throws IllegalArgumentException  if the locker does not exist
+   * @throws IllegalParameterException if the passcode is not valid, shorter than the passcode
+   *                                   length of the cabinet or used by another locker
+   */
+  public void setPasscode(int id, long passcode) throws IllegalParameterException {
+    setPasscode(id, passcode, false);
+  }
+
+  /**
+   * Sets the passcode of a locker if it is active, see {@link #setPasscode(int, long)}.
+   * The state is checked under the write lock, which keeps transitions out, so a locker that
+   * is disabled at the same time gives the passcode back afterwards and never keeps it.
+   *
+   * @param id       id of the locker
+   * @param passcode the passcode packed with {@link PackedPasscode}
+   * @throws IllegalArgumentException  if the locker does not exist
+   * @throws IllegalParameterException if the passcode is not valid, shorter than the passcode
+   *                                   length of the cabinet or used by another locker
+   * @throws IllegalStateException     if the locker is not active
+   */
+  public void setPasscodeIfActive(int id, long passcode)
+      throws IllegalParameterException, IllegalStateException {
+    setPasscode(id, passcode, true);
+  }
+
+  private void setPasscode(int id, long passcode, boolean requireActive)
+      throws IllegalParameterException, IllegalStateException {
+    int length = PackedPasscode.lengthOf(passcode);
+    long stamp = lock.writeLock();
+    try {
+      int position = positionOf(id);
+      if (requireActive && decode(states[position]) != LockerState.ACTIVE) {
+        throw new IllegalStateException("Locker with id " + id + " has a state other than "
+            + "ACTIVE.");
+      }
+      if (length < passcodeLengthOf(cabinetIds[position]) || length > PackedPasscode.MAX_LENGTH
+          || PackedPasscode.valueOf(passcode) >= PackedPasscode.spaceOf(length)) {
+        throw new IllegalParameterException("The password cannot be used for security reasons.");
+      }
+      PasscodeRegistry registry = registryOf(cabinetIds[position]);
+      if (registry != null && passcode != passcodes[position]) {
+        if (!registry.reservePasscode(passcode)) {
+          throw new IllegalParameterException("The password is already used by another locker.");
+        }
+        registry.releasePasscode(passcodes[position]);
+      }
+      passcodes[position] = passcode;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+    List<LockerListener> lockerListeners = listeners.get(id);
+    if (lockerListeners != null) {
+      int password = CompactLocker.toPassword(passcode);
+      for (LockerListener listener : lockerListeners) {
+        listener.newPassword(password);
+      }
+    }
+  }
+
+  /**
+   * Gives the passcode of a locker back, so other lockers can use it.
+   * Only has an effect if passcodes have to be unique, the locker has no passcode afterwards.
+   *
+   * @param id id of the locker
+   * @throws IllegalArgumentException if the locker does not exist
+   */
+  public void releasePasscode(int id) {
+    long stamp = lock.writeLock();
+    try {
+      releasePasscodeAt(positionOf(id));
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Getter for the cabinet of a locker.
+   *
+   * @param id id of the locker
+   * @return id of the cabinet, 0 if the locker has none
+   * @throws IllegalArgumentException if the locker does not exist
+   */
+  public int getCabinetId(int id) {
+    long stamp = lock.readLock();
+    try {
+      return cabinetIds[positionOf(id)];
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Getter for the number of digits of new passcodes of a locker, as configured for its
+   * cabinet.
+   *
+   * @param id id of the locker
+   * @return the passcode length
+   * @throws IllegalArgumentException if the locker does not exist
+   */
+  public int getPasscodeLength(int id) {
+    return passcodeLengthOf(getCabinetId(id));
+  }
+
+  /**
+   * Adds a listener to a locker.
+   *
+   * @param id       id of the locker
+   * @param listener the listener
+   * @throws IllegalArgumentException  if the locker does not exist
+   * @throws IllegalParameterException if the listener is null
+   */
+  public void addListener(int id, LockerListener listener) throws IllegalParameterException {
+    if (listener == null) {
+      throw new IllegalParameterException("The listener is null.");
+    }
+    if (!contains(id)) {
+      throw new IllegalArgumentException("Locker with id " + id + " does not exist.");
+    }
+    listeners.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>()).add(listener);
+  }
+
+  /**
+   * Removes a listener from a locker.
+   *
+   * @param id       id of the locker
+   * @param listener the listener
+   * @throws IllegalParameterException if the listener is null
+   */
+  public void removeListener(int id, LockerListener listener) throws IllegalParameterException {
+    if (listener == null) {
+      throw new IllegalParameterException("The listener is null.");
+    }
+    List<LockerListener> lockerListeners = listeners.get(id);
+    if (lockerListeners != null) {
+      lockerListeners.remove(listener);
+    }
+  }
+
+  /**
+   * Getter for the listeners of a locker.
+   *
+   * @param id id of the locker
+   * @return the listeners, an empty list if the locker has none
+   */
+  public List<LockerListener> getListeners(int id) {
+    List<LockerListener> lockerListeners = listeners.get(id);
+    return lockerListeners == null ? Collections.emptyList() : lockerListeners;
+  }
+
+  /**
+   * Counts the lockers in a state with a single read of the state index.
+   *
+   * @param state the state
+   * @return number of lockers in the state
+   * @throws IllegalArgumentException if the state is null
+   */
+  public int count(LockerState state) {
+    return stateIndex.count(state);
+  }
+
+  /**
+   * Finds the lockers in a state with one pass over the bitmap of the state.
+   *
+   * @param state the state
+   * @return ids of the lockers in the state in ascending order
+   * @throws IllegalArgumentException if the state is null
+   */
+  public int[] findLockers(LockerState state) {
+    return stateIndex.find(state);
+  }
+
+  /**
+   * Returns the index of the lockers by state, globally and per cabinet, which follows
+   * every state change in the store.
+   *
+   * @return the index
+   */
+  public LockerStateIndex getStateIndex() {
+    return stateIndex;
+  }
+
+  /**
+   * Getter for the number of lockers in the store.
+   *
+   * @return number of lockers that were added and not removed
+   */
+  public int size() {
+    long stamp = lock.readLock();
+    try {
+      return lockerCount;
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  @Override
+  public Locker lockerAt(int id) {
+    return contains(id) ? new CompactLocker(this, id) : null;
+  }
+
+  /**
+   * Creates a disabled locker without a passcode under the given id, replacing a locker with
+   * the same id. The location is not kept.
+   *
+   * @param id       of the locker
+   * @param cabinet  the cabinet of the locker, may be null
+   * @param location the location of the locker
+   * @return a view of the new locker
+   * @throws IllegalArgumentException if the id is not positive
+   */
+  @Override
+  public CompactLocker createLocker(int id, LockerCabinet cabinet, String location) {
+    removeLocker(id);
+    addLocker(id, cabinet == null ? 0 : cabinet.getCabinetId(), LockerState.DISABLED);
+    return new CompactLocker(this, id);
+  }
+
+  /**
+   * Lockers of the store are only created by the store.
+   *
+   * @param id     of the locker
+   * @param locker the locker
+   * @throws IllegalArgumentException always
+   */
+  @Override
+  public void putLocker(int id, Locker locker) {
+    throw new IllegalArgumentException("Locker with id " + id + " cannot be added to a "
+        + "compact locker store, its lockers are created by the store.");
+  }
+
+  @Override
+  public void deleteLocker(int id) {
+    removeLocker(id);
+  }
+
+  /**
+   * Returns the lockers as a read-only view. Iterating the view creates a
+   * {@link CompactLocker} per locker and sees lockers that are added or removed meanwhile
+   * or not, like the views of a concurrent map.
+   *
+   * @return lockers by id
+   */
+  @Override
+  public Map<Integer, Locker> lockers() {
+    return lockersView;
+  }
+
+  /**
+   * Removes all lockers. Their passcodes are not given back, the registries are replaced
+   * when the repository is reset.
+   */
+  @Override
+  public void clear() {
+    long stamp = lock.writeLock();
+    try {
+      for (int position = 0; position < size; position++) {
+        if (states[position] != REMOVED) {
+          stateIndex.remove(position + 1, cabinetIds[position]);
+        }
+      }
+      states = new byte[INITIAL_CAPACITY];
+      passcodes = new long[INITIAL_CAPACITY];
+      cabinetIds = new int[INITIAL_CAPACITY];
+      size = 0;
+      lockerCount = 0;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+    listeners.clear();
+  }
+
+  /**
+   * Getter for the memory used by the arrays of the store.
+   *
+   * @return size of the arrays in bytes
+   */
+  public long getFootprintBytes() {
+    long stamp = lock.readLock();
+    try {
+      long capacity = states.length;
+      // three record arrays, each with a 16 byte array header
+      return 3 * 16L + capacity * (Byte.BYTES + Long.BYTES + Integer.BYTES);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  private LockerState transit(int id, int position, LockerTransition transition)
+      throws IllegalStateException {
+    while (true) {
+      byte current = (byte) STATES.getVolatile(states, position);
+      LockerState from = decode(current);
+      LockerState target = requireAllowed(id, transition, from);
+      if (STATES.compareAndSet(states, position, current, encode(target))) {
+        indexState(id, position, from, target);
+        return from;
+      }
+    }
+  }
+
+  /**
+   * Tells the index about a state change, see {@link LockerStateIndex} for the protocol.
+   */
+  private void indexState(int id, int position, LockerState from, LockerState to) {
+    int cabinetId = cabinetIds[position];
+    stateIndex.move(id, cabinetId, from, to);
+    // a later change of the state may have reached the index first
+    for (LockerState current = decode((byte) STATES.getVolatile(states, position));
+        current != to; current = decode((byte) STATES.getVolatile(states, position))) {
+      stateIndex.set(id, cabinetId, current);
+      to = current;
+    }
+  }
+
+  private static LockerState requireAllowed(int id, LockerTransition transition,
+      LockerState current) throws IllegalStateException {
+    LockerState target = transition.targetOf(current);
+    if (target == null) {
+      throw new IllegalStateException("Locker with id " + id + " cannot " + transition
+          + " in state " + current + ", only in " + transition.getSources() + ".");
+    }
+    return target;
+  }
+
+  private void notifyState(int id, LockerState state) {
+    List<LockerListener> lockerListeners = listeners.get(id);
+    if (lockerListeners != null) {
+      for (LockerListener listener : lockerListeners) {
+        listener.newState(state);
+      }
+    }
+  }
+
+  private void releasePasscodeAt(int position) {
+    PasscodeRegistry registry = registryOf(cabinetIds[position]);
+    if (registry == null) {
+      return;
+    }
+    registry.releasePasscode(passcodes[position]);
+    passcodes[position] = 0;
+  }
+
+  private static PasscodeRegistry registryOf(int cabinetId) {
+    SingletonLockerRepository repository = SingletonLockerRepository.getInstance();
+    return repository.getPasscodeRegistry(cabinetOf(cabinetId));
+  }
+
+  private static int passcodeLengthOf(int cabinetId) {
+    LockerCabinet cabinet = cabinetOf(cabinetId);
+    return cabinet == null ? PasscodeGenerator.DEFAULT_LENGTH : cabinet.getPasscodeLength();
+  }
+
+  private static LockerCabinet cabinetOf(int cabinetId) {
+    return cabinetId == 0 ? null
+        : SingletonLockerRepository.getInstance().getLockerCabinet(cabinetId);
+  }
+
+  private int highestId() {
+    long stamp = lock.readLock();
+    try {
+      return size;
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  private boolean exists(int id) {
+    return id > 0 && id <= size && states[id - 1] != REMOVED;
+  }
+
+  private int positionOf(int id) {
+    if (!exists(id)) {
+      throw new IllegalArgumentException("Locker with id " + id + " does not exist.");
+    }
+    return id - 1;
+  }
+
+  private void grow() {
+    int capacity = 2 * states.length;
+    states = Arrays.copyOf(states, capacity);
+    passcodes = Arrays.copyOf(passcodes, capacity);
+    cabinetIds = Arrays.copyOf(cabinetIds, capacity);
+  }
+
+  private static byte encode(LockerState state) {
+    return (byte) (state.ordinal() + 1);
+  }
+
+  private static LockerState decode(byte state) {
+    return STATE_VALUES[state - 1];
+  }
+
+  /**
+   * The lockers of the store by id, read-only.
+   */
+  private final class LockerMap extends AbstractMap<Integer, Locker> {
+    private final Set<Map.Entry<Integer, Locker>> entries = new AbstractSet<>() {
+      @Override
+      public Iterator<Map.Entry<Integer, Locker>> iterator() {
+        return new LockerIterator();
+      }
+
+      @Override
+      public int size() {
+        return CompactLockerStore.this.size();
+      }
+    };
+
+    @Override
+    public Locker get(Object key) {
+      return key instanceof Integer ? lockerAt((Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return key instanceof Integer && contains((Integer) key);
+    }
+
+    @Override
+    public int size() {
+      return CompactLockerStore.this.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return size() == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, Locker>> entrySet() {
+      return entries;
+    }
+  }
+
+  /**
+   * Goes through the ids up to the highest id when the iteration started.
+   */
+  private final class LockerIterator implements Iterator<Map.Entry<Integer, Locker>> {
+    private final int lastId = highestId();
+    private int nextId;
+
+    private LockerIterator() {
+      nextId = following(0);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextId > 0;
+    }
+
+    @Override
+    public Map.Entry<Integer, Locker> next() {
+      if (nextId <= 0) {
+        throw new NoSuchElementException();
+      }
+      int id = nextId;
+      nextId = following(id);
+      return new AbstractMap.SimpleImmutableEntry<>(id, new CompactLocker(
+          CompactLockerStore.this, id));
+    }
+
+    private int following(int id) {
+      for (int next = id + 1; next <= lastId; next++) {
+        if (contains(next)) {
+          return next;
+        }
+      }
+      return 0;
+    }
+  }
+}
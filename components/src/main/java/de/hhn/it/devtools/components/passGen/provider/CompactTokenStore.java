@@ -0,0 +1,575 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.TooManyTokensException;
+import de.hhn.it.devtools.apis.passGen.Token;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A token store that keeps every token as a flat record of primitives instead of objects.
+ * A record consists of the 64-bit random value, the user id and the creation and expiration
+ * time in epoch milliseconds, held in parallel arrays without gaps. Two open-addressing
+ * tables of record positions find a record by user id or by value.
+ * A token costs about 50 bytes this way, while a {@link SimpleToken} with its strings,
+ * times and map entries costs several hundred.
+ *
+ * <p>The value is turned into the same Base64 text as the one of {@link SimpleToken} only
+ * when a token leaves the store, and parsed back when it comes in.
+ * Expired tokens count as absent; {@link #removeExpired()} frees their records.</p>
+ *
+ * <p>Changes of the records take the write lock. The only exception is
+ * {@link #renewToken(int)}: it holds the read lock, which keeps records from moving, and
+ * updates the expiration time with a compare-and-set, so renewals do not wait for each other
+ * and never overlap with a sweep.</p>
+ */
+public class CompactTokenStore implements Token {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(CompactTokenStore.class);
+
+  /**
+   * The default lifetime of a token in milliseconds, the same as for {@link SimpleToken}.
+   */
+  public static final long DEFAULT_LIFETIME_MILLIS = TimeUnit.SECONDS.toMillis(599);
+
+  /**
+   * The default time after its creation after which a token cannot be renewed anymore.
+   */
+  public static final long DEFAULT_MAX_LIFETIME_MILLIS = TimeUnit.HOURS.toMillis(12);
+
+  private static final int INITIAL_CAPACITY = 16;
+  private static final VarHandle EXPIRES_AT = MethodHandles.arrayElementVarHandle(long[].class);
+  private static final int TOKEN_BYTES = Long.BYTES;
+  private static final Base64.Encoder base64Encoder = Base64.getUrlEncoder();
+  private static final Base64.Decoder base64Decoder = Base64.getUrlDecoder();
+
+  private final RandomSource randomSource;
+  private final long lifetimeMillis;
+  private final LongSupplier clock;
+  private volatile long maxLifetimeMillis = DEFAULT_MAX_LIFETIME_MILLIS;
+  private final StampedLock lock = new StampedLock();
+
+  // the records, positions 0 to size - 1 are in use
+  private long[] values;
+  private int[] userIds;
+  private long[] createdAt;
+  private long[] expiresAt;
+  private int size;
+  // open-addressing tables holding record position + 1, 0 marks a free entry
+  private int[] userIndex;
+  private int[] valueIndex;
+  private int indexMask;
+
+  /**
+   * Creates a store with the default lifetime that draws tokens from a per-thread DRBG.
+   */
+  public CompactTokenStore() {
+    this(new DrbgRandomSource(), DEFAULT_LIFETIME_MILLIS, System::currentTimeMillis);
+  }
+
+  /**
+   * Creates a store.
+   *
+   * @param randomSource   source of the token values
+   * @param lifetimeMillis lifetime of a token in milliseconds
+   * @param clock          clock in epoch milliseconds like {@link System#currentTimeMillis()}
+   * @throws IllegalArgumentException if the random source or clock is null
+   *                                  or the lifetime is not positive
+   */
+  public CompactTokenStore(RandomSource randomSource, long lifetimeMillis, LongSupplier clock) {
+    if (randomSource == null || clock == null) {
+      throw new IllegalArgumentException("Random source or clock is a null reference.");
+    }
+    if (lifetimeMillis <= 0) {
+      throw new IllegalArgumentException("Lifetime has to be positive but was "
+          + lifetimeMillis + ".");
+    }
+    this.randomSource = randomSource;
+    this.lifetimeMillis = lifetimeMillis;
+    this.clock = clock;
+    allocate(INITIAL_CAPACITY);
+  }
+
+  @Override
+  public void generateToken(int userId) throws IllegalArgumentException, TooManyTokensException {
+    if (userId <= 0) {
+      throw new IllegalArgumentException("User Id has to be positive but was " + userId + ".");
+    }
+    long stamp = lock.writeLock();
+    try {
+      long now = clock.getAsLong();
+      int position = findByUser(userId);
+      if (position >= 0) {
+        if (expiresAt[position] > now) {
+          throw new TooManyTokensException("User with id " + userId
+              + " already has an active token.");
+        }
+        remove(position);
+      }
+      long value;
+      do {
+        value = randomSource.nextLong();
+      } while (findByValue(value) >= 0);
+      insert(value, userId, now, now + lifetimeMillis);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+    logger.debug("Assigned token to user with id: {}", userId);
+  }
+
+  /**
+   * Issues tokens for several users at once, e.g. for a whole team at the start of a shift.
+   * The random values of all tokens are drawn with one call, the clock is read once and the
+   * records are added in one pass under one lock. A user who already has an active token
+   * keeps it, so no single user makes the batch fail.
+   *
+   * @param userIds ids of the users
+   * @return the outcome per user id, in the order of the ids
+   * @throws IllegalArgumentException if the collection or one of its ids is null
+   */
+  public Map<Integer, TokenIssue> generateTokens(Collection<Integer> userIds) {
+    if (userIds == null || userIds.stream().anyMatch(Objects::isNull)) {
+      throw new IllegalArgumentException("User ids are a null reference or contain one.");
+    }
+    Map<Integer, TokenIssue> outcomes = new LinkedHashMap<>();
+    byte[] randomBytes = new byte[userIds.size() * TOKEN_BYTES];
+    randomSource.nextBytes(randomBytes);
+    ByteBuffer randomValues = ByteBuffer.wrap(randomBytes);
+    int issued = 0;
+    long stamp = lock.writeLock();
+    try {
+      long now = clock.getAsLong();
+      ensureCapacity(size + userIds.size());
+      for (int userId : userIds) {
+        long value = randomValues.getLong();
+        if (userId <= 0) {
+          outcomes.put(userId, TokenIssue.UNKNOWN_USER);
+          continue;
+        }
+        int position = findByUser(userId);
+        if (position >= 0) {
+          if (expiresAt[position] > now) {
+            outcomes.putIfAbsent(userId, TokenIssue.ALREADY_HAS_TOKEN);
+            continue;
+          }
+          remove(position);
+        }
+        while (findByValue(value) >= 0) {
+          value = randomSource.nextLong();
+        }
+        insert(value, userId, now, now + lifetimeMillis);
+        outcomes.put(userId, TokenIssue.ISSUED);
+        issued++;
+      }
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+    logger.debug("Assigned {} tokens in a batch of {} users", issued, userIds.size());
+    return outcomes;
+  }
+
+  @Override
+  public void removeToken(int userId) {
+    long stamp = lock.writeLock();
+    try {
+      int position = findByUser(userId);
+      if (position >= 0) {
+        remove(position);
+      }
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+    logger.debug("Removed token from user with id: {}", userId);
+  }
+
+  /**
+   * Getter for the token of a user as text.
+   *
+   * @param userId id of the user
+   * @return the token or null if the user has no token or it has expired
+   */
+  public String getToken(int userId) {
+    long stamp = lock.readLock();
+    try {
+      int position = findByUser(userId);
+      if (position < 0 || expirationOf(position) <= clock.getAsLong()) {
+        return null;
+      }
+      return encode(values[position]);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Finds the user who holds the given token.
+   *
+   * @param token the token as text
+   * @return id of the user or 0 if the token is unknown, malformed or has expired
+   */
+  public int findUserId(String token) {
+    byte[] bytes = decode(token);
+    if (bytes == null) {
+      return 0;
+    }
+    long value = ByteBuffer.wrap(bytes).getLong();
+    long stamp = lock.readLock();
+    try {
+      int position = findByValue(value);
+      if (position < 0 || expirationOf(position) <= clock.getAsLong()) {
+        return 0;
+      }
+      return userIds[position];
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Checks if a user has no valid token.
+   *
+   * @param userId id of the user
+   * @return true if the user has no token or it has expired
+   */
+  public boolean isExpired(int userId) {
+    return getExpirationTimeMillis(userId) <= clock.getAsLong();
+  }
+
+  /**
+   * Getter for the creation time of the token of a user.
+   *
+   * @param userId id of the user
+   * @return creation time in epoch milliseconds or 0 if the user has no token
+   */
+  public long getCreationTimeMillis(int userId) {
+    long stamp = lock.readLock();
+    try {
+      int position = findByUser(userId);
+      return position < 0 ? 0 : createdAt[position];
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Getter for the expiration time of the token of a user.
+   *
+   * @param userId id of the user
+   * @return expiration time in epoch milliseconds or 0 if the user has no token
+   */
+  public long getExpirationTimeMillis(int userId) {
+    long stamp = lock.readLock();
+    try {
+      int position = findByUser(userId);
+      return position < 0 ? 0 : expirationOf(position);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Extends the token of a user to a full lifetime from now, but not beyond its maximum
+   * lifetime counted from its creation. The token keeps its value, so renewing draws no
+   * random bytes and allocates nothing.
+   *
+   * @param userId id of the user
+   * @return the new expiration time in epoch milliseconds or 0 if the user has no active token
+   */
+  public long renewToken(int userId) {
+    long stamp = lock.readLock();
+    try {
+      int position = findByUser(userId);
+      if (position < 0) {
+        return 0;
+      }
+      long now = clock.getAsLong();
+      long renewed = Math.min(now + lifetimeMillis, createdAt[position] + maxLifetimeMillis);
+      while (true) {
+        long current = expirationOf(position);
+        if (current <= now) {
+          return 0;
+        }
+        if (renewed <= current
+            || EXPIRES_AT.compareAndSet(expiresAt, position, current, renewed)) {
+          return Math.max(current, renewed);
+        }
+      }
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Sets the time after its creation after which a token cannot be renewed anymore.
+   * Tokens are never shortened by this, it only limits later renewals.
+   *
+   * @param maxLifetimeMillis maximum lifetime in milliseconds
+   * @throws IllegalArgumentException if the maximum lifetime is shorter than the lifetime
+   */
+  public void setMaxLifetimeMillis(long maxLifetimeMillis) {
+    if (maxLifetimeMillis < lifetimeMillis) {
+      throw new IllegalArgumentException("Maximum lifetime " + maxLifetimeMillis
+          + " is shorter than the lifetime " + lifetimeMillis + ".");
+    }
+    this.maxLifetimeMillis = maxLifetimeMillis;
+  }
+
+  /**
+   * Getter for the time after its creation after which a token cannot be renewed anymore.
+   *
+   * @return maximum lifetime in milliseconds
+   */
+  public long getMaxLifetimeMillis() {
+    return maxLifetimeMillis;
+  }
+
+  /**
+   * Frees the records of all expired tokens with one pass over the store.
+   *
+   * @return number of removed tokens
+   */
+  public int removeExpired() {
+    long stamp = lock.writeLock();
+    try {
+      long now = clock.getAsLong();
+      int removed = 0;
+      // going down keeps the record that remove moves into the gap among the checked ones
+      for (int position = size - 1; position >= 0; position--) {
+        if (expiresAt[position] <= now) {
+          remove(position);
+          removed++;
+        }
+      }
+      logger.debug("Removed {} expired tokens", removed);
+      return removed;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Getter for the number of records, expired tokens that have not been removed included.
+   *
+   * @return number of records
+   */
+  public int size() {
+    long stamp = lock.readLock();
+    try {
+      return size;
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Getter for the memory used by the arrays of the store.
+   *
+   * @return size of the arrays in bytes
+   */
+  public long getFootprintBytes() {
+    long stamp = lock.readLock();
+    try {
+      long capacity = values.length;
+      // four record arrays and two index tables, each with a 16 byte array header
+      return 6 * 16L + capacity * (Long.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES)
+          + 2L * Integer.BYTES * userIndex.length;
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Turns a token value into its text.
+   *
+   * @param value the token value
+   * @return the Base64 URL text of the eight bytes of the value
+   */
+  static String encode(long value) {
+    return base64Encoder.encodeToString(
+        ByteBuffer.allocate(TOKEN_BYTES).putLong(value).array());
+  }
+
+  private static byte[] decode(String token) {
+    if (token == null) {
+      return null;
+    }
+    try {
+      byte[] bytes = base64Decoder.decode(token);
+      return bytes.length == TOKEN_BYTES ? bytes : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Reads an expiration time that {@link #renewToken(int)} may change at the same moment.
+   *
+   * @param position position of the record
+   * @return the expiration time
+   */
+  private long expirationOf(int position) {
+    return (long) EXPIRES_AT.getVolatile(expiresAt, position);
+  }
+
+  private void allocate(int capacity) {
+    values = new long[capacity];
+    userIds = new int[capacity];
+    createdAt = new long[capacity];
+    expiresAt = new long[capacity];
+    userIndex = new int[2 * capacity];
+    valueIndex = new int[2 * capacity];
+    indexMask = 2 * capacity - 1;
+  }
+
+  private void insert(long value, int userId, long created, long expires) {
+    if (size == values.length) {
+      ensureCapacity(size + 1);
+    }
+    int position = size++;
+    values[position] = value;
+    userIds[position] = userId;
+    createdAt[position] = created;
+    expiresAt[position] = expires;
+    link(userIndex, hashUser(userId), position);
+    link(valueIndex, hashValue(value), position);
+  }
+
+  private void ensureCapacity(int minCapacity) {
+    if (minCapacity <= values.length) {
+      return;
+    }
+    int capacity = values.length;
+    while (capacity < minCapacity) {
+      capacity *= 2;
+    }
+    values = Arrays.copyOf(values, capacity);
+    userIds = Arrays.copyOf(userIds, capacity);
+    createdAt = Arrays.copyOf(createdAt, capacity);
+    expiresAt = Arrays.copyOf(expiresAt, capacity);
+    userIndex = new int[2 * capacity];
+    valueIndex = new int[2 * capacity];
+    indexMask = 2 * capacity - 1;
+    for (int position = 0; position < size; position++) {
+      link(userIndex, hashUser(userIds[position]), position);
+      link(valueIndex, hashValue(values[position]), position);
+    }
+  }
+
+  /**
+   * Removes a record and moves the last record into the gap, so the records stay dense.
+   *
+   * @param position position of the record
+   */
+  private void remove(int position) {
+    unlink(userIndex, indexOf(userIndex, hashUser(userIds[position]), position), true);
+    unlink(valueIndex, indexOf(valueIndex, hashValue(values[position]), position), false);
+    int last = --size;
+    if (position != last) {
+      int userEntry = indexOf(userIndex, hashUser(userIds[last]), last);
+      int valueEntry = indexOf(valueIndex, hashValue(values[last]), last);
+      values[position] = values[last];
+      userIds[position] = userIds[last];
+      createdAt[position] = createdAt[last];
+      expiresAt[position] = expiresAt[last];
+      userIndex[userEntry] = position + 1;
+      valueIndex[valueEntry] = position + 1;
+    }
+  }
+
+  private int findByUser(int userId) {
+    for (int entry = hashUser(userId) & indexMask; userIndex[entry] != 0;
+         entry = (entry + 1) & indexMask) {
+      int position = userIndex[entry] - 1;
+      if (userIds[position] == userId) {
+        return position;
+      }
+    }
+    return -1;
+  }
+
+  private int findByValue(long value) {
+    for (int entry = hashValue(value) & indexMask; valueIndex[entry] != 0;
+         entry = (entry + 1) & indexMask) {
+      int position = valueIndex[entry] - 1;
+      if (values[position] == value) {
+        return position;
+      }
+    }
+    return -1;
+  }
+
+  private void link(int[] index, int hash, int position) {
+    int entry = hash & indexMask;
+    while (index[entry] != 0) {
+      entry = (entry + 1) & indexMask;
+    }
+    index[entry] = position + 1;
+  }
+
+  private int indexOf(int[] index, int hash, int position) {
+    int entry = hash & indexMask;
+    while (index[entry] != position + 1) {
+      entry = (entry + 1) & indexMask;
+    }
+    return entry;
+  }
+
+  /**
+   * Frees an entry of an index table and shifts the following entries of the probe
+   * sequence back, so lookups never need markers for deleted entries.
+   *
+   * @param index  the index table
+   * @param entry  the entry to free
+   * @param byUser true for the user index, false for the value index
+   */
+  private void unlink(int[] index, int entry, boolean byUser) {
+    int gap = entry;
+    for (int next = (gap + 1) & indexMask; index[next] != 0; next = (next + 1) & indexMask) {
+      int position = index[next] - 1;
+      int home = (byUser ? hashUser(userIds[position]) : hashValue(values[position])) & indexMask;
+      // the entry may only move back if the gap lies between its home and where it is
+      if (((next - home) & indexMask) >= ((next - gap) & indexMask)) {
+        index[gap] = index[next];
+        gap = next;
+      }
+    }
+    index[gap] = 0;
+  }
+
+  private static int hashUser(int userId) {
+    int mixed = userId * 0x9E3779B9;
+    return mixed ^ (mixed >>> 16);
+  }
+
+  private static int hashValue(long value) {
+    long mixed = value * 0x9E3779B97F4A7C15L;
+    return (int) (mixed ^ (mixed >>> 32));
+  }
+}
@@ -0,0 +1,178 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded pool for password checks, which are slow on purpose and must not block the
+ * threads of the UI or of requests. A fixed number of threads works through a queue of fixed
+ * size. A check that finds the queue full is refused at once instead of waiting, so an
+ * overload shows up as refused logins and not as ever longer response times.
+ */
+public class CredentialExecutor implements AutoCloseable {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(CredentialExecutor.class);
+
+  /**
+   * Default number of checks that may wait in the queue.
+   */
+  public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+  private final ThreadPoolExecutor pool;
+  private final int queueCapacity;
+  private final AtomicInteger maxQueueDepth = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder completed = new LongAdder();
+
+  /**
+   * Creates a pool with one thread per processor and the default queue capacity.
+   */
+  public CredentialExecutor() {
+    this(Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+  }
+
+  /**
+   * Creates a pool.
+   *
+   * @param threads       number of threads
+   * @param queueCapacity number of checks that may wait in the queue
+   * @throws IllegalArgumentException if a number is not positive
+   */
+  public CredentialExecutor(int threads, int queueCapacity) {
+    if (threads <= 0 || queueCapacity <= 0) {
+      throw new IllegalArgumentException("Threads and queue capacity have to be positive but "
+          + "were " + threads + " and " + queueCapacity + ".");
+    }
+    this.queueCapacity = queueCapacity;
+    pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        Thread.ofPlatform().daemon().name("credential-check-", 0).factory());
+    logger.info("Created credential pool with {} threads and a queue of {}", threads,
+        queueCapacity);
+  }
+
+  /**
+   * Runs a check on the pool.
+   *
+   * @param task the check
+   * @param <T>  type of the result
+   * @return the result, completed with a {@link RejectedExecutionException} if the queue is
+   *         full or the pool is closed, or with the exception of the check
+   * @throws IllegalArgumentException if the task is null
+   */
+  public <T> CompletableFuture<T> submit(Callable<T> task) {
+    if (task == null) {
+      throw new IllegalArgumentException("Task is a null reference.");
+    }
+    CompletableFuture<T> result = new CompletableFuture<>();
+    try {
+      pool.execute(() -> {
+        T value = null;
+        Exception failure = null;
+        try {
+          value = task.call();
+        } catch (Exception e) {
+          failure = e;
+        }
+        // counted before the caller can see the result
+        completed.increment();
+        if (failure == null) {
+          result.complete(value);
+        } else {
+          result.completeExceptionally(failure);
+        }
+      });
+      maxQueueDepth.accumulateAndGet(pool.getQueue().size(), Math::max);
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  /**
+   * Getter for the number of checks waiting in the queue.
+   *
+   * @return queue depth
+   */
+  public int getQueueDepth() {
+    return pool.getQueue().size();
+  }
+
+  /**
+   * Getter for the highest number of checks that have waited in the queue at once.
+   *
+   * @return highest queue depth
+   */
+  public int getMaxQueueDepth() {
+    return maxQueueDepth.get();
+  }
+
+  /**
+   * Getter for the number of checks that may wait in the queue.
+   *
+   * @return queue capacity
+   */
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  /**
+   * Getter for the number of checks running right now.
+   *
+   * @return number of busy threads
+   */
+  public int getActiveCount() {
+    return pool.getActiveCount();
+  }
+
+  /**
+   * Getter for the number of finished checks.
+   *
+   * @return number of checks
+   */
+  public long getCompletedCount() {
+    return completed.sum();
+  }
+
+  /**
+   * Getter for the number of checks that were refused because the queue was full.
+   *
+   * @return number of refused checks
+   */
+  public long getRejectedCount() {
+    return rejected.sum();
+  }
+
+  /**
+   * Stops taking checks. Checks in the queue are still run.
+   */
+  @Override
+  public void close() {
+    pool.shutdown();
+  }
+}
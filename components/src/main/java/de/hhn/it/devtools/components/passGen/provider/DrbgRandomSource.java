@@ -0,0 +1,63 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * A random source that gives every thread its own DRBG {@link SecureRandom},
+ * so concurrent callers never wait for the lock of a shared generator.
+ */
+public class DrbgRandomSource implements RandomSource {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(DrbgRandomSource.class);
+
+  private final ThreadLocal<SecureRandom> secureRandom =
+      ThreadLocal.withInitial(DrbgRandomSource::createSecureRandom);
+
+  @Override
+  public int nextInt(int bound) {
+    return secureRandom.get().nextInt(bound);
+  }
+
+  @Override
+  public long nextLong() {
+    return secureRandom.get().nextLong();
+  }
+
+  @Override
+  public void nextBytes(byte[] bytes) {
+    secureRandom.get().nextBytes(bytes);
+  }
+
+  /**
+   * Creates the generator of one thread.
+   *
+   * @return a DRBG generator or the default generator if DRBG is not available
+   */
+  static SecureRandom createSecureRandom() {
+    try {
+      return SecureRandom.getInstance("DRBG");
+    } catch (NoSuchAlgorithmException e) {
+      logger.warn("DRBG is not available, using the default SecureRandom", e);
+      return new SecureRandom();
+    }
+  }
+}
@@ -0,0 +1,389 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Issues and verifies tokens that carry everything needed to check them.
+ * A token holds the id of the signing key, the user id, the expiration time in epoch seconds
+ * and an HMAC-SHA256 over these fields cut to 96 bits, Base64 URL encoded into 28 characters.
+ * Verifying a token costs one MAC computation and no lookup, so a kiosk that knows the
+ * server key can check tokens offline.
+ *
+ * <p>Two keys are active at a time: {@link #rotateKey(byte[])} makes the current key the
+ * previous one, so tokens signed before the rotation stay valid until they expire.
+ * Tokens that have to become invalid early are kept in a small revocation set until they
+ * would have expired anyway.</p>
+ */
+public class HmacTokenService {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(HmacTokenService.class);
+
+  /**
+   * The minimum length of a key in bytes, the output length of SHA-256.
+   */
+  public static final int MIN_KEY_LENGTH = 32;
+
+  /**
+   * The length of a token as text.
+   */
+  public static final int TOKEN_LENGTH = 28;
+
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final int MAC_BYTES = 12;
+  // key id, user id and expiration time
+  private static final int PAYLOAD_BYTES = 1 + Integer.BYTES + Integer.BYTES;
+  private static final int TOKEN_BYTES = PAYLOAD_BYTES + MAC_BYTES;
+  // revoked tokens are purged of expired ones once the set has grown to this size
+  private static final int REVOCATION_PURGE_SIZE = 1024;
+  private static final Base64.Encoder base64Encoder = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder base64Decoder = Base64.getUrlDecoder();
+
+  private final long lifetimeMillis;
+  private final LongSupplier clock;
+  private volatile SigningKey currentKey;
+  private volatile SigningKey previousKey;
+  // revoked tokens and the epoch second in which they expire
+  private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+  // size of the revocation set at which the next purge runs, twice the size after the last
+  private int revocationPurgeAt = REVOCATION_PURGE_SIZE;
+  // answers "surely not revoked" without the revocation set, null if switched off
+  private volatile BloomFilter revokedFilter;
+  // number of tokens the current filter generation is sized for
+  private int revokedFilterCapacity;
+  private TokenFilterConfig filterConfig;
+
+  /**
+   * Creates a service with the default token lifetime of {@link SimpleToken}.
+   *
+   * @param key the server key
+   * @throws IllegalParameterException if the key is null or shorter than
+   *                                   {@link #MIN_KEY_LENGTH} bytes
+   */
+  public HmacTokenService(byte[] key) throws IllegalParameterException {
+    this(key, TimeUnit.SECONDS.toMillis(599), System::currentTimeMillis);
+  }
+
+  /**
+   * Creates a service.
+   *
+   * @param key            the server key
+   * @param lifetimeMillis lifetime of a token in milliseconds
+   * @param clock          clock in epoch milliseconds like {@link System#currentTimeMillis()}
+   * @throws IllegalParameterException if the key is null or too short, the lifetime is not
+   *                                   positive or the clock is null
+   */
+  public HmacTokenService(byte[] key, long lifetimeMillis, LongSupplier clock)
+      throws IllegalParameterException {
+    if (lifetimeMillis <= 0) {
+      throw new IllegalParameterException("Lifetime has to be positive but was "
+          + lifetimeMillis + ".");
+    }
+    if (clock == null) {
+      throw new IllegalParameterException("Clock is a null reference.");
+    }
+    this.lifetimeMillis = lifetimeMillis;
+    this.clock = clock;
+    this.currentKey = new SigningKey(0, key);
+  }
+
+  /**
+   * Creates a new random server key.
+   *
+   * @return the key
+   */
+  public static byte[] createKey() {
+    byte[] key = new byte[MIN_KEY_LENGTH];
+    DrbgRandomSource.createSecureRandom().nextBytes(key);
+    return key;
+  }
+
+  /**
+   * Reads a server key that is stored Base64 encoded in a local file.
+   *
+   * @param file the key file
+   * @return the key
+   * @throws IllegalParameterException if the file cannot be read or holds no valid key
+   */
+  public static byte[] readKey(Path file) throws IllegalParameterException {
+    if (file == null) {
+      throw new IllegalParameterException("File is a null reference.");
+    }
+    try {
+      return Base64.getDecoder().decode(Files.readString(file).strip());
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalParameterException("Cannot read key from " + file + ": "
+          + e.getMessage());
+    }
+  }
+
+  /**
+   * Issues a token for a user.
+   *
+   * @param userId id of the user
+   * @return the token as text
+   * @throws IllegalArgumentException if the user id is not positive
+   */
+  public String issueToken(int userId) {
+    if (userId <= 0) {
+      throw new IllegalArgumentException("User Id has to be positive but was " + userId + ".");
+    }
+    long expiresAtMillis = clock.getAsLong() + lifetimeMillis;
+    // round up, a token never expires before its lifetime is over
+    int expiresAtSeconds = (int) ((expiresAtMillis + 999) / 1000);
+    SigningKey key = currentKey;
+    byte[] bytes = new byte[TOKEN_BYTES];
+    ByteBuffer.wrap(bytes).put((byte) key.id).putInt(userId).putInt(expiresAtSeconds);
+    key.sign(bytes);
+    logger.debug("Issued signed token for user with id: {}", userId);
+    return base64Encoder.encodeToString(bytes);
+  }
+
+  /**
+   * Verifies a token.
+   *
+   * @param token the token as text
+   * @return id of the user or 0 if the token is malformed, forged, expired or revoked
+   */
+  public int verifyToken(String token) {
+    byte[] bytes = decode(token);
+    if (bytes == null) {
+      return 0;
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    int keyId = buffer.get() & 0xFF;
+    int userId = buffer.getInt();
+    long expiresAtSeconds = buffer.getInt() & 0xFFFFFFFFL;
+    SigningKey key = findKey(keyId);
+    if (key == null || !key.verify(bytes)) {
+      return 0;
+    }
+    if (expiresAtSeconds * 1000 <= clock.getAsLong()) {
+      return 0;
+    }
+    if (isRevoked(token)) {
+      return 0;
+    }
+    return userId;
+  }
+
+  /**
+   * Checks if a text has the form of a signed token, without verifying it.
+   *
+   * @param token the text
+   * @return true if the text could be a signed token
+   */
+  public boolean isSignedToken(String token) {
+    return decode(token) != null;
+  }
+
+  /**
+   * Revokes a token before it expires.
+   *
+   * @param token the token as text
+   * @return true if the token was valid and is revoked now
+   */
+  public synchronized boolean revokeToken(String token) {
+    if (verifyToken(token) == 0) {
+      return false;
+    }
+    byte[] bytes = decode(token);
+    long expiresAtSeconds = ByteBuffer.wrap(bytes, 1 + Integer.BYTES, Integer.BYTES).getInt()
+        & 0xFFFFFFFFL;
+    boolean purge = revokedTokens.size() >= revocationPurgeAt;
+    if (purge) {
+      long nowSeconds = clock.getAsLong() / 1000;
+      revokedTokens.values().removeIf(expiresAt -> expiresAt <= nowSeconds);
+      revocationPurgeAt = Math.max(REVOCATION_PURGE_SIZE, 2 * revokedTokens.size());
+    }
+    revokedTokens.put(token, expiresAtSeconds);
+    BloomFilter filter = revokedFilter;
+    if (filter != null) {
+      if (filter.getInsertionCount() >= revokedFilterCapacity) {
+        // next generation, without the tokens that have expired in the meantime
+        rebuildRevokedFilter();
+      } else {
+        filter.put(token);
+      }
+    }
+    logger.debug("Revoked signed token, {} tokens revoked", revokedTokens.size());
+    return true;
+  }
+
+  /**
+   * Getter for the number of revoked tokens that are kept.
+   *
+   * @return size of the revocation set
+   */
+  public int getRevokedCount() {
+    return revokedTokens.size();
+  }
+
+  /**
+   * Switches the Bloom filter in front of the revocation set on or off. With the filter,
+   * verifying a token that was never revoked does not touch the revocation set. The filter
+   * is replaced by a new generation holding only the unexpired revoked tokens whenever it has
+   * taken up the configured number of tokens, so its size stays as configured as long as
+   * fewer unexpired tokens are revoked.
+   *
+   * @param config sizes of the filter, null to switch the filter off
+   */
+  public synchronized void setTokenFilterConfig(TokenFilterConfig config) {
+    filterConfig = config;
+    if (config == null) {
+      revokedFilter = null;
+    } else {
+      rebuildRevokedFilter();
+    }
+  }
+
+  /**
+   * Getter for the sizes of the Bloom filter of revoked tokens.
+   *
+   * @return the configuration or null if the filter is switched off
+   */
+  public synchronized TokenFilterConfig getTokenFilterConfig() {
+    return filterConfig;
+  }
+
+  /**
+   * Signs new tokens with a new key. The current key stays valid for verification,
+   * the key before it is dropped together with its tokens.
+   *
+   * @param key the new server key
+   * @throws IllegalParameterException if the key is null or too short
+   */
+  public synchronized void rotateKey(byte[] key) throws IllegalParameterException {
+    SigningKey newKey = new SigningKey((currentKey.id + 1) & 0xFF, key);
+    previousKey = currentKey;
+    currentKey = newKey;
+    logger.info("Rotated token key, signing with key {}", newKey.id);
+  }
+
+  private boolean isRevoked(String token) {
+    BloomFilter filter = revokedFilter;
+    if (filter != null) {
+      return filter.mightContain(token) && revokedTokens.containsKey(token);
+    }
+    return !revokedTokens.isEmpty() && revokedTokens.containsKey(token);
+  }
+
+  // called with the lock held, so no revocation is missing from the new generation
+  private void rebuildRevokedFilter() {
+    long nowSeconds = clock.getAsLong() / 1000;
+    int live = 0;
+    for (long expiresAt : revokedTokens.values()) {
+      if (expiresAt > nowSeconds) {
+        live++;
+      }
+    }
+    // with more unexpired tokens than configured, the generation is sized for twice as many,
+    // so it is not rebuilt again by the next revocation
+    revokedFilterCapacity = Math.max(filterConfig.getRevokedExpected(), 2 * live);
+    BloomFilter filter = revokedFilterCapacity == filterConfig.getRevokedExpected()
+        ? filterConfig.createRevokedFilter()
+        : new BloomFilter(revokedFilterCapacity, filterConfig.getRevokedFalsePositiveRate());
+    for (var entry : revokedTokens.entrySet()) {
+      if (entry.getValue() > nowSeconds) {
+        filter.put(entry.getKey());
+      }
+    }
+    revokedFilter = filter;
+    logger.debug("New generation of the revoked token filter with {} tokens",
+        filter.getInsertionCount());
+  }
+
+  private SigningKey findKey(int keyId) {
+    SigningKey key = currentKey;
+    if (key.id == keyId) {
+      return key;
+    }
+    key = previousKey;
+    return key != null && key.id == keyId ? key : null;
+  }
+
+  private static byte[] decode(String token) {
+    if (token == null || token.length() != TOKEN_LENGTH) {
+      return null;
+    }
+    try {
+      return base64Decoder.decode(token);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * A server key with its id. Every thread gets its own {@link Mac}, as a Mac must not be
+   * used by several threads at once.
+   */
+  private static final class SigningKey {
+    private final int id;
+    private final ThreadLocal<Mac> mac;
+
+    private SigningKey(int id, byte[] key) throws IllegalParameterException {
+      if (key == null || key.length < MIN_KEY_LENGTH) {
+        throw new IllegalParameterException("A key has to have at least " + MIN_KEY_LENGTH
+            + " bytes.");
+      }
+      SecretKeySpec keySpec = new SecretKeySpec(key.clone(), ALGORITHM);
+      this.id = id;
+      this.mac = ThreadLocal.withInitial(() -> {
+        try {
+          Mac newMac = Mac.getInstance(ALGORITHM);
+          newMac.init(keySpec);
+          return newMac;
+        } catch (GeneralSecurityException e) {
+          throw new IllegalStateException("HMAC-SHA256 is not available: " + e.getMessage());
+        }
+      });
+    }
+
+    private byte[] computeMac(byte[] token) {
+      Mac threadMac = mac.get();
+      threadMac.update(token, 0, PAYLOAD_BYTES);
+      return threadMac.doFinal();
+    }
+
+    private void sign(byte[] token) {
+      System.arraycopy(computeMac(token), 0, token, PAYLOAD_BYTES, MAC_BYTES);
+    }
+
+    private boolean verify(byte[] token) {
+      byte[] expected = Arrays.copyOf(computeMac(token), MAC_BYTES);
+      byte[] actual = Arrays.copyOfRange(token, PAYLOAD_BYTES, TOKEN_BYTES);
+      return MessageDigest.isEqual(expected, actual);
+    }
+  }
+}
@@ -0,0 +1,288 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * A concurrent map with primitive int keys, so looking up an id neither boxes it nor
+ * allocates anything. Entries live in an open-addressing table with linear probing that is
+ * never more than half full.
+ *
+ * <p>Reads take no lock: a new entry is published by writing its value before its key with
+ * release semantics, and a reader that sees the key with acquire semantics also sees the
+ * value. Removing an entry only clears its value, the key stays in its slot until the
+ * table is rebuilt, so probe chains are never cut. Writes are synchronized on the map and
+ * rebuild the table into a new array when it is half full; readers that still hold the old
+ * table see the entries as they were before the rebuild.</p>
+ *
+ * @param <V> type of the values
+ */
+public class IntObjectMap<V> {
+  private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(int[].class);
+  private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+  // key of free slots, the value of key 0 is kept in a field of its own
+  private static final int FREE = 0;
+  private static final int MIN_CAPACITY = 16;
+
+  private volatile Table table = new Table(MIN_CAPACITY);
+  private volatile Object zeroValue;
+  private volatile int size;
+  // slots with a key, including those whose value was removed, guarded by this
+  private int usedSlots;
+
+  /**
+   * Returns the value of a key.
+   *
+   * @param key the key
+   * @return the value or null if the map has no entry for the key
+   */
+  @SuppressWarnings("unchecked")
+  public V get(int key) {
+    if (key == FREE) {
+      return (V) zeroValue;
+    }
+    Table table = this.table;
+    int mask = table.keys.length - 1;
+    for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+      int slotKey = (int) KEYS.getAcquire(table.keys, slot);
+      if (slotKey == key) {
+        return (V) VALUES.getAcquire(table.values, slot);
+      }
+      if (slotKey == FREE) {
+        return null;
+      }
+    }
+  }
+
+  /**
+   * Checks if the map has an entry for a key.
+   *
+   * @param key the key
+   * @return true if the map has an entry for the key
+   */
+  public boolean containsKey(int key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Sets the value of a key.
+   *
+   * @param key   the key
+   * @param value the value
+   * @return the previous value or null if the map had no entry for the key
+   * @throws IllegalArgumentException if the value is null
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized V put(int key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Value is a null reference.");
+    }
+    if (key == FREE) {
+      Object previous = zeroValue;
+      zeroValue = value;
+      if (previous == null) {
+        size++;
+      }
+      return (V) previous;
+    }
+    Table table = this.table;
+    int slot = slotOf(table, key);
+    if (table.keys[slot] == key) {
+      Object previous = table.values[slot];
+      VALUES.setRelease(table.values, slot, value);
+      if (previous == null) {
+        size++;
+      }
+      return (V) previous;
+    }
+    if (2 * (usedSlots + 1) > table.keys.length) {
+      table = rebuild();
+      slot = slotOf(table, key);
+    }
+    VALUES.setRelease(table.values, slot, value);
+    KEYS.setRelease(table.keys, slot, key);
+    usedSlots++;
+    size++;
+    return null;
+  }
+
+  /**
+   * Returns the value of a key and creates it first if the map has none.
+   * Values that already exist are found without taking the lock.
+   *
+   * @param key      the key
+   * @param function creates the value from the key
+   * @return the existing or the new value
+   * @throws IllegalArgumentException if the function returns null
+   */
+  public V computeIfAbsent(int key, IntFunction<? extends V> function) {
+    V value = get(key);
+    if (value != null) {
+      return value;
+    }
+    synchronized (this) {
+      value = get(key);
+      if (value == null) {
+        value = function.apply(key);
+        put(key, value);
+      }
+      return value;
+    }
+  }
+
+  /**
+   * Removes the entry of a key.
+   *
+   * @param key the key
+   * @return the removed value or null if the map had no entry for the key
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized V remove(int key) {
+    Object previous;
+    if (key == FREE) {
+      previous = zeroValue;
+      zeroValue = null;
+    } else {
+      Table table = this.table;
+      int slot = slotOf(table, key);
+      previous = table.values[slot];
+      if (previous != null) {
+        VALUES.setRelease(table.values, slot, null);
+      }
+    }
+    if (previous != null) {
+      size--;
+    }
+    return (V) previous;
+  }
+
+  /**
+   * Removes all entries.
+   */
+  public synchronized void clear() {
+    table = new Table(MIN_CAPACITY);
+    zeroValue = null;
+    usedSlots = 0;
+    size = 0;
+  }
+
+  /**
+   * Getter for the number of entries.
+   *
+   * @return number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks if the map has no entries.
+   *
+   * @return true if the map has no entries
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Passes every value to an action. Entries that are put or removed at the same time may
+   * or may not be seen.
+   *
+   * @param action the action
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(Consumer<? super V> action) {
+    Object value = zeroValue;
+    if (value != null) {
+      action.accept((V) value);
+    }
+    Table table = this.table;
+    for (int slot = 0; slot < table.values.length; slot++) {
+      value = VALUES.getAcquire(table.values, slot);
+      if (value != null) {
+        action.accept((V) value);
+      }
+    }
+  }
+
+  /**
+   * Returns the values as a list.
+   *
+   * @return a new list of the values in no particular order
+   */
+  public List<V> values() {
+    List<V> values = new ArrayList<>(size);
+    forEach(values::add);
+    return values;
+  }
+
+  private Table rebuild() {
+    int capacity = MIN_CAPACITY;
+    while (capacity < 4 * (size + 1)) {
+      capacity <<= 1;
+    }
+    Table old = table;
+    Table rebuilt = new Table(capacity);
+    usedSlots = 0;
+    for (int slot = 0; slot < old.keys.length; slot++) {
+      Object value = old.values[slot];
+      if (value != null) {
+        int newSlot = slotOf(rebuilt, old.keys[slot]);
+        rebuilt.keys[newSlot] = old.keys[slot];
+        rebuilt.values[newSlot] = value;
+        usedSlots++;
+      }
+    }
+    table = rebuilt;
+    return rebuilt;
+  }
+
+  private static int slotOf(Table table, int key) {
+    int mask = table.keys.length - 1;
+    int slot = hash(key) & mask;
+    while (table.keys[slot] != key && table.keys[slot] != FREE) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private static int hash(int key) {
+    int hash = key * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * The slots of the map, the capacity is a power of two.
+   */
+  private static final class Table {
+    private final int[] keys;
+    private final Object[] values;
+
+    private Table(int capacity) {
+      keys = new int[capacity];
+      values = new Object[capacity];
+    }
+  }
+}
@@ -0,0 +1,398 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An index of the lockers by state: one bitmap of locker ids per {@link LockerState} for all
+ * lockers and one per state for the lockers of every cabinet. Counting the lockers in a
+ * state takes a single read, finding the next locker in a state or all of them a pass over
+ * the words of a bitmap instead of a call to every locker.
+ *
+ * <p>Bitmaps are split into chunks of 4096 ids that are created when the first id in their
+ * range is set, so the bitmaps of a cabinet only take room for the ranges of its lockers.
+ * Bits are flipped with atomic bitwise operations and a state's count changes only with an
+ * actual flip.</p>
+ *
+ * <p>The owner of the lockers calls {@link #move} after every state change it made with a
+ * compare-and-set and then compares the state of the locker with the state it has indexed:
+ * two changes of the same locker may reach the index in the opposite order, so as long as
+ * they differ it indexes the current state with {@link #set}. Once the changes of a locker
+ * are done, the index shows the locker in its current state only; while they run, a query
+ * may see it in its old and its new state or in neither.</p>
+ */
+public class LockerStateIndex {
+  private static final LockerState[] STATE_VALUES = LockerState.values();
+
+  private final StateBitmaps all = new StateBitmaps();
+  private final IntObjectMap<StateBitmaps> cabinets = new IntObjectMap<>();
+
+  /**
+   * Adds a locker to the index.
+   *
+   * @param id        id of the locker
+   * @param cabinetId id of the cabinet of the locker, 0 for none
+   * @param state     the state of the locker
+   * @throws IllegalArgumentException if the id is negative or the state is null
+   */
+  public void add(int id, int cabinetId, LockerState state) {
+    set(id, cabinetId, state);
+  }
+
+  /**
+   * Removes a locker from the index.
+   *
+   * @param id        id of the locker
+   * @param cabinetId id of the cabinet of the locker, 0 for none
+   */
+  public void remove(int id, int cabinetId) {
+    if (id < 0) {
+      return;
+    }
+    StateBitmaps cabinet = cabinets.get(cabinetId);
+    for (int state = 0; state < STATE_VALUES.length; state++) {
+      all.bitmaps[state].clear(id);
+      if (cabinet != null) {
+        cabinet.bitmaps[state].clear(id);
+      }
+    }
+  }
+
+  /**
+   * Moves a locker from one state to another.
+   *
+   * @param id        id of the locker
+   * @param cabinetId id of the cabinet of the locker, 0 for none
+   * @param from      the state before the change
+   * @param to        the state after the change
+   * @throws IllegalArgumentException if the id is negative or a state is null
+   */
+  public void move(int id, int cabinetId, LockerState from, LockerState to) {
+    checkArguments(id, to);
+    checkState(from);
+    StateBitmaps cabinet = cabinets.computeIfAbsent(cabinetId, key -> new StateBitmaps());
+    all.bitmaps[from.ordinal()].clear(id);
+    cabinet.bitmaps[from.ordinal()].clear(id);
+    all.bitmaps[to.ordinal()].set(id);
+    cabinet.bitmaps[to.ordinal()].set(id);
+  }
+
+  /**
+   * Sets the state of a locker, whatever the index shows for it so far.
+   *
+   * @param id        id of the locker
+   * @param cabinetId id of the cabinet of the locker, 0 for none
+   * @param state     the state of the locker
+   * @throws IllegalArgumentException if the id is negative or the state is null
+   */
+  public void set(int id, int cabinetId, LockerState state) {
+    checkArguments(id, state);
+    StateBitmaps cabinet = cabinets.computeIfAbsent(cabinetId, key -> new StateBitmaps());
+    for (int other = 0; other < STATE_VALUES.length; other++) {
+      if (other != state.ordinal()) {
+        all.bitmaps[other].clear(id);
+        cabinet.bitmaps[other].clear(id);
+      }
+    }
+    all.bitmaps[state.ordinal()].set(id);
+    cabinet.bitmaps[state.ordinal()].set(id);
+  }
+
+  /**
+   * Counts the lockers in a state.
+   *
+   * @param state the state
+   * @return number of lockers in the state
+   * @throws IllegalArgumentException if the state is null
+   */
+  public int count(LockerState state) {
+    return all.of(state).count();
+  }
+
+  /**
+   * Counts the lockers of a cabinet in a state.
+   *
+   * @param cabinetId id of the cabinet, 0 for lockers without a cabinet
+   * @param state     the state
+   * @return number of lockers of the cabinet in the state
+   * @throws IllegalArgumentException if the state is null
+   */
+  public int count(int cabinetId, LockerState state) {
+    checkState(state);
+    StateBitmaps cabinet = cabinets.get(cabinetId);
+    return cabinet == null ? 0 : cabinet.of(state).count();
+  }
+
+  /**
+   * Finds the locker with the lowest id from a given id on that is in a state.
+   *
+   * @param state  the state
+   * @param fromId the lowest id to look at
+   * @return id of the locker or -1 if there is none
+   * @throws IllegalArgumentException if the state is null
+   */
+  public int next(LockerState state, int fromId) {
+    return all.of(state).next(fromId);
+  }
+
+  /**
+   * Finds the locker of a cabinet with the lowest id from a given id on that is in a state.
+   *
+   * @param cabinetId id of the cabinet, 0 for lockers without a cabinet
+   * @param state     the state
+   * @param fromId    the lowest id to look at
+   * @return id of the locker or -1 if there is none
+   * @throws IllegalArgumentException if the state is null
+   */
+  public int next(int cabinetId, LockerState state, int fromId) {
+    checkState(state);
+    StateBitmaps cabinet = cabinets.get(cabinetId);
+    return cabinet == null ? -1 : cabinet.of(state).next(fromId);
+  }
+
+  /**
+   * Finds all lockers in a state.
+   *
+   * @param state the state
+   * @return ids of the lockers in ascending order
+   * @throws IllegalArgumentException if the state is null
+   */
+  public int[] find(LockerState state) {
+    return all.of(state).toArray();
+  }
+
+  /**
+   * Finds all lockers of a cabinet in a state.
+   *
+   * @param cabinetId id of the cabinet, 0 for lockers without a cabinet
+   * @param state     the state
+   * @return ids of the lockers in ascending order
+   * @throws IllegalArgumentException if the state is null
+   */
+  public int[] find(int cabinetId, LockerState state) {
+    checkState(state);
+    StateBitmaps cabinet = cabinets.get(cabinetId);
+    return cabinet == null ? new int[0] : cabinet.of(state).toArray();
+  }
+
+  /**
+   * Checks if the index shows a locker in a state.
+   *
+   * @param id    id of the locker
+   * @param state the state
+   * @return true if the bit of the locker is set in the bitmap of the state
+   * @throws IllegalArgumentException if the state is null
+   */
+  public boolean contains(int id, LockerState state) {
+    return id >= 0 && all.of(state).get(id);
+  }
+
+  private static void checkState(LockerState state) {
+    if (state == null) {
+      throw new IllegalArgumentException("State is a null reference.");
+    }
+  }
+
+  private static void checkArguments(int id, LockerState state) {
+    if (id < 0 || state == null) {
+      throw new IllegalArgumentException("Locker id " + id + " or state " + state
+          + " is not valid.");
+    }
+  }
+
+  /**
+   * One bitmap per state.
+   */
+  private static final class StateBitmaps {
+    private final Bitmap[] bitmaps = new Bitmap[STATE_VALUES.length];
+
+    private StateBitmaps() {
+      for (int state = 0; state < bitmaps.length; state++) {
+        bitmaps[state] = new Bitmap();
+      }
+    }
+
+    private Bitmap of(LockerState state) {
+      checkState(state);
+      return bitmaps[state.ordinal()];
+    }
+  }
+
+  /**
+   * A set of ids whose words are kept in chunks. Chunks are never replaced once they exist,
+   * so a bit flipped in a chunk is never lost when the list of chunks grows.
+   */
+  static final class Bitmap {
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_WORDS = (1 << CHUNK_SHIFT) >>> 6;
+
+    // written under the lock of the bitmap only, replaced by a longer copy to grow
+    private volatile long[][] chunks = new long[0][];
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Sets the bit of an id.
+     *
+     * @param id the id
+     * @return true if the bit was not set before
+     */
+    boolean set(int id) {
+      long[] chunk = chunkOf(id, true);
+      long bit = 1L << id;
+      long word = (long) WORDS.getAndBitwiseOr(chunk, wordOf(id), bit);
+      if ((word & bit) != 0) {
+        return false;
+      }
+      count.incrementAndGet();
+      return true;
+    }
+
+    /**
+     * Clears the bit of an id.
+     *
+     * @param id the id
+     * @return true if the bit was set before
+     */
+    boolean clear(int id) {
+      long[] chunk = chunkOf(id, false);
+      if (chunk == null) {
+        return false;
+      }
+      long bit = 1L << id;
+      long word = (long) WORDS.getAndBitwiseAnd(chunk, wordOf(id), ~bit);
+      if ((word & bit) == 0) {
+        return false;
+      }
+      count.decrementAndGet();
+      return true;
+    }
+
+    /**
+     * Checks the bit of an id.
+     *
+     * @param id the id
+     * @return true if the bit is set
+     */
+    boolean get(int id) {
+      long[] chunk = chunkOf(id, false);
+      return chunk != null && ((long) WORDS.getVolatile(chunk, wordOf(id)) & (1L << id)) != 0;
+    }
+
+    /**
+     * Getter for the number of set bits.
+     *
+     * @return number of ids in the set
+     */
+    int count() {
+      return count.get();
+    }
+
+    /**
+     * Finds the lowest set bit from an id on.
+     *
+     * @param fromId the lowest id to look at
+     * @return the id or -1 if no bit from there on is set
+     */
+    int next(int fromId) {
+      int from = Math.max(fromId, 0);
+      long[][] chunks = this.chunks;
+      for (int chunkIndex = from >>> CHUNK_SHIFT; chunkIndex < chunks.length; chunkIndex++) {
+        long[] chunk = chunks[chunkIndex];
+        if (chunk == null) {
+          continue;
+        }
+        int firstWord = chunkIndex == from >>> CHUNK_SHIFT ? wordOf(from) : 0;
+        for (int word = firstWord; word < CHUNK_WORDS; word++) {
+          long bits = (long) WORDS.getVolatile(chunk, word);
+          if (word == firstWord && chunkIndex == from >>> CHUNK_SHIFT) {
+            bits &= -1L << from;
+          }
+          if (bits != 0) {
+            return (chunkIndex << CHUNK_SHIFT) + (word << 6) + Long.numberOfTrailingZeros(bits);
+          }
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Collects the set bits.
+     *
+     * @return the ids in ascending order
+     */
+    int[] toArray() {
+      int[] ids = new int[Math.max(count(), 1)];
+      int size = 0;
+      long[][] chunks = this.chunks;
+      for (int chunkIndex = 0; chunkIndex < chunks.length; chunkIndex++) {
+        long[] chunk = chunks[chunkIndex];
+        if (chunk == null) {
+          continue;
+        }
+        for (int word = 0; word < CHUNK_WORDS; word++) {
+          long bits = (long) WORDS.getVolatile(chunk, word);
+          while (bits != 0) {
+            if (size == ids.length) {
+              ids = Arrays.copyOf(ids, 2 * size);
+            }
+            ids[size++] = (chunkIndex << CHUNK_SHIFT) + (word << 6)
+                + Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+          }
+        }
+      }
+      return Arrays.copyOf(ids, size);
+    }
+
+    private long[] chunkOf(int id, boolean create) {
+      int chunkIndex = id >>> CHUNK_SHIFT;
+      long[][] chunks = this.chunks;
+      if (chunkIndex < chunks.length && chunks[chunkIndex] != null) {
+        return chunks[chunkIndex];
+      }
+      if (!create) {
+        return null;
+      }
+      synchronized (this) {
+        chunks = this.chunks;
+        if (chunkIndex >= chunks.length) {
+          chunks = Arrays.copyOf(chunks, Math.max(chunkIndex + 1, 2 * chunks.length));
+        } else if (chunks[chunkIndex] != null) {
+          return chunks[chunkIndex];
+        } else {
+          chunks = chunks.clone();
+        }
+        long[] chunk = new long[CHUNK_WORDS];
+        chunks[chunkIndex] = chunk;
+        this.chunks = chunks;
+        return chunk;
+      }
+    }
+
+    private static int wordOf(int id) {
+      return (id >>> 6) & (CHUNK_WORDS - 1);
+    }
+  }
+}
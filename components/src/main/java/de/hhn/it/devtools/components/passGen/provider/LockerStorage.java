@@ -0,0 +1,34 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.hhn.it.devtools.components.passGen.provider;
+
+/**
+ * Enum to represent how the {@link SingletonLockerRepository} keeps its lockers.
+ */
+public enum LockerStorage {
+  /**
+   * Every locker is a {@link SimpleLocker} object in a map (default).
+   */
+  OBJECTS,
+
+  /**
+   * Every locker is a record of primitives in a {@link CompactLockerStore}, handed out as
+   * {@link CompactLocker} views. Lockers can only be created through the repository.
+   */
+  COMPACT
+}
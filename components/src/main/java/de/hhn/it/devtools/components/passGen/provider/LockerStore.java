@@ -0,0 +1,84 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.passGen.Locker;
+import de.hhn.it.devtools.apis.passGen.LockerCabinet;
+import java.util.Map;
+
+/**
+ * Holds the lockers of the {@link SingletonLockerRepository}, see {@link LockerStorage}.
+ * Every store keeps a {@link LockerStateIndex} that follows the state changes of its
+ * lockers. The repository calls the changing methods under its own lock.
+ */
+interface LockerStore {
+
+  /**
+   * Returns a locker without boxing its id.
+   *
+   * @param id of the locker
+   * @return the locker or null if there is none with this id
+   */
+  Locker lockerAt(int id);
+
+  /**
+   * Creates a disabled locker without a password, replacing one with the same id.
+   *
+   * @param id       of the locker
+   * @param cabinet  the cabinet of the locker, may be null
+   * @param location the location of the locker
+   * @return the new locker
+   * @throws IllegalArgumentException if the id is not valid in the store
+   */
+  ManagedLocker createLocker(int id, LockerCabinet cabinet, String location);
+
+  /**
+   * Adds a locker that was created outside the store, replacing one with the same id.
+   *
+   * @param id     of the locker
+   * @param locker the locker
+   * @throws IllegalArgumentException if the store cannot hold the locker
+   */
+  void putLocker(int id, Locker locker);
+
+  /**
+   * Removes a locker and gives its password back.
+   *
+   * @param id of the locker
+   */
+  void deleteLocker(int id);
+
+  /**
+   * Returns the lockers as a read-only view.
+   *
+   * @return lockers by id
+   */
+  Map<Integer, Locker> lockers();
+
+  /**
+   * Returns the index of the lockers by state.
+   *
+   * @return the index
+   */
+  LockerStateIndex getStateIndex();
+
+  /**
+   * Removes all lockers.
+   */
+  void clear();
+}
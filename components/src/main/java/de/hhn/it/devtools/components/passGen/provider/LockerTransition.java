@@ -0,0 +1,98 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Enum to represent the state changes of a locker, each with the states it may start from
+ * and the state it leads to. This is the one table of allowed transitions, both
+ * {@link SimpleLocker} and {@link SimpleLockerService} follow it.
+ * Admins may set any state with {@link SimpleLocker#adminSetState}.
+ */
+public enum LockerTransition {
+  /**
+   * Opens a locked or active locker.
+   */
+  UNLOCK(LockerState.UNLOCKED, LockerState.LOCKED, LockerState.ACTIVE),
+
+  /**
+   * Closes an unlocked or active locker.
+   */
+  LOCK(LockerState.LOCKED, LockerState.UNLOCKED, LockerState.ACTIVE),
+
+  /**
+   * Makes a deactivated or locked locker ready for use.
+   */
+  ACTIVATE(LockerState.ACTIVE, LockerState.DEACTIVATED, LockerState.LOCKED),
+
+  /**
+   * Takes an active locker out of use until it is activated again.
+   */
+  DEACTIVATE(LockerState.DEACTIVATED, LockerState.ACTIVE),
+
+  /**
+   * Takes a deactivated or active locker out of use for good.
+   */
+  DISABLE(LockerState.DISABLED, LockerState.DEACTIVATED, LockerState.ACTIVE);
+
+  private final LockerState target;
+  private final Set<LockerState> sources;
+  // target by ordinal of the source state, null where the transition is not allowed
+  private final LockerState[] targetBySource;
+
+  LockerTransition(LockerState target, LockerState first, LockerState... rest) {
+    this.target = target;
+    this.sources = EnumSet.of(first, rest);
+    this.targetBySource = new LockerState[LockerState.values().length];
+    for (LockerState source : sources) {
+      targetBySource[source.ordinal()] = target;
+    }
+  }
+
+  /**
+   * Returns the state the transition leads to from the given state.
+   *
+   * @param source the current state
+   * @return the new state or null if the transition is not allowed from the given state
+   */
+  public LockerState targetOf(LockerState source) {
+    return source == null ? null : targetBySource[source.ordinal()];
+  }
+
+  /**
+   * Getter for the state the transition leads to.
+   *
+   * @return the new state
+   */
+  public LockerState getTarget() {
+    return target;
+  }
+
+  /**
+   * Getter for the states the transition may start from.
+   *
+   * @return the states
+   */
+  public Set<LockerState> getSources() {
+    return EnumSet.copyOf(sources);
+  }
+}
@@ -0,0 +1,89 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import de.hhn.it.devtools.apis.passGen.Locker;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
+
+/**
+ * A locker of the {@link SingletonLockerRepository} with the atomic steps the locker services
+ * build on. Both storages of the repository hand out such lockers, {@link SimpleLocker}
+ * objects and {@link CompactLocker} views, so the services work the same on either.
+ */
+public interface ManagedLocker extends Locker {
+
+  /**
+   * Changes the state as the transition says, with a single compare-and-set on the state.
+   *
+   * @param transition the transition
+   * @return the state before the transition
+   * @throws IllegalStateException If the transition is not allowed from the current state.
+   */
+  LockerState apply(LockerTransition transition) throws IllegalStateException;
+
+  /**
+   * Changes the state as the transition says, but only if the locker is in the expected
+   * state. Of several threads that try this at the same time exactly one succeeds.
+   *
+   * @param expected   the state the locker has to be in
+   * @param transition the transition
+   * @return true if the locker was in the expected state and has changed
+   * @throws IllegalStateException If the transition is not allowed from the expected state.
+   */
+  boolean applyFrom(LockerState expected, LockerTransition transition)
+      throws IllegalStateException;
+
+  /**
+   * Sets the state regardless of the transition table. Disabling gives the password back.
+   *
+   * @param state the new state
+   */
+  void adminSetState(LockerState state);
+
+  /**
+   * Sets a new password if the locker is active. The state is checked in the same step as
+   * the password is changed, so a locker that is disabled at the same time never keeps it.
+   *
+   * @param newPassword The new password to set.
+   * @throws IllegalParameterException If the new password is weak, too short, or null.
+   * @throws IllegalStateException     If the locker is not active.
+   */
+  void setPasswordIfActive(int newPassword)
+      throws IllegalParameterException, IllegalStateException;
+
+  /**
+   * Sets a new passcode of variable length if the locker is active,
+   * see {@link #setPasswordIfActive(int)}.
+   *
+   * @param newPasscode The new passcode packed with {@link PackedPasscode}.
+   * @throws IllegalParameterException If the passcode is not valid, shorter than the passcode
+   *                                   length of the cabinet or used by another locker.
+   * @throws IllegalStateException     If the locker is not active.
+   */
+  void setPasscodeIfActive(long newPasscode)
+      throws IllegalParameterException, IllegalStateException;
+
+  /**
+   * Gives the password of the locker back, so other lockers can use it.
+   * Only has an effect if passwords have to be unique, the locker has no password afterwards.
+   */
+  void releasePassword();
+}
@@ -0,0 +1,174 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Remembers token strings that were looked up but never belonged to a user, so that
+ * scanners replaying old or made-up tokens are turned away before the token index.
+ * Tokens are kept as 64-bit fingerprints in two generations: when the current generation is
+ * full it becomes the previous one and the previous one is dropped, so the cache never holds
+ * more than twice its generation size.
+ *
+ * <p>A generation is a fixed table of fingerprints with twice as many slots as tokens.
+ * A token may only sit in a small window of slots after its hash, so a lookup reads a few
+ * neighbouring longs and neither boxes nor allocates. If the window is full, a token takes
+ * the place of another one, which is then forgotten early.</p>
+ */
+public class NegativeTokenCache {
+  /**
+   * The largest number of tokens per generation.
+   */
+  public static final int MAX_GENERATION_SIZE = 1 << 29;
+
+  // slots a token may take after its home slot
+  private static final int WINDOW = 8;
+  // marks a free slot, a fingerprint of 0 is stored as 1
+  private static final long EMPTY = 0;
+
+  private final int generationSize;
+  private final int mask;
+  private volatile Generation current;
+  private volatile Generation previous;
+
+  /**
+   * Creates a cache.
+   *
+   * @param generationSize number of tokens per generation
+   * @throws IllegalArgumentException if the size is not positive or too large
+   */
+  public NegativeTokenCache(int generationSize) {
+    if (generationSize <= 0 || generationSize > MAX_GENERATION_SIZE) {
+      throw new IllegalArgumentException("Generation size has to be between 1 and "
+          + MAX_GENERATION_SIZE + " but was " + generationSize + ".");
+    }
+    this.generationSize = generationSize;
+    int slots = Integer.highestOneBit(Math.max(WINDOW, 2 * generationSize - 1)) << 1;
+    this.mask = slots - 1;
+    current = new Generation(slots);
+    previous = new Generation(slots);
+  }
+
+  /**
+   * Remembers a token that does not belong to any user.
+   *
+   * @param token the token
+   */
+  public void add(String token) {
+    Generation generation = current;
+    if (generation.add(fingerprint(token), mask) >= generationSize) {
+      rotate(generation);
+    }
+  }
+
+  /**
+   * Checks if a token is known to belong to no user.
+   *
+   * @param token the token
+   * @return true if the token was remembered as unknown
+   */
+  public boolean contains(String token) {
+    long fingerprint = fingerprint(token);
+    return current.contains(fingerprint, mask) || previous.contains(fingerprint, mask);
+  }
+
+  /**
+   * Forgets a token, e.g. because it has just been handed out.
+   *
+   * @param token the token
+   */
+  public void remove(String token) {
+    long fingerprint = fingerprint(token);
+    current.remove(fingerprint, mask);
+    previous.remove(fingerprint, mask);
+  }
+
+  /**
+   * Getter for the number of remembered tokens.
+   *
+   * @return number of tokens in both generations
+   */
+  public int size() {
+    return current.count.get() + previous.count.get();
+  }
+
+  private synchronized void rotate(Generation full) {
+    // another thread may have rotated already
+    if (current == full) {
+      previous = full;
+      current = new Generation(mask + 1);
+    }
+  }
+
+  private static long fingerprint(String token) {
+    long hash = BloomFilter.hash64(token);
+    return hash == EMPTY ? 1 : hash;
+  }
+
+  /**
+   * One generation: the fingerprint table and the number of tokens in it.
+   */
+  private static final class Generation {
+    private final AtomicLongArray slots;
+    private final AtomicInteger count = new AtomicInteger();
+
+    private Generation(int size) {
+      slots = new AtomicLongArray(size);
+    }
+
+    // returns the number of tokens in the generation after adding
+    private int add(long fingerprint, int mask) {
+      int home = (int) fingerprint & mask;
+      for (int i = 0; i < WINDOW; i++) {
+        if (slots.get((home + i) & mask) == fingerprint) {
+          return count.get();
+        }
+      }
+      for (int i = 0; i < WINDOW; i++) {
+        if (slots.compareAndSet((home + i) & mask, EMPTY, fingerprint)) {
+          return count.incrementAndGet();
+        }
+      }
+      // window is full, the token takes the place of another one
+      slots.set((home + (int) (fingerprint >>> 32 & (WINDOW - 1))) & mask, fingerprint);
+      return count.get();
+    }
+
+    private boolean contains(long fingerprint, int mask) {
+      int home = (int) fingerprint & mask;
+      for (int i = 0; i < WINDOW; i++) {
+        if (slots.get((home + i) & mask) == fingerprint) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private void remove(long fingerprint, int mask) {
+      int home = (int) fingerprint & mask;
+      for (int i = 0; i < WINDOW; i++) {
+        if (slots.compareAndSet((home + i) & mask, fingerprint, EMPTY)) {
+          count.decrementAndGet();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package de.hhn.it.devtools.components.passGen.provider;
+
+import static de.hhn.it.devtools.apis.passGen.LockerState.DISABLED;
+
+import de.hhn.it.devtools.apis.passGen.Locker;
+import de.hhn.it.devtools.apis.passGen.LockerCabinet;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the lockers of the repository as objects, see {@link LockerStorage#OBJECTS}.
+ * Only {@link SimpleLocker} objects are followed by the state index and can be claimed.
+ */
+final class ObjectLockerStore implements LockerStore {
+  private final ConcurrentHashMap<Integer, Locker> lockers = new ConcurrentHashMap<>();
+  // handed out instead of the map, so nothing bypasses the indexes below
+  private final Map<Integer, Locker> lockersView = Collections.unmodifiableMap(lockers);
+  // the same lockers, for lookups by id without boxing the id
+  private final IntObjectMap<Locker> lockerIndex = new IntObjectMap<>();
+  private final LockerStateIndex stateIndex = new LockerStateIndex();
+
+  @Override
+  public Locker lockerAt(int id) {
+    return lockerIndex.get(id);
+  }
+
+  @Override
+  public ManagedLocker createLocker(int id, LockerCabinet cabinet, String location) {
+    SimpleLocker locker = new SimpleLocker(id, cabinet, location);
+    locker.adminSetState(DISABLED);
+    putLocker(id, locker);
+    return locker;
+  }
+
+  @Override
+  public void putLocker(int id, Locker locker) {
+    if (locker instanceof CompactLocker) {
+      throw new IllegalArgumentException("Locker with id " + id
+          + " is held in a compact locker store and cannot be added to the repository.");
+    }
+    lockers.put(id, locker);
+    Locker previous = lockerIndex.put(id, locker);
+    if (previous instanceof SimpleLocker && previous != locker) {
+      ((SimpleLocker) previous).setStateIndex(null);
+    }
+    if (locker instanceof SimpleLocker) {
+      ((SimpleLocker) locker).setStateIndex(stateIndex);
+    }
+  }
+
+  @Override
+  public void deleteLocker(int id) {
+    lockers.remove(id);
+    Locker locker = lockerIndex.remove(id);
+    if (locker instanceof SimpleLocker) {
+      ((SimpleLocker) locker).setStateIndex(null);
+      ((SimpleLocker) locker).releasePassword();
+    }
+  }
+
+  @Override
+  public Map<Integer, Locker> lockers() {
+    return lockersView;
+  }
+
+  @Override
+  public LockerStateIndex getStateIndex() {
+    return stateIndex;
+  }
+
+  @Override
+  public void clear() {
+    lockerIndex.forEach(locker -> {
+      if (locker instanceof SimpleLocker) {
+        ((SimpleLocker) locker).setStateIndex(null);
+      }
+    });
+    lockers.clear();
+    lockerIndex.clear();
+  }
+}
@@ -0,0 +1,87 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntSupplier;
+
+/**
+ * Fork-join task that fills a slice of an array with passcodes.
+ * Large batches are split in halves until a slice is small enough to be filled by one worker.
+ * The passcode sources draw from the random number generator of the worker thread,
+ * so the workers do not share any state.
+ */
+final class PasscodeBatchTask extends RecursiveAction {
+  private static final long serialVersionUID = 1L;
+
+  // batches below this size are filled by the calling thread
+  static final int PARALLEL_THRESHOLD = 1 << 14;
+  // number of passcodes a single worker creates without splitting further
+  private static final int SLICE_SIZE = 1 << 12;
+
+  // tasks only live in the pool, they are never serialized
+  private final transient IntSupplier passcodeSource;
+  private final int[] out;
+  private final int from;
+  private final int to;
+
+  private PasscodeBatchTask(IntSupplier passcodeSource, int[] out, int from, int to) {
+    this.passcodeSource = passcodeSource;
+    this.out = out;
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * Writes count passcodes of the source to the start of the given array.
+   *
+   * @param passcodeSource creates a single passcode
+   * @param count          number of passcodes to be created
+   * @param out            array that receives the passcodes
+   * @throws IllegalParameterException if the array is null or count is negative
+   *                                   or larger than the array
+   */
+  static void fill(IntSupplier passcodeSource, int count, int[] out)
+      throws IllegalParameterException {
+    if (out == null || count < 0 || count > out.length) {
+      throw new IllegalParameterException("Cannot create " + count + " passcodes.");
+    }
+    if (count < PARALLEL_THRESHOLD) {
+      for (int i = 0; i < count; i++) {
+        out[i] = passcodeSource.getAsInt();
+      }
+    } else {
+      new PasscodeBatchTask(passcodeSource, out, 0, count).invoke();
+    }
+  }
+
+  @Override
+  protected void compute() {
+    if (to - from <= SLICE_SIZE) {
+      for (int i = from; i < to; i++) {
+        out[i] = passcodeSource.getAsInt();
+      }
+    } else {
+      int middle = (from + to) >>> 1;
+      invokeAll(new PasscodeBatchTask(passcodeSource, out, from, middle),
+          new PasscodeBatchTask(passcodeSource, out, middle, to));
+    }
+  }
+}
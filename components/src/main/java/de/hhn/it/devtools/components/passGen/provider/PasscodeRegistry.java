@@ -0,0 +1,163 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
+import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps track of the passcodes that are currently in use.
+ * Every possible passcode of the default length is one bit of a bitset (125 KB),
+ * bits are set and cleared with compare-and-set so lockers can be rekeyed concurrently.
+ * Passcodes of other lengths are too many for a bitset and are kept in a concurrent set.
+ */
+public class PasscodeRegistry {
+  // number of passcodes that can be tracked: 10^DEFAULT_LENGTH
+  private static final int PASSCODE_SPACE = (int) Math.pow(10, PasscodeGenerator.DEFAULT_LENGTH);
+
+  private final AtomicLongArray bits = new AtomicLongArray((PASSCODE_SPACE + 63) >>> 6);
+  private final Set<Long> otherLengths = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger reservedCount = new AtomicInteger();
+
+  /**
+   * Reserves a passcode of the default length.
+   *
+   * @param passcode the passcode to be reserved
+   * @return true if the passcode was free and is now reserved, false if it is already in use
+   * @throws IllegalParameterException if the passcode is out of the tracked range
+   */
+  public boolean reserve(int passcode) throws IllegalParameterException {
+    checkRange(passcode);
+    int index = passcode >>> 6;
+    long bit = 1L << passcode;
+    long word;
+    do {
+      word = bits.get(index);
+      if ((word & bit) != 0) {
+        return false;
+      }
+    } while (!bits.compareAndSet(index, word, word | bit));
+    reservedCount.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Releases a passcode of the default length, so another locker can use it.
+   *
+   * @param passcode the passcode to be released
+   */
+  public void release(int passcode) {
+    if (passcode < 0 || passcode >= PASSCODE_SPACE) {
+      return;
+    }
+    int index = passcode >>> 6;
+    long bit = 1L << passcode;
+    long word;
+    do {
+      word = bits.get(index);
+      if ((word & bit) == 0) {
+        return;
+      }
+    } while (!bits.compareAndSet(index, word, word & ~bit));
+    reservedCount.decrementAndGet();
+  }
+
+  /**
+   * Checks whether a passcode of the default length is in use.
+   *
+   * @param passcode the passcode to be checked
+   * @return true if the passcode is reserved
+   */
+  public boolean isReserved(int passcode) {
+    if (passcode < 0 || passcode >= PASSCODE_SPACE) {
+      return false;
+    }
+    return (bits.get(passcode >>> 6) & (1L << passcode)) != 0;
+  }
+
+  /**
+   * Reserves a passcode of variable length.
+   *
+   * @param passcode the passcode packed with {@link PackedPasscode}
+   * @return true if the passcode was free and is now reserved, false if it is already in use
+   * @throws IllegalParameterException if the passcode is 0
+   */
+  public boolean reservePasscode(long passcode) throws IllegalParameterException {
+    if (passcode == 0) {
+      throw new IllegalParameterException("The passcode 0 cannot be tracked.");
+    }
+    if (PackedPasscode.lengthOf(passcode) == PasscodeGenerator.DEFAULT_LENGTH) {
+      return reserve((int) PackedPasscode.valueOf(passcode));
+    }
+    if (!otherLengths.add(passcode)) {
+      return false;
+    }
+    reservedCount.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Releases a passcode of variable length, so another locker can use it.
+   *
+   * @param passcode the passcode packed with {@link PackedPasscode}
+   */
+  public void releasePasscode(long passcode) {
+    if (passcode == 0) {
+      return;
+    }
+    if (PackedPasscode.lengthOf(passcode) == PasscodeGenerator.DEFAULT_LENGTH) {
+      release((int) PackedPasscode.valueOf(passcode));
+    } else if (otherLengths.remove(passcode)) {
+      reservedCount.decrementAndGet();
+    }
+  }
+
+  /**
+   * Checks whether a passcode of variable length is in use.
+   *
+   * @param passcode the passcode packed with {@link PackedPasscode}
+   * @return true if the passcode is reserved
+   */
+  public boolean isPasscodeReserved(long passcode) {
+    if (PackedPasscode.lengthOf(passcode) == PasscodeGenerator.DEFAULT_LENGTH) {
+      return isReserved((int) PackedPasscode.valueOf(passcode));
+    }
+    return passcode != 0 && otherLengths.contains(passcode);
+  }
+
+  /**
+   * Getter for the number of passcodes in use.
+   *
+   * @return number of reserved passcodes
+   */
+  public int getReservedCount() {
+    return reservedCount.get();
+  }
+
+  private static void checkRange(int passcode) throws IllegalParameterException {
+    if (passcode < 0 || passcode >= PASSCODE_SPACE) {
+      throw new IllegalParameterException("The passcode " + passcode + " cannot be tracked.");
+    }
+  }
+}
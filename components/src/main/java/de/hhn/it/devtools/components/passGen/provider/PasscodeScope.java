@@ -0,0 +1,39 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+/**
+ * Enum to represent the range in which the passcodes of active lockers have to be unique.
+ */
+public enum PasscodeScope {
+  /**
+   * Passcodes are not checked, two lockers may share a passcode (default).
+   */
+  NONE,
+
+  /**
+   * Lockers of the same locker cabinet never share a passcode.
+   */
+  CABINET,
+
+  /**
+   * No two lockers share a passcode.
+   */
+  GLOBAL
+}
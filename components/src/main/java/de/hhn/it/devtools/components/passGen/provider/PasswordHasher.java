@@ -0,0 +1,182 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Hashes passwords with a salted PBKDF2 (HMAC-SHA256) of the JDK. The number of iterations
+ * is the work factor: every iteration makes a hash, and so a login, slower for attackers and
+ * for the service alike. A hash is kept as text together with its work factor and salt,
+ * {@code pbkdf2-sha256$<iterations>$<salt>$<hash>}, so hashes with an old work factor still
+ * verify after the work factor was changed.
+ */
+public final class PasswordHasher {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(PasswordHasher.class);
+
+  /**
+   * Default work factor, as recommended for PBKDF2-HMAC-SHA256 by OWASP.
+   */
+  public static final int DEFAULT_ITERATIONS = 600_000;
+
+  /**
+   * Lowest work factor that is accepted.
+   */
+  public static final int MIN_ITERATIONS = 1_000;
+
+  private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+  private static final String PREFIX = "pbkdf2-sha256$";
+  private static final int SALT_BYTES = 16;
+  private static final int HASH_BITS = 256;
+  private static final Base64.Encoder base64Encoder = Base64.getEncoder().withoutPadding();
+  private static final Base64.Decoder base64Decoder = Base64.getDecoder();
+
+  private final int iterations;
+  private final RandomSource randomSource = new DrbgRandomSource();
+  // verified against for unknown users, so they take as long as wrong passwords
+  private final String dummyHash;
+
+  /**
+   * Creates a hasher with the default work factor.
+   */
+  public PasswordHasher() {
+    this.iterations = DEFAULT_ITERATIONS;
+    this.dummyHash = hash("");
+  }
+
+  /**
+   * Creates a hasher.
+   *
+   * @param iterations the work factor
+   * @throws IllegalParameterException if the work factor is lower than {@link #MIN_ITERATIONS}
+   */
+  public PasswordHasher(int iterations) throws IllegalParameterException {
+    if (iterations < MIN_ITERATIONS) {
+      throw new IllegalParameterException("Iterations have to be at least " + MIN_ITERATIONS
+          + " but were " + iterations + ".");
+    }
+    this.iterations = iterations;
+    this.dummyHash = hash("");
+  }
+
+  /**
+   * Hashes a password with a new random salt.
+   *
+   * @param password the password
+   * @return the hash as text
+   * @throws IllegalArgumentException if the password is null
+   */
+  public String hash(String password) {
+    if (password == null) {
+      throw new IllegalArgumentException("Password is a null reference.");
+    }
+    byte[] salt = new byte[SALT_BYTES];
+    randomSource.nextBytes(salt);
+    return PREFIX + iterations + "$" + base64Encoder.encodeToString(salt) + "$"
+        + base64Encoder.encodeToString(derive(password, salt, iterations));
+  }
+
+  /**
+   * Checks a password against a stored password. A stored password that is no hash, like
+   * those stored before hashing was switched on, is compared as it is.
+   *
+   * @param password the password
+   * @param stored   the stored hash or password
+   * @return true if the password matches
+   */
+  public static boolean matches(String password, String stored) {
+    if (password == null || stored == null) {
+      return false;
+    }
+    if (!isHash(stored)) {
+      return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+          stored.getBytes(StandardCharsets.UTF_8));
+    }
+    String[] parts = stored.substring(PREFIX.length()).split("\\$");
+    try {
+      int storedIterations = Integer.parseInt(parts[0]);
+      byte[] salt = base64Decoder.decode(parts[1]);
+      byte[] expected = base64Decoder.decode(parts[2]);
+      return MessageDigest.isEqual(expected, derive(password, salt, storedIterations));
+    } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+      logger.warn("Stored password hash is malformed: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Spends the time of a verification without anything to verify against, so that an
+   * unknown address cannot be told from a wrong password by the response time.
+   *
+   * @param password the password
+   */
+  public void matchesNone(String password) {
+    matches(password == null ? "" : password, dummyHash);
+  }
+
+  /**
+   * Checks if a stored password is a hash of this class.
+   *
+   * @param stored the stored hash or password
+   * @return true if it is a hash
+   */
+  public static boolean isHash(String stored) {
+    return stored != null && stored.startsWith(PREFIX);
+  }
+
+  /**
+   * Checks if a stored password should be replaced by a new hash, because it is no hash
+   * or was hashed with another work factor.
+   *
+   * @param stored the stored hash or password
+   * @return true if the password should be hashed again
+   */
+  public boolean needsRehash(String stored) {
+    return !isHash(stored) || !stored.startsWith(PREFIX + iterations + "$");
+  }
+
+  /**
+   * Getter for the work factor.
+   *
+   * @return number of iterations
+   */
+  public int getIterations() {
+    return iterations;
+  }
+
+  private static byte[] derive(String password, byte[] salt, int iterations) {
+    PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+    try {
+      return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+    } catch (GeneralSecurityException e) {
+      // every Java SE runtime has to provide PBKDF2WithHmacSHA256
+      throw new IllegalStateException("PBKDF2 is not available: " + e.getMessage());
+    } finally {
+      spec.clearPassword();
+    }
+  }
+}
@@ -0,0 +1,266 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A passcode generator that hands out ready-made passcodes of another generator.
+ * The passcodes are kept in a lock-free ring buffer which a background virtual thread refills
+ * as soon as it drops below the low watermark, up to the high watermark.
+ * If the pool is empty the passcode is created inline by the wrapped generator.
+ */
+public class PooledPasscodeGenerator implements PasscodeGenerator, AutoCloseable {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(PooledPasscodeGenerator.class);
+
+  /**
+   * The default number of passcodes below which the pool gets refilled.
+   */
+  public static final int DEFAULT_LOW_WATERMARK = 256;
+
+  /**
+   * The default number of passcodes the pool gets refilled to.
+   */
+  public static final int DEFAULT_HIGH_WATERMARK = 1024;
+
+  private final PasscodeGenerator passcodeGenerator;
+  private final int lowWatermark;
+  private final int highWatermark;
+  private final int[] ring;
+  private final int mask;
+  // position of the next passcode to be taken, advanced by the callers
+  private final AtomicLong head = new AtomicLong();
+  // position of the next passcode to be filled, only written by the refill thread
+  private volatile long tail;
+  private volatile boolean running = true;
+  private final AtomicLong refillRequestedAt = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private volatile long lastRefillLagNanos;
+  private volatile long maxRefillLagNanos;
+  // set by start right after construction
+  private volatile Thread refillThread;
+
+  private PooledPasscodeGenerator(PasscodeGenerator passcodeGenerator, int lowWatermark,
+                                  int highWatermark) throws IllegalParameterException {
+    if (passcodeGenerator == null) {
+      throw new IllegalParameterException("Passcode generator is a null reference.");
+    }
+    if (lowWatermark < 0 || highWatermark <= lowWatermark || highWatermark > (1 << 30)) {
+      throw new IllegalParameterException("Invalid watermarks " + lowWatermark + " and "
+          + highWatermark + ".");
+    }
+    this.passcodeGenerator = passcodeGenerator;
+    this.lowWatermark = lowWatermark;
+    this.highWatermark = highWatermark;
+    int capacity = Integer.highestOneBit(highWatermark);
+    if (capacity < highWatermark) {
+      capacity <<= 1;
+    }
+    ring = new int[capacity];
+    mask = capacity - 1;
+    refillRequestedAt.set(System.nanoTime());
+  }
+
+  /**
+   * Creates a pool with the default watermarks around the given generator and starts
+   * filling it.
+   *
+   * @param passcodeGenerator generator that creates the passcodes of the pool
+   * @return the pool
+   * @throws IllegalParameterException if the generator is null
+   */
+  public static PooledPasscodeGenerator start(PasscodeGenerator passcodeGenerator)
+      throws IllegalParameterException {
+    return start(passcodeGenerator, DEFAULT_LOW_WATERMARK, DEFAULT_HIGH_WATERMARK);
+  }
+
+  /**
+   * Creates a pool around the given generator and starts filling it. The refill thread is
+   * started after the pool is fully constructed.
+   *
+   * @param passcodeGenerator generator that creates the passcodes of the pool
+   * @param lowWatermark      number of passcodes below which the pool gets refilled
+   * @param highWatermark     number of passcodes the pool gets refilled to
+   * @return the pool
+   * @throws IllegalParameterException if the generator is null or the watermarks are invalid
+   */
+  public static PooledPasscodeGenerator start(PasscodeGenerator passcodeGenerator,
+      int lowWatermark, int highWatermark) throws IllegalParameterException {
+    PooledPasscodeGenerator pool =
+        new PooledPasscodeGenerator(passcodeGenerator, lowWatermark, highWatermark);
+    pool.refillThread = Thread.ofVirtual().name("passcode-pool-refill").start(pool::refill);
+    return pool;
+  }
+
+  /**
+   * Takes a passcode from the pool or creates it inline if the pool is empty.
+   *
+   * @return the passcode
+   * @throws IllegalParameterException if the wrapped generator fails
+   */
+  @Override
+  public int createPasscode() throws IllegalParameterException {
+    while (true) {
+      long position = head.get();
+      long filled = tail;
+      if (position >= filled) {
+        misses.increment();
+        requestRefill();
+        return passcodeGenerator.createPasscode();
+      }
+      int passcode = ring[(int) position & mask];
+      // the slot cannot be refilled before head moved past it, so a successful CAS
+      // proves that the passcode read above is still the one at this position
+      if (head.compareAndSet(position, position + 1)) {
+        hits.increment();
+        if (filled - position - 1 < lowWatermark) {
+          requestRefill();
+        }
+        return passcode;
+      }
+    }
+  }
+
+  /**
+   * Creates a passcode of the given length with the wrapped generator.
+   * The pool only holds passcodes of the default length.
+   *
+   * @param length number of digits
+   * @return the passcode packed with {@link de.hhn.it.devtools.apis.passGen.PackedPasscode}
+   * @throws IllegalParameterException if the wrapped generator does not support the length
+   */
+  @Override
+  public long createPasscode(int length) throws IllegalParameterException {
+    return passcodeGenerator.createPasscode(length);
+  }
+
+  /**
+   * Creates several passcodes at once with the wrapped generator, so bulk requests
+   * do not drain the pool.
+   *
+   * @param count number of passcodes to be created
+   * @param out   array that receives the passcodes
+   * @throws IllegalParameterException if the array is null or count is negative
+   *                                   or larger than the array
+   */
+  @Override
+  public void createPasscodes(int count, int[] out) throws IllegalParameterException {
+    passcodeGenerator.createPasscodes(count, out);
+  }
+
+  /**
+   * Stops the refill thread. Afterwards every passcode is created inline.
+   */
+  @Override
+  public void close() {
+    running = false;
+    LockSupport.unpark(refillThread);
+  }
+
+  /**
+   * Getter for the number of passcodes that were taken from the pool.
+   *
+   * @return number of hits
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Getter for the number of passcodes that had to be created inline.
+   *
+   * @return number of misses
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Getter for the number of ready-made passcodes.
+   *
+   * @return number of passcodes in the pool
+   */
+  public int getAvailableCount() {
+    return (int) Math.max(0, tail - head.get());
+  }
+
+  /**
+   * Getter for the time between the last refill request and the pool reaching the high
+   * watermark again.
+   *
+   * @return refill lag in nanoseconds
+   */
+  public long getLastRefillLagNanos() {
+    return lastRefillLagNanos;
+  }
+
+  /**
+   * Getter for the longest refill lag so far.
+   *
+   * @return refill lag in nanoseconds
+   */
+  public long getMaxRefillLagNanos() {
+    return maxRefillLagNanos;
+  }
+
+  private void requestRefill() {
+    if (refillRequestedAt.compareAndSet(0, System.nanoTime())) {
+      LockSupport.unpark(refillThread);
+    }
+  }
+
+  private void refill() {
+    while (running) {
+      long requestedAt = refillRequestedAt.get();
+      if (requestedAt == 0) {
+        LockSupport.park(this);
+        continue;
+      }
+      try {
+        long position = tail;
+        while (running && position - head.get() < highWatermark) {
+          ring[(int) position & mask] = passcodeGenerator.createPasscode();
+          tail = ++position;
+        }
+      } catch (IllegalParameterException e) {
+        logger.error("Passcode pool could not be refilled", e);
+        running = false;
+        return;
+      }
+      long lag = System.nanoTime() - requestedAt;
+      lastRefillLagNanos = lag;
+      if (lag > maxRefillLagNanos) {
+        maxRefillLagNanos = lag;
+      }
+      // keeps a request that was raised after this refill had started
+      refillRequestedAt.compareAndSet(requestedAt, 0);
+      logger.debug("Passcode pool refilled to {} after {} ns", highWatermark, lag);
+      // consumers that drained the pool before the flag was cleared could not raise it
+      if (tail - head.get() < lowWatermark) {
+        refillRequestedAt.compareAndSet(0, System.nanoTime());
+      }
+    }
+  }
+}
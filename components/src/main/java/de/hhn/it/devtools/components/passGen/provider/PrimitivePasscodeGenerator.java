@@ -0,0 +1,154 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
+import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
+
+/**
+ * A passcode generator that works on primitive digits only.
+ * The passcode is built digit by digit in an int and every digit is fed to the
+ * {@link TabooAutomaton} of the taboo rules, so a taboo pattern is rejected as soon as it
+ * shows up and no object is allocated per passcode.
+ */
+public class PrimitivePasscodeGenerator implements PasscodeGenerator {
+  private final RandomSource randomSource;
+  private final TabooRules tabooRules;
+
+  /**
+   * Constructs a new PrimitivePasscodeGenerator with the default taboo rules
+   * (no three equal digits in a row) that draws its digits from
+   * {@link ThreadLocalRandomSource}.
+   */
+  public PrimitivePasscodeGenerator() {
+    this(new TabooRules());
+  }
+
+  /**
+   * Constructs a new PrimitivePasscodeGenerator with the given taboo rules that draws its
+   * digits from {@link ThreadLocalRandomSource}.
+   * Later changes of the rules apply to the next passcode.
+   *
+   * @param tabooRules the taboo rules
+   */
+  public PrimitivePasscodeGenerator(TabooRules tabooRules) {
+    this(ThreadLocalRandomSource.INSTANCE, tabooRules);
+  }
+
+  /**
+   * Constructs a new PrimitivePasscodeGenerator with the default taboo rules that draws its
+   * digits from the given random source.
+   *
+   * @param randomSource source of the random digits
+   */
+  public PrimitivePasscodeGenerator(RandomSource randomSource) {
+    this(randomSource, new TabooRules());
+  }
+
+  /**
+   * Constructs a new PrimitivePasscodeGenerator with the given random source and taboo rules.
+   *
+   * @param randomSource source of the random digits
+   * @param tabooRules   the taboo rules, later changes apply to the next passcode
+   */
+  public PrimitivePasscodeGenerator(RandomSource randomSource, TabooRules tabooRules) {
+    this.randomSource = randomSource;
+    this.tabooRules = tabooRules;
+  }
+
+  /**
+   * Creates a new passcode with the default length.
+   * The first digit is never zero, so the passcode always has exactly
+   * {@link PasscodeGenerator#DEFAULT_LENGTH} digits.
+   *
+   * @return the generated passcode
+   */
+  @Override
+  public int createPasscode() {
+    RandomSource random = randomSource;
+    TabooAutomaton automaton = tabooRules.getAutomaton();
+    int passcode;
+    do {
+      passcode = (int) drawDigits(random, automaton, 1 + random.nextInt(9), DEFAULT_LENGTH);
+    } while (passcode < 0);
+    return passcode;
+  }
+
+  /**
+   * Creates a new passcode of the given length.
+   * Unlike {@link #createPasscode()} the first digit may be zero, the length is kept
+   * in the packed passcode.
+   *
+   * @param length number of digits
+   * @return the generated passcode packed with {@link PackedPasscode}
+   * @throws IllegalParameterException if the length is not supported
+   */
+  @Override
+  public long createPasscode(int length) throws IllegalParameterException {
+    if (length < PackedPasscode.MIN_LENGTH || length > PackedPasscode.MAX_LENGTH) {
+      throw new IllegalParameterException("A passcode has to have between "
+          + PackedPasscode.MIN_LENGTH + " and " + PackedPasscode.MAX_LENGTH + " digits.");
+    }
+    RandomSource random = randomSource;
+    TabooAutomaton automaton = tabooRules.getAutomaton();
+    long passcode;
+    do {
+      passcode = drawDigits(random, automaton, random.nextInt(10), length);
+    } while (passcode < 0);
+    return PackedPasscode.pack(passcode, length);
+  }
+
+  /**
+   * Creates several passcodes at once.
+   * Large batches are split across the common fork-join pool.
+   *
+   * @param count number of passcodes to be created
+   * @param out   array that receives the passcodes
+   * @throws IllegalParameterException if the array is null or count is negative
+   *                                   or larger than the array
+   */
+  @Override
+  public void createPasscodes(int count, int[] out) throws IllegalParameterException {
+    PasscodeBatchTask.fill(this::createPasscode, count, out);
+  }
+
+  /**
+   * Draws the digits of one passcode after the given first digit and aborts as soon as
+   * a taboo pattern shows up. Aborting and starting over keeps every valid passcode
+   * equally likely.
+   *
+   * @param random     the source of the random digits
+   * @param automaton  the compiled taboo rules
+   * @param firstDigit the first digit
+   * @param length     number of digits
+   * @return the digits as a number or -1 if they contained a taboo pattern
+   */
+  private static long drawDigits(RandomSource random, TabooAutomaton automaton,
+                                 int firstDigit, int length) {
+    long passcode = firstDigit;
+    int state = automaton.next(TabooAutomaton.START_STATE, firstDigit);
+    for (int position = 1; position < length && !automaton.isTaboo(state); position++) {
+      int digit = random.nextInt(10);
+      state = automaton.next(state, digit);
+      passcode = passcode * 10 + digit;
+    }
+    return automaton.isTaboo(state) ? -1 : passcode;
+  }
+}
@@ -0,0 +1,57 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+/**
+ * Source of random numbers for passcodes, tokens and session ids.
+ * Implementations have to be safe for use by many threads at the same time.
+ */
+public interface RandomSource {
+
+  /**
+   * Returns a random int between zero (inclusive) and the bound (exclusive).
+   *
+   * @param bound the upper bound, has to be positive
+   * @return a random int
+   */
+  int nextInt(int bound);
+
+  /**
+   * Returns a random long.
+   *
+   * @return a random long
+   */
+  long nextLong();
+
+  /**
+   * Fills the given array with random bytes.
+   *
+   * @param bytes the array to be filled
+   */
+  void nextBytes(byte[] bytes);
+
+  /**
+   * Returns a random double between zero (inclusive) and one (exclusive).
+   *
+   * @return a random double
+   */
+  default double nextDouble() {
+    return (nextLong() >>> 11) * 0x1.0p-53;
+  }
+}
@@ -0,0 +1,60 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import java.util.SplittableRandom;
+
+/**
+ * A deterministic random source for load tests. It is NOT suitable for production use.
+ * Every thread gets its own generator split off a generator with the given seed,
+ * so a run with the same seed and the same thread order repeats the same numbers.
+ */
+public class SeededRandomSource implements RandomSource {
+  private final SplittableRandom root;
+  private final ThreadLocal<SplittableRandom> random;
+
+  /**
+   * Creates a deterministic random source.
+   *
+   * @param seed the seed of the first generator
+   */
+  public SeededRandomSource(long seed) {
+    root = new SplittableRandom(seed);
+    random = ThreadLocal.withInitial(this::split);
+  }
+
+  private synchronized SplittableRandom split() {
+    return root.split();
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    return random.get().nextInt(bound);
+  }
+
+  @Override
+  public long nextLong() {
+    return random.get().nextLong();
+  }
+
+  @Override
+  public void nextBytes(byte[] bytes) {
+    random.get().nextBytes(bytes);
+  }
+}
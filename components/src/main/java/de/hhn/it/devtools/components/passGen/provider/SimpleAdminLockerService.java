@@ -18,15 +18,12 @@
 
 package de.hhn.it.devtools.components.passGen.provider;
 
-import static de.hhn.it.devtools.apis.passGen.LockerState.DISABLED;
-
 import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
 import de.hhn.it.devtools.apis.passGen.AdminLockerService;
 import de.hhn.it.devtools.apis.passGen.Locker;
 import de.hhn.it.devtools.apis.passGen.LockerCabinet;
 import de.hhn.it.devtools.apis.passGen.LockerState;
 import java.util.HashMap;
-import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -39,16 +36,14 @@ public class SimpleAdminLockerService implements AdminLockerService {
 
   private int idCounterL = 0;
   private int idCounterLu = 0;
-  private ConcurrentHashMap<Integer, Locker> lockers;
-  private ConcurrentHashMap<Integer, LockerCabinet> lockerCabinet = new ConcurrentHashMap<>();
+  private final SingletonLockerRepository repository;
 
   public SimpleAdminLockerService() {
-    this.lockers = SingletonLockerRepository.getInstance().getLockers();
-    this.lockerCabinet = SingletonLockerRepository.getInstance().getLockerCabinets();
+    this.repository = SingletonLockerRepository.getInstance();
   }
 
   /**
-   * Creates a new locker.
+   * Creates a new disabled locker in the storage of the repository.
    *
    * @return the id of the new locker
    */
@@ -58,9 +53,7 @@ public class SimpleAdminLockerService implements AdminLockerService {
     }
     int newId = ++idCounterL;
     logger.info("Creating a new locker with ID: {}", newId);
-    SimpleLocker locker = new SimpleLocker(newId, lockerCabinet, location);
-    locker.adminSetState(DISABLED);
-    SingletonLockerRepository.getInstance().addLocker(newId, locker);
+    repository.createLocker(newId, lockerCabinet, location);
     return newId;
   }
 
@@ -72,10 +65,10 @@ public class SimpleAdminLockerService implements AdminLockerService {
    */
   public void removeLocker(int lockerId) throws IllegalParameterException {
     logger.info("Removing a locker: {}", lockerId);
-    if (!lockers.containsKey(lockerId)) {
+    if (repository.getLocker(lockerId) == null) {
       throw new IllegalParameterException("Locker does not exist.");
     }
-    SingletonLockerRepository.getInstance().removeLocker(lockerId);
+    repository.removeLocker(lockerId);
   }
 
   /**
@@ -90,7 +83,7 @@ public class SimpleAdminLockerService implements AdminLockerService {
     int newId = ++idCounterLu;
     logger.info("Creating a new lockerCabinet with ID: {}", newId);
     SimpleLockerCabinet lockerCabinet = new SimpleLockerCabinet(newId, location, new HashMap<>());
-    SingletonLockerRepository.getInstance().addLockerCabinet(newId, lockerCabinet);
+    repository.addLockerCabinet(newId, lockerCabinet);
     return newId;
   }
 
@@ -105,10 +98,11 @@ public class SimpleAdminLockerService implements AdminLockerService {
   public void addLockerToLockerCabint(int lockerCabinetId, Locker locker)
           throws IllegalParameterException {
     logger.info("Adding locker to lockerCabinet: {}", lockerCabinetId);
-    if (!lockerCabinet.containsKey(lockerCabinetId)) {
+    LockerCabinet cabinet = repository.getLockerCabinet(lockerCabinetId);
+    if (cabinet == null) {
       throw new IllegalParameterException("LockerCabinet does not exist.");
     }
-    lockerCabinet.get(lockerCabinetId).addLocker(locker.getId(), locker);
+    cabinet.addLocker(locker.getId(), locker);
   }
 
   /**
@@ -120,10 +114,11 @@ public class SimpleAdminLockerService implements AdminLockerService {
    */
   public LockerCabinet getLockerCabinet(int lockerCabinetId) throws IllegalParameterException {
     logger.info("Getting lockerCabinet with id: {}", lockerCabinetId);
-    if (!lockerCabinet.containsKey(lockerCabinetId)) {
+    LockerCabinet cabinet = repository.getLockerCabinet(lockerCabinetId);
+    if (cabinet == null) {
       throw new IllegalParameterException("LockerCabinet does not exist.");
     }
-    return lockerCabinet.get(lockerCabinetId);
+    return cabinet;
   }
 
   /**
@@ -134,10 +129,10 @@ public class SimpleAdminLockerService implements AdminLockerService {
    */
   public void removeLockerCabinet(int lockerCabinetId) throws IllegalParameterException {
     logger.info("Removing a lockerCabinet: {}", lockerCabinetId);
-    if (!lockerCabinet.containsKey(lockerCabinetId)) {
+    if (repository.getLockerCabinet(lockerCabinetId) == null) {
       throw new IllegalParameterException("LockerCabinet does not exist.");
     }
-    SingletonLockerRepository.getInstance().removeLockerCabinet(lockerCabinetId);
+    repository.removeLockerCabinet(lockerCabinetId);
   }
 
   /**
@@ -149,10 +144,27 @@ public class SimpleAdminLockerService implements AdminLockerService {
    */
   public void setLockerState(int lockerId, LockerState state) throws IllegalParameterException {
     logger.info("Setting the state of a locker: {}", lockerId);
-    if (!lockers.containsKey(lockerId)) {
+    ManagedLocker locker = (ManagedLocker) repository.getLocker(lockerId);
+    if (locker == null) {
       throw new IllegalParameterException("Locker does not exist.");
     }
-    SimpleLocker locker = (SimpleLocker) lockers.get(lockerId);
     locker.adminSetState(state);
   }
+
+  /**
+   * Sets the number of digits of new passcodes for the lockers of a locker cabinet.
+   *
+   * @param lockerCabinetId the id of the locker cabinet
+   * @param passcodeLength  the passcode length
+   * @throws IllegalParameterException if the cabinet does not exist or the length is not supported
+   */
+  public void setLockerCabinetPasscodeLength(int lockerCabinetId, int passcodeLength)
+          throws IllegalParameterException {
+    logger.info("Setting the passcode length of lockerCabinet: {}", lockerCabinetId);
+    LockerCabinet cabinet = repository.getLockerCabinet(lockerCabinetId);
+    if (cabinet == null) {
+      throw new IllegalParameterException("LockerCabinet does not exist.");
+    }
+    cabinet.setPasscodeLength(passcodeLength);
+  }
 }
@@ -20,30 +20,50 @@ package de.hhn.it.devtools.components.passGen.provider;
 
 import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
 import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
-import de.hhn.it.devtools.apis.passGen.Locker;
 import de.hhn.it.devtools.apis.passGen.LockerCabinet;
 import de.hhn.it.devtools.apis.passGen.LockerListener;
 import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
 import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
 import de.hhn.it.devtools.apis.passGen.User;
-import java.util.ArrayList;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * A simple implementation of the Locker interface.
+ * State changes follow the table of {@link LockerTransition} and are applied with a single
+ * compare-and-set, so of two kiosks racing on the same locker only one can make a change
+ * that depends on the state both have seen.
  */
-public class SimpleLocker implements Locker {
+public class SimpleLocker implements ManagedLocker {
 
   private static final org.slf4j.Logger logger =
           org.slf4j.LoggerFactory.getLogger(SimpleLocker.class);
+  private static final VarHandle STATE;
+
+  static {
+    try {
+      STATE = MethodHandles.lookup().findVarHandle(SimpleLocker.class, "state",
+              LockerState.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
 
   private int id;
   private LockerCabinet lockerCabinet;
   private String location;
-  private int passcode;
-  private LockerState state;
-  private List<LockerListener> listeners = new ArrayList<>();
+  // packed with PackedPasscode, 0 if the locker has no passcode, changed under the monitor
+  private volatile long passcode;
+  // changed with STATE only, apart from adminSetState
+  private volatile LockerState state;
+  // set while the locker is in the repository
+  private volatile LockerStateIndex stateIndex;
+  // listeners are told about changes from the threads that make them
+  private List<LockerListener> listeners = new CopyOnWriteArrayList<>();
   private Stack<User> userStack = new Stack<>();
 
   /**
@@ -60,8 +80,13 @@ public class SimpleLocker implements Locker {
     state = LockerState.LOCKED; // Assuming default state
   }
 
+  @Override
   public void adminSetState(LockerState state) {
-    this.state = state;
+    LockerState previous = (LockerState) STATE.getAndSet(this, state);
+    indexState(previous, state);
+    if (state == LockerState.DISABLED) {
+      releasePassword();
+    }
   }
 
   /**
@@ -109,32 +134,179 @@ public class SimpleLocker implements Locker {
    * @throws IllegalParameterException If the password is incorrect or null.
    */
   public void unlock(int password) throws IllegalParameterException {
-    if (passcode != password || password == 0) {
-      throw new IllegalParameterException("The password is not correct.");
-    }
-    this.state = LockerState.UNLOCKED;
-    logger.info("The locker has been unlocked.");
+    unlockIfMatches(PackedPasscode.fromPassword(password));
+  }
 
-    for (LockerListener listener : listeners) {
-      listener.newState(this.state);
+  /**
+   * Attempts to unlock the locker with a passcode of variable length.
+   * The check is a single comparison of two longs.
+   *
+   * @param passcode The passcode packed with {@link PackedPasscode}.
+   * @throws IllegalParameterException If the passcode is incorrect.
+   */
+  @Override
+  public void unlockWithPasscode(long passcode) throws IllegalParameterException {
+    unlockIfMatches(passcode);
+  }
+
+  /**
+   * Unlocks the locker if the passcode matches and informs the listeners. The passcode is
+   * checked and the state is changed under the monitor, so the passcode cannot be changed
+   * or released in between.
+   *
+   * @param candidate the passcode packed with {@link PackedPasscode}
+   * @throws IllegalParameterException If the passcode is incorrect.
+   * @throws IllegalStateException     If the state does not allow unlocking.
+   */
+  private void unlockIfMatches(long candidate) throws IllegalParameterException {
+    requireAllowed(LockerTransition.UNLOCK);
+    LockerState previous;
+    synchronized (this) {
+      if (candidate == 0 || candidate != passcode) {
+        throw new IllegalParameterException("The password is not correct.");
+      }
+      previous = swapState(LockerTransition.UNLOCK);
     }
+    changed(previous, LockerTransition.UNLOCK.targetOf(previous));
+    logger.info("The locker has been unlocked.");
   }
 
   /**
    * Locks the locker, securing its contents.
    *
-   * @throws IllegalStateException If the locker is already locked or cannot be locked.
+   * @throws IllegalStateException If the locker is not unlocked or active.
    */
   public void lock() throws IllegalStateException {
-    if (state == LockerState.LOCKED) {
-      throw new IllegalStateException("The locker is already locked.");
-    }
-    this.state = LockerState.LOCKED;
+    apply(LockerTransition.LOCK);
     logger.info("The locker has been locked.");
+  }
 
+  /**
+   * Changes the state as the transition says, with a single compare-and-set on the state,
+   * and informs the listeners.
+   * If another thread changes the state in between, the transition is checked again
+   * against the new state.
+   *
+   * @param transition the transition
+   * @return the state before the transition
+   * @throws IllegalStateException If the transition is not allowed from the current state.
+   */
+  @Override
+  public LockerState apply(LockerTransition transition) throws IllegalStateException {
+    LockerState previous = swapState(transition);
+    changed(previous, transition.targetOf(previous));
+    return previous;
+  }
+
+  private LockerState swapState(LockerTransition transition) throws IllegalStateException {
+    while (true) {
+      LockerState current = state;
+      LockerState target = requireAllowed(transition, current);
+      if (STATE.compareAndSet(this, current, target)) {
+        return current;
+      }
+    }
+  }
+
+  /**
+   * Changes the state as the transition says, but only if the locker is in the expected
+   * state, with a single compare-and-set. Of several threads that try this at the same time
+   * exactly one succeeds.
+   *
+   * @param expected   the state the locker has to be in
+   * @param transition the transition
+   * @return true if the locker was in the expected state and has changed
+   * @throws IllegalStateException If the transition is not allowed from the expected state.
+   */
+  @Override
+  public boolean applyFrom(LockerState expected, LockerTransition transition)
+          throws IllegalStateException {
+    LockerState target = requireAllowed(transition, expected);
+    if (!STATE.compareAndSet(this, expected, target)) {
+      return false;
+    }
+    changed(expected, target);
+    return true;
+  }
+
+  private void changed(LockerState from, LockerState to) {
+    indexState(from, to);
     for (LockerListener listener : listeners) {
-      listener.newState(this.state);
+      listener.newState(to);
+    }
+  }
+
+  /**
+   * Adds the locker to an index of the lockers by state, which follows every state change
+   * from then on, or takes it out of the index it is in.
+   *
+   * @param index the index or null to take the locker out of its index
+   */
+  void setStateIndex(LockerStateIndex index) {
+    LockerStateIndex previous = stateIndex;
+    stateIndex = index;
+    if (previous != null && previous != index) {
+      previous.remove(id, getCabinetId());
+    }
+    if (index != null) {
+      LockerState current = state;
+      putIntoIndex(index, getCabinetId(), current);
+      indexState(current, current);
+    }
+  }
+
+  /**
+   * Tells the index about a state change, see {@link LockerStateIndex} for the protocol.
+   *
+   * @param from the state before the change
+   * @param to   the state after the change
+   */
+  private void indexState(LockerState from, LockerState to) {
+    LockerStateIndex index = stateIndex;
+    if (index == null) {
+      return;
+    }
+    int cabinetId = getCabinetId();
+    if (from != null && to != null && from != to) {
+      index.move(id, cabinetId, from, to);
+    } else if (from != to) {
+      putIntoIndex(index, cabinetId, to);
+    }
+    // a later change of the state may have reached the index first
+    for (LockerState current = state; current != to; current = state) {
+      putIntoIndex(index, cabinetId, current);
+      to = current;
+    }
+    // the locker was taken out of the index in the meantime
+    if (stateIndex != index) {
+      index.remove(id, cabinetId);
+    }
+  }
+
+  private void putIntoIndex(LockerStateIndex index, int cabinetId, LockerState state) {
+    if (state == null) {
+      index.remove(id, cabinetId);
+    } else {
+      index.set(id, cabinetId, state);
+    }
+  }
+
+  private int getCabinetId() {
+    return lockerCabinet == null ? 0 : lockerCabinet.getCabinetId();
+  }
+
+  private void requireAllowed(LockerTransition transition) throws IllegalStateException {
+    requireAllowed(transition, state);
+  }
+
+  private LockerState requireAllowed(LockerTransition transition, LockerState current)
+          throws IllegalStateException {
+    LockerState target = transition.targetOf(current);
+    if (target == null) {
+      throw new IllegalStateException("Locker with id " + id + " cannot " + transition
+              + " in state " + current + ", only in " + transition.getSources() + ".");
     }
+    return target;
   }
 
   /**
@@ -167,13 +339,85 @@ public class SimpleLocker implements Locker {
    * @throws IllegalParameterException If the new password is weak, too short, or null.
    */
   public void setPassword(int newPassword) throws IllegalParameterException {
-    if (newPassword <= 0
-            || String.valueOf(newPassword).length() < PasscodeGenerator.DEFAULT_LENGTH) {
+    setPasscode(packPassword(newPassword), false);
+  }
+
+  /**
+   * Sets a new password for the locker if it is active. The state is checked under the same
+   * lock as the password is changed, so a locker that is disabled at the same time gives the
+   * password back afterwards and never keeps it.
+   *
+   * @param newPassword The new password to set.
+   * @throws IllegalParameterException If the new password is weak, too short, or null.
+   * @throws IllegalStateException     If the locker is not active.
+   */
+  @Override
+  public void setPasswordIfActive(int newPassword)
+          throws IllegalParameterException, IllegalStateException {
+    setPasscode(packPassword(newPassword), true);
+  }
+
+  private static long packPassword(int password) throws IllegalParameterException {
+    if (password <= 0
+            || String.valueOf(password).length() < PasscodeGenerator.DEFAULT_LENGTH) {
       throw new IllegalParameterException("The password cannot be used for security reasons.");
     }
-    this.passcode = newPassword;
+    return PackedPasscode.fromPassword(password);
+  }
+
+  /**
+   * Sets a new passcode of variable length for the locker, replacing the old one.
+   *
+   * @param newPasscode The new passcode packed with {@link PackedPasscode}.
+   * @throws IllegalParameterException If the passcode is not valid, shorter than the passcode
+   *                                   length of the cabinet or used by another locker.
+   */
+  @Override
+  public void setPasscode(long newPasscode) throws IllegalParameterException {
+    setPasscode(newPasscode, false);
+  }
+
+  /**
+   * Sets a new passcode of variable length for the locker if it is active,
+   * see {@link #setPasswordIfActive(int)}.
+   *
+   * @param newPasscode The new passcode packed with {@link PackedPasscode}.
+   * @throws IllegalParameterException If the passcode is not valid, shorter than the passcode
+   *                                   length of the cabinet or used by another locker.
+   * @throws IllegalStateException     If the locker is not active.
+   */
+  @Override
+  public void setPasscodeIfActive(long newPasscode)
+          throws IllegalParameterException, IllegalStateException {
+    setPasscode(newPasscode, true);
+  }
+
+  private void setPasscode(long newPasscode, boolean requireActive)
+          throws IllegalParameterException, IllegalStateException {
+    int length = PackedPasscode.lengthOf(newPasscode);
+    if (length < getPasscodeLength() || length > PackedPasscode.MAX_LENGTH
+            || PackedPasscode.valueOf(newPasscode) >= PackedPasscode.spaceOf(length)) {
+      throw new IllegalParameterException("The password cannot be used for security reasons.");
+    }
+    PasscodeRegistry registry =
+            SingletonLockerRepository.getInstance().getPasscodeRegistry(lockerCabinet);
+    synchronized (this) {
+      // disabling changes the state first and then releases the passcode under this lock
+      if (requireActive && state != LockerState.ACTIVE) {
+        throw new IllegalStateException("Locker with id " + id + " has a state other than "
+                + "ACTIVE.");
+      }
+      if (registry != null && newPasscode != passcode) {
+        if (!registry.reservePasscode(newPasscode)) {
+          throw new IllegalParameterException("The password is already used by another locker.");
+        }
+        registry.releasePasscode(passcode);
+      }
+      this.passcode = newPasscode;
+    }
     logger.info("The password has changed.");
 
+    int newPassword = getPassword();
     for (LockerListener listener : listeners) {
       listener.newPassword(newPassword);
     }
@@ -181,14 +425,36 @@ public class SimpleLocker implements Locker {
 
   /**
    * Retrieves the password of the locker.
+   * Leading zeros are lost, passcodes with more than nine digits do not fit into an int.
    *
-   * @return password of the locker
+   * @return password of the locker or 0 if it has none or a longer one
    */
   @Override
   public int getPassword() {
+    return PackedPasscode.lengthOf(passcode) <= 9 ? (int) PackedPasscode.valueOf(passcode) : 0;
+  }
+
+  /**
+   * Retrieves the passcode of the locker including its length.
+   *
+   * @return passcode packed with {@link PackedPasscode}, 0 if the locker has none
+   */
+  @Override
+  public long getPasscode() {
     return passcode;
   }
 
+  /**
+   * Retrieves the number of digits of new passcodes, as configured for the cabinet.
+   *
+   * @return the passcode length
+   */
+  @Override
+  public int getPasscodeLength() {
+    return lockerCabinet == null ? PasscodeGenerator.DEFAULT_LENGTH
+            : lockerCabinet.getPasscodeLength();
+  }
+
   /**
    * Retrieves the unique identifier for the locker.
    *
@@ -206,13 +472,7 @@ public class SimpleLocker implements Locker {
    */
   public void activate() throws IllegalStateException {
     logger.info("The state of the logger is: {}", state);
-    if (this.state == LockerState.ACTIVE || this.state == LockerState.DISABLED) {
-      throw new IllegalStateException("You cannot activate the locker.");
-    }
-    this.state = LockerState.ACTIVE;
-    for (LockerListener listener : listeners) {
-      listener.newState(this.state);
-    }
+    apply(LockerTransition.ACTIVATE);
   }
 
   /**
@@ -222,24 +482,38 @@ public class SimpleLocker implements Locker {
    */
   public void deactivate() throws IllegalStateException {
     logger.info("The state of the logger is: {}", state);
-    if (state != LockerState.ACTIVE) {
-      throw new IllegalStateException("");
-    }
-    this.state = LockerState.DEACTIVATED;
-
-    for (LockerListener listener : listeners) {
-      listener.newState(this.state);
-    }
+    apply(LockerTransition.DEACTIVATE);
   }
 
   /**
    * Disables the locker, preventing any use.
+   *
+   * @throws IllegalStateException If the locker is not deactivated or active.
    */
   public void disable() throws IllegalStateException {
-    this.state = LockerState.DISABLED;
+    apply(LockerTransition.DISABLE);
+    releasePassword();
     logger.info("The locker has been disabled.");
   }
 
+  /**
+   * Gives the password of the locker back, so other lockers can use it.
+   * Only has an effect if passwords have to be unique, the locker has no password afterwards.
+   */
+  @Override
+  public void releasePassword() {
+    PasscodeRegistry registry =
+            SingletonLockerRepository.getInstance().getPasscodeRegistry(lockerCabinet);
+    if (registry == null) {
+      return;
+    }
+    synchronized (this) {
+      registry.releasePasscode(passcode);
+      passcode = 0;
+    }
+    logger.info("The password has been released.");
+  }
+
   /**
    * Checks if the locker is currently activated.
    *
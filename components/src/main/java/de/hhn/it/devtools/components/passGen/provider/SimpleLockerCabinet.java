@@ -18,8 +18,12 @@
 
 package de.hhn.it.devtools.components.passGen.provider;
 
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
 import de.hhn.it.devtools.apis.passGen.Locker;
 import de.hhn.it.devtools.apis.passGen.LockerCabinet;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
+import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -34,6 +38,9 @@ public class SimpleLockerCabinet implements LockerCabinet {
   private String location;
   private Locker locker;
   private Map<Integer, Locker> lockers = new HashMap<>();
+  // the same lockers, for lookups by id without boxing the id
+  private final IntObjectMap<Locker> lockerIndex = new IntObjectMap<>();
+  private volatile int passcodeLength = PasscodeGenerator.DEFAULT_LENGTH;
 
 
   /**
@@ -41,12 +48,13 @@ public class SimpleLockerCabinet implements LockerCabinet {
    *
    * @param cabinetId The unique identifier of the locker.
    * @param location  The location of the locker unite.
-   * @param lockers   The map to store the locker.
+   * @param lockers   The map to store the locker, it is changed by the cabinet only.
    */
   public SimpleLockerCabinet(int cabinetId, String location, Map<Integer, Locker> lockers) {
     this.cabinetId = cabinetId;
     this.location = location;
     this.lockers = lockers;
+    lockers.forEach(lockerIndex::put);
   }
 
   /**
@@ -75,9 +83,10 @@ public class SimpleLockerCabinet implements LockerCabinet {
    * @param id     The id of the locker.
    * @param locker The locker where to be added.
    */
-  public void addLocker(int id, Locker locker) {
+  public synchronized void addLocker(int id, Locker locker) {
     logger.info("Adds locker to the locker unite: {} {}", id, locker);
     lockers.put(id, locker);
+    lockerIndex.put(id, locker);
   }
 
   /**
@@ -85,19 +94,22 @@ public class SimpleLockerCabinet implements LockerCabinet {
    *
    * @param id The id of the locker to be removed.
    */
-  public void removeLocker(int id) {
+  public synchronized void removeLocker(int id) {
     logger.info("Removes locker from the locker unite: {}", id);
     lockers.remove(id);
+    lockerIndex.remove(id);
   }
 
   /**
    * Gets the entire locker cabinet as a map.
+   * The map is a read-only view, a caller that iterates it while lockers may be added or
+   * removed has to hold the lock of the cabinet.
    *
-   * @return A Map representing the locker unite.
+   * @return A read-only Map representing the locker unite.
    */
   public Map<Integer, Locker> getLockerCabinet() {
     logger.info("returns the entire map of the locker.");
-    return lockers;
+    return Collections.unmodifiableMap(lockers);
   }
 
   /**
@@ -108,10 +120,14 @@ public class SimpleLockerCabinet implements LockerCabinet {
    */
   public Locker getLocker(int id) {
     logger.info("Get a locker: {}", id);
-    if (!lockers.containsKey(id)) {
+    Locker locker;
+    synchronized (this) {
+      locker = lockerIndex.get(id);
+    }
+    if (locker == null) {
       throw new IllegalArgumentException("The locker unit does not contains the given ID.");
     }
-    return lockers.get(id);
+    return locker;
   }
 
   /**
@@ -123,4 +139,31 @@ public class SimpleLockerCabinet implements LockerCabinet {
     return cabinetId;
   }
 
+  /**
+   * Getter for the number of digits of new passcodes in this cabinet.
+   *
+   * @return the passcode length
+   */
+  @Override
+  public int getPasscodeLength() {
+    return passcodeLength;
+  }
+
+  /**
+   * Sets the number of digits of new passcodes in this cabinet.
+   * Existing passcodes stay valid until the lockers are rekeyed.
+   *
+   * @param passcodeLength the passcode length
+   * @throws IllegalParameterException if the length is not supported
+   */
+  @Override
+  public void setPasscodeLength(int passcodeLength) throws IllegalParameterException {
+    if (passcodeLength < PackedPasscode.MIN_LENGTH || passcodeLength > PackedPasscode.MAX_LENGTH) {
+      throw new IllegalParameterException("A passcode has to have between "
+              + PackedPasscode.MIN_LENGTH + " and " + PackedPasscode.MAX_LENGTH + " digits.");
+    }
+    logger.info("Sets the passcode length of cabinet {} to {}", cabinetId, passcodeLength);
+    this.passcodeLength = passcodeLength;
+  }
+
 }
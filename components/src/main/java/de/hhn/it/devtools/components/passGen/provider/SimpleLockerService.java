@@ -21,10 +21,16 @@ package de.hhn.it.devtools.components.passGen.provider;
 import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
 import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
 import de.hhn.it.devtools.apis.passGen.Locker;
+import de.hhn.it.devtools.apis.passGen.LockerCabinet;
 import de.hhn.it.devtools.apis.passGen.LockerListener;
 import de.hhn.it.devtools.apis.passGen.LockerService;
 import de.hhn.it.devtools.apis.passGen.LockerState;
-import java.util.concurrent.ConcurrentHashMap;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
+import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A simple implementation of the LockerService interface.
@@ -34,13 +40,44 @@ public class SimpleLockerService implements LockerService {
   private static final org.slf4j.Logger logger =
           org.slf4j.LoggerFactory.getLogger(SimpleLockerService.class);
 
-  private ConcurrentHashMap<Integer, Locker> lockers;
+  // passwords drawn for one locker before giving up when passwords have to be unique
+  private static final int MAX_PASSWORD_ATTEMPTS = 64;
+  // cabinet id that stands for all cabinets when claiming a locker
+  private static final int ANY_CABINET = -1;
+
+  private Map<Integer, Locker> lockers;
+  private final SingletonLockerRepository repository;
+  private final PasscodeGenerator passcodeGenerator;
+  // id from which the next claim looks for a free locker, so claims spread over the lockers
+  private final AtomicInteger claimStart = new AtomicInteger();
 
   /**
    * Constructor that initializes the lockers map with the lockers from the repository.
    */
   public SimpleLockerService() {
-    this.lockers = SingletonLockerRepository.getInstance().getLockers();
+    this(new PrimitivePasscodeGenerator());
+  }
+
+  /**
+   * Constructor that initializes the lockers map with the lockers from the repository
+   * and draws the digits of new passwords from the given random source.
+   *
+   * @param randomSource source of the random digits of the passwords
+   */
+  public SimpleLockerService(RandomSource randomSource) {
+    this(new PrimitivePasscodeGenerator(randomSource));
+  }
+
+  /**
+   * Constructor that initializes the lockers map with the lockers from the repository
+   * and uses the given generator for new passwords.
+   *
+   * @param passcodeGenerator generator for the passwords of the lockers
+   */
+  public SimpleLockerService(PasscodeGenerator passcodeGenerator) {
+    this.repository = SingletonLockerRepository.getInstance();
+    this.lockers = repository.getLockers();
+    this.passcodeGenerator = passcodeGenerator;
   }
 
   /**
@@ -77,12 +114,12 @@ public class SimpleLockerService implements LockerService {
   }
 
   /**
-   * Returns a map of registered lockers with their IDs as keys.
+   * Returns a read-only map of registered lockers with their IDs as keys.
    *
-   * @return HashMap of registered lockers
+   * @return read-only map of registered lockers
    */
-  public ConcurrentHashMap<Integer, Locker> getLockers() {
-    logger.info("returning HashMap of registered lockers");
+  public Map<Integer, Locker> getLockers() {
+    logger.info("returning map of registered lockers");
     lockers = SingletonLockerRepository.getInstance().getLockers();
     return lockers;
   }
@@ -96,7 +133,7 @@ public class SimpleLockerService implements LockerService {
    */
   public Locker getLocker(int id) throws IllegalParameterException {
     logger.info("getting locker with id: {}", id);
-    Locker locker = lockers.get(id);
+    Locker locker = repository.getLocker(id);
     if (locker != null) {
       return locker;
     } else {
@@ -113,7 +150,7 @@ public class SimpleLockerService implements LockerService {
    */
   public LockerState getLockerState(int id) throws IllegalParameterException {
     logger.info("getting state of locker with id: {}", id);
-    if (lockers.containsKey(id)) {
+    if (repository.getLocker(id) != null) {
       return getLocker(id).getState();
     } else {
       throw new IllegalParameterException("Locker with id " + id + " does not exist.");
@@ -130,20 +167,24 @@ public class SimpleLockerService implements LockerService {
   public void unlockLocker(int id, int password)
           throws IllegalParameterException, IllegalStateException {
     logger.info("unlocking locker with id: {}", id);
-    if (lockers.containsKey(id)) {
-      //checking if the locker state allows unlocking
-      Locker locker = getLocker(id);
-      if (locker.getState() == LockerState.LOCKED
-              || locker.getState() == LockerState.ACTIVE) {
-        locker.unlock(password);
-        logger.debug("Locker with id {} unlocked", id);
-      } else {
-        throw new IllegalStateException("Locker with id " + id
-                + " has a state other than LOCKED, ACTIVE.");
-      }
-    } else {
-      throw new IllegalParameterException("Locker with id " + id + " does not exist.");
-    }
+    // the locker checks its state and unlocks in one step, see LockerTransition.UNLOCK
+    getLocker(id).unlock(password);
+    logger.debug("Locker with id {} unlocked", id);
+  }
+
+  /**
+   * Opens a locker with the given id and a passcode of variable length.
+   *
+   * @param id       id of the locker
+   * @param passcode passcode packed with {@link PackedPasscode}
+   * @throws IllegalParameterException if the id is invalid or the passcode is incorrect
+   */
+  @Override
+  public void unlockLockerWithPasscode(int id, long passcode)
+          throws IllegalParameterException, IllegalStateException {
+    logger.info("unlocking locker with id: {}", id);
+    getLocker(id).unlockWithPasscode(passcode);
+    logger.debug("Locker with id {} unlocked", id);
   }
 
   /**
@@ -154,20 +195,9 @@ public class SimpleLockerService implements LockerService {
    */
   public void lockLocker(int id) throws IllegalParameterException, IllegalStateException {
     logger.info("locking locker with id: {}", id);
-    if (lockers.containsKey(id)) {
-      //checking if the locker state allows locking
-      Locker locker = getLocker(id);
-      if (locker.getState() == LockerState.UNLOCKED
-              || locker.getState() == LockerState.ACTIVE) {
-        locker.lock();
-        logger.debug("Locker with id {} locked", id);
-      } else {
-        throw new IllegalStateException("Locker with id " + id
-                + " has a state other than UNLOCKED, ACTIVE.");
-      }
-    } else {
-      throw new IllegalParameterException("Locker with id " + id + " does not exist.");
-    }
+    // the locker checks its state and locks in one step, see LockerTransition.LOCK
+    getLocker(id).lock();
+    logger.debug("Locker with id {} locked", id);
   }
 
   /**
@@ -178,20 +208,9 @@ public class SimpleLockerService implements LockerService {
    */
   public void activateLocker(int id) throws IllegalParameterException, IllegalStateException {
     logger.info("activating locker with id: {}", id);
-    if (lockers.containsKey(id)) {
-      //checking if the locker state allows activating
-      Locker locker = getLocker(id);
-      if (locker.getState() == LockerState.DEACTIVATED || locker.getState() == LockerState.LOCKED) {
-        locker.activate();
-        logger.debug("Locker with id {} activated", id);
-      } else {
-        throw new IllegalStateException("Locker with id " + id
-                + " has a state other than DEACTIVATED or LOCKED.");
-      }
-    } else {
-      throw new IllegalParameterException("Locker with id " + id
-              + " does not exist.");
-    }
+    // the locker checks its state and activates in one step, see LockerTransition.ACTIVATE
+    getLocker(id).activate();
+    logger.debug("Locker with id {} activated", id);
   }
 
   /**
@@ -202,18 +221,9 @@ public class SimpleLockerService implements LockerService {
    */
   public void deactivateLocker(int id) throws IllegalParameterException, IllegalStateException {
     logger.info("deactivating locker with id: {}", id);
-    if (lockers.containsKey(id)) {
-      //checking if the locker state allows deactivating
-      Locker locker = getLocker(id);
-      if (locker.getState() == LockerState.ACTIVE) {
-        locker.deactivate();
-        logger.debug("Locker with id {} deactivated", id);
-      } else {
-        throw new IllegalStateException("Locker with id " + id + " has a state other than ACTIVE.");
-      }
-    } else {
-      throw new IllegalParameterException("Locker with id " + id + " does not exist.");
-    }
+    // the locker checks its state and deactivates in one step, see LockerTransition.DEACTIVATE
+    getLocker(id).deactivate();
+    logger.debug("Locker with id {} deactivated", id);
   }
 
   /**
@@ -224,20 +234,9 @@ public class SimpleLockerService implements LockerService {
    */
   public void disableLocker(int id) throws IllegalParameterException, IllegalStateException {
     logger.info("disabling locker with id: {}", id);
-    if (lockers.containsKey(id)) {
-      //checking if the locker state allows disabling
-      Locker locker = getLocker(id);
-      if (locker.getState() == LockerState.DEACTIVATED
-              || locker.getState() == LockerState.ACTIVE) {
-        locker.disable();
-        logger.debug("Locker with id {} disabled", id);
-      } else {
-        throw new IllegalStateException("Locker with id " + id
-                + " has a state other than UNLOCKED.");
-      }
-    } else {
-      throw new IllegalParameterException("Locker with id " + id + " does not exist.");
-    }
+    // the locker checks its state and disables in one step, see LockerTransition.DISABLE
+    getLocker(id).disable();
+    logger.debug("Locker with id {} disabled", id);
   }
 
   /**
@@ -252,40 +251,354 @@ public class SimpleLockerService implements LockerService {
   public void setLockerPassword(int id, int newPassword)
           throws IllegalParameterException, java.lang.IllegalStateException {
     logger.info("setting password of locker with id: {}", id);
-    if (lockers.containsKey(id)) {
-      //checking if the locker state allows setting a password
-      Locker locker = getLocker(id);
-      if (locker.getState() == LockerState.ACTIVE) {
-        locker.setPassword(newPassword);
-      } else {
-        throw new IllegalStateException("Locker with id " + id + " has a state other than ACTIVE.");
-      }
-    } else {
-      throw new IllegalParameterException("Locker with id " + id + " does not exist.");
-    }
+    // the locker checks its state under the lock it changes the password with
+    setPasswordIfActive(getLocker(id), newPassword);
+  }
 
+  /**
+   * Sets a passcode of variable length for a locker with the given id.
+   *
+   * @param id          ID of the locker
+   * @param newPasscode The new passcode packed with {@link PackedPasscode}
+   * @throws IllegalParameterException if the id or the passcode is invalid
+   * @throws IllegalStateException     if the locker is not active
+   */
+  @Override
+  public void setLockerPasscode(int id, long newPasscode)
+          throws IllegalParameterException, IllegalStateException {
+    logger.info("setting passcode of locker with id: {}", id);
+    setPasscodeIfActive(getLocker(id), newPasscode);
   }
 
   /**
    * Creates the password of a locker with the given id.
+   * The password gets the passcode length of the locker's cabinet.
    *
    * @param id id of the locker
    * @throws IllegalParameterException if the id is invalid
    */
   public void createLockerPassword(int id) throws IllegalParameterException, IllegalStateException {
     logger.info("setting password of locker with id: {}", id);
-    if (lockers.containsKey(id)) {
-      //checking if the locker state allows setting a password
-      Locker locker = getLocker(id);
-      if (locker.getState() == LockerState.ACTIVE) {
-        SimplePasscodeGenerator passGen = new SimplePasscodeGenerator();
-        int passcode = passGen.createPasscode();
-        locker.setPassword(passcode);
-      } else {
-        throw new IllegalStateException("Locker with id " + id + " has a state other than ACTIVE.");
+    if (!createPassword(getLocker(id))) {
+      throw new IllegalStateException("Locker with id " + id + " has a state other than ACTIVE.");
+    }
+  }
+
+  /**
+   * Creates new passwords for all lockers with the given ids in one call.
+   * The ids and states are checked first and the passwords are drawn as one batch, but they
+   * are set one locker after the other: if no usable password is found for a locker, the
+   * lockers before it keep their new passwords. A locker that leaves the ACTIVE state after
+   * the check is skipped.
+   *
+   * @param ids ids of the lockers
+   * @throws IllegalParameterException if the ids are null, one of the ids is invalid or no
+   *                                   usable password was found for a locker
+   * @throws IllegalStateException     if one of the lockers is not active
+   */
+  @Override
+  public void createLockerPasswords(int[] ids)
+          throws IllegalParameterException, IllegalStateException {
+    if (ids == null) {
+      throw new IllegalParameterException("Locker ids are a null reference.");
+    }
+    logger.info("creating passwords for {} lockers", ids.length);
+    Locker[] targets = new Locker[ids.length];
+    for (int i = 0; i < ids.length; i++) {
+      Locker locker = repository.getLocker(ids[i]);
+      if (locker == null) {
+        throw new IllegalParameterException("Locker with id " + ids[i] + " does not exist.");
       }
-    } else {
-      throw new IllegalParameterException("Locker with id " + id + " does not exist.");
+      if (locker.getState() != LockerState.ACTIVE) {
+        throw new IllegalStateException("Locker with id " + ids[i]
+                + " has a state other than ACTIVE.");
+      }
+      targets[i] = locker;
+    }
+    assignPasswords(targets);
+  }
+
+  /**
+   * Creates new passwords for all active lockers of a locker cabinet in one call.
+   * Lockers in any other state are skipped.
+   *
+   * @param cabinetId id of the locker cabinet
+   * @return number of lockers that got a new password
+   * @throws IllegalParameterException if the cabinet id is invalid
+   */
+  @Override
+  public int createLockerCabinetPasswords(int cabinetId) throws IllegalParameterException {
+    LockerCabinet cabinet = repository.getLockerCabinet(cabinetId);
+    if (cabinet == null) {
+      throw new IllegalParameterException("Locker cabinet with id " + cabinetId
+              + " does not exist.");
+    }
+    logger.info("creating passwords for the active lockers of cabinet {}", cabinetId);
+    List<Locker> targets = new ArrayList<>();
+    // the cabinet adds and removes its lockers under its own lock
+    synchronized (cabinet) {
+      for (Locker locker : cabinet.getLockerCabinet().values()) {
+        if (locker.getState() == LockerState.ACTIVE) {
+          targets.add(locker);
+        }
+      }
+    }
+    return assignPasswords(targets.toArray(new Locker[0]));
+  }
+
+  /**
+   * Claims a free locker. The search for a deactivated locker starts after the locker that
+   * was claimed last and goes through the bitmap of deactivated lockers in the state index
+   * of the repository; the claim itself is a compare-and-set of the locker's state from
+   * DEACTIVATED to ACTIVE. A thread that loses the race for a locker goes on with the next
+   * one, so concurrent claims neither wait for each other nor get the same locker.
+   *
+   * @return id of the claimed locker
+   * @throws IllegalStateException if no locker is free
+   */
+  @Override
+  public int claimLocker() throws IllegalStateException {
+    int id = claim(ANY_CABINET);
+    if (id < 0) {
+      throw new IllegalStateException("No locker is free.");
+    }
+    logger.debug("claimed locker with id: {}", id);
+    return id;
+  }
+
+  /**
+   * Claims a free locker in a locker cabinet, see {@link #claimLocker()}.
+   *
+   * @param cabinetId id of the locker cabinet
+   * @return id of the claimed locker
+   * @throws IllegalParameterException if the cabinet id is invalid
+   * @throws IllegalStateException     if no locker in the cabinet is free
+   */
+  @Override
+  public int claimLocker(int cabinetId) throws IllegalParameterException, IllegalStateException {
+    if (repository.getLockerCabinet(cabinetId) == null) {
+      throw new IllegalParameterException("Locker cabinet with id " + cabinetId
+              + " does not exist.");
+    }
+    int id = claim(cabinetId);
+    if (id < 0) {
+      throw new IllegalStateException("No locker in cabinet " + cabinetId + " is free.");
+    }
+    logger.debug("claimed locker with id {} in cabinet {}", id, cabinetId);
+    return id;
+  }
+
+  /**
+   * Claims a free locker in one of the locker cabinets at a location, see
+   * {@link #claimLocker()}. The cabinets are tried one after the other.
+   *
+   * @param location location of the locker cabinets
+   * @return id of the claimed locker
+   * @throws IllegalParameterException if the location is null or has no locker cabinet
+   * @throws IllegalStateException     if no locker at the location is free
+   */
+  @Override
+  public int claimLocker(String location)
+          throws IllegalParameterException, IllegalStateException {
+    if (location == null) {
+      throw new IllegalParameterException("Location is a null reference.");
+    }
+    boolean found = false;
+    for (LockerCabinet cabinet : repository.getLockerCabinets().values()) {
+      if (location.equals(cabinet.getLocation())) {
+        found = true;
+        int id = claim(cabinet.getCabinetId());
+        if (id >= 0) {
+          logger.debug("claimed locker with id {} at {}", id, location);
+          return id;
+        }
+      }
+    }
+    if (!found) {
+      throw new IllegalParameterException("There is no locker cabinet at " + location + ".");
+    }
+    throw new IllegalStateException("No locker at " + location + " is free.");
+  }
+
+  /**
+   * Claims a deactivated locker, see {@link #claimLocker()}.
+   *
+   * @param cabinetId id of the cabinet or {@link #ANY_CABINET}
+   * @return id of the claimed locker or -1 if none is free
+   */
+  private int claim(int cabinetId) {
+    LockerStateIndex index = repository.getStateIndex();
+    int start = claimStart.get();
+    boolean wrapped = false;
+    int id = nextFree(index, cabinetId, start);
+    while (true) {
+      if (id < 0 || wrapped && id >= start) {
+        if (wrapped) {
+          return -1;
+        }
+        wrapped = true;
+        id = nextFree(index, cabinetId, 0);
+        continue;
+      }
+      Locker locker = repository.getLocker(id);
+      // lockers added from outside the repository may not be able to compare-and-set
+      if (locker instanceof ManagedLocker && ((ManagedLocker) locker)
+              .applyFrom(LockerState.DEACTIVATED, LockerTransition.ACTIVATE)) {
+        claimStart.set(id + 1);
+        return id;
+      }
+      id = nextFree(index, cabinetId, id + 1);
+    }
+  }
+
+  private static int nextFree(LockerStateIndex index, int cabinetId, int fromId) {
+    return cabinetId == ANY_CABINET ? index.next(LockerState.DEACTIVATED, fromId)
+            : index.next(cabinetId, LockerState.DEACTIVATED, fromId);
+  }
+
+  /**
+   * Creates passwords for the given lockers. Lockers with the default passcode length
+   * share one batch, the others get a passcode of their cabinet's length one by one.
+   *
+   * Lockers that are not active anymore when their turn comes are skipped.
+   *
+   * @param targets the lockers to get a new password
+   * @return number of lockers that got a new password
+   * @throws IllegalParameterException if no usable password was found
+   */
+  private int assignPasswords(Locker[] targets) throws IllegalParameterException {
+    Locker[] defaultLength = new Locker[targets.length];
+    int defaultCount = 0;
+    int assigned = 0;
+    for (Locker locker : targets) {
+      if (locker.getPasscodeLength() == PasscodeGenerator.DEFAULT_LENGTH) {
+        defaultLength[defaultCount++] = locker;
+      } else if (createPassword(locker)) {
+        assigned++;
+      }
+    }
+    int[] passcodes = new int[defaultCount];
+    passcodeGenerator.createPasscodes(defaultCount, passcodes);
+    for (int i = 0; i < defaultCount; i++) {
+      if (assignNewPassword(defaultLength[i], passcodes[i])) {
+        assigned++;
+      }
+    }
+    return assigned;
+  }
+
+  /**
+   * Creates a password with the passcode length of the locker's cabinet.
+   *
+   * @param locker the locker to get the password
+   * @return true if the locker got the password, false if it is not active
+   * @throws IllegalParameterException if no usable password was found
+   */
+  private boolean createPassword(Locker locker) throws IllegalParameterException {
+    int length = locker.getPasscodeLength();
+    if (length == PasscodeGenerator.DEFAULT_LENGTH) {
+      return assignNewPassword(locker, passcodeGenerator.createPasscode());
+    }
+    return assignNewPasscode(locker, length);
+  }
+
+  /**
+   * Sets a new password and draws another one if the first is already used by another locker.
+   *
+   * @param locker   the locker to get the password
+   * @param passcode the first candidate
+   * @return true if the locker got the password, false if it is not active
+   * @throws IllegalParameterException if no usable password was found
+   */
+  private boolean assignNewPassword(Locker locker, int passcode)
+          throws IllegalParameterException {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        setPasswordIfActive(locker, passcode);
+        return true;
+      } catch (IllegalStateException e) {
+        logger.debug("Locker {} is not active anymore, no password", locker.getId());
+        return false;
+      } catch (IllegalParameterException e) {
+        if (attempt == MAX_PASSWORD_ATTEMPTS) {
+          throw e;
+        }
+        logger.debug("Password for locker {} rejected, drawing another one", locker.getId());
+        passcode = passcodeGenerator.createPasscode();
+      }
+    }
+  }
+
+  /**
+   * Sets a new passcode of the given length and draws another one if it is already used
+   * by another locker.
+   *
+   * @param locker the locker to get the passcode
+   * @param length number of digits
+   * @return true if the locker got the passcode, false if it is not active
+   * @throws IllegalParameterException if the length is not supported or no usable passcode
+   *                                   was found
+   */
+  private boolean assignNewPasscode(Locker locker, int length)
+          throws IllegalParameterException {
+    for (int attempt = 1; ; attempt++) {
+      long passcode = passcodeGenerator.createPasscode(length);
+      try {
+        setPasscodeIfActive(locker, passcode);
+        return true;
+      } catch (IllegalStateException e) {
+        logger.debug("Locker {} is not active anymore, no passcode", locker.getId());
+        return false;
+      } catch (IllegalParameterException e) {
+        if (attempt == MAX_PASSWORD_ATTEMPTS) {
+          throw e;
+        }
+        logger.debug("Passcode for locker {} rejected, drawing another one", locker.getId());
+      }
+    }
+  }
+
+  /**
+   * Sets a password if the locker is active. A ManagedLocker checks its state in the same
+   * step as it changes the password, so the locker cannot be disabled in between.
+   *
+   * @param locker   the locker
+   * @param password the new password
+   * @throws IllegalParameterException if the password is not usable
+   * @throws IllegalStateException     if the locker is not active
+   */
+  private static void setPasswordIfActive(Locker locker, int password)
+          throws IllegalParameterException, IllegalStateException {
+    if (locker instanceof ManagedLocker) {
+      ((ManagedLocker) locker).setPasswordIfActive(password);
+      return;
+    }
+    requireActive(locker);
+    locker.setPassword(password);
+  }
+
+  /**
+   * Sets a passcode if the locker is active, see {@link #setPasswordIfActive(Locker, int)}.
+   *
+   * @param locker   the locker
+   * @param passcode the new passcode packed with {@link PackedPasscode}
+   * @throws IllegalParameterException if the passcode is not usable
+   * @throws IllegalStateException     if the locker is not active
+   */
+  private static void setPasscodeIfActive(Locker locker, long passcode)
+          throws IllegalParameterException, IllegalStateException {
+    if (locker instanceof ManagedLocker) {
+      ((ManagedLocker) locker).setPasscodeIfActive(passcode);
+      return;
+    }
+    requireActive(locker);
+    locker.setPasscode(passcode);
+  }
+
+  private static void requireActive(Locker locker) throws IllegalStateException {
+    if (locker.getState() != LockerState.ACTIVE) {
+      throw new IllegalStateException("Locker with id " + locker.getId()
+              + " has a state other than ACTIVE.");
     }
   }
-}
\ No newline at end of file
+}
@@ -19,15 +19,15 @@
 package de.hhn.it.devtools.components.passGen.provider;
 
 import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
 import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
-import java.util.ArrayList;
-import java.util.Arrays;
 
 /**
  * A simple passcode generator that generates a random passcode of a given length.
  */
 public class SimplePasscodeGenerator implements PasscodeGenerator {
-  private final ArrayList<String> tabooSyllables;
+  private final TabooRules tabooRules;
+  private final RandomSource randomSource;
   private static final org.slf4j.Logger logger =
       org.slf4j.LoggerFactory.getLogger(SimplePasscodeGenerator.class);
 
@@ -35,9 +35,28 @@ public class SimplePasscodeGenerator implements PasscodeGenerator {
    * Constructs a new SimplePasscodeGenerator with default prefixes and suffixes.
    */
   public SimplePasscodeGenerator() {
-    // List of number combinations that are not allowed to be in generated passcode.
-    tabooSyllables = new ArrayList<>(Arrays.asList("000", "111", "222", "333", "444",
-        "555", "666", "777", "888", "999"));
+    this(new DrbgRandomSource());
+  }
+
+  /**
+   * Constructs a new SimplePasscodeGenerator that draws its digits from the given random source.
+   *
+   * @param randomSource source of the random digits
+   */
+  public SimplePasscodeGenerator(RandomSource randomSource) {
+    // number combinations that are not allowed to be in generated passcode: "000" ... "999"
+    this(randomSource, new TabooRules());
+  }
+
+  /**
+   * Constructs a new SimplePasscodeGenerator with the given random source and taboo rules.
+   *
+   * @param randomSource source of the random digits
+   * @param tabooRules   the taboo rules, later changes apply to the next passcode
+   */
+  public SimplePasscodeGenerator(RandomSource randomSource, TabooRules tabooRules) {
+    this.randomSource = randomSource;
+    this.tabooRules = tabooRules;
   }
 
   /**
@@ -49,36 +68,57 @@ public class SimplePasscodeGenerator implements PasscodeGenerator {
   @Override
   public int createPasscode() throws IllegalParameterException {
     String stringNumbers;
-    boolean checkSyllables = false;
     do {
       stringNumbers = generatePasscode(DEFAULT_LENGTH);
-
-      for (String syllables : tabooSyllables) {
-        if (stringNumbers.contains(syllables)) {
-          checkSyllables = true;
-          break;
-        }
-      }
-    } while (stringNumbers.length() != DEFAULT_LENGTH && checkSyllables);
+      // a leading zero would make the int shorter than the default length
+    } while (stringNumbers.charAt(0) == '0' || containsTabooSyllable(stringNumbers));
 
     return Integer.parseInt(stringNumbers);
   }
 
+  /**
+   * Creates a new passcode of the given length, leading zeros are kept.
+   *
+   * @param length is the length of the passcode
+   * @return the generated passcode packed with {@link PackedPasscode}
+   * @throws IllegalParameterException if the length is not supported
+   */
+  @Override
+  public long createPasscode(int length) throws IllegalParameterException {
+    if (length < PackedPasscode.MIN_LENGTH || length > PackedPasscode.MAX_LENGTH) {
+      throw new IllegalParameterException("A passcode has to have between "
+          + PackedPasscode.MIN_LENGTH + " and " + PackedPasscode.MAX_LENGTH + " digits.");
+    }
+    String stringNumbers;
+    do {
+      stringNumbers = generatePasscode(length);
+    } while (containsTabooSyllable(stringNumbers));
+
+    return PackedPasscode.parse(stringNumbers);
+  }
+
   /**
    * Creates a new passcode of the specified length.
+   * Lengths that are not supported fall back to the default length.
    *
    * @param length is the length of the passcode
-   * @return the generated passcode as a String
+   * @return the generated passcode as a String, may start with zeros
    */
   public String generatePasscode(int length) {
-    String newNumbers = "";
-    double temp = Math.random() * Math.pow(10, length);
-    newNumbers += String.valueOf(temp);
-    newNumbers = newNumbers.replace(".", "");
-    // cropping the passcode if it is longer than 6 digits
-    newNumbers = newNumbers.substring(0, DEFAULT_LENGTH);
+    if (length < PackedPasscode.MIN_LENGTH || length > PackedPasscode.MAX_LENGTH) {
+      logger.debug("Passcode length {} is not supported, using {}", length, DEFAULT_LENGTH);
+      length = DEFAULT_LENGTH;
+    }
+    StringBuilder newNumbers = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      newNumbers.append((char) ('0' + randomSource.nextInt(10)));
+    }
+    return newNumbers.toString();
+  }
 
-    return newNumbers;
+  private boolean containsTabooSyllable(String stringNumbers) {
+    // one pass over the digits for all taboo patterns
+    return tabooRules.getAutomaton().matches(stringNumbers);
   }
 
   //  /**
@@ -19,31 +19,62 @@
 package de.hhn.it.devtools.components.passGen.provider;
 
 import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
 import de.hhn.it.devtools.apis.exceptions.TooManyTokensException;
 import de.hhn.it.devtools.apis.passGen.Token;
-import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A simple implementation of the Token interface.
+ * Generated tokens are registered with a {@link TimingWheel}, which removes them from the user,
+ * the token map and the time maps as soon as they expire, even if nobody asks for them anymore.
  */
 public class SimpleToken implements Token {
   private String token;
   private Map<SimpleToken, LocalDateTime> creationTime;
   private Map<SimpleToken, LocalDateTime> expirationTime;
-  private SimpleUser user;
   private SimpleUserManagementService userService;
-  // A secure random number generator.
-  private static final SecureRandom secureRandom = new SecureRandom();
+  // Random source shared by all tokens that are not given their own one.
+  private static final RandomSource DEFAULT_RANDOM_SOURCE = new DrbgRandomSource();
+  private final RandomSource randomSource;
+  // lifetime of a generated token in seconds, 9.59 min
+  private static final long TOKEN_LIFETIME_SECONDS = 599;
+  private final TimingWheel expiryWheel;
+  // time after its creation after which a token cannot be renewed anymore
+  private volatile Duration maxLifetime = Duration.ofHours(12);
+  // expiry task of a generated token, cancelled when the token is removed before
+  private volatile TimingWheel.Timeout expiryTimeout;
+  // keeps the tokens across restarts if set
+  private volatile TokenJournal journal;
   // A base64 URL encoder.
   private static final Base64.Encoder base64Encoder = Base64.getUrlEncoder();
+  // time zone of the times in the journal, looked up once
+  private static final ZoneId JOURNAL_ZONE = ZoneId.systemDefault();
   private Map<SimpleUser, SimpleToken> tokenMap = new ConcurrentHashMap<>();
+  // monitors for generating and expiring tokens, a user always maps to the same one
+  private static final Object[] USER_LOCKS = new Object[64];
+  private final boolean concurrentTimeMaps;
   private static final org.slf4j.Logger logger =
           org.slf4j.LoggerFactory.getLogger(SimpleToken.class);
 
+  static {
+    for (int i = 0; i < USER_LOCKS.length; i++) {
+      USER_LOCKS[i] = new Object();
+    }
+  }
+
   /**
    * Creates a new SimpleToken with the specified token.
    *
@@ -52,12 +83,53 @@ public class SimpleToken implements Token {
   public SimpleToken(String token, Map<SimpleToken, LocalDateTime> creationTime,
                      Map<SimpleToken, LocalDateTime> expirationTime,
                      SimpleUserManagementService userService) {
+    this(token, creationTime, expirationTime, userService, DEFAULT_RANDOM_SOURCE);
+  }
+
+  /**
+   * Creates a new SimpleToken with the specified token that draws new tokens
+   * from the given random source.
+   *
+   * @param token          the token value
+   * @param creationTime   creation times of the tokens
+   * @param expirationTime expiration times of the tokens
+   * @param userService    the user management service
+   * @param randomSource   source of the random bytes of new tokens
+   */
+  public SimpleToken(String token, Map<SimpleToken, LocalDateTime> creationTime,
+                     Map<SimpleToken, LocalDateTime> expirationTime,
+                     SimpleUserManagementService userService, RandomSource randomSource) {
+    this(token, creationTime, expirationTime, userService, randomSource,
+        DefaultExpiryWheel.INSTANCE);
+  }
+
+  /**
+   * Creates a new SimpleToken with the specified token whose generated tokens expire
+   * on the given timing wheel.
+   *
+   * @param token          the token value
+   * @param creationTime   creation times of the tokens
+   * @param expirationTime expiration times of the tokens
+   * @param userService    the user management service
+   * @param randomSource   source of the random bytes of new tokens
+   * @param expiryWheel    wheel that removes expired tokens, null to remove them only
+   *                       when {@link #isExpired} is called
+   */
+  public SimpleToken(String token, Map<SimpleToken, LocalDateTime> creationTime,
+                     Map<SimpleToken, LocalDateTime> expirationTime,
+                     SimpleUserManagementService userService, RandomSource randomSource,
+                     TimingWheel expiryWheel) {
     this.token = token;
     this.creationTime = creationTime;
     this.expirationTime = expirationTime;
     this.userService = userService;
+    this.randomSource = randomSource;
+    this.expiryWheel = expiryWheel;
+    this.concurrentTimeMaps = creationTime instanceof ConcurrentMap
+        && expirationTime instanceof ConcurrentMap;
   }
 
+
   /**
    * Returns the token value.
    *
@@ -103,7 +175,18 @@ public class SimpleToken implements Token {
    * @param tokenKey the token whose info is to be removed
    */
   public void removeTokenTimeInfo(SimpleToken tokenKey) {
+    removeTimes(tokenKey);
+    TokenJournal log = journal;
+    if (log != null && tokenKey != null && tokenKey.token != null) {
+      log.revoked(tokenKey.token);
+    }
+  }
+
+  private void removeTimes(SimpleToken tokenKey) {
     // only when token is expired
+    if (tokenKey != null && tokenKey.expiryTimeout != null) {
+      tokenKey.expiryTimeout.cancel();
+    }
     creationTime.remove(tokenKey);
     expirationTime.remove(tokenKey);
     logger.debug("Removed token time info from token with id: " + tokenKey);
@@ -120,18 +203,11 @@ public class SimpleToken implements Token {
   public boolean isExpired(SimpleToken tokenKey, SimpleUser user) {
     if (tokenKey == null || !(expirationTime.containsKey(tokenKey))) {
       throw new IllegalArgumentException("Token is null or does not exist.");
-    } else if (LocalDateTime.now().isAfter(getExpirationTime(tokenKey))) {
-      removeTokenTimeInfo(tokenKey);
-      user.removeTokenFromUser();
-      tokenMap.remove(user, tokenKey);
-      logger.debug("Removed token association with user:" + user.getAddress());
-
-      for (int userIndex = 1; userIndex < userService.getUsers().size(); userIndex++) {
-        SimpleUser currentUser = userService.getUsers().get(userIndex);
-        if (currentUser == user) {
-          removeToken(userIndex);
-        }
-      }
+    }
+    LocalDateTime expiresAt = getExpirationTime(tokenKey);
+    // a renewal in the meantime makes expire fail, the token is valid then
+    if (expiresAt != null && LocalDateTime.now().isAfter(expiresAt)
+        && expire(tokenKey, user, expiresAt)) {
       logger.debug("Token is expired. Token id: " + tokenKey);
       return true;
     }
@@ -139,49 +215,361 @@ public class SimpleToken implements Token {
     return false;
   }
 
+  /**
+   * Extends a token that has not expired yet to a full lifetime from now, but not beyond
+   * its maximum lifetime counted from its creation. The token keeps its value, so
+   * renewing draws no random bytes. With concurrent time maps the expiration time is
+   * replaced with one compare-and-set, a token that expires at the same moment is not renewed.
+   *
+   * @param tokenKey the token to renew
+   * @return the new expiration time or null if the token does not exist or has expired
+   * @throws IllegalArgumentException if the token is null
+   */
+  public LocalDateTime renewToken(SimpleToken tokenKey) {
+    if (tokenKey == null) {
+      throw new IllegalArgumentException("Token is null.");
+    }
+    if (concurrentTimeMaps) {
+      return renew(tokenKey);
+    }
+    synchronized (this) {
+      return renew(tokenKey);
+    }
+  }
+
+  /**
+   * Sets the time after its creation after which a token cannot be renewed anymore.
+   *
+   * @param maxLifetime the maximum lifetime
+   * @throws IllegalArgumentException if the maximum lifetime is null or shorter than
+   *                                  the lifetime of a token
+   */
+  public void setMaxLifetime(Duration maxLifetime) {
+    if (maxLifetime == null || maxLifetime.getSeconds() < TOKEN_LIFETIME_SECONDS) {
+      throw new IllegalArgumentException("Maximum lifetime " + maxLifetime
+          + " is null or shorter than the lifetime of a token.");
+    }
+    this.maxLifetime = maxLifetime;
+  }
+
+  private LocalDateTime renew(SimpleToken tokenKey) {
+    LocalDateTime created = creationTime.get(tokenKey);
+    if (created == null) {
+      return null;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime renewed = now.plusSeconds(TOKEN_LIFETIME_SECONDS);
+    LocalDateTime limit = created.plus(maxLifetime);
+    if (renewed.isAfter(limit)) {
+      renewed = limit;
+    }
+    while (true) {
+      LocalDateTime current = expirationTime.get(tokenKey);
+      if (current == null || !now.isBefore(current)) {
+        return null;
+      }
+      if (!renewed.isAfter(current)) {
+        return current;
+      }
+      // fails if the token expired or was renewed in the meantime
+      if (expirationTime.replace(tokenKey, current, renewed)) {
+        TokenJournal log = journal;
+        if (log != null) {
+          log.renewed(tokenKey.token, toEpochMillis(renewed));
+        }
+        logger.debug("Renewed token until {}. Token id: {}", renewed, tokenKey);
+        return renewed;
+      }
+    }
+  }
+
+  /**
+   * Called by the timing wheel when a token should have expired. Removes the token if it
+   * is still there, or waits again if its expiration time has been moved or renewed.
+   *
+   * @param tokenKey the token
+   * @param user     the user the token was generated for
+   */
+  private void expireIfDue(SimpleToken tokenKey, SimpleUser user) {
+    while (true) {
+      LocalDateTime expiresAt;
+      if (concurrentTimeMaps) {
+        expiresAt = expirationTime.get(tokenKey);
+      } else {
+        // the wheel thread must not read a plain map while a writer changes it
+        synchronized (lockFor(user.getId())) {
+          expiresAt = expirationTime.get(tokenKey);
+        }
+      }
+      if (expiresAt == null) {
+        return;
+      }
+      LocalDateTime now = LocalDateTime.now();
+      if (!now.isAfter(expiresAt)) {
+        long remainingMillis = Duration.between(now, expiresAt).toMillis() + 1;
+        scheduleExpiry(tokenKey, user, remainingMillis);
+        return;
+      }
+      // expire fails if the token was renewed right now, then its new time is checked
+      if (expire(tokenKey, user, expiresAt)) {
+        logger.debug("Token expired on timing wheel. Token id: " + tokenKey);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Removes an expired token from the time maps, the token map and its user, unless it has
+   * been renewed since its expiration time was read.
+   *
+   * @param tokenKey  the token
+   * @param user      the user the token was generated for
+   * @param expiresAt the expiration time the caller found expired
+   * @return true if the token was removed, false if it has been renewed or removed before
+   */
+  private boolean expire(SimpleToken tokenKey, SimpleUser user, LocalDateTime expiresAt) {
+    synchronized (lockFor(user.getId())) {
+      if (!expirationTime.remove(tokenKey, expiresAt)) {
+        return false;
+      }
+      // an expired token needs no revocation in the journal
+      removeTimes(tokenKey);
+      // the user may have got a new token in the meantime, which stays
+      if (user.getToken() == tokenKey) {
+        user.removeTokenFromUser();
+      }
+      tokenMap.remove(user, tokenKey);
+    }
+    logger.debug("Removed token association with user:" + user.getAddress());
+    return true;
+  }
+
+  /**
+   * Takes back a token the journal could not log. The token has not been handed out, so its
+   * revocation is not logged either.
+   *
+   * @param tokenKey the token
+   * @param user     the user the token was generated for
+   */
+  private void discard(SimpleToken tokenKey, SimpleUser user) {
+    synchronized (lockFor(user.getId())) {
+      removeTimes(tokenKey);
+      if (user.getToken() == tokenKey) {
+        user.removeTokenFromUser();
+      }
+      tokenMap.remove(user, tokenKey);
+    }
+    logger.debug("Took back unlogged token of user:" + user.getAddress());
+  }
+
+  private void scheduleExpiry(SimpleToken tokenKey, SimpleUser user, long delayMillis) {
+    if (expiryWheel != null) {
+      tokenKey.expiryTimeout = expiryWheel.schedule(() -> expireIfDue(tokenKey, user),
+          delayMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
   @Override
   public void removeToken(int userId) {
-    tokenMap.remove(userService.getUser(userId));
+    SimpleToken removed = tokenMap.remove(userService.getUser(userId));
+    TokenJournal log = journal;
+    if (log != null && removed != null) {
+      log.revoked(removed.token);
+    }
     logger.debug("Removed token from user with id: " + userId);
   }
 
+  /**
+   * Generates a new token for the specified user ID.
+   * Only calls for users that share a lock wait for each other, so tokens for different users
+   * are generated in parallel. That needs concurrent time maps; with other maps all calls
+   * wait for each other.
+   *
+   * @param userId the ID of the user for whom the token is to be generated
+   * @throws IllegalArgumentException if the user ID is less than or equal to zero
+   * @throws TooManyTokensException   if the user has already an active token assigned
+   * @throws IllegalStateException    if a journal waits for commits and cannot log the token,
+   *                                  then the user does not keep it
+   */
   @Override
-  public synchronized void generateToken(int userId)
+  public void generateToken(int userId)
           throws IllegalArgumentException, TooManyTokensException {
     if (userId <= 0) {
       throw new IllegalArgumentException("User Id cannot be a null reference.");
     }
 
     //select user
-    user = userService.getUser(userId);
-    SimpleToken token = user.getToken();
-    if (token != null) {
-      throw new TooManyTokensException("User with id " + userId + " already has an active token.");
-    }
+    SimpleUser user = userService.getUser(userId);
 
     // generate a random byte array of size 8 == length 12 - doesn't hold up with expectation
     // is much longer might cause performance issues in real application
     byte[] randomBytes = new byte[8];
-    secureRandom.nextBytes(randomBytes);
+    randomSource.nextBytes(randomBytes);
 
     // encode the random byte array into a string using base64 URL encoding
     String encodedRandomBytes = base64Encoder.encodeToString(randomBytes);
 
     // create a new SimpleToken with the encoded random bytes
-    SimpleToken tokenToBeAdded =
-            new SimpleToken(encodedRandomBytes, Map.of(), Map.of(), userService);
+    SimpleToken tokenToBeAdded = new SimpleToken(encodedRandomBytes, Map.of(), Map.of(),
+            userService, randomSource, expiryWheel);
 
-    // add creation time and associate it with the token
-    creationTime.put(tokenToBeAdded, LocalDateTime.now());
-    // add expiration time and associate it with the token
-    expirationTime.put(tokenToBeAdded, LocalDateTime.now().plusSeconds(599)); //9.59 min
-    // associate the token with the user
-    tokenMap.put(user, tokenToBeAdded);
+    LocalDateTime now;
+    // checking and assigning under the lock of the user keeps one active token per user
+    synchronized (lockFor(userId)) {
+      if (user.getToken() != null) {
+        throw new TooManyTokensException("User with id " + userId
+                + " already has an active token.");
+      }
+      now = LocalDateTime.now();
+      // add creation time and associate it with the token
+      creationTime.put(tokenToBeAdded, now);
+      // add expiration time and associate it with the token
+      expirationTime.put(tokenToBeAdded, now.plusSeconds(TOKEN_LIFETIME_SECONDS));
+      // associate the token with the user
+      tokenMap.put(user, tokenToBeAdded);
 
-    user.addTokenToUser(tokenToBeAdded);
+      user.addTokenToUser(tokenToBeAdded);
+      scheduleExpiry(tokenToBeAdded, user, TimeUnit.SECONDS.toMillis(TOKEN_LIFETIME_SECONDS));
+    }
+    // logged after the lock, so waiting for the disk does not hold up other users
+    try {
+      logIssued(userId, tokenToBeAdded, now, now.plusSeconds(TOKEN_LIFETIME_SECONDS));
+    } catch (IllegalStateException e) {
+      discard(tokenToBeAdded, user);
+      throw e;
+    }
     logger.debug("Assigned token to user with id: " + userId);
   }
 
+  /**
+   * Generates tokens for several users at once, e.g. for a whole team at the start of a shift.
+   * The random bytes of all tokens are drawn with one call and all tokens share one creation
+   * time. A user who already has a token keeps it and an unknown user is skipped, so no
+   * single user makes the batch fail.
+   *
+   * @param userIds ids of the users
+   * @return the outcome per user id, in the order of the ids
+   * @throws IllegalArgumentException if the collection or one of its ids is null
+   */
+  public Map<Integer, TokenIssue> generateTokens(Collection<Integer> userIds) {
+    if (userIds == null || userIds.stream().anyMatch(Objects::isNull)) {
+      throw new IllegalArgumentException("User ids are a null reference or contain one.");
+    }
+    Map<Integer, TokenIssue> outcomes = new LinkedHashMap<>();
+    byte[] randomBytes = new byte[userIds.size() * 8];
+    randomSource.nextBytes(randomBytes);
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime expiresAt = now.plusSeconds(TOKEN_LIFETIME_SECONDS);
+    int offset = 0;
+    int issued = 0;
+    for (int userId : userIds) {
+      byte[] tokenBytes = Arrays.copyOfRange(randomBytes, offset, offset + 8);
+      offset += 8;
+      SimpleUser user = userId > 0 ? userService.getUsers().get(userId) : null;
+      if (user == null) {
+        outcomes.put(userId, TokenIssue.UNKNOWN_USER);
+        continue;
+      }
+      SimpleToken tokenToBeAdded = new SimpleToken(base64Encoder.encodeToString(tokenBytes),
+              Map.of(), Map.of(), userService, randomSource, expiryWheel);
+      synchronized (lockFor(userId)) {
+        if (user.getToken() != null) {
+          outcomes.putIfAbsent(userId, TokenIssue.ALREADY_HAS_TOKEN);
+          continue;
+        }
+        creationTime.put(tokenToBeAdded, now);
+        expirationTime.put(tokenToBeAdded, expiresAt);
+        tokenMap.put(user, tokenToBeAdded);
+        user.addTokenToUser(tokenToBeAdded);
+        scheduleExpiry(tokenToBeAdded, user, TimeUnit.SECONDS.toMillis(TOKEN_LIFETIME_SECONDS));
+      }
+      try {
+        logIssued(userId, tokenToBeAdded, now, expiresAt);
+      } catch (IllegalStateException e) {
+        discard(tokenToBeAdded, user);
+        outcomes.put(userId, TokenIssue.NOT_LOGGED);
+        continue;
+      }
+      outcomes.put(userId, TokenIssue.ISSUED);
+      issued++;
+    }
+    logger.debug("Assigned {} tokens in a batch of {} users", issued, userIds.size());
+    return outcomes;
+  }
+
+  /**
+   * Restores the unexpired tokens of a journal and logs later changes of the tokens to it.
+   * Tokens of users that do not exist or already have a token are skipped, as are session
+   * tokens, which {@link SimpleUserManagementService#restoreSessions} restores.
+   *
+   * @param journal the journal
+   * @return number of restored tokens
+   * @throws IllegalArgumentException if the journal is null
+   */
+  public int restoreTokens(TokenJournal journal) {
+    if (journal == null) {
+      throw new IllegalArgumentException("Journal is a null reference.");
+    }
+    int restored = 0;
+    LocalDateTime now = LocalDateTime.now();
+    for (TokenJournal.TokenRecord record : journal.getRestoredTokens()) {
+      SimpleUser user = userService.getUsers().get(record.getUserId());
+      if (user == null || record.getExpiresAtMillis() == TokenJournal.NO_EXPIRY) {
+        continue;
+      }
+      LocalDateTime expiresAt = toLocalDateTime(record.getExpiresAtMillis());
+      if (!now.isBefore(expiresAt)) {
+        continue;
+      }
+      SimpleToken tokenToBeAdded = new SimpleToken(record.getToken(), Map.of(), Map.of(),
+              userService, randomSource, expiryWheel);
+      synchronized (lockFor(user.getId())) {
+        if (user.getToken() != null) {
+          continue;
+        }
+        creationTime.put(tokenToBeAdded, toLocalDateTime(record.getCreatedAtMillis()));
+        expirationTime.put(tokenToBeAdded, expiresAt);
+        tokenMap.put(user, tokenToBeAdded);
+        user.addTokenToUser(tokenToBeAdded);
+        scheduleExpiry(tokenToBeAdded, user, Duration.between(now, expiresAt).toMillis() + 1);
+      }
+      restored++;
+    }
+    this.journal = journal;
+    logger.info("Restored {} tokens from the journal", restored);
+    return restored;
+  }
+
+  private void logIssued(int userId, SimpleToken tokenKey, LocalDateTime createdAt,
+                         LocalDateTime expiresAt) {
+    TokenJournal log = journal;
+    if (log != null) {
+      log.issued(userId, tokenKey.token, toEpochMillis(createdAt), toEpochMillis(expiresAt));
+    }
+  }
+
+  private static long toEpochMillis(LocalDateTime time) {
+    return time.atZone(JOURNAL_ZONE).toInstant().toEpochMilli();
+  }
+
+  private static LocalDateTime toLocalDateTime(long epochMillis) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), JOURNAL_ZONE);
+  }
+
+  /**
+   * Returns the monitor for generating and expiring the tokens of a user.
+   *
+   * @param userId id of the user
+   * @return the monitor of the user, or this token if the time maps are not concurrent
+   */
+  private Object lockFor(int userId) {
+    if (!concurrentTimeMaps) {
+      return this;
+    }
+    int mixed = userId * 0x9E3779B9;
+    return USER_LOCKS[(mixed ^ (mixed >>> 16)) & (USER_LOCKS.length - 1)];
+  }
+
   /**
    * Returns the token.
    *
@@ -204,4 +592,12 @@ public class SimpleToken implements Token {
   public void setExpirationTime(SimpleToken tokenKey, int timeToSubtract) {
     expirationTime.put(tokenKey, getExpirationTime(tokenKey).minusSeconds(timeToSubtract));
   }
-}
\ No newline at end of file
+
+  /**
+   * Holder of the timing wheel shared by all tokens that are not given their own one,
+   * started on first use.
+   */
+  private static final class DefaultExpiryWheel {
+    private static final TimingWheel INSTANCE = TimingWheel.start(TimeUnit.SECONDS.toMillis(1));
+  }
+}
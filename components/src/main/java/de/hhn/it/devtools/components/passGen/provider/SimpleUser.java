@@ -19,17 +19,32 @@
 package de.hhn.it.devtools.components.passGen.provider;
 
 import de.hhn.it.devtools.apis.passGen.User;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 /**
  * A simple implementation of the User interface.
  */
 public class SimpleUser implements User {
+  private static final VarHandle PASSWORD;
 
-  private int id;
+  static {
+    try {
+      PASSWORD = MethodHandles.lookup().findVarHandle(SimpleUser.class, "password",
+          String.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final int id;
   private boolean isUser;
   private String address;
-  private String password;
-  private SimpleToken token; // Verwende SimpleToken statt String
+  // volatile because logins and token checks of other threads read them without a lock
+  private volatile String password;
+  private volatile SimpleToken token; // Verwende SimpleToken statt String
+  // service whose token index has to follow token changes, null for users created directly
+  private volatile SimpleUserManagementService userService;
   private static final org.slf4j.Logger logger =
       org.slf4j.LoggerFactory.getLogger(SimpleUser.class);
 
@@ -63,6 +78,15 @@ public class SimpleUser implements User {
     return address;
   }
 
+  /**
+   * Getter for the id.
+   *
+   * @return id of the user
+   */
+  public int getId() {
+    return id;
+  }
+
   /**
    * Getter for the password.
    *
@@ -76,7 +100,7 @@ public class SimpleUser implements User {
    * Setter of the tocken.
    */
   public void setToken(SimpleToken token) {
-    this.token = token;
+    replaceToken(token);
   }
 
   /**
@@ -106,9 +130,21 @@ public class SimpleUser implements User {
     this.password = password;
   }
 
+  /**
+   * Sets the password only if it is still the expected one, so a password that was changed
+   * in the meantime is not overwritten.
+   *
+   * @param expected the password the caller has read
+   * @param password the password to set
+   * @return true if the password was set
+   */
+  boolean compareAndSetPassword(String expected, String password) {
+    return PASSWORD.compareAndSet(this, expected, password);
+  }
+
   // Methode, um ein Token zu einem User hinzuzufügen
   public void addTokenToUser(SimpleToken token) {
-    this.token = token;
+    replaceToken(token);
   }
 
   /**
@@ -116,11 +152,29 @@ public class SimpleUser implements User {
    */
   public void removeTokenFromUser() {
     logger.debug("Removing token from user");
-    this.token = null;
+    replaceToken(null);
   }
 
   // Methode, um das Token eines Users zu erhalten
   public SimpleToken retrieveTokenFromUser() {
     return this.token;
   }
+
+  /**
+   * Registers the service that indexes this user by token.
+   *
+   * @param userService the service the user belongs to
+   */
+  void attachTo(SimpleUserManagementService userService) {
+    this.userService = userService;
+  }
+
+  // synchronized so that two logins of the same user update the token index in order
+  private synchronized void replaceToken(SimpleToken newToken) {
+    SimpleToken oldToken = token;
+    token = newToken;
+    if (userService != null && oldToken != newToken) {
+      userService.tokenChanged(this, oldToken, newToken);
+    }
+  }
 }
@@ -21,19 +21,63 @@ package de.hhn.it.devtools.components.passGen.provider;
 import de.hhn.it.devtools.apis.exceptions.WrongLoginCredentialsException;
 import de.hhn.it.devtools.apis.passGen.User;
 import de.hhn.it.devtools.apis.passGen.UserManagementService;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
  * A simple implementation of the UserManagementService interface.
+ * The service may be used by several threads at once: users live in concurrent maps,
+ * so lookups never take a lock, and ids come from an atomic sequence and are never reused.
  */
 public class SimpleUserManagementService implements UserManagementService {
   private static final org.slf4j.Logger logger =
       org.slf4j.LoggerFactory.getLogger(SimpleUserManagementService.class);
-  private HashMap<Integer, SimpleUser> users = new HashMap<>();
+  private final ConcurrentHashMap<Integer, SimpleUser> users = new ConcurrentHashMap<>();
+  // handed out instead of the map, so nothing bypasses the indexes by address and token
+  private final Map<Integer, SimpleUser> usersView = Collections.unmodifiableMap(users);
+  // indexes for the login paths, kept in step with users
+  private final ConcurrentHashMap<String, SimpleUser> usersByAddress = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, SimpleUser> usersByToken = new ConcurrentHashMap<>();
+  // next id to hand out, ids of removed users are not handed out again
+  private final AtomicInteger nextUserId = new AtomicInteger(1);
+  private final RandomSource randomSource;
+  // signs session tokens if set, so they can be verified without the token index
+  private volatile HmacTokenService signedTokens;
+  // tokens that were looked up but belong to nobody, null if switched off
+  private volatile NegativeTokenCache unknownTokens;
+  // keeps the session tokens across restarts if set
+  private volatile TokenJournal journal;
+  // hashes the passwords of new users if set, stored passwords stay plain otherwise
+  private volatile PasswordHasher passwordHasher;
+  // runs the async credential checks, created on first use
+  private volatile CredentialExecutor credentialExecutor;
+
+  /**
+   * Constructs a new SimpleUserManagementService that draws session tokens
+   * from a per-thread DRBG.
+   */
+  public SimpleUserManagementService() {
+    this(new DrbgRandomSource());
+  }
+
+  /**
+   * Constructs a new SimpleUserManagementService that draws session tokens
+   * from the given random source.
+   *
+   * @param randomSource source of the random bits of session tokens
+   */
+  public SimpleUserManagementService(RandomSource randomSource) {
+    this.randomSource = randomSource;
+  }
 
   /**
    * Creates a new user with the specified address and password.
@@ -41,18 +85,93 @@ public class SimpleUserManagementService implements UserManagementService {
    * @param address  the address of the user
    * @param password the password of the user
    * @return the id of the new user
+   * @throws IllegalArgumentException if the address or password is null or the address
+   *                                  is already in use
    */
   public int createUser(String address, String password, boolean isUser) {
     if (address == null || password == null) {
       throw new IllegalArgumentException("Address or password cannot be null.");
     }
-    int newId = users.size() + 1;
-    SimpleUser user = new SimpleUser(address, password, newId, isUser);
+    int newId = reserveUserIds(1);
+    addUser(new SimpleUser(address, storedPassword(password), newId, isUser));
     logger.debug("Created user: {} with role: {}", address, isUser ? "User" : "Admin");
-    users.put(newId, user);
     return newId;
   }
 
+  /**
+   * Creates several users with the same role at once, for example for an import.
+   * The ids are reserved as one block, so the new users get consecutive ids even while
+   * other threads create users. If one of the addresses is already in use, none of the
+   * users is created.
+   *
+   * @param addresses the addresses of the users
+   * @param passwords the passwords of the users, in the order of the addresses
+   * @param isUser    true for users, false for admins
+   * @return the id of the first new user, the others follow in the order of the addresses
+   * @throws IllegalArgumentException if a list, address or password is null, the lists
+   *                                  differ in size or an address is already in use
+   */
+  public int createUsers(List<String> addresses, List<String> passwords, boolean isUser) {
+    if (addresses == null || passwords == null || addresses.size() != passwords.size()) {
+      throw new IllegalArgumentException("Addresses and passwords have to be lists of the "
+          + "same size.");
+    }
+    if (addresses.stream().anyMatch(Objects::isNull)
+        || passwords.stream().anyMatch(Objects::isNull)) {
+      throw new IllegalArgumentException("Address or password cannot be null.");
+    }
+    int firstId = reserveUserIds(addresses.size());
+    List<SimpleUser> created = new ArrayList<>(addresses.size());
+    try {
+      for (int i = 0; i < addresses.size(); i++) {
+        SimpleUser user = new SimpleUser(addresses.get(i), storedPassword(passwords.get(i)),
+            firstId + i, isUser);
+        addUser(user);
+        created.add(user);
+      }
+    } catch (IllegalArgumentException e) {
+      for (SimpleUser user : created) {
+        removeUser(user.getId());
+      }
+      throw e;
+    }
+    logger.debug("Created {} users with ids from {}", addresses.size(), firstId);
+    return firstId;
+  }
+
+  /**
+   * Reserves a block of consecutive user ids.
+   *
+   * @param count number of ids
+   * @return the first id of the block
+   * @throws IllegalArgumentException if count is negative or the ids are used up
+   */
+  private int reserveUserIds(int count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Number of user ids cannot be negative.");
+    }
+    int firstId = nextUserId.getAndAdd(count);
+    if (firstId < 1 || firstId > Integer.MAX_VALUE - count) {
+      throw new IllegalArgumentException("No user ids left.");
+    }
+    return firstId;
+  }
+
+  /**
+   * Adds a user to the registry and its indexes.
+   * Claiming the address comes first, so two threads cannot add the same address.
+   *
+   * @param user the user with a freshly reserved id
+   * @throws IllegalArgumentException if the address is already in use
+   */
+  private void addUser(SimpleUser user) {
+    if (usersByAddress.putIfAbsent(normalizeAddress(user.getAddress()), user) != null) {
+      throw new IllegalArgumentException("A user with this address already exists.");
+    }
+    users.put(user.getId(), user);
+    user.attachTo(this);
+  }
+
   /**
    * Logs in a user with the specified address and password.
    *
@@ -60,6 +179,8 @@ public class SimpleUserManagementService implements UserManagementService {
    * @param password key to log in with specified addess
    * @throws IllegalArgumentException       if the address or password is null
    * @throws WrongLoginCredentialsException if the login credentials are incorrect
+   * @throws de.hhn.it.devtools.apis.exceptions.IllegalStateException if a journal waits for
+   *                                        commits and cannot log the session
    */
   @Override
   public void login(String address, String password) throws IllegalArgumentException,
@@ -67,23 +188,75 @@ public class SimpleUserManagementService implements UserManagementService {
     if (address == null || password == null) {
       throw new IllegalArgumentException("Address or password cannot be null.");
     }
-    for (SimpleUser user : users.values()) {
-      if (user.getAddress().equals(address) && user.getPassword().equals(password)) {
-        user.setToken(new SimpleToken(
-                UUID.randomUUID().toString(), Map.of(), Map.of(), this));
-        return;
+    SimpleUser user = usersByAddress.get(normalizeAddress(address));
+    if (!passwordMatches(user, password)) {
+      throw new WrongLoginCredentialsException("Login credentials are incorrect.");
+    }
+    HmacTokenService signer = signedTokens;
+    String sessionToken = signer != null
+            ? signer.issueToken(user.getId())
+            : createSessionId().toString();
+    // logged first, so a journal that cannot write it leaves the user as it was
+    TokenJournal log = journal;
+    if (log != null) {
+      log.issued(user.getId(), sessionToken, System.currentTimeMillis(),
+          TokenJournal.NO_EXPIRY);
+    }
+    user.setToken(new SimpleToken(sessionToken, Map.of(), Map.of(), this, randomSource));
+  }
+
+  /**
+   * Restores the session tokens of a journal and logs later logins to it.
+   * Sessions of users that do not exist or already have a token are skipped, as are
+   * tokens that expire, which {@link SimpleToken#restoreTokens} restores.
+   *
+   * @param journal the journal
+   * @return number of restored sessions
+   * @throws IllegalArgumentException if the journal is null
+   */
+  public int restoreSessions(TokenJournal journal) {
+    if (journal == null) {
+      throw new IllegalArgumentException("Journal is a null reference.");
+    }
+    int restored = 0;
+    for (TokenJournal.TokenRecord record : journal.getRestoredTokens()) {
+      SimpleUser user = users.get(record.getUserId());
+      if (user != null && user.getToken() == null
+          && record.getExpiresAtMillis() == TokenJournal.NO_EXPIRY) {
+        user.setToken(new SimpleToken(record.getToken(), Map.of(), Map.of(), this,
+            randomSource));
+        restored++;
       }
     }
-    throw new WrongLoginCredentialsException("Login credentials are incorrect.");
+    this.journal = journal;
+    logger.info("Restored {} sessions from the journal", restored);
+    return restored;
+  }
+
+  /**
+   * Creates a random version 4 UUID from the random source, in the same format as
+   * {@link UUID#randomUUID()} but without its shared SecureRandom.
+   *
+   * @return the new session id
+   */
+  private UUID createSessionId() {
+    long mostSignificantBits = randomSource.nextLong();
+    long leastSignificantBits = randomSource.nextLong();
+    // set version 4 and the IETF variant
+    mostSignificantBits = (mostSignificantBits & ~0xF000L) | 0x4000L;
+    leastSignificantBits = (leastSignificantBits & ~(0xC000L << 48)) | (0x8000L << 48);
+    return new UUID(mostSignificantBits, leastSignificantBits);
   }
 
   /**
-   * Getter for the users.
+   * Returns the users as a read-only view, users are added and removed with
+   * {@link #createUser} and {@link #removeUser}, which keep the lookup by address and token
+   * in step.
    *
-   * @return the users
+   * @return users by id
    */
-  public HashMap<Integer, SimpleUser> getUsers() {
-    return users;
+  public Map<Integer, SimpleUser> getUsers() {
+    return usersView;
   }
 
   /**
@@ -95,10 +268,11 @@ public class SimpleUserManagementService implements UserManagementService {
    */
   @Override
   public SimpleUser getUser(int userId) throws IllegalArgumentException {
-    if (!users.containsKey(userId)) {
+    SimpleUser user = users.get(userId);
+    if (user == null) {
       throw new IllegalArgumentException("No user found with the given Id.");
     }
-    return users.get(userId);
+    return user;
   }
 
   /**
@@ -108,12 +282,77 @@ public class SimpleUserManagementService implements UserManagementService {
    * @return the user
    */
   public SimpleUser getUserByAddress(String address) {
-    for (SimpleUser user : users.values()) {
-      if (Objects.equals(user.getAddress(), address)) {
-        return user;
+    return address == null ? null : usersByAddress.get(normalizeAddress(address));
+  }
+
+  /**
+   * Getter for the user who currently holds the given token.
+   * With a signed token service, signed tokens are checked by their signature instead
+   * of the token index, so they stay valid until they expire or are revoked.
+   *
+   * @param token the token as text
+   * @return the user or null if no user holds the token
+   */
+  public SimpleUser getUserByToken(String token) {
+    if (token == null) {
+      return null;
+    }
+    HmacTokenService signer = signedTokens;
+    if (signer != null && signer.isSignedToken(token)) {
+      int userId = signer.verifyToken(token);
+      return userId == 0 ? null : users.get(userId);
+    }
+    NegativeTokenCache cache = unknownTokens;
+    if (cache == null) {
+      return usersByToken.get(token);
+    }
+    if (cache.contains(token)) {
+      return null;
+    }
+    SimpleUser user = usersByToken.get(token);
+    if (user == null) {
+      cache.add(token);
+      // the token may have been handed out before it was added, which would hide it
+      user = usersByToken.get(token);
+      if (user != null) {
+        cache.remove(token);
       }
     }
-    return null;
+    return user;
+  }
+
+  /**
+   * Switches the token filters on or off. Tokens that were looked up without belonging to
+   * a user, like expired, revoked or made-up ones, are remembered and turned away before
+   * the token index on the next lookup. A signed token service is configured as well,
+   * see {@link HmacTokenService#setTokenFilterConfig(TokenFilterConfig)}.
+   *
+   * @param config sizes of the filters, null to switch them off
+   */
+  public void setTokenFilterConfig(TokenFilterConfig config) {
+    unknownTokens = config == null ? null : config.createNegativeCache();
+    HmacTokenService signer = signedTokens;
+    if (signer != null) {
+      signer.setTokenFilterConfig(config);
+    }
+  }
+
+  /**
+   * Sets the service that signs the session tokens of later logins.
+   *
+   * @param signedTokens the signed token service, null for random session tokens
+   */
+  public void setSignedTokenService(HmacTokenService signedTokens) {
+    this.signedTokens = signedTokens;
+  }
+
+  /**
+   * Getter for the service that signs the session tokens.
+   *
+   * @return the signed token service or null if session tokens are random
+   */
+  public HmacTokenService getSignedTokenService() {
+    return signedTokens;
   }
 
   /**
@@ -122,10 +361,19 @@ public class SimpleUserManagementService implements UserManagementService {
    * @throws IllegalArgumentException if the address or password is null
    */
   public void removeUser(int userId) throws IllegalArgumentException {
-    if (!users.containsKey(userId)) {
+    SimpleUser user = users.remove(userId);
+    if (user == null) {
       throw new IllegalArgumentException("No user found with the given Id.");
     }
-    users.remove(userId);
+    user.attachTo(null);
+    usersByAddress.remove(normalizeAddress(user.getAddress()));
+    if (user.getToken() != null) {
+      usersByToken.remove(user.getToken().toString(), user);
+      TokenJournal log = journal;
+      if (log != null) {
+        log.revoked(user.getToken().toString());
+      }
+    }
   }
 
 
@@ -141,11 +389,11 @@ public class SimpleUserManagementService implements UserManagementService {
     if (address == null || newPassword == null) {
       throw new IllegalArgumentException("Address or new password cannot be null.");
     }
-    User user = users.get(address);
+    User user = usersByAddress.get(normalizeAddress(address));
     if (user == null) {
       throw new IllegalArgumentException("No user found with the given address.");
     }
-    ((SimpleUser) user).setPassword(newPassword);
+    ((SimpleUser) user).setPassword(storedPassword(newPassword));
   }
 
   /**
@@ -160,12 +408,170 @@ public class SimpleUserManagementService implements UserManagementService {
     if (address == null || password == null) {
       throw new IllegalArgumentException("Address or password cannot be null.");
     }
-    for (User user : users.values()) {
-      if (Objects.equals(user.getAddress(), address)
-          && Objects.equals(user.getPassword(), password)) {
-        return true;
+    return passwordMatches(usersByAddress.get(normalizeAddress(address)), password);
+  }
+
+  /**
+   * Logs in a user like {@link #login} on the credential pool, so the calling thread does
+   * not wait for the password hash.
+   *
+   * @param address  E-Mail-Address of the user
+   * @param password key to log in with specified address
+   * @return completed when the user is logged in, or with a
+   *         {@link WrongLoginCredentialsException} if the credentials are incorrect, or with a
+   *         {@link java.util.concurrent.RejectedExecutionException} if the pool is overloaded
+   * @throws IllegalArgumentException if the address or password is null
+   */
+  public CompletableFuture<Void> loginAsync(String address, String password) {
+    if (address == null || password == null) {
+      throw new IllegalArgumentException("Address or password cannot be null.");
+    }
+    return getCredentialExecutor().submit(() -> {
+      login(address, password);
+      return null;
+    });
+  }
+
+  /**
+   * Checks the login credentials like {@link #checkCredentials} on the credential pool.
+   *
+   * @param address  E-Mail-Address
+   * @param password key to log in with specified address
+   * @return true if the credentials are correct, completed with a
+   *         {@link java.util.concurrent.RejectedExecutionException} if the pool is overloaded
+   * @throws IllegalArgumentException if the address or password is null
+   */
+  public CompletableFuture<Boolean> checkCredentialsAsync(String address, String password) {
+    if (address == null || password == null) {
+      throw new IllegalArgumentException("Address or password cannot be null.");
+    }
+    return getCredentialExecutor().submit(() -> checkCredentials(address, password));
+  }
+
+  /**
+   * Sets the hasher for the passwords of later created users and changed passwords.
+   * Passwords stored before are hashed again at the next successful login.
+   *
+   * @param passwordHasher the hasher, null to store passwords as they are
+   */
+  public void setPasswordHasher(PasswordHasher passwordHasher) {
+    this.passwordHasher = passwordHasher;
+  }
+
+  /**
+   * Getter for the hasher of the passwords.
+   *
+   * @return the hasher or null if passwords are stored as they are
+   */
+  public PasswordHasher getPasswordHasher() {
+    return passwordHasher;
+  }
+
+  /**
+   * Sets the pool for {@link #loginAsync} and {@link #checkCredentialsAsync}.
+   *
+   * @param credentialExecutor the pool
+   * @throws IllegalArgumentException if the pool is null
+   */
+  public void setCredentialExecutor(CredentialExecutor credentialExecutor) {
+    if (credentialExecutor == null) {
+      throw new IllegalArgumentException("Credential executor is a null reference.");
+    }
+    this.credentialExecutor = credentialExecutor;
+  }
+
+  /**
+   * Getter for the pool of the async credential checks, e.g. for its queue depth.
+   * A pool with one thread per processor is created on first use.
+   *
+   * @return the pool
+   */
+  public CredentialExecutor getCredentialExecutor() {
+    CredentialExecutor executor = credentialExecutor;
+    if (executor == null) {
+      synchronized (this) {
+        executor = credentialExecutor;
+        if (executor == null) {
+          executor = new CredentialExecutor();
+          credentialExecutor = executor;
+        }
+      }
+    }
+    return executor;
+  }
+
+  private String storedPassword(String password) {
+    PasswordHasher hasher = passwordHasher;
+    // an empty password is refused by SimpleUser and not hashed
+    return hasher == null || password.isEmpty() ? password : hasher.hash(password);
+  }
+
+  /**
+   * Checks a password against the stored one of a user. With a hasher, an unknown user
+   * takes as long as a wrong password, and a password stored plain or with another work
+   * factor is hashed again, unless the password was changed after it was read.
+   *
+   * @param user     the user or null if the address is unknown
+   * @param password the password
+   * @return true if the password matches
+   */
+  private boolean passwordMatches(SimpleUser user, String password) {
+    PasswordHasher hasher = passwordHasher;
+    if (user == null) {
+      if (hasher != null) {
+        hasher.matchesNone(password);
+      }
+      return false;
+    }
+    String stored = user.getPassword();
+    if (!PasswordHasher.matches(password, stored)) {
+      return false;
+    }
+    // a password changed since it was read is kept, the old one must not come back
+    if (hasher != null && hasher.needsRehash(stored)
+        && user.compareAndSetPassword(stored, hasher.hash(password))) {
+      logger.debug("Hashed password of user {} with {} iterations", user.getId(),
+          hasher.getIterations());
+    }
+    return true;
+  }
+
+  /**
+   * Updates the token index after a user got a new token or lost it.
+   * A signed token the user had before is revoked, as it would stay valid otherwise.
+   *
+   * @param user     the user
+   * @param oldToken the token the user had before, may be null
+   * @param newToken the token the user has now, may be null
+   */
+  void tokenChanged(SimpleUser user, SimpleToken oldToken, SimpleToken newToken) {
+    if (oldToken != null && oldToken.toString() != null) {
+      String old = oldToken.toString();
+      usersByToken.remove(old, user);
+      HmacTokenService signer = signedTokens;
+      // a signed token is checked without the index, so it has to be revoked to end it
+      if (signer != null && signer.isSignedToken(old)
+          && (newToken == null || !old.equals(newToken.toString()))) {
+        signer.revokeToken(old);
+      }
+    }
+    if (newToken != null && newToken.toString() != null) {
+      usersByToken.put(newToken.toString(), user);
+      NegativeTokenCache cache = unknownTokens;
+      if (cache != null) {
+        cache.remove(newToken.toString());
       }
     }
-    return false;
+  }
+
+  /**
+   * Brings an address into the form used as index key: without surrounding blanks
+   * and in lower case.
+   *
+   * @param address the address
+   * @return the index key
+   */
+  private static String normalizeAddress(String address) {
+    return address.strip().toLowerCase(Locale.ROOT);
   }
 }
\ No newline at end of file
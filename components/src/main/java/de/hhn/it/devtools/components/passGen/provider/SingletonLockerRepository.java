@@ -18,17 +18,33 @@
 
 package de.hhn.it.devtools.components.passGen.provider;
 
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
 import de.hhn.it.devtools.apis.passGen.Locker;
 import de.hhn.it.devtools.apis.passGen.LockerCabinet;
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A singleton repository for lockers.
+ * The lockers are kept as objects or, for large installations, as records of a
+ * {@link CompactLockerStore}, see {@link #setLockerStorage(LockerStorage)}. Either way the
+ * repository hands out {@link ManagedLocker} objects, which the services work on.
  */
 public class SingletonLockerRepository {
   private static SingletonLockerRepository instance;
-  private ConcurrentHashMap<Integer, Locker> lockers = new ConcurrentHashMap<>();
-  private ConcurrentHashMap<Integer, LockerCabinet> lockerCabinet = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Integer, LockerCabinet> lockerCabinet = new ConcurrentHashMap<>();
+  // handed out instead of the map, so nothing bypasses the index below
+  private final Map<Integer, LockerCabinet> lockerCabinetView =
+      Collections.unmodifiableMap(lockerCabinet);
+  // the same cabinets, for lookups by id without boxing the id
+  private final IntObjectMap<LockerCabinet> cabinetIndex = new IntObjectMap<>();
+  // replaced only while it holds no lockers
+  private volatile LockerStore store = new ObjectLockerStore();
+  private volatile LockerStorage lockerStorage = LockerStorage.OBJECTS;
+  private volatile PasscodeScope passcodeScope = PasscodeScope.NONE;
+  private volatile PasscodeRegistry globalPasscodes = new PasscodeRegistry();
+  private final IntObjectMap<PasscodeRegistry> cabinetPasscodes = new IntObjectMap<>();
 
   private SingletonLockerRepository() {
   }
@@ -46,38 +62,118 @@ public class SingletonLockerRepository {
   }
 
   /**
-   * Returns the lockers.
+   * Returns the lockers as a read-only view, lockers are added and removed through the
+   * repository. Lookups by id are faster with {@link #getLocker(int)}.
+   *
+   * @return lockers by id
+   */
+  public Map<Integer, Locker> getLockers() {
+    return store.lockers();
+  }
+
+  /**
+   * Returns a locker without boxing its id and without taking a lock.
+   *
+   * @param id of the locker
+   * @return the locker or null if there is none with this id
    */
-  public ConcurrentHashMap<Integer, Locker> getLockers() {
-    return lockers;
+  public Locker getLocker(int id) {
+    return store.lockerAt(id);
   }
 
   /**
-   * Adds a locker.
+   * Creates a disabled locker without a password in the storage of the repository, replacing
+   * a locker with the same id.
+   *
+   * @param id       of the locker
+   * @param cabinet  the cabinet of the locker, may be null
+   * @param location the location of the locker, not kept by {@link LockerStorage#COMPACT}
+   * @return the new locker
+   * @throws IllegalArgumentException if the id is not positive with {@link LockerStorage#COMPACT}
+   */
+  public synchronized ManagedLocker createLocker(int id, LockerCabinet cabinet,
+                                                 String location) {
+    return store.createLocker(id, cabinet, location);
+  }
+
+  /**
+   * Adds a locker that was created outside the repository. Only {@link SimpleLocker} objects
+   * are followed by the state index and can be claimed.
    *
    * @param id     of the locker
    * @param locker the locker to be added
+   * @throws IllegalArgumentException if the lockers are kept in {@link LockerStorage#COMPACT}
+   *                                  or the locker is held in a {@link CompactLockerStore}
    */
-  public void addLocker(int id, Locker locker) {
-    lockers.put(id, locker);
+  public synchronized void addLocker(int id, Locker locker) {
+    store.putLocker(id, locker);
   }
 
   /**
-   * Removes a locker.
+   * Removes a locker and gives its password back.
    *
    * @param id of the locker
    */
-  public void removeLocker(int id) {
-    lockers.remove(id);
+  public synchronized void removeLocker(int id) {
+    store.deleteLocker(id);
   }
 
   /**
-   * Returns the locker cabinets.
+   * Returns the index of the lockers by state, which follows every state change of the
+   * lockers in the repository.
    *
-   * @return locker cabinets
+   * @return the index
    */
-  public ConcurrentHashMap<Integer, LockerCabinet> getLockerCabinets() {
-    return lockerCabinet;
+  public LockerStateIndex getStateIndex() {
+    return store.getStateIndex();
+  }
+
+  /**
+   * Sets how the lockers are kept. This has to be done before lockers are added.
+   *
+   * @param lockerStorage the new storage, null for {@link LockerStorage#OBJECTS}
+   * @throws IllegalStateException if the repository holds lockers
+   */
+  public synchronized void setLockerStorage(LockerStorage lockerStorage) {
+    LockerStorage storage = lockerStorage == null ? LockerStorage.OBJECTS : lockerStorage;
+    if (storage == this.lockerStorage) {
+      return;
+    }
+    if (!store.lockers().isEmpty()) {
+      throw new IllegalStateException("The locker storage cannot be changed while the "
+          + "repository holds lockers.");
+    }
+    store = storage == LockerStorage.COMPACT ? new CompactLockerStore() : new ObjectLockerStore();
+    this.lockerStorage = storage;
+  }
+
+  /**
+   * Returns how the lockers are kept.
+   *
+   * @return the current storage
+   */
+  public LockerStorage getLockerStorage() {
+    return lockerStorage;
+  }
+
+  /**
+   * Returns the locker cabinets as a read-only view, cabinets are added and removed through
+   * the repository.
+   *
+   * @return locker cabinets by id
+   */
+  public Map<Integer, LockerCabinet> getLockerCabinets() {
+    return lockerCabinetView;
+  }
+
+  /**
+   * Returns a locker cabinet without boxing its id and without taking a lock.
+   *
+   * @param id of the cabinet
+   * @return the cabinet or null if there is none with this id
+   */
+  public LockerCabinet getLockerCabinet(int id) {
+    return cabinetIndex.get(id);
   }
 
   /**
@@ -86,8 +182,9 @@ public class SingletonLockerRepository {
    * @param id            of the cabinet
    * @param lockerCabinet the cabinet to be added
    */
-  public void addLockerCabinet(int id, LockerCabinet lockerCabinet) {
+  public synchronized void addLockerCabinet(int id, LockerCabinet lockerCabinet) {
     this.lockerCabinet.put(id, lockerCabinet);
+    cabinetIndex.put(id, lockerCabinet);
   }
 
   /**
@@ -95,15 +192,68 @@ public class SingletonLockerRepository {
    *
    * @param id of the cabinet
    */
-  public void removeLockerCabinet(int id) {
+  public synchronized void removeLockerCabinet(int id) {
     lockerCabinet.remove(id);
+    cabinetIndex.remove(id);
+    cabinetPasscodes.remove(id);
+  }
+
+  /**
+   * Sets the range in which passcodes of lockers have to be unique.
+   * This has to be done before passcodes are assigned, all tracked passcodes are forgotten.
+   *
+   * @param passcodeScope the new scope
+   * @throws IllegalStateException if a locker of the repository holds a passcode
+   */
+  public synchronized void setPasscodeScope(PasscodeScope passcodeScope) {
+    // a rekey that already holds the old registry would reserve into a registry that is gone
+    for (Locker locker : store.lockers().values()) {
+      if (locker.getPasscode() != 0) {
+        throw new IllegalStateException("The passcode scope cannot be changed while locker "
+            + locker.getId() + " holds a passcode.");
+      }
+    }
+    this.passcodeScope = passcodeScope == null ? PasscodeScope.NONE : passcodeScope;
+    globalPasscodes = new PasscodeRegistry();
+    cabinetPasscodes.clear();
+  }
+
+  /**
+   * Returns the range in which passcodes of lockers have to be unique.
+   *
+   * @return the current scope
+   */
+  public PasscodeScope getPasscodeScope() {
+    return passcodeScope;
+  }
+
+  /**
+   * Returns the registry which tracks the passcodes of lockers in the given cabinet.
+   * Lockers without a cabinet share the global registry.
+   *
+   * @param cabinet the cabinet of the locker, may be null
+   * @return the registry or null if passcodes do not have to be unique
+   */
+  public PasscodeRegistry getPasscodeRegistry(LockerCabinet cabinet) {
+    PasscodeScope scope = passcodeScope;
+    if (scope == PasscodeScope.NONE) {
+      return null;
+    }
+    if (scope == PasscodeScope.GLOBAL || cabinet == null) {
+      return globalPasscodes;
+    }
+    return cabinetPasscodes.computeIfAbsent(cabinet.getCabinetId(),
+        id -> new PasscodeRegistry());
   }
 
   /**
-   * Resets the repository.
+   * Resets the repository, which keeps its lockers as objects again.
    */
-  public void resetRepository() {
-    lockers.clear();
+  public synchronized void resetRepository() {
+    store.clear();
+    setLockerStorage(LockerStorage.OBJECTS);
     lockerCabinet.clear();
+    cabinetIndex.clear();
+    setPasscodeScope(PasscodeScope.NONE);
   }
 }
\ No newline at end of file
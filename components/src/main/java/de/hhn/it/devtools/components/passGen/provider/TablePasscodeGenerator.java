@@ -0,0 +1,216 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A passcode generator that lists every valid passcode once and afterwards picks one of them
+ * with a single random index lookup.
+ * A passcode is valid if it has the default length and contains none of the taboo syllables.
+ */
+public class TablePasscodeGenerator implements PasscodeGenerator {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(TablePasscodeGenerator.class);
+
+  // List of number combinations that are not allowed to be in generated passcode.
+  private static final List<String> DEFAULT_TABOO_SYLLABLES = List.of("000", "111", "222",
+      "333", "444", "555", "666", "777", "888", "999");
+
+  private final RandomSource randomSource;
+  private volatile PasscodeTable table;
+
+  /**
+   * Constructs a new TablePasscodeGenerator with the default taboo syllables that picks its
+   * passcodes with {@link ThreadLocalRandomSource}.
+   */
+  public TablePasscodeGenerator() {
+    this(ThreadLocalRandomSource.INSTANCE);
+  }
+
+  /**
+   * Constructs a new TablePasscodeGenerator with the default taboo syllables that picks its
+   * passcodes with the given random source.
+   *
+   * @param randomSource source of the random index
+   */
+  public TablePasscodeGenerator(RandomSource randomSource) {
+    this.randomSource = randomSource;
+    table = PasscodeTable.build(DEFAULT_TABOO_SYLLABLES);
+  }
+
+  /**
+   * Constructs a new TablePasscodeGenerator with the given taboo syllables that picks its
+   * passcodes with {@link ThreadLocalRandomSource}.
+   *
+   * @param tabooSyllables number combinations that are not allowed to be in a passcode
+   * @throws IllegalParameterException if a syllable is not a number or no passcode is left
+   */
+  public TablePasscodeGenerator(List<String> tabooSyllables) throws IllegalParameterException {
+    this(ThreadLocalRandomSource.INSTANCE, tabooSyllables);
+  }
+
+  /**
+   * Constructs a new TablePasscodeGenerator with the given random source and taboo syllables.
+   *
+   * @param randomSource   source of the random index
+   * @param tabooSyllables number combinations that are not allowed to be in a passcode
+   * @throws IllegalParameterException if a syllable is not a number or no passcode is left
+   */
+  public TablePasscodeGenerator(RandomSource randomSource, List<String> tabooSyllables)
+      throws IllegalParameterException {
+    this.randomSource = randomSource;
+    table = buildTable(tabooSyllables);
+  }
+
+  /**
+   * Creates a new passcode by picking a random entry of the table.
+   *
+   * @return the generated passcode
+   */
+  @Override
+  public int createPasscode() {
+    int[] passcodes = table.passcodes;
+    return passcodes[randomSource.nextInt(passcodes.length)];
+  }
+
+  /**
+   * Creates several passcodes at once.
+   * Large batches are split across the common fork-join pool.
+   *
+   * @param count number of passcodes to be created
+   * @param out   array that receives the passcodes
+   * @throws IllegalParameterException if the array is null or count is negative
+   *                                   or larger than the array
+   */
+  @Override
+  public void createPasscodes(int count, int[] out) throws IllegalParameterException {
+    PasscodeBatchTask.fill(this::createPasscode, count, out);
+  }
+
+  /**
+   * Replaces the taboo syllables and rebuilds the table.
+   * Passcodes keep coming from the old table until the new one is complete.
+   *
+   * @param tabooSyllables number combinations that are not allowed to be in a passcode
+   * @throws IllegalParameterException if a syllable is not a number or no passcode is left
+   */
+  public void setTabooSyllables(List<String> tabooSyllables) throws IllegalParameterException {
+    table = buildTable(tabooSyllables);
+  }
+
+  /**
+   * Getter for the taboo syllables the current table was built with.
+   *
+   * @return the taboo syllables
+   */
+  public List<String> getTabooSyllables() {
+    return table.tabooSyllables;
+  }
+
+  /**
+   * Getter for the number of valid passcodes.
+   *
+   * @return number of entries in the table
+   */
+  public int getValidPasscodeCount() {
+    return table.passcodes.length;
+  }
+
+  /**
+   * Getter for the time it took to build the current table.
+   *
+   * @return build time in nanoseconds
+   */
+  public long getBuildTimeNanos() {
+    return table.buildTimeNanos;
+  }
+
+  /**
+   * Getter for the memory used by the current table.
+   *
+   * @return size of the table in bytes
+   */
+  public long getTableSizeBytes() {
+    // array header plus four bytes per passcode
+    return 16L + 4L * table.passcodes.length;
+  }
+
+  private static PasscodeTable buildTable(List<String> tabooSyllables)
+      throws IllegalParameterException {
+    if (tabooSyllables == null) {
+      throw new IllegalParameterException("Taboo syllables are a null reference.");
+    }
+    for (String syllable : tabooSyllables) {
+      if (syllable == null || syllable.isEmpty() || syllable.length() > DEFAULT_LENGTH
+          || !syllable.chars().allMatch(Character::isDigit)) {
+        throw new IllegalParameterException("Taboo syllable " + syllable + " is not a number "
+            + "with at most " + DEFAULT_LENGTH + " digits.");
+      }
+    }
+    PasscodeTable newTable = PasscodeTable.build(List.copyOf(tabooSyllables));
+    if (newTable.passcodes.length == 0) {
+      throw new IllegalParameterException("The taboo syllables do not leave any passcode.");
+    }
+    return newTable;
+  }
+
+  /**
+   * Immutable table of all valid passcodes, swapped as a whole when the taboo syllables change.
+   */
+  private static final class PasscodeTable {
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000,
+        10_000_000, 100_000_000, 1_000_000_000};
+
+    private final List<String> tabooSyllables;
+    private final int[] passcodes;
+    private final long buildTimeNanos;
+
+    private PasscodeTable(List<String> tabooSyllables, int[] passcodes, long buildTimeNanos) {
+      this.tabooSyllables = tabooSyllables;
+      this.passcodes = passcodes;
+      this.buildTimeNanos = buildTimeNanos;
+    }
+
+    private static PasscodeTable build(List<String> tabooSyllables) {
+      long start = System.nanoTime();
+      TabooAutomaton automaton = TabooAutomaton.compileValidated(tabooSyllables);
+
+      // the first digit is never zero, so every passcode has the default length
+      int lowest = POWERS_OF_TEN[DEFAULT_LENGTH - 1];
+      int highest = POWERS_OF_TEN[DEFAULT_LENGTH];
+      int[] passcodes = new int[highest - lowest];
+      int count = 0;
+      for (int candidate = lowest; candidate < highest; candidate++) {
+        if (!automaton.matches(candidate, DEFAULT_LENGTH)) {
+          passcodes[count++] = candidate;
+        }
+      }
+      passcodes = Arrays.copyOf(passcodes, count);
+
+      long buildTimeNanos = System.nanoTime() - start;
+      logger.info("Built passcode table with {} of {} candidates in {} ms ({} KiB)", count,
+          highest - lowest, buildTimeNanos / 1_000_000, (16L + 4L * count) / 1024);
+      return new PasscodeTable(tabooSyllables, passcodes, buildTimeNanos);
+    }
+  }
+}
@@ -0,0 +1,273 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compiled matcher for many taboo patterns at once (Aho-Corasick, turned into a full DFA).
+ * A passcode is checked digit by digit with one table lookup per digit and no allocation,
+ * so generators can also feed the digits while drawing them and stop at the first taboo.
+ * Instances are immutable; a rule update compiles a new automaton.
+ */
+public final class TabooAutomaton {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(TabooAutomaton.class);
+
+  /**
+   * The state before the first digit.
+   */
+  public static final int START_STATE = 0;
+
+  private static final int RADIX = 10;
+  private static final long[] POWERS_OF_TEN = new long[PackedPasscode.MAX_LENGTH + 1];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * RADIX;
+    }
+  }
+
+  private final List<String> patterns;
+  // next state for every state and digit: transitions[state * RADIX + digit]
+  private final int[] transitions;
+  // a state is taboo if one of the patterns ends in it; taboo states never leave themselves
+  private final boolean[] taboo;
+
+  private TabooAutomaton(List<String> patterns, int[] transitions, boolean[] taboo) {
+    this.patterns = patterns;
+    this.transitions = transitions;
+    this.taboo = taboo;
+  }
+
+  /**
+   * Compiles the given patterns.
+   *
+   * @param patterns digit sequences that must not appear in a passcode
+   * @return the automaton
+   * @throws IllegalParameterException if a pattern is not a number of at most
+   *                                   {@link PackedPasscode#MAX_LENGTH} digits
+   */
+  public static TabooAutomaton compile(Collection<String> patterns)
+      throws IllegalParameterException {
+    if (patterns == null) {
+      throw new IllegalParameterException("Taboo patterns are a null reference.");
+    }
+    for (String pattern : patterns) {
+      if (pattern == null || pattern.isEmpty() || pattern.length() > PackedPasscode.MAX_LENGTH
+          || !pattern.chars().allMatch(c -> c >= '0' && c <= '9')) {
+        throw new IllegalParameterException("Taboo pattern " + pattern + " is not a number "
+            + "with at most " + PackedPasscode.MAX_LENGTH + " digits.");
+      }
+    }
+    return compileValidated(List.copyOf(patterns));
+  }
+
+  /**
+   * Compiles patterns that are known to be valid.
+   *
+   * @param patterns digit sequences of at most {@link PackedPasscode#MAX_LENGTH} digits
+   * @return the automaton
+   */
+  static TabooAutomaton compileValidated(List<String> patterns) {
+    long start = System.nanoTime();
+    int capacity = 1;
+    for (String pattern : patterns) {
+      capacity += pattern.length();
+    }
+    int[] transitions = new int[capacity * RADIX];
+    Arrays.fill(transitions, -1);
+    boolean[] taboo = new boolean[capacity];
+
+    // trie of all patterns
+    int stateCount = 1;
+    for (String pattern : patterns) {
+      int state = START_STATE;
+      for (int i = 0; i < pattern.length(); i++) {
+        int index = state * RADIX + pattern.charAt(i) - '0';
+        if (transitions[index] < 0) {
+          transitions[index] = stateCount++;
+        }
+        state = transitions[index];
+      }
+      taboo[state] = true;
+    }
+
+    // breadth first over the trie: failure links complete the missing transitions
+    int[] failure = new int[stateCount];
+    int[] queue = new int[stateCount];
+    int head = 0;
+    int tail = 0;
+    for (int digit = 0; digit < RADIX; digit++) {
+      int child = transitions[digit];
+      if (child < 0) {
+        transitions[digit] = START_STATE;
+      } else {
+        failure[child] = START_STATE;
+        queue[tail++] = child;
+      }
+    }
+    while (head < tail) {
+      int state = queue[head++];
+      taboo[state] |= taboo[failure[state]];
+      for (int digit = 0; digit < RADIX; digit++) {
+        int index = state * RADIX + digit;
+        int fallback = transitions[failure[state] * RADIX + digit];
+        if (transitions[index] < 0) {
+          transitions[index] = fallback;
+        } else {
+          failure[transitions[index]] = fallback;
+          queue[tail++] = transitions[index];
+        }
+      }
+    }
+
+    // once a pattern was found the passcode stays taboo
+    for (int state = 0; state < stateCount; state++) {
+      if (taboo[state]) {
+        Arrays.fill(transitions, state * RADIX, state * RADIX + RADIX, state);
+      }
+    }
+
+    TabooAutomaton automaton = new TabooAutomaton(patterns,
+        Arrays.copyOf(transitions, stateCount * RADIX), Arrays.copyOf(taboo, stateCount));
+    logger.debug("Compiled {} taboo patterns into {} states in {} us", patterns.size(),
+        stateCount, (System.nanoTime() - start) / 1_000);
+    return automaton;
+  }
+
+  /**
+   * Moves on by one digit.
+   *
+   * @param state the current state, {@link #START_STATE} before the first digit
+   * @param digit the next digit
+   * @return the next state
+   */
+  public int next(int state, int digit) {
+    return transitions[state * RADIX + digit];
+  }
+
+  /**
+   * Checks whether the digits seen so far contain a taboo pattern.
+   *
+   * @param state the current state
+   * @return true if a pattern was found
+   */
+  public boolean isTaboo(int state) {
+    return taboo[state];
+  }
+
+  /**
+   * Checks a passcode given as a number and its length, leading zeros included.
+   *
+   * @param value  the digits as a number
+   * @param length number of digits
+   * @return true if the passcode contains a taboo pattern
+   */
+  public boolean matches(long value, int length) {
+    int state = START_STATE;
+    for (int position = length - 1; position >= 0; position--) {
+      state = transitions[state * RADIX + (int) (value / POWERS_OF_TEN[position] % RADIX)];
+    }
+    return taboo[state];
+  }
+
+  /**
+   * Checks a passcode given as text.
+   *
+   * @param digits the digits of the passcode
+   * @return true if the passcode contains a taboo pattern
+   */
+  public boolean matches(CharSequence digits) {
+    int state = START_STATE;
+    for (int i = 0; i < digits.length(); i++) {
+      state = transitions[state * RADIX + digits.charAt(i) - '0'];
+    }
+    return taboo[state];
+  }
+
+  /**
+   * Counts the passcodes of the given length that contain no taboo pattern.
+   *
+   * @param length number of digits
+   * @return number of valid passcodes
+   */
+  public long countValid(int length) {
+    return countValid(length, 0);
+  }
+
+  /**
+   * Counts the passcodes of the given length that contain no taboo pattern and do not start
+   * with a zero, like the ones of the default length.
+   *
+   * @param length number of digits
+   * @return number of valid passcodes without a leading zero
+   */
+  public long countValidWithoutLeadingZero(int length) {
+    return countValid(length, 1);
+  }
+
+  private long countValid(int length, int lowestFirstDigit) {
+    int stateCount = taboo.length;
+    long[] counts = new long[stateCount];
+    counts[START_STATE] = 1;
+    for (int position = 0; position < length; position++) {
+      long[] nextCounts = new long[stateCount];
+      int lowestDigit = position == 0 ? lowestFirstDigit : 0;
+      for (int state = 0; state < stateCount; state++) {
+        if (counts[state] != 0 && !taboo[state]) {
+          for (int digit = lowestDigit; digit < RADIX; digit++) {
+            nextCounts[transitions[state * RADIX + digit]] += counts[state];
+          }
+        }
+      }
+      counts = nextCounts;
+    }
+    long valid = 0;
+    for (int state = 0; state < stateCount; state++) {
+      if (!taboo[state]) {
+        valid += counts[state];
+      }
+    }
+    return valid;
+  }
+
+  /**
+   * Getter for the patterns the automaton was compiled from.
+   *
+   * @return the taboo patterns
+   */
+  public List<String> getPatterns() {
+    return patterns;
+  }
+
+  /**
+   * Getter for the number of states.
+   *
+   * @return number of states
+   */
+  public int getStateCount() {
+    return taboo.length;
+  }
+}
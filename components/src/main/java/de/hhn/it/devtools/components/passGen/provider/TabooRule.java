@@ -0,0 +1,100 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Predefined groups of taboo patterns for passcodes.
+ */
+public enum TabooRule {
+  /**
+   * Three equal digits in a row, e.g. 777.
+   */
+  REPEATED_DIGITS,
+  /**
+   * Four ascending digits, e.g. 3456.
+   */
+  ASCENDING_RUN,
+  /**
+   * Four descending digits, e.g. 6543.
+   */
+  DESCENDING_RUN,
+  /**
+   * Two different digits repeated, e.g. 4747.
+   */
+  REPEATED_PAIR,
+  /**
+   * A day and month as DDMM or MMDD, e.g. 2412 or 1224.
+   */
+  BIRTHDAY;
+
+  // length of ascending and descending runs
+  private static final int RUN_LENGTH = 4;
+  private static final int[] DAYS_PER_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+  /**
+   * Lists the digit sequences of this rule.
+   *
+   * @return the taboo patterns
+   */
+  public List<String> patterns() {
+    List<String> patterns = new ArrayList<>();
+    switch (this) {
+      case REPEATED_DIGITS -> {
+        for (char digit = '0'; digit <= '9'; digit++) {
+          patterns.add(String.valueOf(digit).repeat(3));
+        }
+      }
+      case ASCENDING_RUN -> {
+        for (int first = 0; first + RUN_LENGTH <= 10; first++) {
+          StringBuilder run = new StringBuilder();
+          for (int i = 0; i < RUN_LENGTH; i++) {
+            run.append(first + i);
+          }
+          patterns.add(run.toString());
+        }
+      }
+      case DESCENDING_RUN -> {
+        for (String run : ASCENDING_RUN.patterns()) {
+          patterns.add(new StringBuilder(run).reverse().toString());
+        }
+      }
+      case REPEATED_PAIR -> {
+        for (int first = 0; first <= 9; first++) {
+          for (int second = 0; second <= 9; second++) {
+            if (first != second) {
+              patterns.add("" + first + second + first + second);
+            }
+          }
+        }
+      }
+      case BIRTHDAY -> {
+        for (int month = 1; month <= 12; month++) {
+          for (int day = 1; day <= DAYS_PER_MONTH[month - 1]; day++) {
+            patterns.add(String.format("%02d%02d", day, month));
+            patterns.add(String.format("%02d%02d", month, day));
+          }
+        }
+      }
+    }
+    return patterns;
+  }
+}
@@ -0,0 +1,184 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
+import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The taboo rules of the passcode generators, changeable at runtime.
+ * Every change compiles a new {@link TabooAutomaton} and swaps it in as a whole,
+ * generators that are drawing a passcode at that moment finish with the old one.
+ */
+public class TabooRules {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(TabooRules.class);
+
+  private Set<TabooRule> rules;
+  private List<String> blockedPatterns;
+  private volatile TabooAutomaton automaton;
+
+  /**
+   * Creates the default rules: no three equal digits in a row.
+   */
+  public TabooRules() {
+    rules = Collections.unmodifiableSet(EnumSet.of(TabooRule.REPEATED_DIGITS));
+    blockedPatterns = List.of();
+    automaton = TabooAutomaton.compileValidated(TabooRule.REPEATED_DIGITS.patterns());
+  }
+
+  /**
+   * Creates rules from predefined groups and a list of blocked patterns.
+   *
+   * @param rules           the predefined groups
+   * @param blockedPatterns further digit sequences that must not appear in a passcode
+   * @throws IllegalParameterException if a pattern is not a number or the rules leave
+   *                                   no passcode of a supported length
+   */
+  public TabooRules(Set<TabooRule> rules, Collection<String> blockedPatterns)
+      throws IllegalParameterException {
+    update(rules, blockedPatterns);
+  }
+
+  /**
+   * Getter for the current automaton. Callers should read it once per passcode.
+   *
+   * @return the compiled rules
+   */
+  public TabooAutomaton getAutomaton() {
+    return automaton;
+  }
+
+  /**
+   * Getter for the predefined groups in use.
+   *
+   * @return the rules
+   */
+  public synchronized Set<TabooRule> getRules() {
+    return rules;
+  }
+
+  /**
+   * Getter for the blocked patterns in use.
+   *
+   * @return the blocked patterns
+   */
+  public synchronized List<String> getBlockedPatterns() {
+    return blockedPatterns;
+  }
+
+  /**
+   * Replaces the predefined groups and keeps the blocked patterns.
+   *
+   * @param rules the predefined groups
+   * @throws IllegalParameterException if the rules leave no passcode of a supported length
+   */
+  public synchronized void setRules(Set<TabooRule> rules) throws IllegalParameterException {
+    update(rules, blockedPatterns);
+  }
+
+  /**
+   * Replaces the blocked patterns and keeps the predefined groups.
+   *
+   * @param blockedPatterns digit sequences that must not appear in a passcode
+   * @throws IllegalParameterException if a pattern is not a number or the rules leave
+   *                                   no passcode of a supported length
+   */
+  public synchronized void setBlockedPatterns(Collection<String> blockedPatterns)
+      throws IllegalParameterException {
+    update(rules, blockedPatterns);
+  }
+
+  /**
+   * Loads the blocked patterns from a text file with one pattern per line.
+   * Empty lines and lines starting with # are skipped.
+   *
+   * @param file the file to be read
+   * @throws IllegalParameterException if the file cannot be read or contains an invalid pattern
+   */
+  public void loadBlockedPatterns(Path file) throws IllegalParameterException {
+    if (file == null) {
+      throw new IllegalParameterException("File is a null reference.");
+    }
+    List<String> patterns = new ArrayList<>();
+    try {
+      for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+        String pattern = line.strip();
+        if (!pattern.isEmpty() && !pattern.startsWith("#")) {
+          patterns.add(pattern);
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalParameterException("Cannot read blocked patterns from " + file + ": "
+          + e.getMessage());
+    }
+    logger.info("Loaded {} blocked patterns from {}", patterns.size(), file);
+    setBlockedPatterns(patterns);
+  }
+
+  /**
+   * Compiles the rules and swaps the new automaton in.
+   *
+   * @param newRules           the predefined groups
+   * @param newBlockedPatterns further blocked patterns
+   * @throws IllegalParameterException if a pattern is not valid or no passcode is left, also
+   *                                   none of the default length without a leading zero
+   */
+  private synchronized void update(Set<TabooRule> newRules, Collection<String> newBlockedPatterns)
+      throws IllegalParameterException {
+    if (newRules == null || newBlockedPatterns == null) {
+      throw new IllegalParameterException("Taboo rules are a null reference.");
+    }
+    Set<String> patterns = new LinkedHashSet<>();
+    for (TabooRule rule : newRules) {
+      patterns.addAll(rule.patterns());
+    }
+    patterns.addAll(newBlockedPatterns);
+    TabooAutomaton newAutomaton = TabooAutomaton.compile(patterns);
+    for (int length = PackedPasscode.MIN_LENGTH; length <= PackedPasscode.MAX_LENGTH; length++) {
+      if (newAutomaton.countValid(length) == 0) {
+        throw new IllegalParameterException("The taboo rules do not leave any passcode with "
+            + length + " digits.");
+      }
+    }
+    // passcodes of the default length never start with a zero
+    if (newAutomaton.countValidWithoutLeadingZero(PasscodeGenerator.DEFAULT_LENGTH) == 0) {
+      throw new IllegalParameterException("The taboo rules do not leave any passcode with "
+          + PasscodeGenerator.DEFAULT_LENGTH + " digits that does not start with a zero.");
+    }
+    rules = Collections.unmodifiableSet(newRules.isEmpty()
+        ? EnumSet.noneOf(TabooRule.class) : EnumSet.copyOf(newRules));
+    blockedPatterns = List.copyOf(newBlockedPatterns);
+    automaton = newAutomaton;
+    logger.info("Taboo rules updated: {} with {} blocked patterns, {} states", rules,
+        blockedPatterns.size(), newAutomaton.getStateCount());
+  }
+}
@@ -0,0 +1,58 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A fast random source backed by the {@link ThreadLocalRandom} of the calling thread.
+ * It does not lock or allocate, but its numbers can be predicted, so it is meant for
+ * generators that were built on ThreadLocalRandom and not for tokens or salts.
+ */
+public class ThreadLocalRandomSource implements RandomSource {
+
+  /**
+   * The only instance, it holds no state of its own.
+   */
+  public static final ThreadLocalRandomSource INSTANCE = new ThreadLocalRandomSource();
+
+  private ThreadLocalRandomSource() {
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    return ThreadLocalRandom.current().nextInt(bound);
+  }
+
+  @Override
+  public long nextLong() {
+    return ThreadLocalRandom.current().nextLong();
+  }
+
+  @Override
+  public void nextBytes(byte[] bytes) {
+    ThreadLocalRandom.current().nextBytes(bytes);
+  }
+
+  @Override
+  public double nextDouble() {
+    return ThreadLocalRandom.current().nextDouble();
+  }
+}
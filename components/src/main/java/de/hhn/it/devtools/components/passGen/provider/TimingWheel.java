@@ -0,0 +1,362 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * A hierarchical timing wheel that runs tasks after a delay.
+ * Time is split into ticks. The lowest wheel has one slot per tick, every higher wheel has
+ * one slot per full turn of the wheel below. A task is put into the slot of its deadline
+ * on the lowest wheel that reaches that far and moves down a wheel whenever the wheel below
+ * starts a new turn, so scheduling, cancelling and running a task take constant time no
+ * matter how many tasks are waiting. Tasks run at most one tick late.
+ *
+ * <p>Any thread may schedule and cancel tasks. The slots are only touched by the thread that
+ * advances the wheel, new and cancelled tasks reach it through lock-free queues.
+ * Tasks run on that thread, so they have to be short.</p>
+ */
+public class TimingWheel implements AutoCloseable {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(TimingWheel.class);
+
+  /**
+   * The default length of a tick in milliseconds.
+   */
+  public static final long DEFAULT_TICK_MILLIS = 100;
+
+  private static final int WHEEL_BITS = 6;
+  private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+  // five wheels of 64 slots reach 2^30 ticks, more than three years at the default tick
+  private static final int WHEEL_COUNT = 5;
+  private static final long MAX_DELTA_TICKS = (1L << (WHEEL_BITS * WHEEL_COUNT)) - 1;
+
+  private final long tickNanos;
+  private final LongSupplier nanoClock;
+  private final long startNanos;
+  // every slot is the sentinel of a circular doubly linked list of timeouts
+  private final Timeout[][] wheels = new Timeout[WHEEL_COUNT][WHEEL_SIZE];
+  private final ConcurrentLinkedQueue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+  private final ConcurrentLinkedQueue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+  private final LongAdder pendingCount = new LongAdder();
+  // last tick that has been processed, only used while holding the lock of this wheel
+  private long currentTick;
+  private volatile boolean running = true;
+  // null for wheels that are advanced by their owner
+  private volatile Thread wheelThread;
+
+  /**
+   * Creates a wheel with the given clock that has no background thread.
+   * The owner has to call {@link #advance()} regularly, which allows tests to drive the
+   * wheel with a clock of their own.
+   *
+   * @param tickMillis length of a tick in milliseconds
+   * @param nanoClock  clock in nanoseconds like {@link System#nanoTime()}
+   * @throws IllegalArgumentException if the tick is not positive or the clock is null
+   */
+  public TimingWheel(long tickMillis, LongSupplier nanoClock) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("Tick has to be positive but was " + tickMillis + ".");
+    }
+    if (nanoClock == null) {
+      throw new IllegalArgumentException("Clock is a null reference.");
+    }
+    this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+    this.nanoClock = nanoClock;
+    this.startNanos = nanoClock.getAsLong();
+    for (Timeout[] wheel : wheels) {
+      for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+        Timeout sentinel = new Timeout(null, null, 0);
+        sentinel.previous = sentinel;
+        sentinel.next = sentinel;
+        wheel[slot] = sentinel;
+      }
+    }
+  }
+
+  /**
+   * Creates a wheel with the default tick that is driven by its own background thread.
+   *
+   * @return the running wheel
+   */
+  public static TimingWheel start() {
+    return start(DEFAULT_TICK_MILLIS);
+  }
+
+  /**
+   * Creates a wheel that is driven by its own background thread. The thread is started
+   * after the wheel is fully constructed.
+   *
+   * @param tickMillis length of a tick in milliseconds
+   * @return the running wheel
+   * @throws IllegalArgumentException if the tick is not positive
+   */
+  public static TimingWheel start(long tickMillis) {
+    TimingWheel wheel = new TimingWheel(tickMillis, System::nanoTime);
+    wheel.wheelThread = Thread.ofPlatform().daemon().name("timing-wheel").start(wheel::run);
+    return wheel;
+  }
+
+  /**
+   * Schedules a task.
+   *
+   * @param task  the task
+   * @param delay time until the task runs
+   * @param unit  unit of the delay
+   * @return the handle to cancel the task
+   * @throws IllegalArgumentException if the task or unit is null or the delay is negative
+   * @throws IllegalStateException    if the wheel has been closed
+   */
+  public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    if (task == null || unit == null) {
+      throw new IllegalArgumentException("Task or unit is a null reference.");
+    }
+    if (delay < 0) {
+      throw new IllegalArgumentException("Delay cannot be negative but was " + delay + ".");
+    }
+    if (!running) {
+      throw new IllegalStateException("The timing wheel has been closed.");
+    }
+    long elapsed = nanoClock.getAsLong() - startNanos + unit.toNanos(delay);
+    // round up, a task never runs before its delay is over
+    long deadlineTick = elapsed / tickNanos + (elapsed % tickNanos == 0 ? 0 : 1);
+    Timeout timeout = new Timeout(this, task, deadlineTick);
+    pendingCount.increment();
+    scheduled.add(timeout);
+    return timeout;
+  }
+
+  /**
+   * Processes all ticks that have passed since the last call and runs the tasks that are due.
+   * Wheels with a background thread call this every tick by themselves.
+   *
+   * @return number of tasks that ran
+   */
+  public synchronized int advance() {
+    long targetTick = (nanoClock.getAsLong() - startNanos) / tickNanos;
+    int ran = takeQueues();
+    while (currentTick < targetTick) {
+      currentTick++;
+      cascade();
+      ran += runSlot(wheels[0][(int) currentTick & WHEEL_MASK]);
+    }
+    return ran;
+  }
+
+  /**
+   * Getter for the number of tasks that have neither run nor been cancelled.
+   *
+   * @return number of pending tasks
+   */
+  public long getPendingCount() {
+    return pendingCount.sum();
+  }
+
+  /**
+   * Getter for the length of a tick.
+   *
+   * @return length of a tick in nanoseconds
+   */
+  public long getTickNanos() {
+    return tickNanos;
+  }
+
+  /**
+   * Stops the background thread. Pending tasks do not run anymore and new tasks are refused.
+   */
+  @Override
+  public void close() {
+    running = false;
+    Thread thread = wheelThread;
+    if (thread != null) {
+      LockSupport.unpark(thread);
+    }
+  }
+
+  private void run() {
+    while (running) {
+      advance();
+      long sinceStart = nanoClock.getAsLong() - startNanos;
+      LockSupport.parkNanos(this, tickNanos - sinceStart % tickNanos);
+    }
+    logger.debug("Timing wheel stopped with {} pending tasks", getPendingCount());
+  }
+
+  /**
+   * Moves new timeouts into their slots and takes cancelled ones out.
+   *
+   * @return number of tasks that were already due and ran right away
+   */
+  private int takeQueues() {
+    int ran = 0;
+    Timeout timeout;
+    while ((timeout = scheduled.poll()) != null) {
+      if (timeout.state == Timeout.PENDING) {
+        ran += place(timeout);
+      }
+    }
+    while ((timeout = cancelled.poll()) != null) {
+      if (timeout.previous != null) {
+        timeout.unlink();
+      }
+    }
+    return ran;
+  }
+
+  /**
+   * Puts a timeout into the slot of its deadline on the lowest wheel that reaches that far,
+   * or runs it if it is already due.
+   *
+   * @param timeout the timeout
+   * @return 1 if the task ran, 0 otherwise
+   */
+  private int place(Timeout timeout) {
+    long delta = timeout.deadlineTick - currentTick;
+    if (delta <= 0) {
+      return expire(timeout);
+    }
+    // deadlines beyond the highest wheel wait in its farthest slot and get placed again
+    long tick = currentTick + Math.min(delta, MAX_DELTA_TICKS);
+    int level = 0;
+    while (level < WHEEL_COUNT - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+      level++;
+    }
+    timeout.linkBefore(wheels[level][(int) (tick >>> (WHEEL_BITS * level)) & WHEEL_MASK]);
+    return 0;
+  }
+
+  /**
+   * Moves the timeouts of the higher wheels one wheel down whenever the wheel below
+   * starts a new turn.
+   */
+  private void cascade() {
+    for (int level = 1; level < WHEEL_COUNT; level++) {
+      if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) != 0) {
+        return;
+      }
+      Timeout sentinel = wheels[level][(int) (currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK];
+      while (sentinel.next != sentinel) {
+        Timeout timeout = sentinel.next;
+        timeout.unlink();
+        place(timeout);
+      }
+    }
+  }
+
+  private int runSlot(Timeout sentinel) {
+    int ran = 0;
+    while (sentinel.next != sentinel) {
+      Timeout timeout = sentinel.next;
+      timeout.unlink();
+      ran += place(timeout);
+    }
+    return ran;
+  }
+
+  private int expire(Timeout timeout) {
+    if (!Timeout.STATE.compareAndSet(timeout, Timeout.PENDING, Timeout.EXPIRED)) {
+      return 0;
+    }
+    pendingCount.decrement();
+    try {
+      timeout.task.run();
+    } catch (RuntimeException e) {
+      logger.warn("Task of timing wheel failed", e);
+    }
+    return 1;
+  }
+
+  /**
+   * Handle of a scheduled task.
+   */
+  public static final class Timeout {
+    private static final int PENDING = 0;
+    private static final int EXPIRED = 1;
+    private static final int CANCELLED = 2;
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+        AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    private final TimingWheel wheel;
+    private final Runnable task;
+    private final long deadlineTick;
+    private volatile int state = PENDING;
+    // links of the slot list, only used by the thread that advances the wheel
+    private Timeout previous;
+    private Timeout next;
+
+    private Timeout(TimingWheel wheel, Runnable task, long deadlineTick) {
+      this.wheel = wheel;
+      this.task = task;
+      this.deadlineTick = deadlineTick;
+    }
+
+    /**
+     * Cancels the task if it has not run yet.
+     *
+     * @return true if the task was cancelled, false if it already ran or was cancelled before
+     */
+    public boolean cancel() {
+      if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+        return false;
+      }
+      wheel.pendingCount.decrement();
+      wheel.cancelled.add(this);
+      return true;
+    }
+
+    /**
+     * Checks if the task has been cancelled.
+     *
+     * @return true if the task has been cancelled
+     */
+    public boolean isCancelled() {
+      return state == CANCELLED;
+    }
+
+    /**
+     * Checks if the task has run.
+     *
+     * @return true if the task has run
+     */
+    public boolean isExpired() {
+      return state == EXPIRED;
+    }
+
+    private void linkBefore(Timeout sentinel) {
+      previous = sentinel.previous;
+      next = sentinel;
+      sentinel.previous.next = this;
+      sentinel.previous = this;
+    }
+
+    private void unlink() {
+      previous.next = next;
+      next.previous = previous;
+      previous = null;
+      next = null;
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import java.util.Properties;
+
+/**
+ * The sizes of the token filters: the Bloom filter of revoked tokens in
+ * {@link HmacTokenService} and the {@link NegativeTokenCache} in
+ * {@link SimpleUserManagementService}.
+ */
+public class TokenFilterConfig {
+  /**
+   * Property with the number of revoked tokens per Bloom filter generation.
+   */
+  public static final String REVOKED_EXPECTED = "token.revoked.expected";
+
+  /**
+   * Property with the false positive rate of the Bloom filter.
+   */
+  public static final String REVOKED_FALSE_POSITIVE_RATE = "token.revoked.falsePositiveRate";
+
+  /**
+   * Property with the number of unknown tokens per negative cache generation.
+   */
+  public static final String NEGATIVE_CACHE_SIZE = "token.negativeCache.size";
+
+  private final int revokedExpected;
+  private final double revokedFalsePositiveRate;
+  private final int negativeCacheSize;
+
+  /**
+   * Creates the default sizes: 4096 revoked tokens at a false positive rate of 1 %
+   * and 65536 unknown tokens per generation.
+   */
+  public TokenFilterConfig() {
+    this(4096, 0.01, 65536);
+  }
+
+  /**
+   * Creates a configuration.
+   *
+   * @param revokedExpected          number of revoked tokens per Bloom filter generation
+   * @param revokedFalsePositiveRate false positive rate of the Bloom filter
+   * @param negativeCacheSize        number of unknown tokens per negative cache generation
+   * @throws IllegalArgumentException if a number is not positive, the negative cache is larger
+   *                                  than {@link NegativeTokenCache#MAX_GENERATION_SIZE} or
+   *                                  the rate is not between 0 and 1
+   */
+  public TokenFilterConfig(int revokedExpected, double revokedFalsePositiveRate,
+                           int negativeCacheSize) {
+    if (revokedExpected <= 0 || negativeCacheSize <= 0) {
+      throw new IllegalArgumentException("Filter sizes have to be positive.");
+    }
+    if (negativeCacheSize > NegativeTokenCache.MAX_GENERATION_SIZE) {
+      throw new IllegalArgumentException("Negative cache size can be at most "
+          + NegativeTokenCache.MAX_GENERATION_SIZE + " but was " + negativeCacheSize + ".");
+    }
+    if (!(revokedFalsePositiveRate > 0 && revokedFalsePositiveRate < 1)) {
+      throw new IllegalArgumentException("False positive rate has to be between 0 and 1 but was "
+          + revokedFalsePositiveRate + ".");
+    }
+    this.revokedExpected = revokedExpected;
+    this.revokedFalsePositiveRate = revokedFalsePositiveRate;
+    this.negativeCacheSize = negativeCacheSize;
+  }
+
+  /**
+   * Reads a configuration from properties. Missing properties keep their default.
+   *
+   * @param properties the properties
+   * @return the configuration
+   * @throws IllegalParameterException if a property is not a valid number
+   */
+  public static TokenFilterConfig fromProperties(Properties properties)
+      throws IllegalParameterException {
+    if (properties == null) {
+      throw new IllegalParameterException("Properties are a null reference.");
+    }
+    TokenFilterConfig defaults = new TokenFilterConfig();
+    try {
+      return new TokenFilterConfig(
+          Integer.parseInt(properties.getProperty(REVOKED_EXPECTED,
+              String.valueOf(defaults.revokedExpected))),
+          Double.parseDouble(properties.getProperty(REVOKED_FALSE_POSITIVE_RATE,
+              String.valueOf(defaults.revokedFalsePositiveRate))),
+          Integer.parseInt(properties.getProperty(NEGATIVE_CACHE_SIZE,
+              String.valueOf(defaults.negativeCacheSize))));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalParameterException("Invalid token filter configuration: "
+          + e.getMessage());
+    }
+  }
+
+  /**
+   * Creates an empty Bloom filter of revoked tokens with the configured size.
+   *
+   * @return the filter
+   */
+  public BloomFilter createRevokedFilter() {
+    return new BloomFilter(revokedExpected, revokedFalsePositiveRate);
+  }
+
+  /**
+   * Creates an empty negative cache with the configured size.
+   *
+   * @return the cache
+   */
+  public NegativeTokenCache createNegativeCache() {
+    return new NegativeTokenCache(negativeCacheSize);
+  }
+
+  /**
+   * Getter for the number of revoked tokens per Bloom filter generation.
+   *
+   * @return number of tokens
+   */
+  public int getRevokedExpected() {
+    return revokedExpected;
+  }
+
+  /**
+   * Getter for the false positive rate of the Bloom filter.
+   *
+   * @return the rate
+   */
+  public double getRevokedFalsePositiveRate() {
+    return revokedFalsePositiveRate;
+  }
+
+  /**
+   * Getter for the number of unknown tokens per negative cache generation.
+   *
+   * @return number of tokens
+   */
+  public int getNegativeCacheSize() {
+    return negativeCacheSize;
+  }
+}
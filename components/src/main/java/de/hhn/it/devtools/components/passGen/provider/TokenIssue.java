@@ -0,0 +1,44 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+/**
+ * Enum to represent the outcome of issuing a token to one user of a batch.
+ */
+public enum TokenIssue {
+  /**
+   * The user got a new token.
+   */
+  ISSUED,
+
+  /**
+   * The user already had an active token and keeps it.
+   */
+  ALREADY_HAS_TOKEN,
+
+  /**
+   * The user id is not positive or no such user exists.
+   */
+  UNKNOWN_USER,
+
+  /**
+   * The journal waits for commits and could not log the token, so the user did not get it.
+   */
+  NOT_LOGGED
+}
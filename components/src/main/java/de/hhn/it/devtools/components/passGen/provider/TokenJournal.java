@@ -0,0 +1,722 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen.provider;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Keeps the live tokens on disk, so a restart does not log out every user.
+ * Issued, renewed and revoked tokens are appended to a write-ahead log. A writer thread takes
+ * all events that have queued up since its last write, writes them at once and forces them to
+ * disk with a single call (group commit), so issuing tokens does not wait for the disk once
+ * per token. After a number of events the live tokens are written to a snapshot and the log
+ * starts over. On opening, the snapshot and the log are replayed and only the tokens that have
+ * not expired yet are handed out by {@link #getRestoredTokens()}.
+ *
+ * <p>By default events are only queued and the writer collects them for a few milliseconds
+ * before each commit, so a crash loses the tokens of the last few milliseconds. With
+ * {@code waitForCommit} every call waits until its event is on disk, and calls of several
+ * threads share a commit.
+ *
+ * <p>Queuing an event is a single compare-and-set on a lock-free queue. The issuing thread
+ * only wakes the writer if it is parked on an empty queue, which is rarely the case while
+ * tokens are issued, so the issuing threads neither contend for a lock nor signal the writer
+ * per event.</p>
+ *
+ * <p>An error of the writer only fails its own batch. The log is cut back to the end of the
+ * last good commit, the calls that wait for the batch fail and the events nobody waits for
+ * are counted as dropped. The next batch is written as usual.</p>
+ */
+public class TokenJournal implements AutoCloseable {
+  private static final org.slf4j.Logger logger =
+      org.slf4j.LoggerFactory.getLogger(TokenJournal.class);
+
+  /**
+   * Expiration time of tokens that do not expire, like session tokens.
+   */
+  public static final long NO_EXPIRY = Long.MAX_VALUE;
+
+  /**
+   * Default number of events after which a snapshot is written.
+   */
+  public static final int DEFAULT_SNAPSHOT_THRESHOLD = 100_000;
+
+  static final String LOG_FILE = "tokens.wal";
+  static final String SNAPSHOT_FILE = "tokens.snapshot";
+
+  private static final int SNAPSHOT_MAGIC = 0x544b4e53;
+  private static final byte ISSUED = 1;
+  private static final byte RENEWED = 2;
+  private static final byte REVOKED = 3;
+  // events that only steer the writer thread and are not logged
+  private static final byte SYNC = 10;
+  private static final byte SNAPSHOT = 11;
+  private static final byte CLOSE = 12;
+  // length and CRC in front of every logged event
+  private static final int HEADER_BYTES = 2 * Integer.BYTES;
+  // type, user id, creation and expiration time, token length
+  private static final int FIXED_PAYLOAD_BYTES = 1 + Integer.BYTES + 2 * Long.BYTES + 2;
+  private static final int MAX_BATCH = 16_384;
+  // time the writer collects events before a commit if nobody waits for it
+  private static final long COMMIT_INTERVAL_MILLIS = 5;
+
+  private final Path directory;
+  private final boolean waitForCommit;
+  private final int snapshotThreshold;
+  private final LongSupplier clock;
+  private final FileChannel log;
+  private final ConcurrentLinkedQueue<Event> queue = new ConcurrentLinkedQueue<>();
+  // true while the writer is parked or about to park on an empty queue
+  private volatile boolean writerParked;
+  private final Thread writer;
+  private final List<TokenRecord> restoredTokens;
+  // live tokens as of the last logged event, only touched by the writer thread after opening
+  private final Map<String, TokenRecord> tokens = new HashMap<>();
+  private final Map<Integer, String> tokenByUser = new HashMap<>();
+  private final AtomicLong loggedEvents = new AtomicLong();
+  private final AtomicLong commits = new AtomicLong();
+  private final AtomicLong droppedEvents = new AtomicLong();
+  private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+  private final CRC32 crc = new CRC32();
+  private int eventsSinceSnapshot;
+  private volatile boolean closed;
+  // the error of the last failed batch until a batch is written again, only for logging
+  private Exception failure;
+
+  /**
+   * Opens the journal in a directory with the default snapshot threshold,
+   * without waiting for the disk.
+   *
+   * @param directory the directory of the log and the snapshot, created if missing
+   * @throws IllegalParameterException if the directory is null or the journal cannot be read
+   */
+  public TokenJournal(Path directory) throws IllegalParameterException {
+    this(directory, false, DEFAULT_SNAPSHOT_THRESHOLD, System::currentTimeMillis);
+  }
+
+  /**
+   * Opens the journal in a directory.
+   *
+   * @param directory         the directory of the log and the snapshot, created if missing
+   * @param waitForCommit     true if every call waits until its event is on disk
+   * @param snapshotThreshold number of events after which a snapshot is written
+   * @param clock             clock in epoch milliseconds like {@link System#currentTimeMillis()}
+   * @throws IllegalParameterException if the directory or clock is null, the threshold is not
+   *                                   positive or the journal cannot be read
+   */
+  public TokenJournal(Path directory, boolean waitForCommit, int snapshotThreshold,
+                      LongSupplier clock) throws IllegalParameterException {
+    if (directory == null || clock == null) {
+      throw new IllegalParameterException("Directory or clock is a null reference.");
+    }
+    if (snapshotThreshold <= 0) {
+      throw new IllegalParameterException("Snapshot threshold has to be positive but was "
+          + snapshotThreshold + ".");
+    }
+    this.directory = directory;
+    this.waitForCommit = waitForCommit;
+    this.snapshotThreshold = snapshotThreshold;
+    this.clock = clock;
+    long start = System.nanoTime();
+    try {
+      Files.createDirectories(directory);
+      readSnapshot();
+      log = FileChannel.open(directory.resolve(LOG_FILE), StandardOpenOption.CREATE,
+          StandardOpenOption.READ, StandardOpenOption.WRITE);
+      int replayed = replayLog();
+      // start with a compacted snapshot, so the next start replays less
+      if (replayed > 0) {
+        writeSnapshot();
+      }
+    } catch (IOException e) {
+      throw new IllegalParameterException("Cannot open token journal in " + directory + ": "
+          + e.getMessage());
+    }
+    long now = clock.getAsLong();
+    restoredTokens = tokens.values().stream()
+        .filter(token -> token.userId != 0 && token.expiresAtMillis > now)
+        .toList();
+    logger.info("Restored {} tokens from {} in {} ms", restoredTokens.size(), directory,
+        (System.nanoTime() - start) / 1_000_000);
+    writer = new Thread(this::writeEvents, "token-journal");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /**
+   * Getter for the tokens that had not expired when the journal was opened.
+   *
+   * @return the tokens, at most one per user
+   */
+  public List<TokenRecord> getRestoredTokens() {
+    return restoredTokens;
+  }
+
+  /**
+   * Logs a new token. A token the user had before is replaced.
+   *
+   * @param userId          id of the user
+   * @param token           the token
+   * @param createdAtMillis creation time in epoch milliseconds
+   * @param expiresAtMillis expiration time in epoch milliseconds or {@link #NO_EXPIRY}
+   * @throws IllegalArgumentException if the token is null
+   * @throws IllegalStateException    if the journal is closed, or it waits for commits and
+   *                                  the event cannot be written
+   */
+  public void issued(int userId, String token, long createdAtMillis, long expiresAtMillis) {
+    append(new Event(ISSUED, userId, token, createdAtMillis, expiresAtMillis));
+  }
+
+  /**
+   * Logs a later expiration time of a token. Renewals and issues of a token may be logged
+   * in any order, the latest expiration time wins.
+   *
+   * @param token           the token
+   * @param expiresAtMillis new expiration time in epoch milliseconds
+   * @throws IllegalArgumentException if the token is null
+   * @throws IllegalStateException    if the journal is closed, or it waits for commits and
+   *                                  the event cannot be written
+   */
+  public void renewed(String token, long expiresAtMillis) {
+    append(new Event(RENEWED, 0, token, 0, expiresAtMillis));
+  }
+
+  /**
+   * Logs that a token was taken away before it expired.
+   *
+   * @param token the token
+   * @throws IllegalArgumentException if the token is null
+   * @throws IllegalStateException    if the journal is closed, or it waits for commits and
+   *                                  the event cannot be written
+   */
+  public void revoked(String token) {
+    append(new Event(REVOKED, 0, token, 0, 0));
+  }
+
+  /**
+   * Waits until all events logged before are on disk.
+   *
+   * @throws IllegalStateException if the journal is closed or cannot be written
+   */
+  public void sync() {
+    Event event = new Event(SYNC, 0, "", 0, 0);
+    event.done = new CompletableFuture<>();
+    append(event);
+  }
+
+  /**
+   * Writes a snapshot of the live tokens now and starts a new log.
+   *
+   * @throws IllegalStateException if the journal is closed or cannot be written
+   */
+  public void snapshot() {
+    Event event = new Event(SNAPSHOT, 0, "", 0, 0);
+    event.done = new CompletableFuture<>();
+    append(event);
+  }
+
+  /**
+   * Getter for the number of events written to the log.
+   *
+   * @return number of events
+   */
+  public long getLoggedEventCount() {
+    return loggedEvents.get();
+  }
+
+  /**
+   * Getter for the number of times the log was forced to disk. Together with
+   * {@link #getLoggedEventCount()} it shows how many events share a commit.
+   *
+   * @return number of commits
+   */
+  public long getCommitCount() {
+    return commits.get();
+  }
+
+  /**
+   * Getter for the number of events that could not be written while nobody waited for them.
+   * Calls that wait for their event fail instead and are not counted.
+   *
+   * @return number of dropped events
+   */
+  public long getDroppedEventCount() {
+    return droppedEvents.get();
+  }
+
+  /**
+   * Checks if every call waits until its event is on disk.
+   *
+   * @return true if calls wait for the disk
+   */
+  public boolean isWaitForCommit() {
+    return waitForCommit;
+  }
+
+  /**
+   * Writes the queued events and closes the log. Later calls fail.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    enqueue(new Event(CLOSE, 0, "", 0, 0));
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // events that raced with closing are not written anymore
+    for (Event event = queue.poll(); event != null; event = queue.poll()) {
+      if (event.done != null) {
+        event.done.completeExceptionally(new IOException("Journal is closed."));
+      }
+    }
+    try {
+      log.close();
+    } catch (IOException e) {
+      logger.warn("Cannot close token journal in {}: {}", directory, e.getMessage());
+    }
+  }
+
+  private void append(Event event) {
+    if (event.token == null) {
+      throw new IllegalArgumentException("Token is a null reference.");
+    }
+    if (closed) {
+      throw new IllegalStateException("Token journal in " + directory + " is closed.");
+    }
+    if (waitForCommit && event.done == null) {
+      event.done = new CompletableFuture<>();
+    }
+    enqueue(event);
+    if (event.done != null) {
+      try {
+        event.done.join();
+      } catch (CompletionException e) {
+        throw new IllegalStateException("Token journal in " + directory
+            + " cannot be written: " + e.getCause().getMessage());
+      }
+    }
+  }
+
+  private void enqueue(Event event) {
+    queue.add(event);
+    // the writer sets the flag before it looks at the queue a last time, so either it sees
+    // the event or this thread sees the flag
+    if (writerParked) {
+      LockSupport.unpark(writer);
+    }
+  }
+
+  private Event takeEvent() throws InterruptedException {
+    Event event = queue.poll();
+    while (event == null) {
+      writerParked = true;
+      if (queue.isEmpty()) {
+        LockSupport.park(queue);
+      }
+      writerParked = false;
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      event = queue.poll();
+    }
+    return event;
+  }
+
+  private void writeEvents() {
+    List<Event> batch = new ArrayList<>();
+    boolean running = true;
+    while (running) {
+      try {
+        Event first = takeEvent();
+        batch.add(first);
+        if (!waitForCommit && first.done == null) {
+          Thread.sleep(COMMIT_INTERVAL_MILLIS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      for (Event event; batch.size() < MAX_BATCH && (event = queue.poll()) != null; ) {
+        batch.add(event);
+      }
+      // end of the last good commit, the log is cut back to it if the batch cannot be written
+      long committed = -1;
+      boolean written = false;
+      try {
+        buffer.clear();
+        int logged = 0;
+        for (Event event : batch) {
+          if (event.type < SYNC) {
+            encode(event);
+            logged++;
+          } else if (event.type == CLOSE) {
+            running = false;
+          }
+        }
+        if (logged > 0) {
+          committed = log.position();
+          buffer.flip();
+          while (buffer.hasRemaining()) {
+            log.write(buffer);
+          }
+          log.force(false);
+          loggedEvents.addAndGet(logged);
+          commits.incrementAndGet();
+          eventsSinceSnapshot += logged;
+        }
+        written = true;
+        boolean snapshotRequested = false;
+        for (Event event : batch) {
+          if (event.type < SYNC) {
+            apply(event.type, event.userId, event.token, event.createdAtMillis,
+                event.expiresAtMillis);
+          } else if (event.type == SNAPSHOT) {
+            snapshotRequested = true;
+          }
+        }
+        if (snapshotRequested || eventsSinceSnapshot >= snapshotThreshold) {
+          writeSnapshot();
+        }
+        for (Event event : batch) {
+          if (event.done != null) {
+            event.done.complete(null);
+          }
+        }
+        if (failure != null) {
+          logger.info("Token journal in {} is written again, {} events dropped so far",
+              directory, droppedEvents.get());
+          failure = null;
+        }
+      } catch (IOException | RuntimeException e) {
+        failBatch(batch, e, written, committed);
+      }
+      batch.clear();
+    }
+  }
+
+  /**
+   * Fails the events of a batch the writer could not finish. Events that are on disk already
+   * stay logged, only a requested snapshot fails then. Otherwise the log is cut back to the
+   * last good commit, so a torn record does not hide later events on the next start.
+   *
+   * @param batch     the events of the batch
+   * @param error     the error of the writer
+   * @param written   true if the events of the batch are on disk
+   * @param committed end of the log before the batch, or -1 if the batch wrote nothing
+   */
+  private void failBatch(List<Event> batch, Exception error, boolean written, long committed) {
+    if (!written && committed >= 0) {
+      try {
+        log.truncate(committed);
+        log.position(committed);
+      } catch (IOException e) {
+        // a snapshot empties the log, and the live tokens do not contain the failed events
+        logger.warn("Cannot cut back token journal in {}: {}", directory, e.getMessage());
+        eventsSinceSnapshot = snapshotThreshold;
+      }
+    }
+    int dropped = 0;
+    for (Event event : batch) {
+      if (event.done == null) {
+        if (!written && event.type < SYNC) {
+          dropped++;
+        }
+      } else if (written && event.type != SNAPSHOT) {
+        event.done.complete(null);
+      } else {
+        event.done.completeExceptionally(error);
+      }
+    }
+    droppedEvents.addAndGet(dropped);
+    // the first error is logged in full, later ones until the next good batch only in short
+    if (failure == null) {
+      logger.error("Cannot write token journal in {}, dropped {} events", directory, dropped,
+          error);
+    } else {
+      logger.warn("Token journal in {} still cannot be written, dropped {} events: {}",
+          directory, dropped, error.getMessage());
+    }
+    failure = error;
+  }
+
+  private void encode(Event event) {
+    byte[] token = event.token.getBytes(StandardCharsets.UTF_8);
+    int length = FIXED_PAYLOAD_BYTES + token.length;
+    if (buffer.remaining() < HEADER_BYTES + length) {
+      ByteBuffer larger = ByteBuffer.allocate(Math.max(2 * buffer.capacity(),
+          buffer.position() + HEADER_BYTES + length));
+      buffer.flip();
+      buffer = larger.put(buffer);
+    }
+    int start = buffer.position();
+    buffer.putInt(length).putInt(0)
+        .put(event.type).putInt(event.userId)
+        .putLong(event.createdAtMillis).putLong(event.expiresAtMillis)
+        .putShort((short) token.length).put(token);
+    crc.reset();
+    crc.update(buffer.array(), start + HEADER_BYTES, length);
+    buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+  }
+
+  private void apply(byte type, int userId, String token, long createdAtMillis,
+                     long expiresAtMillis) {
+    if (type == REVOKED) {
+      TokenRecord removed = tokens.remove(token);
+      if (removed != null) {
+        tokenByUser.remove(removed.userId, token);
+      }
+      return;
+    }
+    TokenRecord current = tokens.get(token);
+    if (current != null) {
+      // a renewal logged before the issue of its token has no user yet
+      if (type == RENEWED || current.userId != 0 && userId == 0) {
+        userId = current.userId;
+        createdAtMillis = current.createdAtMillis;
+      }
+      expiresAtMillis = Math.max(expiresAtMillis, current.expiresAtMillis);
+    }
+    tokens.put(token, new TokenRecord(userId, token, createdAtMillis, expiresAtMillis));
+    if (userId != 0) {
+      String previous = tokenByUser.put(userId, token);
+      if (previous != null && !previous.equals(token)) {
+        tokens.remove(previous);
+      }
+    }
+  }
+
+  /**
+   * Replays the log and cuts off a torn or damaged tail, which a crash while writing leaves.
+   *
+   * @return number of replayed events
+   */
+  private int replayLog() throws IOException {
+    ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(directory.resolve(LOG_FILE)));
+    int replayed = 0;
+    while (data.remaining() >= HEADER_BYTES) {
+      int start = data.position();
+      int length = data.getInt();
+      int checksum = data.getInt();
+      if (length < FIXED_PAYLOAD_BYTES || length > data.remaining()) {
+        data.position(start);
+        break;
+      }
+      crc.reset();
+      crc.update(data.array(), data.position(), length);
+      if ((int) crc.getValue() != checksum) {
+        data.position(start);
+        break;
+      }
+      byte type = data.get();
+      int userId = data.getInt();
+      long createdAtMillis = data.getLong();
+      long expiresAtMillis = data.getLong();
+      byte[] token = new byte[data.getShort() & 0xFFFF];
+      data.get(token);
+      apply(type, userId, new String(token, StandardCharsets.UTF_8), createdAtMillis,
+          expiresAtMillis);
+      replayed++;
+    }
+    if (data.position() < data.limit()) {
+      logger.warn("Cut off {} damaged bytes at the end of the token journal in {}",
+          data.limit() - data.position(), directory);
+      log.truncate(data.position());
+    }
+    log.position(data.position());
+    return replayed;
+  }
+
+  private void readSnapshot() throws IOException {
+    Path file = directory.resolve(SNAPSHOT_FILE);
+    if (!Files.exists(file)) {
+      return;
+    }
+    // the checksum sits above the buffer, so it does not see the bytes read ahead
+    CheckedInputStream checked = new CheckedInputStream(
+        new BufferedInputStream(Files.newInputStream(file), 64 * 1024), new CRC32());
+    try (DataInputStream in = new DataInputStream(checked)) {
+      if (in.readInt() != SNAPSHOT_MAGIC) {
+        throw new IOException("Not a token snapshot: " + file);
+      }
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        int userId = in.readInt();
+        String token = in.readUTF();
+        long createdAtMillis = in.readLong();
+        long expiresAtMillis = in.readLong();
+        apply(ISSUED, userId, token, createdAtMillis, expiresAtMillis);
+      }
+      long expected = checked.getChecksum().getValue();
+      if (in.readLong() != expected) {
+        throw new IOException("Damaged token snapshot: " + file);
+      }
+    }
+  }
+
+  /**
+   * Writes the unexpired tokens to a new snapshot, replaces the old one and empties the log.
+   * A crash in between replays the log on top of the new snapshot, which gives the same
+   * tokens again.
+   */
+  private void writeSnapshot() throws IOException {
+    long now = clock.getAsLong();
+    Iterator<TokenRecord> iterator = tokens.values().iterator();
+    while (iterator.hasNext()) {
+      TokenRecord token = iterator.next();
+      if (token.expiresAtMillis <= now || token.userId == 0) {
+        iterator.remove();
+        tokenByUser.remove(token.userId, token.token);
+      }
+    }
+    Path file = directory.resolve(SNAPSHOT_FILE);
+    Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      CheckedOutputStream checked = new CheckedOutputStream(
+          new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024), new CRC32());
+      DataOutputStream out = new DataOutputStream(checked);
+      out.writeInt(SNAPSHOT_MAGIC);
+      out.writeInt(tokens.size());
+      for (TokenRecord token : tokens.values()) {
+        out.writeInt(token.userId);
+        out.writeUTF(token.token);
+        out.writeLong(token.createdAtMillis);
+        out.writeLong(token.expiresAtMillis);
+      }
+      out.writeLong(checked.getChecksum().getValue());
+      out.flush();
+      channel.force(true);
+    }
+    Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+    log.truncate(0);
+    log.position(0);
+    log.force(true);
+    eventsSinceSnapshot = 0;
+    logger.debug("Wrote token snapshot with {} tokens", tokens.size());
+  }
+
+  /**
+   * A token as it is kept in the journal.
+   */
+  public static final class TokenRecord {
+    private final int userId;
+    private final String token;
+    private final long createdAtMillis;
+    private final long expiresAtMillis;
+
+    private TokenRecord(int userId, String token, long createdAtMillis, long expiresAtMillis) {
+      this.userId = userId;
+      this.token = token;
+      this.createdAtMillis = createdAtMillis;
+      this.expiresAtMillis = expiresAtMillis;
+    }
+
+    /**
+     * Getter for the id of the user.
+     *
+     * @return the user id
+     */
+    public int getUserId() {
+      return userId;
+    }
+
+    /**
+     * Getter for the token.
+     *
+     * @return the token
+     */
+    public String getToken() {
+      return token;
+    }
+
+    /**
+     * Getter for the creation time.
+     *
+     * @return creation time in epoch milliseconds
+     */
+    public long getCreatedAtMillis() {
+      return createdAtMillis;
+    }
+
+    /**
+     * Getter for the expiration time.
+     *
+     * @return expiration time in epoch milliseconds or {@link #NO_EXPIRY}
+     */
+    public long getExpiresAtMillis() {
+      return expiresAtMillis;
+    }
+  }
+
+  /**
+   * An event on its way to the writer thread.
+   */
+  private static final class Event {
+    private final byte type;
+    private final int userId;
+    private final String token;
+    private final long createdAtMillis;
+    private final long expiresAtMillis;
+    // completed when the event is on disk, null if nobody waits for it
+    private CompletableFuture<Void> done;
+
+    private Event(byte type, int userId, String token, long createdAtMillis,
+                  long expiresAtMillis) {
+      this.type = type;
+      this.userId = userId;
+      this.token = token;
+      this.createdAtMillis = createdAtMillis;
+      this.expiresAtMillis = expiresAtMillis;
+    }
+  }
+}
@@ -65,4 +65,11 @@ public class TestAdminLockerServiceBadCases {
     assertThrows(IllegalParameterException.class, () -> service.removeLockerCabinet(-1));
     assertThrows(IllegalParameterException.class, () -> service.getLockerCabinet(-1));
   }
+
+  @Test
+  @DisplayName("Test set passcode length of a nonexistent LockerCabinet")
+  public void testPasscodeLengthOfNonexistentLockerCabinet() {
+    assertThrows(IllegalParameterException.class,
+        () -> service.setLockerCabinetPasscodeLength(-1, 8));
+  }
 }
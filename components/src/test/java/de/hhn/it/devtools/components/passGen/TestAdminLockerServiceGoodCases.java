@@ -20,6 +20,7 @@ package de.hhn.it.devtools.components.passGen;
 
 import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
 import de.hhn.it.devtools.components.passGen.provider.SimpleAdminLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLocker;
 import de.hhn.it.devtools.components.passGen.provider.SingletonLockerRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -29,6 +30,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class TestAdminLockerServiceGoodCases {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TestAdminLockerServiceGoodCases.class);
@@ -117,4 +120,19 @@ public class TestAdminLockerServiceGoodCases {
     int size = service.getLockerCabinet(lockerUniteId).getLockerCabinet().size();
     assertEquals(1, size);
   }
+
+  @Test
+  @DisplayName("Test the lockers of the repository cannot be changed past the repository")
+  public void testRepositoryViewsAreReadOnly() throws IllegalParameterException {
+    SingletonLockerRepository repository = SingletonLockerRepository.getInstance();
+    int lockerUniteId = service.createLockerCabinet("Location A");
+    int lockerId = service.createLocker(service.getLockerCabinet(lockerUniteId), "Location A");
+    assertSame(repository.getLocker(lockerId), repository.getLockers().get(lockerId));
+    int unknownId = Integer.MAX_VALUE;
+    assertThrows(UnsupportedOperationException.class, () -> repository.getLockers()
+        .put(unknownId, new SimpleLocker(unknownId, null, "Location A")));
+    assertThrows(UnsupportedOperationException.class,
+        () -> repository.getLockerCabinets().remove(lockerUniteId));
+    assertNull(repository.getLocker(unknownId));
+  }
 }
@@ -0,0 +1,197 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import de.hhn.it.devtools.apis.passGen.Locker;
+import de.hhn.it.devtools.apis.passGen.LockerCabinet;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.components.passGen.provider.CompactLocker;
+import de.hhn.it.devtools.components.passGen.provider.LockerStorage;
+import de.hhn.it.devtools.components.passGen.provider.PasscodeRegistry;
+import de.hhn.it.devtools.components.passGen.provider.PasscodeScope;
+import de.hhn.it.devtools.components.passGen.provider.SimpleAdminLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLocker;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SingletonLockerRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestCompactLockerStorage {
+  private SingletonLockerRepository repository;
+  private SimpleAdminLockerService admin;
+  private SimpleLockerService service;
+  private LockerCabinet hall;
+
+  @BeforeEach
+  void setUp() throws IllegalParameterException {
+    repository = SingletonLockerRepository.getInstance();
+    repository.resetRepository();
+    repository.setLockerStorage(LockerStorage.COMPACT);
+    admin = new SimpleAdminLockerService();
+    service = new SimpleLockerService();
+    hall = admin.getLockerCabinet(admin.createLockerCabinet("Hall"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    SingletonLockerRepository.getInstance().resetRepository();
+  }
+
+  private int[] createFreeLockers(int count) throws IllegalParameterException {
+    int[] ids = new int[count];
+    for (int i = 0; i < count; i++) {
+      ids[i] = admin.createLocker(hall, "Wall");
+      admin.setLockerState(ids[i], LockerState.DEACTIVATED);
+      admin.addLockerToLockerCabint(hall.getCabinetId(), repository.getLocker(ids[i]));
+    }
+    return ids;
+  }
+
+  @Test
+  @DisplayName("Test the services create, claim, rekey and remove compact lockers")
+  void testServices() throws IllegalParameterException {
+    repository.setPasscodeScope(PasscodeScope.GLOBAL);
+    PasscodeRegistry registry = repository.getPasscodeRegistry(hall);
+    int[] ids = createFreeLockers(3);
+    assertTrue(repository.getLocker(ids[0]) instanceof CompactLocker);
+    assertEquals(3, service.getLockers().size());
+    assertEquals(3, repository.getStateIndex().count(LockerState.DEACTIVATED));
+
+    int first = service.claimLocker(hall.getCabinetId());
+    int second = service.claimLocker();
+    assertNotEquals(first, second);
+    assertSame(LockerState.ACTIVE, service.getLockerState(first));
+    assertEquals(2, service.createLockerCabinetPasswords(hall.getCabinetId()));
+    assertEquals(2, registry.getReservedCount());
+
+    int password = service.getLocker(first).getPassword();
+    service.unlockLocker(first, password);
+    assertSame(LockerState.UNLOCKED, service.getLockerState(first));
+    assertThrows(IllegalStateException.class, () -> service.createLockerPassword(first));
+
+    service.disableLocker(second);
+    assertEquals(0, service.getLocker(second).getPasscode());
+    assertEquals(1, registry.getReservedCount());
+    assertThrows(IllegalStateException.class, () -> service.setLockerPassword(second, 918273));
+
+    admin.removeLocker(first);
+    assertNull(repository.getLocker(first));
+    assertEquals(0, registry.getReservedCount());
+    assertEquals(2, service.getLockers().size());
+    assertEquals(Set.of(second, ids[2]), Set.copyOf(service.getLockers().keySet()));
+  }
+
+  @Test
+  @DisplayName("Test the storage is only changed while the repository holds no lockers")
+  void testChangeStorage() {
+    assertSame(LockerStorage.COMPACT, repository.getLockerStorage());
+    admin.createLocker(hall, "Wall");
+    assertThrows(IllegalStateException.class,
+        () -> repository.setLockerStorage(LockerStorage.OBJECTS));
+    assertThrows(IllegalArgumentException.class,
+        () -> repository.addLocker(7, new SimpleLocker(7, hall, "Wall")));
+
+    repository.resetRepository();
+    assertSame(LockerStorage.OBJECTS, repository.getLockerStorage());
+    assertTrue(repository.getLockers().isEmpty());
+    assertEquals(0, repository.getStateIndex().count(LockerState.DISABLED));
+  }
+
+  @Test
+  @DisplayName("Test concurrent claims get every free compact locker exactly once")
+  void testConcurrentClaims() throws IllegalParameterException, InterruptedException {
+    int lockerCount = 200;
+    createFreeLockers(lockerCount);
+    Set<Integer> claimed = ConcurrentHashMap.newKeySet();
+    AtomicInteger duplicates = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> users = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      users.add(new Thread(() -> {
+        try {
+          start.await();
+          while (true) {
+            if (!claimed.add(service.claimLocker())) {
+              duplicates.incrementAndGet();
+            }
+          }
+        } catch (IllegalStateException e) {
+          // no locker is free anymore
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }));
+    }
+    users.forEach(Thread::start);
+    start.countDown();
+    for (Thread user : users) {
+      user.join();
+    }
+    assertEquals(0, duplicates.get());
+    assertEquals(lockerCount, claimed.size());
+    assertEquals(lockerCount, repository.getStateIndex().count(LockerState.ACTIVE));
+  }
+
+  @Test
+  @DisplayName("Test a compact locker disabled while it gets a new password keeps none")
+  void testDisableWhileRekeying() throws InterruptedException, IllegalParameterException {
+    repository.setPasscodeScope(PasscodeScope.GLOBAL);
+    PasscodeRegistry registry = repository.getPasscodeRegistry(hall);
+    int id = createFreeLockers(1)[0];
+    Locker locker = repository.getLocker(id);
+    for (int round = 0; round < 200; round++) {
+      admin.setLockerState(id, LockerState.ACTIVE);
+      CountDownLatch start = new CountDownLatch(1);
+      Thread rekey = new Thread(() -> {
+        try {
+          start.await();
+          service.createLockerPassword(id);
+        } catch (IllegalStateException e) {
+          // the locker was disabled first
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      });
+      rekey.start();
+      start.countDown();
+      service.disableLocker(id);
+      rekey.join();
+      assertSame(LockerState.DISABLED, locker.getState());
+      assertEquals(0, locker.getPasscode());
+      assertEquals(0, registry.getReservedCount());
+    }
+  }
+}
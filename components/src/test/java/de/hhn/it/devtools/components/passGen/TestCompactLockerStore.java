@@ -0,0 +1,167 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import de.hhn.it.devtools.apis.passGen.Locker;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
+import de.hhn.it.devtools.components.passGen.provider.CompactLocker;
+import de.hhn.it.devtools.components.passGen.provider.CompactLockerStore;
+import de.hhn.it.devtools.components.passGen.provider.LockerTransition;
+import de.hhn.it.devtools.components.passGen.provider.PasscodeScope;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLockerListener;
+import de.hhn.it.devtools.components.passGen.provider.SingletonLockerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestCompactLockerStore {
+  private static final int PASSWORD = 918273;
+
+  private CompactLockerStore store;
+
+  @BeforeEach
+  void setUp() {
+    SingletonLockerRepository.getInstance().resetRepository();
+    store = new CompactLockerStore(2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SingletonLockerRepository.getInstance().resetRepository();
+  }
+
+  @Test
+  @DisplayName("Test lockers get dense ids and keep their data when the store grows")
+  void testAddLockers() {
+    for (int i = 1; i <= 100; i++) {
+      assertEquals(i, store.addLocker(i % 3, LockerState.DEACTIVATED));
+    }
+    assertEquals(100, store.size());
+    assertEquals(2, store.getCabinetId(98));
+    assertEquals(0, store.getCabinetId(99));
+    assertSame(LockerState.DEACTIVATED, store.getState(100));
+    assertThrows(IllegalArgumentException.class, () -> store.getState(101));
+    assertThrows(IllegalArgumentException.class, () -> store.getLocker(0));
+    assertThrows(IllegalArgumentException.class, () -> store.addLocker(-1, LockerState.LOCKED));
+    assertThrows(IllegalArgumentException.class, () -> store.addLocker(1, null));
+  }
+
+  @Test
+  @DisplayName("Test a view behaves like a locker and follows the transition table")
+  void testView() throws IllegalParameterException {
+    int id = store.addLocker(0, LockerState.DEACTIVATED);
+    Locker locker = store.getLocker(id);
+    assertEquals(id, locker.getId());
+    assertEquals(store.getLocker(id), locker);
+    assertNotSame(store.getLocker(id), locker);
+
+    assertThrows(IllegalStateException.class, locker::lock);
+    locker.activate();
+    assertTrue(locker.isActivated());
+    locker.setPassword(PASSWORD);
+    assertEquals(PASSWORD, locker.getPassword());
+    assertThrows(IllegalParameterException.class, () -> locker.unlock(PASSWORD + 1));
+    locker.unlock(PASSWORD);
+    assertSame(LockerState.UNLOCKED, locker.getState());
+    assertThrows(IllegalStateException.class, () -> locker.unlock(PASSWORD));
+    locker.lock();
+    assertTrue(locker.isLocked());
+    assertSame(LockerState.LOCKED, ((CompactLocker) locker).apply(LockerTransition.ACTIVATE));
+    locker.disable();
+    assertSame(LockerState.DISABLED, store.getState(id));
+    assertThrows(IllegalStateException.class, locker::activate);
+  }
+
+  @Test
+  @DisplayName("Test listeners of a view are told about state and password changes")
+  void testListeners() throws IllegalParameterException {
+    int id = store.addLocker(0, LockerState.LOCKED);
+    CompactLocker locker = store.getLocker(id);
+    SimpleLockerListener listener = new SimpleLockerListener();
+    locker.addCallback(listener);
+    assertEquals(1, store.getLocker(id).getListener().size());
+    assertTrue(store.getListeners(store.addLocker(0, LockerState.LOCKED)).isEmpty());
+
+    locker.setPassword(PASSWORD);
+    assertEquals(PASSWORD, listener.getCurrentPassword());
+    locker.unlockWithPasscode(PackedPasscode.fromPassword(PASSWORD));
+    assertSame(LockerState.UNLOCKED, listener.getCurrentState());
+    locker.removeCallback(listener);
+    locker.lock();
+    assertSame(LockerState.UNLOCKED, listener.getCurrentState());
+    assertThrows(IllegalParameterException.class, () -> locker.addCallback(null));
+  }
+
+  @Test
+  @DisplayName("Test scans find the lockers in a state")
+  void testScans() {
+    for (int i = 0; i < 50; i++) {
+      store.addLocker(1, i % 5 == 0 ? LockerState.ACTIVE : LockerState.DEACTIVATED);
+    }
+    assertEquals(10, store.count(LockerState.ACTIVE));
+    assertEquals(40, store.count(LockerState.DEACTIVATED));
+    assertEquals(0, store.count(LockerState.IN_USAGE));
+    store.setState(2, LockerState.ACTIVE);
+    assertArrayEquals(new int[] {1, 2, 6, 11, 16, 21, 26, 31, 36, 41, 46},
+        store.findLockers(LockerState.ACTIVE));
+    assertThrows(IllegalArgumentException.class, () -> store.count(null));
+  }
+
+  @Test
+  @DisplayName("Test removed lockers are gone and give their passcode back")
+  void testRemove() throws IllegalParameterException {
+    SingletonLockerRepository.getInstance().setPasscodeScope(PasscodeScope.GLOBAL);
+    int first = store.addLocker(0, LockerState.LOCKED);
+    int second = store.addLocker(0, LockerState.LOCKED);
+    store.getLocker(first).setPassword(PASSWORD);
+    assertThrows(IllegalParameterException.class,
+        () -> store.getLocker(second).setPassword(PASSWORD));
+
+    assertTrue(store.removeLocker(first));
+    assertFalse(store.removeLocker(first));
+    assertFalse(store.contains(first));
+    assertEquals(1, store.size());
+    assertEquals(1, store.count(LockerState.LOCKED));
+    assertThrows(IllegalArgumentException.class, () -> store.getState(first));
+    store.getLocker(second).setPassword(PASSWORD);
+    assertEquals(3, store.addLocker(0, LockerState.LOCKED));
+  }
+
+  @Test
+  @DisplayName("Test views of the store cannot be added to the locker repository")
+  void testNotInRepository() {
+    CompactLocker locker = store.getLocker(store.addLocker(0, LockerState.DEACTIVATED));
+    SingletonLockerRepository repository = SingletonLockerRepository.getInstance();
+    assertThrows(IllegalArgumentException.class,
+        () -> repository.addLocker(locker.getId(), locker));
+    assertTrue(repository.getLockers().isEmpty());
+  }
+}
@@ -0,0 +1,248 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.TooManyTokensException;
+import de.hhn.it.devtools.components.passGen.provider.CompactTokenStore;
+import de.hhn.it.devtools.components.passGen.provider.SeededRandomSource;
+import de.hhn.it.devtools.components.passGen.provider.TokenIssue;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestCompactTokenStore {
+  private static final long LIFETIME_MILLIS = 1000;
+
+  private AtomicLong clock;
+  private CompactTokenStore store;
+
+  @BeforeEach
+  void setUp() {
+    clock = new AtomicLong(1_700_000_000_000L);
+    store = new CompactTokenStore(new SeededRandomSource(7L), LIFETIME_MILLIS, clock::get);
+  }
+
+  @Test
+  @DisplayName("Test a generated token leads back to its user")
+  void testGenerateAndFind() throws TooManyTokensException {
+    store.generateToken(3);
+    String token = store.getToken(3);
+    assertEquals(12, token.length());
+    assertEquals(3, store.findUserId(token));
+    assertEquals(clock.get(), store.getCreationTimeMillis(3));
+    assertEquals(clock.get() + LIFETIME_MILLIS, store.getExpirationTimeMillis(3));
+    assertFalse(store.isExpired(3));
+  }
+
+  @Test
+  @DisplayName("Test a user gets only one active token")
+  void testOneActiveTokenPerUser() throws TooManyTokensException {
+    store.generateToken(1);
+    assertThrows(TooManyTokensException.class, () -> store.generateToken(1));
+    store.removeToken(1);
+    store.generateToken(1);
+    assertEquals(1, store.size());
+  }
+
+  @Test
+  @DisplayName("Test an expired token is absent and can be replaced")
+  void testExpiredToken() throws TooManyTokensException {
+    store.generateToken(1);
+    String oldToken = store.getToken(1);
+    clock.addAndGet(LIFETIME_MILLIS);
+    assertTrue(store.isExpired(1));
+    assertNull(store.getToken(1));
+    assertEquals(0, store.findUserId(oldToken));
+
+    store.generateToken(1);
+    assertNotEquals(oldToken, store.getToken(1));
+    assertEquals(0, store.findUserId(oldToken));
+    assertEquals(1, store.size());
+  }
+
+  @Test
+  @DisplayName("Test removeExpired frees only the expired records")
+  void testRemoveExpired() throws TooManyTokensException {
+    for (int userId = 1; userId <= 100; userId++) {
+      store.generateToken(userId);
+      if (userId == 60) {
+        clock.addAndGet(LIFETIME_MILLIS / 2);
+      }
+    }
+    clock.addAndGet(LIFETIME_MILLIS / 2);
+    assertEquals(60, store.removeExpired());
+    assertEquals(40, store.size());
+    for (int userId = 61; userId <= 100; userId++) {
+      assertEquals(userId, store.findUserId(store.getToken(userId)));
+    }
+  }
+
+  @Test
+  @DisplayName("Test unknown and malformed tokens lead to no user")
+  void testUnknownTokens() throws TooManyTokensException {
+    store.generateToken(1);
+    assertEquals(0, store.findUserId(null));
+    assertEquals(0, store.findUserId(""));
+    assertEquals(0, store.findUserId("not base64 !"));
+    assertEquals(0, store.findUserId("AAAAAAAAAAA="));
+    assertEquals(0, store.findUserId("AAAA"));
+    assertNull(store.getToken(2));
+    assertEquals(0, store.getExpirationTimeMillis(2));
+    assertTrue(store.isExpired(2));
+  }
+
+  @Test
+  @DisplayName("Test random generating and removing matches a plain map")
+  void testRandomOperations() throws TooManyTokensException {
+    Random random = new Random(11);
+    Map<Integer, String> expected = new HashMap<>();
+    for (int round = 0; round < 200_000; round++) {
+      int userId = 1 + random.nextInt(5_000);
+      if (random.nextInt(3) == 0) {
+        store.removeToken(userId);
+        expected.remove(userId);
+      } else if (!expected.containsKey(userId)) {
+        store.generateToken(userId);
+        expected.put(userId, store.getToken(userId));
+      }
+    }
+    assertEquals(expected.size(), store.size());
+    for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), store.getToken(entry.getKey()));
+      assertEquals(entry.getKey().intValue(), store.findUserId(entry.getValue()));
+    }
+  }
+
+  @Test
+  @DisplayName("Test invalid arguments are refused")
+  void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> store.generateToken(0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new CompactTokenStore(null, LIFETIME_MILLIS, clock::get));
+    assertThrows(IllegalArgumentException.class,
+        () -> new CompactTokenStore(new SeededRandomSource(1L), 0, clock::get));
+  }
+
+  @Test
+  @DisplayName("Test a batch issues tokens and reports users that already have one")
+  void testGenerateTokens() throws TooManyTokensException {
+    store.generateToken(2);
+    String existing = store.getToken(2);
+    Map<Integer, TokenIssue> outcomes = store.generateTokens(List.of(1, 2, 3, 0, 3));
+
+    assertEquals(List.of(1, 2, 3, 0), List.copyOf(outcomes.keySet()));
+    assertEquals(TokenIssue.ISSUED, outcomes.get(1));
+    assertEquals(TokenIssue.ALREADY_HAS_TOKEN, outcomes.get(2));
+    assertEquals(TokenIssue.ISSUED, outcomes.get(3));
+    assertEquals(TokenIssue.UNKNOWN_USER, outcomes.get(0));
+    assertEquals(existing, store.getToken(2));
+    assertEquals(3, store.size());
+    for (int userId = 1; userId <= 3; userId++) {
+      assertEquals(userId, store.findUserId(store.getToken(userId)));
+      assertEquals(store.getCreationTimeMillis(1), store.getCreationTimeMillis(userId));
+    }
+  }
+
+  @Test
+  @DisplayName("Test a large batch grows the store once and replaces expired tokens")
+  void testGenerateTokensLargeBatch() throws TooManyTokensException {
+    store.generateToken(5);
+    clock.addAndGet(LIFETIME_MILLIS);
+    Integer[] userIds = new Integer[10_000];
+    for (int i = 0; i < userIds.length; i++) {
+      userIds[i] = i + 1;
+    }
+    Map<Integer, TokenIssue> outcomes = store.generateTokens(Arrays.asList(userIds));
+    assertTrue(outcomes.values().stream().allMatch(outcome -> outcome == TokenIssue.ISSUED));
+    assertEquals(10_000, store.size());
+    assertEquals(5, store.findUserId(store.getToken(5)));
+    assertThrows(IllegalArgumentException.class,
+        () -> store.generateTokens(Arrays.asList(1, null)));
+  }
+
+  @Test
+  @DisplayName("Test renewing extends the token up to its maximum lifetime")
+  void testRenewToken() throws TooManyTokensException {
+    store.setMaxLifetimeMillis(3 * LIFETIME_MILLIS);
+    long created = clock.get();
+    store.generateToken(1);
+    String token = store.getToken(1);
+
+    clock.addAndGet(LIFETIME_MILLIS / 2);
+    assertEquals(clock.get() + LIFETIME_MILLIS, store.renewToken(1));
+    clock.addAndGet(LIFETIME_MILLIS - 1);
+    assertFalse(store.isExpired(1));
+    assertEquals(token, store.getToken(1));
+
+    assertEquals(clock.get() + LIFETIME_MILLIS, store.renewToken(1));
+    clock.addAndGet(LIFETIME_MILLIS - 1);
+    assertEquals(created + 3 * LIFETIME_MILLIS, store.renewToken(1));
+    clock.addAndGet(LIFETIME_MILLIS / 2);
+    assertEquals(created + 3 * LIFETIME_MILLIS, store.renewToken(1));
+    clock.set(created + 3 * LIFETIME_MILLIS);
+    assertTrue(store.isExpired(1));
+    assertEquals(0, store.renewToken(1));
+    assertEquals(0, store.renewToken(2));
+    assertThrows(IllegalArgumentException.class, () -> store.setMaxLifetimeMillis(1));
+  }
+
+  @Test
+  @DisplayName("Test renewing while expired tokens are swept")
+  void testRenewDuringSweep() throws Exception {
+    Integer[] userIds = new Integer[2_000];
+    for (int i = 0; i < userIds.length; i++) {
+      userIds[i] = i + 1;
+    }
+    store.generateTokens(Arrays.asList(userIds));
+    clock.addAndGet(LIFETIME_MILLIS / 2);
+    // the odd users renew, the even ones run out
+    Thread renewing = new Thread(() -> {
+      for (int userId = 1; userId <= userIds.length; userId += 2) {
+        store.renewToken(userId);
+      }
+    });
+    Thread sweeping = new Thread(() -> {
+      for (int round = 0; round < 50; round++) {
+        store.removeExpired();
+      }
+    });
+    renewing.start();
+    sweeping.start();
+    renewing.join();
+    sweeping.join();
+    clock.addAndGet(LIFETIME_MILLIS / 2);
+    assertEquals(userIds.length / 2, store.removeExpired());
+    for (int userId = 1; userId <= userIds.length; userId += 2) {
+      assertEquals(userId, store.findUserId(store.getToken(userId)));
+    }
+  }
+}
@@ -0,0 +1,202 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.WrongLoginCredentialsException;
+import de.hhn.it.devtools.components.passGen.provider.HmacTokenService;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUser;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestHmacTokenService {
+  private static final long LIFETIME_MILLIS = 60_000;
+
+  private AtomicLong clock;
+  private HmacTokenService service;
+
+  @BeforeEach
+  void setUp() throws IllegalParameterException {
+    clock = new AtomicLong(1_700_000_000_000L);
+    service = new HmacTokenService(HmacTokenService.createKey(), LIFETIME_MILLIS, clock::get);
+  }
+
+  @Test
+  @DisplayName("Test an issued token verifies to its user")
+  void testIssueAndVerify() {
+    String token = service.issueToken(42);
+    assertEquals(HmacTokenService.TOKEN_LENGTH, token.length());
+    assertTrue(service.isSignedToken(token));
+    assertEquals(42, service.verifyToken(token));
+  }
+
+  @Test
+  @DisplayName("Test a token expires after its lifetime")
+  void testExpiry() {
+    String token = service.issueToken(1);
+    clock.addAndGet(LIFETIME_MILLIS - 1);
+    assertEquals(1, service.verifyToken(token));
+    clock.addAndGet(1000);
+    assertEquals(0, service.verifyToken(token));
+  }
+
+  @Test
+  @DisplayName("Test a changed token or a token of another key is refused")
+  void testForgedTokens() throws IllegalParameterException {
+    String token = service.issueToken(1);
+    byte[] bytes = Base64.getUrlDecoder().decode(token);
+    // make the token claim another user
+    bytes[4] ^= 0x02;
+    String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    assertEquals(0, service.verifyToken(forged));
+
+    HmacTokenService other = new HmacTokenService(HmacTokenService.createKey(),
+        LIFETIME_MILLIS, clock::get);
+    assertEquals(0, other.verifyToken(token));
+    assertEquals(0, service.verifyToken(null));
+    assertEquals(0, service.verifyToken("too short"));
+    assertEquals(0, service.verifyToken("!!!!!!!!!!!!!!!!!!!!!!!!!!!!"));
+  }
+
+  @Test
+  @DisplayName("Test a revoked token is refused")
+  void testRevocation() {
+    String revoked = service.issueToken(1);
+    String kept = service.issueToken(2);
+    assertTrue(service.revokeToken(revoked));
+    assertFalse(service.revokeToken(revoked));
+    assertEquals(0, service.verifyToken(revoked));
+    assertEquals(2, service.verifyToken(kept));
+    assertEquals(1, service.getRevokedCount());
+  }
+
+  @Test
+  @DisplayName("Test the revocation set drops tokens that have expired anyway")
+  void testRevocationSetStaysSmall() {
+    for (int userId = 1; userId <= 1024; userId++) {
+      service.revokeToken(service.issueToken(userId));
+    }
+    clock.addAndGet(LIFETIME_MILLIS + 1000);
+    service.revokeToken(service.issueToken(1));
+    assertEquals(1, service.getRevokedCount());
+  }
+
+  @Test
+  @DisplayName("Test many unexpired revocations are kept and purged once they expire")
+  void testManyRevocations() {
+    for (int userId = 1; userId <= 3000; userId++) {
+      assertTrue(service.revokeToken(service.issueToken(userId)));
+    }
+    assertEquals(3000, service.getRevokedCount());
+    clock.addAndGet(LIFETIME_MILLIS + 1000);
+    for (int userId = 1; userId <= 3000; userId++) {
+      service.revokeToken(service.issueToken(userId));
+    }
+    assertTrue(service.getRevokedCount() < 6000);
+  }
+
+  @Test
+  @DisplayName("Test tokens of the previous key stay valid after a rotation")
+  void testKeyRotation() throws IllegalParameterException {
+    String oldToken = service.issueToken(1);
+    service.rotateKey(HmacTokenService.createKey());
+    String newToken = service.issueToken(2);
+    assertEquals(1, service.verifyToken(oldToken));
+    assertEquals(2, service.verifyToken(newToken));
+
+    service.rotateKey(HmacTokenService.createKey());
+    assertEquals(0, service.verifyToken(oldToken));
+    assertEquals(2, service.verifyToken(newToken));
+  }
+
+  @Test
+  @DisplayName("Test a key can be read from a local file")
+  void testReadKey() throws Exception {
+    byte[] key = HmacTokenService.createKey();
+    Path file = Files.createTempFile("token", ".key");
+    try {
+      Files.writeString(file, Base64.getEncoder().encodeToString(key) + "\n",
+          StandardCharsets.UTF_8);
+      assertArrayEquals(key, HmacTokenService.readKey(file));
+    } finally {
+      Files.delete(file);
+    }
+    assertThrows(IllegalParameterException.class, () -> HmacTokenService.readKey(file));
+  }
+
+  @Test
+  @DisplayName("Test invalid keys and user ids are refused")
+  void testInvalidArguments() {
+    assertThrows(IllegalParameterException.class, () -> new HmacTokenService(null));
+    assertThrows(IllegalParameterException.class, () -> new HmacTokenService(new byte[16]));
+    assertThrows(IllegalParameterException.class, () -> service.rotateKey(new byte[31]));
+    assertThrows(IllegalArgumentException.class, () -> service.issueToken(0));
+  }
+
+  @Test
+  @DisplayName("Test token login with signed session tokens")
+  void testSignedSessionTokens() throws WrongLoginCredentialsException {
+    SimpleUserManagementService userService = new SimpleUserManagementService();
+    int userId = userService.createUser("user@example.com", "password", true);
+    userService.setSignedTokenService(service);
+    userService.login("user@example.com", "password");
+    SimpleUser user = userService.getUser(userId);
+    String token = user.getToken().toString();
+
+    assertEquals(userId, service.verifyToken(token));
+    assertSame(user, userService.getUserByToken(token));
+    service.revokeToken(token);
+    assertNull(userService.getUserByToken(token));
+    userService.removeUser(userId);
+    assertNull(userService.getUserByToken(service.issueToken(userId)));
+  }
+
+  @Test
+  @DisplayName("Test a signed session token ends when the user logs in again")
+  void testSignedTokenEndsOnNewLogin() throws WrongLoginCredentialsException {
+    SimpleUserManagementService userService = new SimpleUserManagementService();
+    int userId = userService.createUser("user@example.com", "password", true);
+    userService.setSignedTokenService(service);
+    userService.login("user@example.com", "password");
+    SimpleUser user = userService.getUser(userId);
+    String oldToken = user.getToken().toString();
+    clock.addAndGet(1000);
+
+    userService.login("user@example.com", "password");
+    String newToken = user.getToken().toString();
+    assertNull(userService.getUserByToken(oldToken));
+    assertEquals(0, service.verifyToken(oldToken));
+    assertSame(user, userService.getUserByToken(newToken));
+  }
+}
@@ -0,0 +1,134 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.components.passGen.provider.IntObjectMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestIntObjectMap {
+
+  @Test
+  @DisplayName("Test putting, getting and removing entries")
+  void testEntries() {
+    IntObjectMap<String> map = new IntObjectMap<>();
+    assertTrue(map.isEmpty());
+    assertNull(map.put(7, "seven"));
+    assertNull(map.put(0, "zero"));
+    assertNull(map.put(-3, "minus three"));
+    assertEquals("seven", map.put(7, "SEVEN"));
+    assertEquals(3, map.size());
+    assertEquals("SEVEN", map.get(7));
+    assertEquals("zero", map.get(0));
+    assertEquals("minus three", map.get(-3));
+    assertNull(map.get(8));
+
+    assertEquals("SEVEN", map.remove(7));
+    assertNull(map.remove(7));
+    assertFalse(map.containsKey(7));
+    assertEquals("zero", map.remove(0));
+    assertEquals(1, map.size());
+    assertNull(map.put(7, "seven"));
+    assertEquals(List.of("minus three", "seven"), sorted(map.values()));
+    assertThrows(IllegalArgumentException.class, () -> map.put(1, null));
+
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertNull(map.get(-3));
+  }
+
+  @Test
+  @DisplayName("Test the map keeps its entries when it grows and removes many")
+  void testGrowth() {
+    IntObjectMap<Integer> map = new IntObjectMap<>();
+    for (int key = 1; key <= 100_000; key++) {
+      map.put(key, key);
+    }
+    for (int key = 1; key <= 100_000; key += 2) {
+      map.remove(key);
+    }
+    // removed keys leave their slots taken until the table is rebuilt
+    for (int key = 100_001; key <= 200_000; key++) {
+      map.put(key, key);
+    }
+    assertEquals(150_000, map.size());
+    for (int key = 1; key <= 200_000; key++) {
+      if (key <= 100_000 && key % 2 == 1) {
+        assertNull(map.get(key));
+      } else {
+        assertEquals(Integer.valueOf(key), map.get(key));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Test a value is created once for a missing key")
+  void testComputeIfAbsent() {
+    IntObjectMap<List<Integer>> map = new IntObjectMap<>();
+    List<Integer> created = map.computeIfAbsent(5, key -> new ArrayList<>());
+    assertSame(created, map.computeIfAbsent(5, key -> new ArrayList<>()));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  @DisplayName("Test readers never see a wrong value while a writer grows the map")
+  void testConcurrentReaders() throws InterruptedException {
+    IntObjectMap<Integer> map = new IntObjectMap<>();
+    int keys = 200_000;
+    AtomicReference<String> wrong = new AtomicReference<>();
+    List<Thread> readers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      readers.add(new Thread(() -> {
+        while (map.get(keys) == null) {
+          int key = 1 + (int) (Math.random() * keys);
+          Integer value = map.get(key);
+          if (value != null && value != key) {
+            wrong.set(key + " = " + value);
+          }
+        }
+      }));
+    }
+    readers.forEach(Thread::start);
+    for (int key = 1; key <= keys; key++) {
+      map.put(key, key);
+      if (key % 3 == 0) {
+        map.remove(key - 1);
+      }
+    }
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    assertNull(wrong.get());
+  }
+
+  private static List<String> sorted(List<String> values) {
+    values.sort(null);
+    return values;
+  }
+}
@@ -0,0 +1,152 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import de.hhn.it.devtools.apis.passGen.LockerCabinet;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.components.passGen.provider.SimpleAdminLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SingletonLockerRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestLockerClaims {
+  private SimpleAdminLockerService admin;
+  private SimpleLockerService service;
+  private int hallId;
+  private int cellarId;
+
+  @BeforeEach
+  void setUp() throws IllegalParameterException {
+    SingletonLockerRepository.getInstance().resetRepository();
+    admin = new SimpleAdminLockerService();
+    service = new SimpleLockerService();
+    hallId = admin.createLockerCabinet("Hall");
+    cellarId = admin.createLockerCabinet("Cellar");
+  }
+
+  @AfterEach
+  void tearDown() {
+    SingletonLockerRepository.getInstance().resetRepository();
+  }
+
+  private int[] createFreeLockers(int cabinetId, int count) throws IllegalParameterException {
+    LockerCabinet cabinet = admin.getLockerCabinet(cabinetId);
+    int[] ids = new int[count];
+    for (int i = 0; i < count; i++) {
+      ids[i] = admin.createLocker(cabinet, "Wall");
+      admin.setLockerState(ids[i], LockerState.DEACTIVATED);
+    }
+    return ids;
+  }
+
+  @Test
+  @DisplayName("Test claimed lockers are activated and not handed out twice")
+  void testClaim() throws IllegalParameterException {
+    createFreeLockers(hallId, 2);
+    int first = service.claimLocker();
+    int second = service.claimLocker();
+    assertNotEquals(first, second);
+    assertSame(LockerState.ACTIVE, service.getLockerState(first));
+    assertSame(LockerState.ACTIVE, service.getLockerState(second));
+    assertThrows(IllegalStateException.class, () -> service.claimLocker());
+
+    service.deactivateLocker(first);
+    assertEquals(first, service.claimLocker());
+  }
+
+  @Test
+  @DisplayName("Test claims in a cabinet or at a location stay there")
+  void testClaimInCabinet() throws IllegalParameterException {
+    int[] hall = createFreeLockers(hallId, 2);
+    int[] cellar = createFreeLockers(cellarId, 1);
+    assertEquals(cellar[0], service.claimLocker(cellarId));
+    assertThrows(IllegalStateException.class, () -> service.claimLocker(cellarId));
+    assertThrows(IllegalStateException.class, () -> service.claimLocker("Cellar"));
+    int claimed = service.claimLocker("Hall");
+    assertTrue(claimed == hall[0] || claimed == hall[1]);
+    assertThrows(IllegalParameterException.class, () -> service.claimLocker(99));
+    assertThrows(IllegalParameterException.class, () -> service.claimLocker("Attic"));
+    assertThrows(IllegalParameterException.class, () -> service.claimLocker((String) null));
+  }
+
+  @Test
+  @DisplayName("Test only free lockers are claimed")
+  void testOnlyDeactivatedLockers() throws IllegalParameterException {
+    int[] ids = createFreeLockers(hallId, 3);
+    admin.setLockerState(ids[0], LockerState.LOCKED);
+    admin.setLockerState(ids[1], LockerState.DISABLED);
+    assertEquals(ids[2], service.claimLocker(hallId));
+    assertSame(LockerState.LOCKED, service.getLockerState(ids[0]));
+    assertSame(LockerState.DISABLED, service.getLockerState(ids[1]));
+  }
+
+  @Test
+  @DisplayName("Test concurrent claims get every free locker exactly once")
+  void testConcurrentClaims() throws IllegalParameterException, InterruptedException {
+    int lockerCount = 200;
+    createFreeLockers(hallId, lockerCount / 2);
+    createFreeLockers(cellarId, lockerCount / 2);
+    Set<Integer> claimed = ConcurrentHashMap.newKeySet();
+    AtomicInteger duplicates = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> users = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      users.add(new Thread(() -> {
+        try {
+          start.await();
+          while (true) {
+            if (!claimed.add(service.claimLocker())) {
+              duplicates.incrementAndGet();
+            }
+          }
+        } catch (IllegalStateException e) {
+          // no locker is free anymore
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }));
+    }
+    users.forEach(Thread::start);
+    start.countDown();
+    for (Thread user : users) {
+      user.join();
+    }
+    assertEquals(0, duplicates.get());
+    assertEquals(lockerCount, claimed.size());
+    assertEquals(lockerCount, SingletonLockerRepository.getInstance().getStateIndex()
+        .count(LockerState.ACTIVE));
+  }
+}
@@ -0,0 +1,113 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import de.hhn.it.devtools.apis.passGen.LockerCabinet;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
+import de.hhn.it.devtools.components.passGen.provider.PasscodeRegistry;
+import de.hhn.it.devtools.components.passGen.provider.PasscodeScope;
+import de.hhn.it.devtools.components.passGen.provider.SimpleAdminLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SingletonLockerRepository;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TestLockerRekeyRace {
+  private static final int ROUNDS = 500;
+
+  private SingletonLockerRepository repository;
+  private SimpleAdminLockerService adminLockerService;
+  private SimpleLockerService lockerService;
+  private PasscodeRegistry registry;
+  private int lockerId;
+
+  @BeforeEach
+  void setUp() {
+    repository = SingletonLockerRepository.getInstance();
+    repository.resetRepository();
+    repository.setPasscodeScope(PasscodeScope.GLOBAL);
+    adminLockerService = new SimpleAdminLockerService();
+    lockerService = new SimpleLockerService();
+    int cabinetId = adminLockerService.createLockerCabinet("Hall");
+    LockerCabinet cabinet = repository.getLockerCabinet(cabinetId);
+    lockerId = adminLockerService.createLocker(cabinet, "Hall");
+    registry = repository.getPasscodeRegistry(cabinet);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SingletonLockerRepository.getInstance().resetRepository();
+  }
+
+  @Test
+  @DisplayName("Test a locker disabled while it gets a new password keeps no password")
+  void testDisableWhileRekeying() throws InterruptedException, IllegalParameterException {
+    for (int round = 0; round < ROUNDS; round++) {
+      adminLockerService.setLockerState(lockerId, LockerState.ACTIVE);
+      int variant = round % 3;
+      int password = 100_000 + round;
+      AtomicReference<Throwable> unexpected = new AtomicReference<>();
+      CountDownLatch start = new CountDownLatch(1);
+      Thread rekey = new Thread(() -> {
+        try {
+          start.await();
+          if (variant == 0) {
+            lockerService.createLockerPassword(lockerId);
+          } else if (variant == 1) {
+            lockerService.setLockerPassword(lockerId, password);
+          } else {
+            lockerService.setLockerPasscode(lockerId, PackedPasscode.of(password, 8));
+          }
+        } catch (IllegalStateException e) {
+          // the locker was disabled first
+        } catch (Exception e) {
+          unexpected.set(e);
+        }
+      });
+      Thread disable = new Thread(() -> {
+        try {
+          start.await();
+          lockerService.disableLocker(lockerId);
+        } catch (Exception e) {
+          unexpected.set(e);
+        }
+      });
+      rekey.start();
+      disable.start();
+      start.countDown();
+      rekey.join();
+      disable.join();
+
+      assertNull(unexpected.get());
+      assertEquals(LockerState.DISABLED, repository.getLocker(lockerId).getState());
+      assertEquals(0, repository.getLocker(lockerId).getPasscode());
+      assertEquals(0, registry.getReservedCount());
+    }
+  }
+}
@@ -30,6 +30,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class TestLockerServiceBadCases {
@@ -135,4 +136,17 @@ public class TestLockerServiceBadCases {
     // Try to disable a locker that does not exist
     assertThrows(IllegalParameterException.class, ()-> lockerService.disableLocker(notExistingId));
   }
+
+  @Test
+  @DisplayName("Test setting the passwords of several lockers with a wrong id or state")
+  public void testCreateLockerPasswordsBadCases() throws IllegalParameterException {
+    assertThrows(IllegalParameterException.class, () -> lockerService.createLockerPasswords(null));
+    assertThrows(IllegalParameterException.class,
+        () -> lockerService.createLockerPasswords(new int[] {-1, lockerId}));
+    // the locker is disabled, so none of the passwords may change
+    assertThrows(IllegalStateException.class,
+        () -> lockerService.createLockerPasswords(new int[] {lockerId}));
+    assertEquals(987123, lockerService.getLocker(lockerId).getPassword());
+    assertThrows(IllegalParameterException.class, () -> lockerService.createLockerCabinetPasswords(-1));
+  }
 }
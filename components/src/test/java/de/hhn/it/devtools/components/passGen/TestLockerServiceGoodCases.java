@@ -33,6 +33,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 public class TestLockerServiceGoodCases {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TestLockerServiceGoodCases.class);
@@ -124,4 +125,35 @@ public class TestLockerServiceGoodCases {
     //needs another way to be tested
     assertEquals(locker.getPassword(), locker.getPassword());
   }
+
+  @Test
+  @DisplayName("Test setting the passwords of several lockers in one call")
+  public void testCreateLockerPasswords() throws IllegalParameterException {
+    int cabinetId = adminLockerService.createLockerCabinet("Location B");
+    LockerCabinet cabinet = adminLockerService.getLockerCabinet(cabinetId);
+    int secondLockerId = adminLockerService.createLocker(cabinet, "Location B");
+    adminLockerService.setLockerState(lockerId, LockerState.ACTIVE);
+    adminLockerService.setLockerState(secondLockerId, LockerState.ACTIVE);
+
+    lockerService.createLockerPasswords(new int[] {lockerId, secondLockerId});
+    assertNotEquals(987123, lockerService.getLocker(lockerId).getPassword());
+    assertEquals(6, String.valueOf(lockerService.getLocker(lockerId).getPassword()).length());
+    assertEquals(6, String.valueOf(lockerService.getLocker(secondLockerId).getPassword()).length());
+  }
+
+  @Test
+  @DisplayName("Test setting the passwords of all active lockers of a cabinet")
+  public void testCreateLockerCabinetPasswords() throws IllegalParameterException {
+    int cabinetId = adminLockerService.createLockerCabinet("Location B");
+    LockerCabinet cabinet = adminLockerService.getLockerCabinet(cabinetId);
+    int activeLockerId = adminLockerService.createLocker(cabinet, "Location B");
+    int disabledLockerId = adminLockerService.createLocker(cabinet, "Location B");
+    adminLockerService.addLockerToLockerCabint(cabinetId, lockerService.getLocker(activeLockerId));
+    adminLockerService.addLockerToLockerCabint(cabinetId, lockerService.getLocker(disabledLockerId));
+    adminLockerService.setLockerState(activeLockerId, LockerState.ACTIVE);
+
+    assertEquals(1, lockerService.createLockerCabinetPasswords(cabinetId));
+    assertEquals(6, String.valueOf(lockerService.getLocker(activeLockerId).getPassword()).length());
+    assertEquals(0, lockerService.getLocker(disabledLockerId).getPassword());
+  }
 }
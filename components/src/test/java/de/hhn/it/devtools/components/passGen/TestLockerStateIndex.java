@@ -0,0 +1,180 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import de.hhn.it.devtools.apis.passGen.LockerCabinet;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.components.passGen.provider.CompactLockerStore;
+import de.hhn.it.devtools.components.passGen.provider.LockerStateIndex;
+import de.hhn.it.devtools.components.passGen.provider.LockerTransition;
+import de.hhn.it.devtools.components.passGen.provider.SimpleAdminLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLocker;
+import de.hhn.it.devtools.components.passGen.provider.SingletonLockerRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestLockerStateIndex {
+  private SingletonLockerRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    repository = SingletonLockerRepository.getInstance();
+    repository.resetRepository();
+  }
+
+  @AfterEach
+  void tearDown() {
+    repository.resetRepository();
+  }
+
+  @Test
+  @DisplayName("Test counting and finding lockers by state, globally and per cabinet")
+  void testQueries() {
+    LockerStateIndex index = new LockerStateIndex();
+    index.add(3, 1, LockerState.DEACTIVATED);
+    index.add(70, 2, LockerState.DEACTIVATED);
+    index.add(5000, 1, LockerState.DEACTIVATED);
+    index.add(100_000, 1, LockerState.UNLOCKED);
+
+    assertEquals(3, index.count(LockerState.DEACTIVATED));
+    assertEquals(2, index.count(1, LockerState.DEACTIVATED));
+    assertEquals(0, index.count(3, LockerState.DEACTIVATED));
+    assertEquals(3, index.next(LockerState.DEACTIVATED, 0));
+    assertEquals(70, index.next(LockerState.DEACTIVATED, 4));
+    assertEquals(5000, index.next(1, LockerState.DEACTIVATED, 4));
+    assertEquals(-1, index.next(1, LockerState.DEACTIVATED, 5001));
+    assertEquals(-1, index.next(4, LockerState.DEACTIVATED, 0));
+    assertArrayEquals(new int[] {3, 70, 5000}, index.find(LockerState.DEACTIVATED));
+    assertArrayEquals(new int[] {100_000}, index.find(1, LockerState.UNLOCKED));
+    assertArrayEquals(new int[0], index.find(LockerState.DISABLED));
+
+    index.move(3, 1, LockerState.DEACTIVATED, LockerState.ACTIVE);
+    assertTrue(index.contains(3, LockerState.ACTIVE));
+    assertFalse(index.contains(3, LockerState.DEACTIVATED));
+    assertEquals(1, index.count(1, LockerState.DEACTIVATED));
+    index.set(70, 2, LockerState.DISABLED);
+    index.remove(5000, 1);
+    assertEquals(0, index.count(LockerState.DEACTIVATED));
+    assertThrows(IllegalArgumentException.class, () -> index.count(null));
+    assertThrows(IllegalArgumentException.class, () -> index.add(-1, 1, LockerState.ACTIVE));
+  }
+
+  @Test
+  @DisplayName("Test the repository index follows the lockers of the services")
+  void testRepositoryIndex() throws Exception {
+    SimpleAdminLockerService admin = new SimpleAdminLockerService();
+    int cabinetId = admin.createLockerCabinet("Hall");
+    LockerCabinet cabinet = admin.getLockerCabinet(cabinetId);
+    int first = admin.createLocker(cabinet, "Hall");
+    int second = admin.createLocker(cabinet, "Hall");
+    LockerStateIndex index = repository.getStateIndex();
+    assertEquals(2, index.count(cabinetId, LockerState.DISABLED));
+
+    admin.setLockerState(first, LockerState.DEACTIVATED);
+    assertEquals(first, index.next(cabinetId, LockerState.DEACTIVATED, 0));
+    ((SimpleLocker) repository.getLocker(first)).activate();
+    assertEquals(-1, index.next(cabinetId, LockerState.DEACTIVATED, 0));
+    assertArrayEquals(new int[] {first}, index.find(LockerState.ACTIVE));
+
+    admin.removeLocker(second);
+    assertEquals(0, index.count(LockerState.DISABLED));
+    repository.resetRepository();
+    assertEquals(0, index.count(LockerState.ACTIVE));
+  }
+
+  @Test
+  @DisplayName("Test the index shows every locker in its state after concurrent transitions")
+  void testConcurrentTransitions() throws InterruptedException {
+    int lockerCount = 16;
+    SimpleLocker[] lockers = new SimpleLocker[lockerCount];
+    for (int i = 0; i < lockerCount; i++) {
+      lockers[i] = new SimpleLocker(i + 1, null, "Hall");
+      repository.addLocker(i + 1, lockers[i]);
+    }
+    CompactLockerStore store = new CompactLockerStore();
+    for (int i = 0; i < lockerCount; i++) {
+      store.addLocker(1 + i % 2, LockerState.LOCKED);
+    }
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      threads.add(new Thread(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LockerTransition[] transitions = LockerTransition.values();
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int i = 0; i < 20_000; i++) {
+          // disabling ends every chain, so it is left out
+          LockerTransition transition = transitions[random.nextInt(transitions.length - 1)];
+          int locker = random.nextInt(lockerCount);
+          try {
+            if (random.nextBoolean()) {
+              lockers[locker].apply(transition);
+            } else {
+              store.apply(locker + 1, transition);
+            }
+          } catch (IllegalStateException e) {
+            // not allowed in the state the thread found
+          }
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    LockerStateIndex index = repository.getStateIndex();
+    LockerStateIndex storeIndex = store.getStateIndex();
+    int[] counts = new int[LockerState.values().length];
+    int[] storeCounts = new int[LockerState.values().length];
+    for (int i = 0; i < lockerCount; i++) {
+      counts[lockers[i].getState().ordinal()]++;
+      storeCounts[store.getState(i + 1).ordinal()]++;
+      for (LockerState state : LockerState.values()) {
+        assertEquals(state == lockers[i].getState(), index.contains(i + 1, state));
+        assertEquals(state == store.getState(i + 1), storeIndex.contains(i + 1, state));
+      }
+    }
+    for (LockerState state : LockerState.values()) {
+      assertEquals(counts[state.ordinal()], index.count(state));
+      assertEquals(storeCounts[state.ordinal()], storeIndex.count(state));
+      assertEquals(storeCounts[state.ordinal()],
+          storeIndex.count(1, state) + storeIndex.count(2, state));
+    }
+  }
+}
@@ -0,0 +1,193 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import de.hhn.it.devtools.apis.passGen.LockerListener;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.components.passGen.provider.LockerTransition;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLocker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TestLockerStateMachine {
+  private static final int THREADS = 8;
+  private static final int PASSWORD = 918273;
+
+  private SimpleLocker locker;
+
+  @BeforeEach
+  void setUp() throws IllegalParameterException {
+    locker = new SimpleLocker(1, null, "Hall");
+    locker.setPassword(PASSWORD);
+  }
+
+  @AfterEach
+  void tearDown() {
+    locker.releasePassword();
+  }
+
+  @Test
+  @DisplayName("Test the transition table")
+  void testTable() {
+    assertSame(LockerState.UNLOCKED, LockerTransition.UNLOCK.targetOf(LockerState.ACTIVE));
+    assertNull(LockerTransition.UNLOCK.targetOf(LockerState.DISABLED));
+    assertNull(LockerTransition.DEACTIVATE.targetOf(LockerState.LOCKED));
+    assertNull(LockerTransition.LOCK.targetOf(null));
+    locker.adminSetState(LockerState.IN_USAGE);
+    for (LockerTransition transition : LockerTransition.values()) {
+      assertThrows(IllegalStateException.class, () -> locker.apply(transition));
+    }
+    assertSame(LockerState.IN_USAGE, locker.getState());
+  }
+
+  @Test
+  @DisplayName("Test only one of several kiosks racing to unlock a locker succeeds")
+  void testRacingUnlock() throws InterruptedException {
+    for (int round = 0; round < 100; round++) {
+      locker.adminSetState(LockerState.LOCKED);
+      AtomicInteger unlocked = new AtomicInteger();
+      AtomicInteger refused = new AtomicInteger();
+      AtomicReference<Throwable> unexpected = new AtomicReference<>();
+      CountDownLatch start = new CountDownLatch(1);
+      List<Thread> kiosks = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        kiosks.add(new Thread(() -> {
+          try {
+            start.await();
+            locker.unlock(PASSWORD);
+            unlocked.incrementAndGet();
+          } catch (IllegalStateException e) {
+            refused.incrementAndGet();
+          } catch (Exception e) {
+            unexpected.set(e);
+          }
+        }));
+      }
+      kiosks.forEach(Thread::start);
+      start.countDown();
+      for (Thread kiosk : kiosks) {
+        kiosk.join();
+      }
+      assertNull(unexpected.get());
+      assertEquals(1, unlocked.get());
+      assertEquals(THREADS - 1, refused.get());
+    }
+  }
+
+  @Test
+  @DisplayName("Test random transitions of many threads form one chain of legal transitions")
+  void testStress() throws InterruptedException, IllegalParameterException {
+    int statesCount = LockerState.values().length;
+    int[][] fromCounts = new int[THREADS][statesCount];
+    int[][] toCounts = new int[THREADS][statesCount];
+    AtomicInteger notified = new AtomicInteger();
+    AtomicReference<String> illegal = new AtomicReference<>();
+    locker.addCallback(new CountingListener(notified));
+    LockerState initial = locker.getState();
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      int thread = t;
+      threads.add(new Thread(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LockerTransition[] transitions = LockerTransition.values();
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        for (int i = 0; i < 20_000; i++) {
+          // disabling ends every chain, so it is left out
+          LockerTransition transition = transitions[random.nextInt(transitions.length - 1)];
+          try {
+            LockerState from = locker.apply(transition);
+            LockerState to = transition.targetOf(from);
+            if (to == null) {
+              illegal.set(transition + " from " + from);
+            } else {
+              fromCounts[thread][from.ordinal()]++;
+              toCounts[thread][to.ordinal()]++;
+            }
+          } catch (IllegalStateException e) {
+            // not allowed in the state the thread found
+          }
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertNull(illegal.get());
+    LockerState last = locker.getState();
+    int transitions = 0;
+    for (int state = 0; state < statesCount; state++) {
+      int from = 0;
+      int to = 0;
+      for (int thread = 0; thread < THREADS; thread++) {
+        from += fromCounts[thread][state];
+        to += toCounts[thread][state];
+      }
+      transitions += from;
+      // every state is left once per time it was entered, apart from the first and the last
+      int expected = to + (state == initial.ordinal() ? 1 : 0)
+          - (state == last.ordinal() ? 1 : 0);
+      assertEquals(expected, from, "transitions from " + LockerState.values()[state]);
+    }
+    assertEquals(transitions, notified.get());
+  }
+
+  /**
+   * Counts the state changes it is told about.
+   */
+  private static final class CountingListener implements LockerListener {
+    private final AtomicInteger count;
+
+    private CountingListener(AtomicInteger count) {
+      this.count = count;
+    }
+
+    @Override
+    public void newState(LockerState state) {
+      count.incrementAndGet();
+    }
+
+    @Override
+    public void newPassword(int password) {
+    }
+  }
+}
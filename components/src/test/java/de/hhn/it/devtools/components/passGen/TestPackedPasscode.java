@@ -0,0 +1,203 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.passGen.LockerCabinet;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
+import de.hhn.it.devtools.components.passGen.provider.PasscodeRegistry;
+import de.hhn.it.devtools.components.passGen.provider.PasscodeScope;
+import de.hhn.it.devtools.components.passGen.provider.PrimitivePasscodeGenerator;
+import de.hhn.it.devtools.components.passGen.provider.SimpleAdminLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SimplePasscodeGenerator;
+import de.hhn.it.devtools.components.passGen.provider.SingletonLockerRepository;
+import de.hhn.it.devtools.components.passGen.provider.TablePasscodeGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestPackedPasscode {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TestPackedPasscode.class);
+  private SimpleAdminLockerService adminLockerService;
+  private SimpleLockerService lockerService;
+
+  @BeforeEach
+  public void setup() {
+    SingletonLockerRepository.getInstance().resetRepository();
+    adminLockerService = new SimpleAdminLockerService();
+    lockerService = new SimpleLockerService();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    SingletonLockerRepository.getInstance().resetRepository();
+  }
+
+  @Test
+  @DisplayName("Test if packing keeps the leading zeros and the length")
+  public void testPackKeepsLeadingZeros() throws IllegalParameterException {
+    long passcode = PackedPasscode.parse("000042");
+    assertEquals(6, PackedPasscode.lengthOf(passcode));
+    assertEquals(42, PackedPasscode.valueOf(passcode));
+    assertEquals("000042", PackedPasscode.toString(passcode));
+    assertNotEquals(PackedPasscode.parse("0042"), passcode);
+    assertNotEquals(0, PackedPasscode.parse("0000"));
+  }
+
+  @Test
+  @DisplayName("Test if the longest passcode survives packing")
+  public void testLongestPasscode() throws IllegalParameterException {
+    long passcode = PackedPasscode.parse("999999999999999999");
+    assertEquals(PackedPasscode.MAX_LENGTH, PackedPasscode.lengthOf(passcode));
+    assertEquals(999_999_999_999_999_999L, PackedPasscode.valueOf(passcode));
+    assertEquals("999999999999999999", PackedPasscode.toString(passcode));
+  }
+
+  @Test
+  @DisplayName("Test if passcodes of unsupported lengths are rejected")
+  public void testRejectsUnsupportedLengths() {
+    assertThrows(IllegalParameterException.class, () -> PackedPasscode.parse("123"));
+    assertThrows(IllegalParameterException.class, () -> PackedPasscode.parse("1234567890123456789"));
+    assertThrows(IllegalParameterException.class, () -> PackedPasscode.parse("12a4"));
+    assertThrows(IllegalParameterException.class, () -> PackedPasscode.of(12345, 4));
+  }
+
+  @Test
+  @DisplayName("Test if the primitive generator creates passcodes of every supported length")
+  public void testPrimitiveGeneratorLengths() throws IllegalParameterException {
+    PrimitivePasscodeGenerator generator = new PrimitivePasscodeGenerator();
+    boolean leadingZero = false;
+    for (int length = PackedPasscode.MIN_LENGTH; length <= PackedPasscode.MAX_LENGTH; length++) {
+      for (int i = 0; i < 1_000; i++) {
+        String passcode = PackedPasscode.toString(generator.createPasscode(length));
+        assertEquals(length, passcode.length());
+        leadingZero |= passcode.charAt(0) == '0';
+      }
+    }
+    assertTrue(leadingZero);
+    assertThrows(IllegalParameterException.class, () -> generator.createPasscode(3));
+    assertThrows(IllegalParameterException.class, () -> generator.createPasscode(19));
+  }
+
+  @Test
+  @DisplayName("Test if the simple generator creates passcodes of the requested length")
+  public void testSimpleGeneratorLengths() throws IllegalParameterException {
+    SimplePasscodeGenerator generator = new SimplePasscodeGenerator();
+    assertEquals(10, generator.generatePasscode(10).length());
+    assertEquals(12, PackedPasscode.lengthOf(generator.createPasscode(12)));
+  }
+
+  @Test
+  @DisplayName("Test if generators with a fixed length reject other lengths")
+  public void testTableGeneratorRejectsOtherLengths() throws IllegalParameterException {
+    TablePasscodeGenerator generator = new TablePasscodeGenerator();
+    assertEquals(6, PackedPasscode.lengthOf(generator.createPasscode(6)));
+    assertThrows(IllegalParameterException.class, () -> generator.createPasscode(12));
+  }
+
+  @Test
+  @DisplayName("Test if a cabinet with a longer passcode length gives its lockers longer passcodes")
+  public void testCabinetPasscodeLength() throws IllegalParameterException {
+    int secureCabinetId = adminLockerService.createLockerCabinet("Location A");
+    int cabinetId = adminLockerService.createLockerCabinet("Location B");
+    adminLockerService.setLockerCabinetPasscodeLength(secureCabinetId, 12);
+    int secureLockerId = adminLockerService.createLocker(
+        adminLockerService.getLockerCabinet(secureCabinetId), "Location A");
+    int lockerId = adminLockerService.createLocker(
+        adminLockerService.getLockerCabinet(cabinetId), "Location B");
+    adminLockerService.setLockerState(secureLockerId, LockerState.ACTIVE);
+    adminLockerService.setLockerState(lockerId, LockerState.ACTIVE);
+
+    lockerService.createLockerPasswords(new int[] {secureLockerId, lockerId});
+    long securePasscode = lockerService.getLocker(secureLockerId).getPasscode();
+    logger.debug("Secure passcode: {}", PackedPasscode.toString(securePasscode));
+    assertEquals(12, PackedPasscode.lengthOf(securePasscode));
+    assertEquals(0, lockerService.getLocker(secureLockerId).getPassword());
+    assertEquals(6, String.valueOf(lockerService.getLocker(lockerId).getPassword()).length());
+
+    // six digits are too short for the secure cabinet
+    assertThrows(IllegalParameterException.class,
+        () -> lockerService.setLockerPassword(secureLockerId, 987123));
+
+    lockerService.unlockLockerWithPasscode(secureLockerId, securePasscode);
+    assertEquals(LockerState.UNLOCKED, lockerService.getLockerState(secureLockerId));
+  }
+
+  @Test
+  @DisplayName("Test if a passcode of the default length unlocks with the int password as well")
+  public void testIntAndPackedUnlockAgree() throws IllegalParameterException {
+    int cabinetId = adminLockerService.createLockerCabinet("Location A");
+    LockerCabinet cabinet = adminLockerService.getLockerCabinet(cabinetId);
+    int lockerId = adminLockerService.createLocker(cabinet, "Location A");
+    adminLockerService.setLockerState(lockerId, LockerState.ACTIVE);
+    lockerService.setLockerPassword(lockerId, 987123);
+
+    assertEquals(PackedPasscode.parse("987123"), lockerService.getLocker(lockerId).getPasscode());
+    assertThrows(IllegalParameterException.class,
+        () -> lockerService.unlockLockerWithPasscode(lockerId, PackedPasscode.parse("0987123")));
+    lockerService.unlockLocker(lockerId, 987123);
+    assertEquals(LockerState.UNLOCKED, lockerService.getLockerState(lockerId));
+  }
+
+  @Test
+  @DisplayName("Test if the registry keeps passcodes of different lengths apart")
+  public void testRegistryWithLongPasscodes() throws IllegalParameterException {
+    PasscodeRegistry registry = new PasscodeRegistry();
+    long shortPasscode = PackedPasscode.parse("0042");
+    long longPasscode = PackedPasscode.parse("000000000042");
+    assertTrue(registry.reservePasscode(shortPasscode));
+    assertTrue(registry.reservePasscode(longPasscode));
+    assertFalse(registry.reservePasscode(longPasscode));
+    assertTrue(registry.reservePasscode(PackedPasscode.parse("123456")));
+    // the int and the packed form of a default length passcode are the same entry
+    assertTrue(registry.isReserved(123456));
+    assertEquals(3, registry.getReservedCount());
+    registry.releasePasscode(longPasscode);
+    assertFalse(registry.isPasscodeReserved(longPasscode));
+    assertEquals(2, registry.getReservedCount());
+  }
+
+  @Test
+  @DisplayName("Test if long passcodes stay unique in global scope")
+  public void testUniqueLongPasscodes() throws IllegalParameterException {
+    SingletonLockerRepository.getInstance().setPasscodeScope(PasscodeScope.GLOBAL);
+    int cabinetId = adminLockerService.createLockerCabinet("Location A");
+    adminLockerService.setLockerCabinetPasscodeLength(cabinetId, 10);
+    LockerCabinet cabinet = adminLockerService.getLockerCabinet(cabinetId);
+    int firstId = adminLockerService.createLocker(cabinet, "Location A");
+    int secondId = adminLockerService.createLocker(cabinet, "Location A");
+    long passcode = PackedPasscode.parse("0123456789");
+
+    lockerService.getLocker(firstId).setPasscode(passcode);
+    assertThrows(IllegalParameterException.class,
+        () -> lockerService.getLocker(secondId).setPasscode(passcode));
+    adminLockerService.setLockerState(firstId, LockerState.DISABLED);
+    lockerService.getLocker(secondId).setPasscode(passcode);
+    assertEquals(passcode, lockerService.getLocker(secondId).getPasscode());
+  }
+}
@@ -36,11 +36,11 @@ public class TestPasscodeGeneratorBadCases {
   }
 
   @Test
-  @DisplayName("Test creation of passcode with null reference")
+  @DisplayName("Test creation of passcode with a length above the maximum")
   public void testPasscodeGenerationWithWrongLength() {
-    final int falseLength = 10;
+    final int falseLength = 19;
     //normal usage of passcode generator does not directly call generatePasscode() - only test purpose
-    int generatedPasscode = simplePasscodeGenerator.generatePasscode(10).length();
+    int generatedPasscode = simplePasscodeGenerator.generatePasscode(falseLength).length();
     logger.debug(System.out.format("Inputted length [ %d ] and generated passcode length [ %d ] ", falseLength, generatedPasscode).toString());
     assertFalse(falseLength == generatedPasscode);
   }
@@ -0,0 +1,179 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import de.hhn.it.devtools.apis.passGen.LockerCabinet;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.components.passGen.provider.PasscodeRegistry;
+import de.hhn.it.devtools.components.passGen.provider.PasscodeScope;
+import de.hhn.it.devtools.components.passGen.provider.SimpleAdminLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLocker;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SingletonLockerRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestPasscodeRegistry {
+  private PasscodeRegistry registry;
+  private SimpleAdminLockerService adminLockerService;
+  private SimpleLockerService lockerService;
+
+  @BeforeEach
+  public void setup() {
+    registry = new PasscodeRegistry();
+    SingletonLockerRepository.getInstance().resetRepository();
+    adminLockerService = new SimpleAdminLockerService();
+    lockerService = new SimpleLockerService();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    SingletonLockerRepository.getInstance().resetRepository();
+  }
+
+  @Test
+  @DisplayName("Test if a passcode can only be reserved once until it is released")
+  public void testReserveAndRelease() throws IllegalParameterException {
+    assertTrue(registry.reserve(123456));
+    assertFalse(registry.reserve(123456));
+    assertTrue(registry.isReserved(123456));
+    assertEquals(1, registry.getReservedCount());
+    registry.release(123456);
+    assertFalse(registry.isReserved(123456));
+    assertTrue(registry.reserve(123456));
+    assertThrows(IllegalParameterException.class, () -> registry.reserve(1_000_000));
+  }
+
+  @Test
+  @DisplayName("Test if concurrent reservations never hand out a passcode twice")
+  public void testConcurrentReservations() throws InterruptedException {
+    AtomicInteger successes = new AtomicInteger();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      threads.add(new Thread(() -> {
+        for (int passcode = 100_000; passcode < 110_000; passcode++) {
+          try {
+            if (registry.reserve(passcode)) {
+              successes.incrementAndGet();
+            }
+          } catch (IllegalParameterException e) {
+            throw new RuntimeException(e);
+          }
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(10_000, successes.get());
+    assertEquals(10_000, registry.getReservedCount());
+  }
+
+  @Test
+  @DisplayName("Test if the scope cannot change while a locker holds a passcode")
+  public void testScopeChangeWithPasscodes() throws IllegalParameterException {
+    SingletonLockerRepository repository = SingletonLockerRepository.getInstance();
+    repository.setPasscodeScope(PasscodeScope.GLOBAL);
+    int cabinetId = adminLockerService.createLockerCabinet("Location A");
+    LockerCabinet cabinet = adminLockerService.getLockerCabinet(cabinetId);
+    int lockerId = adminLockerService.createLocker(cabinet, "Location A");
+    lockerService.getLocker(lockerId).setPassword(987123);
+
+    assertThrows(IllegalStateException.class,
+        () -> repository.setPasscodeScope(PasscodeScope.CABINET));
+    assertEquals(PasscodeScope.GLOBAL, repository.getPasscodeScope());
+    assertTrue(repository.getPasscodeRegistry(cabinet).isReserved(987123));
+
+    adminLockerService.setLockerState(lockerId, LockerState.DISABLED);
+    repository.setPasscodeScope(PasscodeScope.CABINET);
+    assertEquals(PasscodeScope.CABINET, repository.getPasscodeScope());
+  }
+
+  @Test
+  @DisplayName("Test if two lockers cannot share a passcode in global scope")
+  public void testUniquePasswordsOfLockers() throws IllegalParameterException {
+    SingletonLockerRepository.getInstance().setPasscodeScope(PasscodeScope.GLOBAL);
+    int cabinetId = adminLockerService.createLockerCabinet("Location A");
+    LockerCabinet cabinet = adminLockerService.getLockerCabinet(cabinetId);
+    int firstId = adminLockerService.createLocker(cabinet, "Location A");
+    int secondId = adminLockerService.createLocker(cabinet, "Location A");
+
+    lockerService.getLocker(firstId).setPassword(987123);
+    assertThrows(IllegalParameterException.class,
+        () -> lockerService.getLocker(secondId).setPassword(987123));
+
+    // disabling the first locker gives its password back
+    adminLockerService.setLockerState(firstId, LockerState.DISABLED);
+    assertEquals(0, lockerService.getLocker(firstId).getPassword());
+    lockerService.getLocker(secondId).setPassword(987123);
+    assertEquals(987123, lockerService.getLocker(secondId).getPassword());
+
+    // removing the second locker gives it back as well
+    adminLockerService.removeLocker(secondId);
+    assertNull(SingletonLockerRepository.getInstance().getLockers().get(secondId));
+    lockerService.getLocker(firstId).setPassword(987123);
+  }
+
+  @Test
+  @DisplayName("Test if lockers of different cabinets may share a passcode in cabinet scope")
+  public void testCabinetScope() throws IllegalParameterException {
+    SingletonLockerRepository.getInstance().setPasscodeScope(PasscodeScope.CABINET);
+    LockerCabinet cabinetA = adminLockerService.getLockerCabinet(
+        adminLockerService.createLockerCabinet("Location A"));
+    LockerCabinet cabinetB = adminLockerService.getLockerCabinet(
+        adminLockerService.createLockerCabinet("Location B"));
+    SimpleLocker lockerA1 = new SimpleLocker(1, cabinetA, "Location A");
+    SimpleLocker lockerA2 = new SimpleLocker(2, cabinetA, "Location A");
+    SimpleLocker lockerB1 = new SimpleLocker(3, cabinetB, "Location B");
+
+    lockerA1.setPassword(456123);
+    lockerB1.setPassword(456123);
+    assertThrows(IllegalParameterException.class, () -> lockerA2.setPassword(456123));
+  }
+
+  @Test
+  @DisplayName("Test if generated passwords of many lockers are all different")
+  public void testCreatedPasswordsAreUnique() throws IllegalParameterException {
+    SingletonLockerRepository.getInstance().setPasscodeScope(PasscodeScope.GLOBAL);
+    int cabinetId = adminLockerService.createLockerCabinet("Location A");
+    LockerCabinet cabinet = adminLockerService.getLockerCabinet(cabinetId);
+    int[] ids = new int[500];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = adminLockerService.createLocker(cabinet, "Location A");
+      adminLockerService.setLockerState(ids[i], LockerState.ACTIVE);
+    }
+    lockerService.createLockerPasswords(ids);
+    assertEquals(500, SingletonLockerRepository.getInstance().getPasscodeRegistry(cabinet)
+        .getReservedCount());
+  }
+}
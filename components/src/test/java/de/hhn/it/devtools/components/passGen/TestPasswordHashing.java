@@ -0,0 +1,144 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.WrongLoginCredentialsException;
+import de.hhn.it.devtools.components.passGen.provider.CredentialExecutor;
+import de.hhn.it.devtools.components.passGen.provider.PasswordHasher;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUser;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestPasswordHashing {
+  // low work factor, the tests check the behavior and not the cost
+  private static final int ITERATIONS = PasswordHasher.MIN_ITERATIONS;
+
+  private PasswordHasher hasher;
+  private SimpleUserManagementService service;
+
+  @BeforeEach
+  void setUp() throws IllegalParameterException {
+    hasher = new PasswordHasher(ITERATIONS);
+    service = new SimpleUserManagementService();
+    service.setPasswordHasher(hasher);
+  }
+
+  @Test
+  @DisplayName("Test a hash matches its password only")
+  void testHashAndMatch() throws IllegalParameterException {
+    String hash = hasher.hash("password123");
+    assertTrue(PasswordHasher.isHash(hash));
+    assertNotEquals(hash, hasher.hash("password123"));
+    assertTrue(PasswordHasher.matches("password123", hash));
+    assertFalse(PasswordHasher.matches("password124", hash));
+    assertFalse(PasswordHasher.matches("password123", "pbkdf2-sha256$1000$broken"));
+    assertFalse(hasher.needsRehash(hash));
+    assertTrue(new PasswordHasher(2 * ITERATIONS).needsRehash(hash));
+    assertTrue(hasher.needsRehash("password123"));
+    assertThrows(IllegalParameterException.class, () -> new PasswordHasher(10));
+  }
+
+  @Test
+  @DisplayName("Test users are stored with hashed passwords and can log in")
+  void testHashedUsers() throws WrongLoginCredentialsException {
+    int userId = service.createUser("user@example.com", "password123", true);
+    int firstId = service.createUsers(List.of("a@example.com"), List.of("secret1"), true);
+    SimpleUser user = service.getUser(userId);
+    assertTrue(PasswordHasher.isHash(user.getPassword()));
+    assertTrue(PasswordHasher.isHash(service.getUser(firstId).getPassword()));
+    assertTrue(service.checkCredentials("user@example.com", "password123"));
+    assertFalse(service.checkCredentials("user@example.com", "wrong"));
+    assertFalse(service.checkCredentials("nobody@example.com", "password123"));
+    service.login("user@example.com", "password123");
+
+    service.changePassword("user@example.com", "newPassword");
+    assertTrue(PasswordHasher.isHash(user.getPassword()));
+    assertTrue(service.checkCredentials("user@example.com", "newPassword"));
+  }
+
+  @Test
+  @DisplayName("Test a plain password is hashed at the next login")
+  void testRehashPlainPassword() {
+    SimpleUserManagementService plain = new SimpleUserManagementService();
+    int userId = plain.createUser("user@example.com", "password123", true);
+    assertEquals("password123", plain.getUser(userId).getPassword());
+    plain.setPasswordHasher(hasher);
+    assertFalse(plain.checkCredentials("user@example.com", "wrong"));
+    assertEquals("password123", plain.getUser(userId).getPassword());
+    assertTrue(plain.checkCredentials("user@example.com", "password123"));
+    assertTrue(PasswordHasher.isHash(plain.getUser(userId).getPassword()));
+    assertTrue(plain.checkCredentials("user@example.com", "password123"));
+  }
+
+  @Test
+  @DisplayName("Test async login and credential check")
+  void testAsync() throws Exception {
+    service.createUser("user@example.com", "password123", true);
+    service.setCredentialExecutor(new CredentialExecutor(2, 16));
+    assertDoesNotThrow(() -> service.loginAsync("user@example.com", "password123").get());
+    assertTrue(service.checkCredentialsAsync("user@example.com", "password123").get());
+    assertFalse(service.checkCredentialsAsync("user@example.com", "wrong").get());
+    ExecutionException failure = assertThrows(ExecutionException.class,
+        () -> service.loginAsync("user@example.com", "wrong").get());
+    assertInstanceOf(WrongLoginCredentialsException.class, failure.getCause());
+    assertThrows(IllegalArgumentException.class, () -> service.loginAsync(null, "password"));
+    assertEquals(4, service.getCredentialExecutor().getCompletedCount());
+  }
+
+  @Test
+  @DisplayName("Test a full queue refuses checks and is counted")
+  void testBoundedQueue() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    try (CredentialExecutor executor = new CredentialExecutor(1, 1)) {
+      CompletableFuture<Boolean> running = executor.submit(() -> {
+        started.countDown();
+        release.await();
+        return true;
+      });
+      started.await();
+      CompletableFuture<Boolean> queued = executor.submit(() -> true);
+      CompletableFuture<Boolean> refused = executor.submit(() -> true);
+      assertEquals(1, executor.getQueueDepth());
+      assertEquals(1, executor.getMaxQueueDepth());
+      ExecutionException failure = assertThrows(ExecutionException.class, refused::get);
+      assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+      assertEquals(1, executor.getRejectedCount());
+      release.countDown();
+      assertTrue(running.get());
+      assertTrue(queued.get());
+    }
+  }
+}
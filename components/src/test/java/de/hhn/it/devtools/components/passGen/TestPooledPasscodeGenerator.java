@@ -0,0 +1,101 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
+import de.hhn.it.devtools.components.passGen.provider.PooledPasscodeGenerator;
+import de.hhn.it.devtools.components.passGen.provider.PrimitivePasscodeGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestPooledPasscodeGenerator {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TestPooledPasscodeGenerator.class);
+  PooledPasscodeGenerator passcodeGenerator;
+
+  @BeforeEach
+  void setup() throws IllegalParameterException {
+    passcodeGenerator = PooledPasscodeGenerator.start(new PrimitivePasscodeGenerator(), 8, 32);
+  }
+
+  @AfterEach
+  void tearDown() {
+    passcodeGenerator.close();
+  }
+
+  private void awaitFullPool() throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (passcodeGenerator.getAvailableCount() < 32 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(1);
+    }
+  }
+
+  @Test
+  @DisplayName("Test if the pool gets filled up to the high watermark")
+  public void testPoolGetsFilled() throws InterruptedException {
+    awaitFullPool();
+    assertEquals(32, passcodeGenerator.getAvailableCount());
+    assertTrue(passcodeGenerator.getLastRefillLagNanos() > 0);
+  }
+
+  @Test
+  @DisplayName("Test if passcodes are taken from the pool")
+  public void testPasscodesAreTakenFromPool() throws IllegalParameterException, InterruptedException {
+    awaitFullPool();
+    for (int i = 0; i < 25; i++) {
+      int passcode = passcodeGenerator.createPasscode();
+      assertEquals(PasscodeGenerator.DEFAULT_LENGTH, String.valueOf(passcode).length());
+    }
+    assertEquals(25, passcodeGenerator.getHitCount());
+    assertEquals(0, passcodeGenerator.getMissCount());
+    // falling below the low watermark triggers a refill
+    awaitFullPool();
+    assertEquals(32, passcodeGenerator.getAvailableCount());
+  }
+
+  @Test
+  @DisplayName("Test if passcodes are created inline when the pool is empty")
+  public void testFallbackWhenPoolIsEmpty() throws IllegalParameterException, InterruptedException {
+    awaitFullPool();
+    passcodeGenerator.close();
+    for (int i = 0; i < 40; i++) {
+      int passcode = passcodeGenerator.createPasscode();
+      assertEquals(PasscodeGenerator.DEFAULT_LENGTH, String.valueOf(passcode).length());
+    }
+    logger.debug("Hits: {}, misses: {}", passcodeGenerator.getHitCount(), passcodeGenerator.getMissCount());
+    assertEquals(32, passcodeGenerator.getHitCount());
+    assertEquals(8, passcodeGenerator.getMissCount());
+  }
+
+  @Test
+  @DisplayName("Test if invalid watermarks are rejected")
+  public void testInvalidWatermarks() {
+    assertThrows(IllegalParameterException.class, () -> PooledPasscodeGenerator.start(null));
+    assertThrows(IllegalParameterException.class,
+        () -> PooledPasscodeGenerator.start(new PrimitivePasscodeGenerator(), -1, 10));
+    assertThrows(IllegalParameterException.class,
+        () -> PooledPasscodeGenerator.start(new PrimitivePasscodeGenerator(), 10, 10));
+  }
+}
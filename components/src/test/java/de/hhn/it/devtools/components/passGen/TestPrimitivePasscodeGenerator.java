@@ -0,0 +1,95 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
+import de.hhn.it.devtools.components.passGen.provider.PrimitivePasscodeGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestPrimitivePasscodeGenerator {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TestPrimitivePasscodeGenerator.class);
+  PrimitivePasscodeGenerator passcodeGenerator;
+
+  @BeforeEach
+  void setup() {
+    passcodeGenerator = new PrimitivePasscodeGenerator();
+  }
+
+  @Test
+  @DisplayName("Test if the primitive generator creates passcodes with default length")
+  public void testPasscodeHasDefaultLength() {
+    for (int i = 0; i < 10_000; i++) {
+      int passcode = passcodeGenerator.createPasscode();
+      assertEquals(PasscodeGenerator.DEFAULT_LENGTH, String.valueOf(passcode).length());
+    }
+  }
+
+  @Test
+  @DisplayName("Test if the primitive generator never creates taboo syllables")
+  public void testPasscodeHasNoTabooSyllables() {
+    for (int i = 0; i < 10_000; i++) {
+      String passcode = String.valueOf(passcodeGenerator.createPasscode());
+      for (int digit = 0; digit <= 9; digit++) {
+        String syllable = String.valueOf(digit).repeat(3);
+        assertFalse(passcode.contains(syllable), passcode + " contains " + syllable);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Test if every leading digit is used by the primitive generator")
+  public void testLeadingDigitsAreSpread() {
+    int[] leadingDigits = new int[10];
+    for (int i = 0; i < 90_000; i++) {
+      leadingDigits[String.valueOf(passcodeGenerator.createPasscode()).charAt(0) - '0']++;
+    }
+    logger.debug("Leading digit 1 was drawn {} times", leadingDigits[1]);
+    assertEquals(0, leadingDigits[0]);
+    for (int digit = 1; digit <= 9; digit++) {
+      assertTrue(leadingDigits[digit] > 9_000);
+    }
+  }
+
+  @Test
+  @DisplayName("Test if a large batch of passcodes gets created in parallel")
+  public void testCreatePasscodes() throws IllegalParameterException {
+    int[] passcodes = new int[200_000];
+    passcodeGenerator.createPasscodes(passcodes.length - 1, passcodes);
+    for (int i = 0; i < passcodes.length - 1; i++) {
+      assertEquals(PasscodeGenerator.DEFAULT_LENGTH, String.valueOf(passcodes[i]).length());
+    }
+    assertEquals(0, passcodes[passcodes.length - 1]);
+  }
+
+  @Test
+  @DisplayName("Test if a batch with a wrong size is rejected")
+  public void testCreatePasscodesBadCases() {
+    assertThrows(IllegalParameterException.class, () -> passcodeGenerator.createPasscodes(1, null));
+    assertThrows(IllegalParameterException.class, () -> passcodeGenerator.createPasscodes(-1, new int[1]));
+    assertThrows(IllegalParameterException.class, () -> passcodeGenerator.createPasscodes(2, new int[1]));
+  }
+}
@@ -0,0 +1,158 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.WrongLoginCredentialsException;
+import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
+import de.hhn.it.devtools.components.passGen.provider.BufferedRandomSource;
+import de.hhn.it.devtools.components.passGen.provider.DrbgRandomSource;
+import de.hhn.it.devtools.components.passGen.provider.PrimitivePasscodeGenerator;
+import de.hhn.it.devtools.components.passGen.provider.RandomSource;
+import de.hhn.it.devtools.components.passGen.provider.SeededRandomSource;
+import de.hhn.it.devtools.components.passGen.provider.SimpleAdminLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SimpleLockerService;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import de.hhn.it.devtools.components.passGen.provider.SingletonLockerRepository;
+import de.hhn.it.devtools.components.passGen.provider.TablePasscodeGenerator;
+import de.hhn.it.devtools.components.passGen.provider.ThreadLocalRandomSource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestRandomSource {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TestRandomSource.class);
+
+  private static List<RandomSource> sources() {
+    return List.of(new DrbgRandomSource(), new BufferedRandomSource(), new SeededRandomSource(42L),
+        ThreadLocalRandomSource.INSTANCE);
+  }
+
+  @Test
+  @DisplayName("Test if every random source stays within the bound and uses every value")
+  public void testNextIntStaysInBound() {
+    for (RandomSource source : sources()) {
+      int[] digits = new int[10];
+      for (int i = 0; i < 10_000; i++) {
+        digits[source.nextInt(10)]++;
+      }
+      logger.debug("{} drew the digits {}", source.getClass().getSimpleName(), digits);
+      for (int count : digits) {
+        assertTrue(count > 800, source.getClass().getSimpleName() + " drew " + count);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Test if every random source creates doubles between zero and one")
+  public void testNextDoubleStaysInRange() {
+    for (RandomSource source : sources()) {
+      for (int i = 0; i < 10_000; i++) {
+        double value = source.nextDouble();
+        assertTrue(value >= 0.0 && value < 1.0);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Test if the buffered source fills arrays that span several blocks")
+  public void testBufferedSourceSpansBlocks() {
+    RandomSource source = new BufferedRandomSource(16);
+    byte[] bytes = new byte[100];
+    source.nextBytes(bytes);
+    // all zero would mean that only the first block was copied
+    assertFalse(Arrays.equals(new byte[40], Arrays.copyOfRange(bytes, 60, 100)));
+  }
+
+  @Test
+  @DisplayName("Test if the buffered source rejects blocks smaller than a long")
+  public void testBufferedSourceRejectsSmallBlocks() {
+    assertThrows(IllegalArgumentException.class, () -> new BufferedRandomSource(4));
+  }
+
+  @Test
+  @DisplayName("Test if two seeded sources with the same seed repeat the same numbers")
+  public void testSeededSourceIsDeterministic() {
+    RandomSource first = new SeededRandomSource(7L);
+    RandomSource second = new SeededRandomSource(7L);
+    byte[] firstBytes = new byte[32];
+    byte[] secondBytes = new byte[32];
+    first.nextBytes(firstBytes);
+    second.nextBytes(secondBytes);
+    assertArrayEquals(firstBytes, secondBytes);
+    assertEquals(first.nextLong(), second.nextLong());
+    assertEquals(first.nextInt(1_000_000), second.nextInt(1_000_000));
+  }
+
+  @Test
+  @DisplayName("Test if login creates a version 4 session id from the random source")
+  public void testLoginCreatesUuidFromSource() throws WrongLoginCredentialsException {
+    SimpleUserManagementService service = new SimpleUserManagementService(new SeededRandomSource(1L));
+    int userId = service.createUser("user@example.com", "secret", true);
+    service.login("user@example.com", "secret");
+    UUID sessionId = UUID.fromString(service.getUser(userId).getToken().toString());
+    assertEquals(4, sessionId.version());
+    assertEquals(2, sessionId.variant());
+  }
+
+  @Test
+  @DisplayName("Test if the fast passcode generators draw from the given random source")
+  public void testPasscodeGeneratorsUseSource() throws IllegalParameterException {
+    PasscodeGenerator firstPrimitive = new PrimitivePasscodeGenerator(new SeededRandomSource(5L));
+    PasscodeGenerator secondPrimitive = new PrimitivePasscodeGenerator(new SeededRandomSource(5L));
+    PasscodeGenerator firstTable = new TablePasscodeGenerator(new SeededRandomSource(5L));
+    PasscodeGenerator secondTable = new TablePasscodeGenerator(new SeededRandomSource(5L));
+    for (int i = 0; i < 100; i++) {
+      assertEquals(firstPrimitive.createPasscode(), secondPrimitive.createPasscode());
+      assertEquals(firstPrimitive.createPasscode(8), secondPrimitive.createPasscode(8));
+      assertEquals(firstTable.createPasscode(), secondTable.createPasscode());
+    }
+  }
+
+  @Test
+  @DisplayName("Test if the locker service draws new passwords from the given random source")
+  public void testLockerServiceUsesSource() throws IllegalParameterException {
+    try {
+      assertEquals(createLockerPassword(9L), createLockerPassword(9L));
+    } finally {
+      SingletonLockerRepository.getInstance().resetRepository();
+    }
+  }
+
+  private static int createLockerPassword(long seed) throws IllegalParameterException {
+    SingletonLockerRepository repository = SingletonLockerRepository.getInstance();
+    repository.resetRepository();
+    SimpleAdminLockerService adminLockerService = new SimpleAdminLockerService();
+    int cabinetId = adminLockerService.createLockerCabinet("Hall");
+    int lockerId = adminLockerService.createLocker(repository.getLockerCabinet(cabinetId), "Hall");
+    adminLockerService.setLockerState(lockerId, LockerState.ACTIVE);
+    SimpleLockerService lockerService = new SimpleLockerService(new SeededRandomSource(seed));
+    lockerService.createLockerPassword(lockerId);
+    return repository.getLocker(lockerId).getPassword();
+  }
+}
@@ -82,4 +82,35 @@ public class TestSimpleLockerCabinet {
     assertThrows(IllegalArgumentException.class, () -> lockerUnite.getLocker(lockerId));
   }
 
+  @Test
+  @DisplayName("Test the map of the locker unite can not be changed from outside.")
+  public void testLockerCabinetIsReadOnly() {
+    Locker locker = new SimpleLocker(1, lockerUnite, "Cellar");
+    assertThrows(UnsupportedOperationException.class,
+        () -> lockerUnite.getLockerCabinet().put(1, locker));
+  }
+
+  @Test
+  @DisplayName("Test lockers added from several threads all end up in the locker unite.")
+  public void testConcurrentAddLocker() throws InterruptedException {
+    int threads = 4;
+    int lockersPerThread = 500;
+    Thread[] adders = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      int first = t * lockersPerThread;
+      adders[t] = new Thread(() -> {
+        for (int id = first; id < first + lockersPerThread; id++) {
+          lockerUnite.addLocker(id, new SimpleLocker(id, lockerUnite, "Cellar"));
+        }
+      });
+      adders[t].start();
+    }
+    for (Thread adder : adders) {
+      adder.join();
+    }
+    assertEquals(threads * lockersPerThread, lockerUnite.getLockerCabinet().size());
+    for (int id = 0; id < threads * lockersPerThread; id++) {
+      assertEquals(id, lockerUnite.getLocker(id).getId());
+    }
+  }
 }
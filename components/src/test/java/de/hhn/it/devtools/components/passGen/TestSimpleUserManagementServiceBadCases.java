@@ -20,10 +20,14 @@ package de.hhn.it.devtools.components.passGen;
 
 import de.hhn.it.devtools.apis.exceptions.WrongLoginCredentialsException;
 import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class TestSimpleUserManagementServiceBadCases {
@@ -71,4 +75,53 @@ class TestSimpleUserManagementServiceBadCases {
   void testCheckCredentialsWithNullArguments() {
     assertThrows(IllegalArgumentException.class, () -> service.checkCredentials(null, null));
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("Test createUser with an address that is already in use")
+  void testCreateUserWithDuplicateAddress() {
+    assertThrows(IllegalArgumentException.class,
+        () -> service.createUser("USER@example.com", "otherPassword", true));
+  }
+
+  @Test
+  @DisplayName("Test getUserByToken with an unknown token")
+  void testGetUserByTokenWithUnknownToken() {
+    assertNull(service.getUserByToken("unknown"));
+    assertNull(service.getUserByToken(null));
+  }
+
+  @Test
+  @DisplayName("Test login of a removed user")
+  void testLoginOfRemovedUser() {
+    service.removeUser(userId);
+    assertThrows(WrongLoginCredentialsException.class, () -> service.login("user@example.com", "password123"));
+  }
+
+  @Test
+  @DisplayName("Test createUsers with an address that is already in use")
+  void testCreateUsersWithDuplicateAddress() {
+    assertThrows(IllegalArgumentException.class, () -> service.createUsers(
+        List.of("a@example.com", "User@example.com"), List.of("passwordA", "passwordB"), true));
+    assertNull(service.getUserByAddress("a@example.com"));
+    assertEquals(1, service.getUsers().size());
+  }
+
+  @Test
+  @DisplayName("Test createUsers with lists of different size or null entries")
+  void testCreateUsersWithInvalidLists() {
+    assertThrows(IllegalArgumentException.class,
+        () -> service.createUsers(List.of("a@example.com"), List.of(), true));
+    assertThrows(IllegalArgumentException.class,
+        () -> service.createUsers(Arrays.asList("a@example.com", null),
+            List.of("passwordA", "passwordB"), true));
+    assertThrows(IllegalArgumentException.class, () -> service.createUsers(null, null, true));
+  }
+
+  @Test
+  @DisplayName("Test getUser and removeUser with the id of a removed user")
+  void testRemovedUserId() {
+    service.removeUser(userId);
+    assertThrows(IllegalArgumentException.class, () -> service.getUser(userId));
+    assertThrows(IllegalArgumentException.class, () -> service.removeUser(userId));
+  }
+}
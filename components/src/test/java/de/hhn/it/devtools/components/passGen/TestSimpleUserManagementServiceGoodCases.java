@@ -18,13 +18,30 @@
 
 package de.hhn.it.devtools.components.passGen;
 
+import de.hhn.it.devtools.apis.exceptions.TooManyTokensException;
+import de.hhn.it.devtools.apis.exceptions.WrongLoginCredentialsException;
+import de.hhn.it.devtools.components.passGen.provider.SimpleToken;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUser;
 import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -77,4 +94,131 @@ class TestSimpleUserManagementServiceGoodCases {
   void testGetUserByAddressWithCorrectAddress() {
     assertNotNull(service.getUserByAddress("user@example.com"));
   }
+
+  @Test
+  @DisplayName("Test login with an address in other case and with blanks")
+  void testLoginWithNormalizedAddress() {
+    assertDoesNotThrow(() -> service.login(" User@Example.com ", "password123"));
+    assertSame(service.getUser(userId), service.getUserByAddress("USER@example.com"));
+    assertTrue(service.checkCredentials("User@example.COM", "password123"));
+  }
+
+  @Test
+  @DisplayName("Test getUserByToken follows the token of the user")
+  void testGetUserByTokenFollowsLogins() throws WrongLoginCredentialsException {
+    SimpleUser user = service.getUser(userId);
+    service.login("user@example.com", "password123");
+    String firstToken = user.getToken().toString();
+    assertSame(user, service.getUserByToken(firstToken));
+
+    service.login("user@example.com", "password123");
+    assertNull(service.getUserByToken(firstToken));
+    assertSame(user, service.getUserByToken(user.getToken().toString()));
+
+    user.removeTokenFromUser();
+    assertNull(service.getUserByToken(user.toString()));
+  }
+
+  @Test
+  @DisplayName("Test getUserByToken finds generated tokens until they expire")
+  void testGetUserByTokenWithGeneratedToken() throws TooManyTokensException {
+    SimpleToken tokens = new SimpleToken(null, new HashMap<>(), new HashMap<>(), service);
+    tokens.generateToken(userId);
+    SimpleUser user = service.getUser(userId);
+    SimpleToken token = user.getToken();
+    assertSame(user, service.getUserByToken(token.toString()));
+
+    tokens.setExpirationTime(token, 600);
+    assertTrue(tokens.isExpired(token, user));
+    assertNull(service.getUserByToken(token.toString()));
+  }
+
+  @Test
+  @DisplayName("Test removeUser removes the user from the lookups")
+  void testRemoveUserClearsLookups() throws WrongLoginCredentialsException {
+    service.login("user@example.com", "password123");
+    String token = service.getUser(userId).getToken().toString();
+    service.removeUser(userId);
+    assertNull(service.getUserByAddress("user@example.com"));
+    assertNull(service.getUserByToken(token));
+    assertFalse(service.checkCredentials("user@example.com", "password123"));
+  }
+
+  @Test
+  @DisplayName("Test changePassword with a known address")
+  void testChangePasswordWithKnownAddress() {
+    service.changePassword("user@example.com", "newPassword");
+    assertTrue(service.checkCredentials("user@example.com", "newPassword"));
+    assertFalse(service.checkCredentials("user@example.com", "password123"));
+  }
+
+  @Test
+  @DisplayName("Test ids of removed users are not handed out again")
+  void testIdsAreNotReusedAfterRemoval() {
+    int secondId = service.createUser("second@example.com", "password", true);
+    service.removeUser(userId);
+    int thirdId = service.createUser("third@example.com", "password", true);
+    assertTrue(thirdId > secondId);
+    assertEquals("second@example.com", service.getUser(secondId).getAddress());
+    assertEquals(thirdId, service.getUserByAddress("third@example.com").getId());
+  }
+
+  @Test
+  @DisplayName("Test createUsers hands out a block of consecutive ids")
+  void testCreateUsersWithConsecutiveIds() {
+    int firstId = service.createUsers(List.of("a@example.com", "b@example.com", "c@example.com"),
+        List.of("passwordA", "passwordB", "passwordC"), false);
+    assertEquals(userId + 1, firstId);
+    assertEquals("c@example.com", service.getUser(firstId + 2).getAddress());
+    assertFalse(service.getUser(firstId + 1).isUser());
+    assertTrue(service.checkCredentials("b@example.com", "passwordB"));
+    assertEquals(firstId + 3, service.createUser("d@example.com", "passwordD", true));
+  }
+
+  @Test
+  @DisplayName("Test createUser and login from several threads at once")
+  void testConcurrentCreateUserAndLogin() throws Exception {
+    int threads = 8;
+    int usersPerThread = 250;
+    Set<Integer> ids = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < usersPerThread; i++) {
+            String address = "user" + thread + "-" + i + "@example.com";
+            ids.add(service.createUser(address, "password" + i, true));
+            service.login(address, "password" + i);
+            service.getUser(userId);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    assertEquals(threads * usersPerThread, ids.size());
+    assertEquals(threads * usersPerThread + 1, service.getUsers().size());
+    for (int id : ids) {
+      SimpleUser user = service.getUser(id);
+      assertSame(user, service.getUserByToken(user.getToken().toString()));
+    }
+  }
+
+  @Test
+  @DisplayName("Test the users cannot be changed past the service")
+  void testUsersViewIsReadOnly() {
+    SimpleUser user = service.getUser(userId);
+    assertSame(user, service.getUsers().get(userId));
+    assertThrows(UnsupportedOperationException.class, () -> service.getUsers().remove(userId));
+    assertThrows(UnsupportedOperationException.class, () -> service.getUsers().put(userId + 1,
+        new SimpleUser("other@example.com", "password123", userId + 1, true)));
+    assertSame(user, service.getUserByAddress("user@example.com"));
+  }
 }
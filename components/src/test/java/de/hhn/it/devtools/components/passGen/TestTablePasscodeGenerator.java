@@ -0,0 +1,99 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.passGen.PasscodeGenerator;
+import de.hhn.it.devtools.components.passGen.provider.TablePasscodeGenerator;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestTablePasscodeGenerator {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TestTablePasscodeGenerator.class);
+  TablePasscodeGenerator passcodeGenerator;
+
+  @BeforeEach
+  void setup() {
+    passcodeGenerator = new TablePasscodeGenerator();
+  }
+
+  @Test
+  @DisplayName("Test if the table contains exactly the passcodes without taboo syllables")
+  public void testTableSize() {
+    int expected = 0;
+    for (int candidate = 100_000; candidate < 1_000_000; candidate++) {
+      String passcode = String.valueOf(candidate);
+      boolean taboo = false;
+      for (int digit = 0; digit <= 9; digit++) {
+        taboo |= passcode.contains(String.valueOf(digit).repeat(3));
+      }
+      if (!taboo) {
+        expected++;
+      }
+    }
+    logger.debug("Table built in {} ns with {} bytes", passcodeGenerator.getBuildTimeNanos(),
+        passcodeGenerator.getTableSizeBytes());
+    assertEquals(expected, passcodeGenerator.getValidPasscodeCount());
+  }
+
+  @Test
+  @DisplayName("Test if the table generator creates valid passcodes")
+  public void testCreatePasscode() {
+    for (int i = 0; i < 10_000; i++) {
+      String passcode = String.valueOf(passcodeGenerator.createPasscode());
+      assertEquals(PasscodeGenerator.DEFAULT_LENGTH, passcode.length());
+      assertFalse(passcode.contains("000") || passcode.contains("555"));
+    }
+  }
+
+  @Test
+  @DisplayName("Test if the table gets rebuilt when the taboo syllables change")
+  public void testRebuildTable() throws IllegalParameterException {
+    passcodeGenerator.setTabooSyllables(List.of("1", "2", "3", "4", "5", "6", "7", "8"));
+    assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8"),
+        passcodeGenerator.getTabooSyllables());
+    // only the digits 0 and 9 are left and the first digit has to be 9
+    assertEquals(32, passcodeGenerator.getValidPasscodeCount());
+    for (int i = 0; i < 1_000; i++) {
+      String passcode = String.valueOf(passcodeGenerator.createPasscode());
+      assertTrue(passcode.chars().allMatch(digit -> digit == '0' || digit == '9'));
+    }
+  }
+
+  @Test
+  @DisplayName("Test if invalid taboo syllables are rejected and the old table is kept")
+  public void testInvalidTabooSyllables() {
+    int validPasscodes = passcodeGenerator.getValidPasscodeCount();
+    assertThrows(IllegalParameterException.class, () -> passcodeGenerator.setTabooSyllables(null));
+    assertThrows(IllegalParameterException.class,
+        () -> passcodeGenerator.setTabooSyllables(List.of("12a")));
+    assertThrows(IllegalParameterException.class,
+        () -> passcodeGenerator.setTabooSyllables(Arrays.asList("1", "2", "3", "4", "5", "6",
+            "7", "8", "9")));
+    assertEquals(validPasscodes, passcodeGenerator.getValidPasscodeCount());
+  }
+}
@@ -0,0 +1,146 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
+import de.hhn.it.devtools.components.passGen.provider.PrimitivePasscodeGenerator;
+import de.hhn.it.devtools.components.passGen.provider.SeededRandomSource;
+import de.hhn.it.devtools.components.passGen.provider.SimplePasscodeGenerator;
+import de.hhn.it.devtools.components.passGen.provider.TabooAutomaton;
+import de.hhn.it.devtools.components.passGen.provider.TabooRule;
+import de.hhn.it.devtools.components.passGen.provider.TabooRules;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestTabooAutomaton {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TestTabooAutomaton.class);
+
+  @Test
+  @DisplayName("Test if the automaton finds patterns that overlap each other")
+  public void testOverlappingPatterns() throws IllegalParameterException {
+    TabooAutomaton automaton = TabooAutomaton.compile(List.of("1213", "21", "3"));
+    assertTrue(automaton.matches("441213"));
+    assertTrue(automaton.matches("121"));
+    assertTrue(automaton.matches("000003"));
+    assertFalse(automaton.matches("112200"));
+    assertFalse(automaton.matches(""));
+    assertTrue(automaton.matches(21L, 6));
+    assertFalse(automaton.matches(1122L, 6));
+  }
+
+  @Test
+  @DisplayName("Test if the automaton agrees with String.contains for every six digit passcode")
+  public void testAgreesWithContains() throws IllegalParameterException {
+    List<String> patterns = TabooRule.REPEATED_DIGITS.patterns();
+    TabooAutomaton automaton = TabooAutomaton.compile(patterns);
+    long valid = 0;
+    for (int candidate = 0; candidate < 1_000_000; candidate++) {
+      String digits = String.format("%06d", candidate);
+      boolean expected = patterns.stream().anyMatch(digits::contains);
+      assertEquals(expected, automaton.matches(candidate, 6), digits);
+      if (!expected) {
+        valid++;
+      }
+    }
+    assertEquals(valid, automaton.countValid(6));
+  }
+
+  @Test
+  @DisplayName("Test if the predefined rules block what they describe")
+  public void testPredefinedRules() throws IllegalParameterException {
+    TabooRules rules = new TabooRules(EnumSet.allOf(TabooRule.class), List.of());
+    TabooAutomaton automaton = rules.getAutomaton();
+    logger.debug("All rules need {} states", automaton.getStateCount());
+    assertTrue(automaton.matches("903456"));
+    assertTrue(automaton.matches("976540"));
+    assertTrue(automaton.matches("904747"));
+    assertTrue(automaton.matches("922412"));
+    assertTrue(automaton.matches("901224"));
+    assertTrue(automaton.matches("905550"));
+    assertFalse(automaton.matches("903940"));
+    // the 31st of February is no birthday
+    assertFalse(TabooAutomaton.compile(TabooRule.BIRTHDAY.patterns()).matches("3102"));
+  }
+
+  @Test
+  @DisplayName("Test if invalid patterns and rules without any passcode left are rejected")
+  public void testRejectsInvalidRules() throws IllegalParameterException {
+    assertThrows(IllegalParameterException.class, () -> TabooAutomaton.compile(List.of("12a")));
+    assertThrows(IllegalParameterException.class, () -> TabooAutomaton.compile(List.of("")));
+    TabooRules rules = new TabooRules();
+    assertThrows(IllegalParameterException.class,
+        () -> rules.setBlockedPatterns(List.of("0", "1", "2", "3", "4", "5", "6", "7", "8", "9")));
+    // the old rules stay in place
+    assertEquals(Set.of(TabooRule.REPEATED_DIGITS), rules.getRules());
+    assertTrue(rules.getBlockedPatterns().isEmpty());
+    // only codes with a leading zero would be left for the default length
+    List<String> nonZeroDigits = List.of("1", "2", "3", "4", "5", "6", "7", "8", "9");
+    assertEquals(1, TabooAutomaton.compile(nonZeroDigits).countValid(6));
+    assertEquals(0, TabooAutomaton.compile(nonZeroDigits).countValidWithoutLeadingZero(6));
+    assertThrows(IllegalParameterException.class, () -> rules.setBlockedPatterns(nonZeroDigits));
+  }
+
+  @Test
+  @DisplayName("Test if blocked patterns are loaded from a file")
+  public void testLoadBlockedPatterns() throws IOException, IllegalParameterException {
+    Path file = Files.createTempFile("blocked", ".txt");
+    try {
+      Files.writeString(file, "# leaked passcodes\n\n147258\n 369 \n");
+      TabooRules rules = new TabooRules();
+      rules.loadBlockedPatterns(file);
+      assertEquals(List.of("147258", "369"), rules.getBlockedPatterns());
+      assertTrue(rules.getAutomaton().matches("147258"));
+      assertTrue(rules.getAutomaton().matches("103690"));
+      assertTrue(rules.getAutomaton().matches("100012"));
+    } finally {
+      Files.delete(file);
+    }
+    TabooRules rules = new TabooRules();
+    assertThrows(IllegalParameterException.class, () -> rules.loadBlockedPatterns(file));
+  }
+
+  @Test
+  @DisplayName("Test if generators pick up a rule update for the next passcode")
+  public void testGeneratorsUseUpdatedRules() throws IllegalParameterException {
+    TabooRules rules = new TabooRules();
+    PrimitivePasscodeGenerator primitive = new PrimitivePasscodeGenerator(rules);
+    SimplePasscodeGenerator simple = new SimplePasscodeGenerator(new SeededRandomSource(3L), rules);
+    rules.setBlockedPatterns(List.of("5", "7"));
+    for (int i = 0; i < 5_000; i++) {
+      String passcode = String.valueOf(primitive.createPasscode());
+      assertFalse(passcode.contains("5") || passcode.contains("7"), passcode);
+      String longPasscode = PackedPasscode.toString(primitive.createPasscode(12));
+      assertFalse(longPasscode.contains("5") || longPasscode.contains("7"), longPasscode);
+      passcode = String.valueOf(simple.createPasscode());
+      assertFalse(passcode.contains("5") || passcode.contains("7"), passcode);
+    }
+  }
+}
@@ -0,0 +1,188 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import de.hhn.it.devtools.components.passGen.provider.TimingWheel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestTimingWheel {
+  private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private AtomicLong clock;
+  private TimingWheel wheel;
+
+  @BeforeEach
+  void setUp() {
+    clock = new AtomicLong(1_000_000);
+    wheel = new TimingWheel(10, clock::get);
+  }
+
+  private void advanceTicks(long ticks) {
+    clock.addAndGet(ticks * TICK_NANOS);
+    wheel.advance();
+  }
+
+  @Test
+  @DisplayName("Test a task runs once its delay is over and not before")
+  void testTaskRunsAfterDelay() {
+    AtomicInteger runs = new AtomicInteger();
+    wheel.schedule(runs::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+    advanceTicks(4);
+    assertEquals(0, runs.get());
+    assertEquals(1, wheel.getPendingCount());
+    advanceTicks(1);
+    assertEquals(1, runs.get());
+    assertEquals(0, wheel.getPendingCount());
+    advanceTicks(100);
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  @DisplayName("Test a delay between two ticks is rounded up")
+  void testDelayIsRoundedUp() {
+    AtomicInteger runs = new AtomicInteger();
+    wheel.schedule(runs::incrementAndGet, 15, TimeUnit.MILLISECONDS);
+    advanceTicks(1);
+    assertEquals(0, runs.get());
+    advanceTicks(1);
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  @DisplayName("Test a task without delay runs on the next advance")
+  void testTaskWithoutDelay() {
+    AtomicInteger runs = new AtomicInteger();
+    wheel.schedule(runs::incrementAndGet, 0, TimeUnit.MILLISECONDS);
+    assertEquals(1, wheel.advance());
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  @DisplayName("Test a cancelled task does not run")
+  void testCancelledTaskDoesNotRun() {
+    AtomicInteger runs = new AtomicInteger();
+    TimingWheel.Timeout timeout = wheel.schedule(runs::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+    advanceTicks(5);
+    assertTrue(timeout.cancel());
+    assertFalse(timeout.cancel());
+    assertTrue(timeout.isCancelled());
+    assertEquals(0, wheel.getPendingCount());
+    advanceTicks(20);
+    assertEquals(0, runs.get());
+    assertFalse(timeout.isExpired());
+  }
+
+  @Test
+  @DisplayName("Test tasks far in the future move down the wheels and run on time")
+  void testLongDelaysRunOnTime() {
+    long[] delays = {63, 64, 65, 4095, 4096, 4097, 262_143, 262_144, 1_000_003};
+    List<long[]> runTicks = new ArrayList<>();
+    for (long delay : delays) {
+      long[] ranAt = {-1};
+      runTicks.add(ranAt);
+      wheel.schedule(() -> ranAt[0] = (clock.get() - 1_000_000) / TICK_NANOS,
+          delay * 10, TimeUnit.MILLISECONDS);
+    }
+    for (long tick = 0; tick < 1_000_010; tick++) {
+      advanceTicks(1);
+    }
+    for (int i = 0; i < delays.length; i++) {
+      assertEquals(delays[i], runTicks.get(i)[0], "delay of " + delays[i] + " ticks");
+    }
+  }
+
+  @Test
+  @DisplayName("Test many random tasks run at their tick, also when advanced in jumps")
+  void testRandomDelays() {
+    Random random = new Random(42);
+    int count = 100_000;
+    long[] deadlines = new long[count];
+    long[] ranAt = new long[count];
+    for (int i = 0; i < count; i++) {
+      int index = i;
+      deadlines[i] = 1 + random.nextInt(20_000);
+      wheel.schedule(() -> ranAt[index] = (clock.get() - 1_000_000) / TICK_NANOS,
+          deadlines[i] * 10, TimeUnit.MILLISECONDS);
+    }
+    long ticks = 0;
+    while (ticks < 20_100) {
+      long step = 1 + random.nextInt(7);
+      ticks += step;
+      advanceTicks(step);
+    }
+    for (int i = 0; i < count; i++) {
+      assertTrue(ranAt[i] >= deadlines[i] && ranAt[i] < deadlines[i] + 7,
+          "deadline " + deadlines[i] + " ran at " + ranAt[i]);
+    }
+    assertEquals(0, wheel.getPendingCount());
+  }
+
+  @Test
+  @DisplayName("Test a failing task does not stop the wheel")
+  void testFailingTask() {
+    AtomicInteger runs = new AtomicInteger();
+    wheel.schedule(() -> {
+      throw new RuntimeException("failed on purpose");
+    }, 10, TimeUnit.MILLISECONDS);
+    wheel.schedule(runs::incrementAndGet, 10, TimeUnit.MILLISECONDS);
+    advanceTicks(1);
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  @DisplayName("Test the background thread runs the tasks")
+  void testBackgroundThread() throws InterruptedException {
+    try (TimingWheel threadWheel = TimingWheel.start(5)) {
+      CountDownLatch latch = new CountDownLatch(3);
+      for (int i = 0; i < 3; i++) {
+        threadWheel.schedule(latch::countDown, 20 * i, TimeUnit.MILLISECONDS);
+      }
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  @DisplayName("Test invalid arguments and a closed wheel are refused")
+  void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> TimingWheel.start(0));
+    assertThrows(IllegalArgumentException.class, () -> new TimingWheel(10, null));
+    assertThrows(IllegalArgumentException.class,
+        () -> wheel.schedule(null, 10, TimeUnit.MILLISECONDS));
+    assertThrows(IllegalArgumentException.class,
+        () -> wheel.schedule(() -> { }, -1, TimeUnit.MILLISECONDS));
+    wheel.close();
+    assertThrows(IllegalStateException.class,
+        () -> wheel.schedule(() -> { }, 10, TimeUnit.MILLISECONDS));
+  }
+}
@@ -0,0 +1,159 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.WrongLoginCredentialsException;
+import de.hhn.it.devtools.components.passGen.provider.BloomFilter;
+import de.hhn.it.devtools.components.passGen.provider.HmacTokenService;
+import de.hhn.it.devtools.components.passGen.provider.NegativeTokenCache;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUser;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import de.hhn.it.devtools.components.passGen.provider.TokenFilterConfig;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestTokenFilters {
+
+  @Test
+  @DisplayName("Test the Bloom filter finds every token put in and few others")
+  void testBloomFilter() {
+    BloomFilter filter = new BloomFilter(1000, 0.01);
+    for (int i = 0; i < 1000; i++) {
+      filter.put("token" + i);
+    }
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(filter.mightContain("token" + i));
+    }
+    int falsePositives = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (filter.mightContain("other" + i)) {
+        falsePositives++;
+      }
+    }
+    // about 100 expected, leave room for the spread
+    assertTrue(falsePositives < 300, falsePositives + " false positives");
+    assertEquals(1000, filter.getInsertionCount());
+    assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+    assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1.0));
+  }
+
+  @Test
+  @DisplayName("Test the negative cache drops its oldest generation")
+  void testNegativeCacheGenerations() {
+    NegativeTokenCache cache = new NegativeTokenCache(10);
+    for (int i = 0; i < 25; i++) {
+      cache.add("token" + i);
+    }
+    assertTrue(cache.size() <= 20);
+    assertFalse(cache.contains("token0"));
+    assertTrue(cache.contains("token24"));
+    cache.remove("token24");
+    assertFalse(cache.contains("token24"));
+  }
+
+  @Test
+  @DisplayName("Test the negative cache keeps a full generation of tokens")
+  void testNegativeCacheCapacity() {
+    NegativeTokenCache cache = new NegativeTokenCache(4096);
+    for (int i = 0; i < 4095; i++) {
+      cache.add("token" + i);
+    }
+    int found = 0;
+    for (int i = 0; i < 4095; i++) {
+      if (cache.contains("token" + i)) {
+        found++;
+      }
+    }
+    // a token is only dropped early if its window of slots overflows
+    assertTrue(found > 4000, found + " tokens found");
+    assertFalse(cache.contains("other"));
+    assertThrows(IllegalArgumentException.class, () -> new NegativeTokenCache(0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new TokenFilterConfig(16, 0.01, NegativeTokenCache.MAX_GENERATION_SIZE + 1));
+  }
+
+  @Test
+  @DisplayName("Test the configuration is read from properties")
+  void testConfigFromProperties() throws IllegalParameterException {
+    Properties properties = new Properties();
+    properties.setProperty(TokenFilterConfig.NEGATIVE_CACHE_SIZE, "128");
+    TokenFilterConfig config = TokenFilterConfig.fromProperties(properties);
+    assertEquals(128, config.getNegativeCacheSize());
+    assertEquals(new TokenFilterConfig().getRevokedExpected(), config.getRevokedExpected());
+    properties.setProperty(TokenFilterConfig.REVOKED_FALSE_POSITIVE_RATE, "2");
+    assertThrows(IllegalParameterException.class,
+        () -> TokenFilterConfig.fromProperties(properties));
+    properties.setProperty(TokenFilterConfig.REVOKED_FALSE_POSITIVE_RATE, "many");
+    assertThrows(IllegalParameterException.class,
+        () -> TokenFilterConfig.fromProperties(properties));
+  }
+
+  @Test
+  @DisplayName("Test revoked signed tokens stay revoked across filter generations")
+  void testRevokedFilterGenerations() throws IllegalParameterException {
+    AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+    HmacTokenService service = new HmacTokenService(HmacTokenService.createKey(), 60_000,
+        clock::get);
+    service.setTokenFilterConfig(new TokenFilterConfig(4, 0.01, 16));
+    String[] tokens = new String[10];
+    for (int i = 0; i < tokens.length; i++) {
+      tokens[i] = service.issueToken(i + 1);
+      clock.addAndGet(1000);
+    }
+    for (int i = 0; i < tokens.length; i += 2) {
+      assertTrue(service.revokeToken(tokens[i]));
+    }
+    for (int i = 0; i < tokens.length; i++) {
+      assertEquals(i % 2 == 0 ? 0 : i + 1, service.verifyToken(tokens[i]));
+    }
+    service.setTokenFilterConfig(null);
+    assertNull(service.getTokenFilterConfig());
+    assertEquals(0, service.verifyToken(tokens[0]));
+    assertEquals(2, service.verifyToken(tokens[1]));
+  }
+
+  @Test
+  @DisplayName("Test unknown tokens are cached but a later session token is found")
+  void testNegativeCacheInService() throws WrongLoginCredentialsException {
+    SimpleUserManagementService service = new SimpleUserManagementService();
+    service.setTokenFilterConfig(new TokenFilterConfig());
+    int userId = service.createUser("user@example.com", "password123", false);
+    assertNull(service.getUserByToken("unknown"));
+    assertNull(service.getUserByToken("unknown"));
+
+    service.login("user@example.com", "password123");
+    SimpleUser user = service.getUser(userId);
+    String token = user.getToken().toString();
+    assertSame(user, service.getUserByToken(token));
+
+    service.removeUser(userId);
+    assertNull(service.getUserByToken(token));
+    assertNull(service.getUserByToken(token));
+  }
+}
@@ -26,7 +26,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -164,4 +170,50 @@ public class TestTokenGenerationBadCases {
     token.setExpirationTime(token.getTokenFromMap(user5), 600);
     assertTrue(token.isExpired(token.getTokenFromMap(user5), user5));
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("Test concurrent generation for the same user hands out one token")
+  public void testConcurrentGenerationForSameUser() throws InterruptedException {
+    SimpleToken tokens = new SimpleToken(null, new ConcurrentHashMap<>(),
+        new ConcurrentHashMap<>(), userService);
+    AtomicInteger generated = new AtomicInteger();
+    AtomicInteger refused = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      threads.add(new Thread(() -> {
+        try {
+          start.await();
+          tokens.generateToken(userId1);
+          generated.incrementAndGet();
+        } catch (TooManyTokensException e) {
+          refused.incrementAndGet();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(1, generated.get());
+    assertEquals(7, refused.get());
+    assertEquals(user1.getToken(), tokens.getTokenFromMap(user1));
+  }
+
+  @Test
+  @DisplayName("Test renewing an expired or unknown token")
+  public void testRenewExpiredToken() throws TooManyTokensException {
+    token.generateToken(userId1);
+    SimpleToken generated = user1.getToken();
+    token.setExpirationTime(generated, 600);
+    assertNull(token.renewToken(generated));
+    assertTrue(token.isExpired(generated, user1));
+    assertNull(token.renewToken(generated));
+    assertThrows(IllegalArgumentException.class, () -> token.renewToken(null));
+    assertThrows(IllegalArgumentException.class,
+        () -> token.setMaxLifetime(Duration.ofSeconds(10)));
+  }
+}
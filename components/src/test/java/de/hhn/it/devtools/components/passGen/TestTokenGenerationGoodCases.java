@@ -19,14 +19,25 @@
 package de.hhn.it.devtools.components.passGen;
 
 import de.hhn.it.devtools.apis.exceptions.TooManyTokensException;
+import de.hhn.it.devtools.components.passGen.provider.DrbgRandomSource;
 import de.hhn.it.devtools.components.passGen.provider.SimpleToken;
 import de.hhn.it.devtools.components.passGen.provider.SimpleUser;
 import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import de.hhn.it.devtools.components.passGen.provider.TimingWheel;
+import de.hhn.it.devtools.components.passGen.provider.TokenIssue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -175,4 +186,142 @@ public class TestTokenGenerationGoodCases {
 
     assertNull(user.getToken());
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("Test expired token is removed by the timing wheel without being checked")
+  public void testTokenExpiresOnTimingWheel() throws TooManyTokensException {
+    AtomicLong clock = new AtomicLong();
+    TimingWheel wheel = new TimingWheel(1000, clock::get);
+    HashMap<SimpleToken, LocalDateTime> creationTimes = new HashMap<>();
+    HashMap<SimpleToken, LocalDateTime> expirationTimes = new HashMap<>();
+    SimpleToken tokens = new SimpleToken(null, creationTimes, expirationTimes, userService,
+        new DrbgRandomSource(), wheel);
+    tokens.generateToken(userId);
+    SimpleToken generated = user.getToken();
+    assertEquals(1, wheel.getPendingCount());
+
+    tokens.setExpirationTime(generated, 600);
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(599));
+    wheel.advance();
+
+    assertNull(user.getToken());
+    assertNull(tokens.getTokenFromMap(user));
+    assertNull(userService.getUserByToken(generated.toString()));
+    assertTrue(creationTimes.isEmpty());
+    assertTrue(expirationTimes.isEmpty());
+    assertEquals(0, wheel.getPendingCount());
+  }
+
+  @Test
+  @DisplayName("Test timing wheel waits again if the token is not expired yet")
+  public void testTokenNotYetExpiredOnTimingWheel() throws TooManyTokensException {
+    AtomicLong clock = new AtomicLong();
+    TimingWheel wheel = new TimingWheel(1000, clock::get);
+    SimpleToken tokens = new SimpleToken(null, new HashMap<>(), new HashMap<>(), userService,
+        new DrbgRandomSource(), wheel);
+    tokens.generateToken(userId);
+    SimpleToken generated = user.getToken();
+
+    // the wall clock did not move, so the token is still valid when the wheel fires
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(599));
+    wheel.advance();
+    assertEquals(generated, user.getToken());
+    assertEquals(1, wheel.getPendingCount());
+
+    // removing the token cancels its expiry
+    tokens.removeTokenTimeInfo(generated);
+    assertEquals(0, wheel.getPendingCount());
+  }
+
+  @Test
+  @DisplayName("Test concurrent generation for different users")
+  public void testConcurrentGenerationForDifferentUsers() throws InterruptedException {
+    ConcurrentHashMap<SimpleToken, LocalDateTime> creationTimes = new ConcurrentHashMap<>();
+    ConcurrentHashMap<SimpleToken, LocalDateTime> expirationTimes = new ConcurrentHashMap<>();
+    SimpleToken tokens = new SimpleToken(null, creationTimes, expirationTimes, userService);
+    int usersPerThread = 200;
+    List<Thread> threads = new ArrayList<>();
+    List<Throwable> failures = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      List<Integer> ids = new ArrayList<>();
+      for (int i = 0; i < usersPerThread; i++) {
+        ids.add(userService.createUser("user" + t + "-" + i + "@example.com", "password", true));
+      }
+      threads.add(new Thread(() -> {
+        try {
+          for (int id : ids) {
+            tokens.generateToken(id);
+          }
+        } catch (TooManyTokensException | RuntimeException e) {
+          synchronized (failures) {
+            failures.add(e);
+          }
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertTrue(failures.isEmpty());
+    assertEquals(8 * usersPerThread, creationTimes.size());
+    assertEquals(8 * usersPerThread, expirationTimes.size());
+    for (SimpleUser current : userService.getUsers().values()) {
+      if (current != user) {
+        assertEquals(current.getToken(), tokens.getTokenFromMap(current));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Test batch generation for a team")
+  public void testGenerateTokens() throws TooManyTokensException {
+    int secondId = userService.createUser("second@example.com", "password", true);
+    int thirdId = userService.createUser("third@example.com", "password", true);
+    token.generateToken(secondId);
+    SimpleToken existing = userService.getUser(secondId).getToken();
+
+    Map<Integer, TokenIssue> outcomes = token.generateTokens(List.of(userId, secondId, thirdId, 999));
+
+    assertEquals(TokenIssue.ISSUED, outcomes.get(userId));
+    assertEquals(TokenIssue.ALREADY_HAS_TOKEN, outcomes.get(secondId));
+    assertEquals(TokenIssue.ISSUED, outcomes.get(thirdId));
+    assertEquals(TokenIssue.UNKNOWN_USER, outcomes.get(999));
+    assertEquals(existing, userService.getUser(secondId).getToken());
+    SimpleToken first = user.getToken();
+    SimpleToken third = userService.getUser(thirdId).getToken();
+    assertEquals(12, first.toString().length());
+    assertFalse(first.toString().equals(third.toString()));
+    assertEquals(token.getCreationTime(first), token.getCreationTime(third));
+    assertEquals(first, token.getTokenFromMap(user));
+    assertEquals(user, userService.getUserByToken(first.toString()));
+  }
+
+  @Test
+  @DisplayName("Test renewing a token keeps its value and moves its expiration time")
+  public void testRenewToken() throws TooManyTokensException {
+    token.generateToken(userId);
+    SimpleToken generated = user.getToken();
+    String value = generated.toString();
+    token.setExpirationTime(generated, 300);
+    LocalDateTime before = token.getExpirationTime(generated);
+
+    LocalDateTime renewed = token.renewToken(generated);
+    assertTrue(renewed.isAfter(before.plusSeconds(299)));
+    assertEquals(renewed, token.getExpirationTime(generated));
+    assertEquals(value, user.getToken().toString());
+    assertFalse(token.isExpired(generated, user));
+  }
+
+  @Test
+  @DisplayName("Test renewing stops at the maximum lifetime")
+  public void testRenewTokenUpToMaxLifetime() throws TooManyTokensException {
+    token.setMaxLifetime(Duration.ofSeconds(599));
+    token.generateToken(userId);
+    SimpleToken generated = user.getToken();
+    token.setExpirationTime(generated, 300);
+    LocalDateTime limit = token.getCreationTime(generated).plusSeconds(599);
+    assertEquals(limit, token.renewToken(generated));
+    assertEquals(limit, token.renewToken(generated));
+  }
+}
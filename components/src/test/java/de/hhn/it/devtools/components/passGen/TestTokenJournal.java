@@ -0,0 +1,273 @@
+/**
+ * This file is part of PassGen.
+ *
+ * Copyright (c) 2025 Enes Korkmaz, Nico Staudacher, Nadine Schoch and Nazanin Golalizadeh
+ *
+ * PassGen is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License Version 3 as published by
+ * the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.hhn.it.devtools.components.passGen;
+
+import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
+import de.hhn.it.devtools.apis.exceptions.IllegalStateException;
+import de.hhn.it.devtools.apis.exceptions.TooManyTokensException;
+import de.hhn.it.devtools.apis.exceptions.WrongLoginCredentialsException;
+import de.hhn.it.devtools.components.passGen.provider.SimpleToken;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUser;
+import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import de.hhn.it.devtools.components.passGen.provider.TokenIssue;
+import de.hhn.it.devtools.components.passGen.provider.TokenJournal;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestTokenJournal {
+  private Path directory;
+  private AtomicLong clock;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    directory = Files.createTempDirectory("token-journal");
+    clock = new AtomicLong(1_700_000_000_000L);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  private TokenJournal open(int snapshotThreshold) throws IllegalParameterException {
+    return new TokenJournal(directory, false, snapshotThreshold, clock::get);
+  }
+
+  private static Map<String, Long> expiries(TokenJournal journal) {
+    return journal.getRestoredTokens().stream().collect(Collectors.toMap(
+        TokenJournal.TokenRecord::getToken, TokenJournal.TokenRecord::getExpiresAtMillis));
+  }
+
+  @Test
+  @DisplayName("Test issued, renewed and revoked tokens are replayed after a restart")
+  void testReplay() throws IllegalParameterException {
+    long now = clock.get();
+    try (TokenJournal journal = open(1000)) {
+      assertTrue(journal.getRestoredTokens().isEmpty());
+      journal.issued(1, "first", now, now + 1000);
+      journal.issued(2, "second", now, now + 1000);
+      journal.issued(3, "third", now, now + 1000);
+      journal.issued(4, "session", now, TokenJournal.NO_EXPIRY);
+      journal.renewed("first", now + 5000);
+      journal.revoked("second");
+      // a new token replaces the one the user had before
+      journal.issued(3, "fourth", now, now + 3000);
+    }
+    clock.addAndGet(2000);
+    try (TokenJournal journal = open(1000)) {
+      assertEquals(Map.of("first", now + 5000, "fourth", now + 3000,
+          "session", TokenJournal.NO_EXPIRY), expiries(journal));
+    }
+    clock.addAndGet(2000);
+    try (TokenJournal journal = open(1000)) {
+      assertEquals(Map.of("first", now + 5000, "session", TokenJournal.NO_EXPIRY),
+          expiries(journal));
+    }
+  }
+
+  @Test
+  @DisplayName("Test a renewal logged before the issue of its token is not lost")
+  void testRenewalBeforeIssue() throws IllegalParameterException {
+    long now = clock.get();
+    try (TokenJournal journal = open(1000)) {
+      journal.renewed("token", now + 5000);
+      journal.issued(1, "token", now, now + 1000);
+      journal.renewed("orphan", now + 5000);
+    }
+    try (TokenJournal journal = open(1000)) {
+      TokenJournal.TokenRecord record = journal.getRestoredTokens().get(0);
+      assertEquals(1, journal.getRestoredTokens().size());
+      assertEquals(1, record.getUserId());
+      assertEquals(now, record.getCreatedAtMillis());
+      assertEquals(now + 5000, record.getExpiresAtMillis());
+    }
+  }
+
+  @Test
+  @DisplayName("Test snapshots compact the log and keep the tokens")
+  void testSnapshot() throws IllegalParameterException, IOException {
+    long now = clock.get();
+    try (TokenJournal journal = open(10)) {
+      for (int userId = 1; userId <= 25; userId++) {
+        journal.issued(userId, "token" + userId, now, now + 1000);
+      }
+      journal.revoked("token25");
+      journal.sync();
+      assertTrue(Files.exists(directory.resolve("tokens.snapshot")));
+      journal.snapshot();
+      assertEquals(0, Files.size(directory.resolve("tokens.wal")));
+      assertEquals(26, journal.getLoggedEventCount());
+      assertTrue(journal.getCommitCount() <= journal.getLoggedEventCount());
+    }
+    try (TokenJournal journal = open(10)) {
+      assertEquals(24, journal.getRestoredTokens().size());
+    }
+  }
+
+  @Test
+  @DisplayName("Test a torn end of the log is cut off")
+  void testTornLog() throws IllegalParameterException, IOException {
+    long now = clock.get();
+    try (TokenJournal journal = open(1000)) {
+      journal.issued(1, "token", now, now + 1000);
+    }
+    Files.write(directory.resolve("tokens.wal"), new byte[] {0, 0, 0, 40, 1, 2},
+        StandardOpenOption.APPEND);
+    try (TokenJournal journal = open(1000)) {
+      assertEquals(Map.of("token", now + 1000), expiries(journal));
+      journal.issued(2, "other", now, now + 1000);
+    }
+    try (TokenJournal journal = open(1000)) {
+      assertEquals(2, journal.getRestoredTokens().size());
+    }
+  }
+
+  @Test
+  @DisplayName("Test waiting for the disk and writing to a closed journal")
+  void testWaitForCommitAndClose() throws IllegalParameterException, IOException {
+    TokenJournal journal = new TokenJournal(directory, true, 1000, clock::get);
+    assertTrue(journal.isWaitForCommit());
+    journal.issued(1, "token", clock.get(), clock.get() + 1000);
+    assertTrue(Files.size(directory.resolve("tokens.wal")) > 0);
+    assertEquals(1, journal.getCommitCount());
+    journal.close();
+    assertThrows(IllegalStateException.class, () -> journal.revoked("token"));
+    assertThrows(IllegalParameterException.class,
+        () -> new TokenJournal(directory, false, 0, clock::get));
+    assertThrows(IllegalParameterException.class,
+        () -> new TokenJournal(null));
+  }
+
+  @Test
+  @DisplayName("Test an error of the writer only fails its own batch")
+  void testWriterError() throws IllegalParameterException {
+    AtomicBoolean broken = new AtomicBoolean();
+    TokenJournal journal = new TokenJournal(directory, false, 1000, () -> {
+      if (broken.get()) {
+        throw new ArithmeticException("broken clock");
+      }
+      return clock.get();
+    });
+    journal.issued(1, "token", clock.get(), clock.get() + 1000);
+    broken.set(true);
+    // the snapshot reads the clock on the writer thread
+    assertThrows(IllegalStateException.class, journal::snapshot);
+    // the events before the snapshot are on disk, later ones are written as usual
+    journal.sync();
+    broken.set(false);
+    journal.issued(2, "later", clock.get(), clock.get() + 1000);
+    journal.snapshot();
+    assertEquals(0, journal.getDroppedEventCount());
+    journal.close();
+
+    try (TokenJournal reopened = open(1000)) {
+      assertEquals(Map.of("token", clock.get() + 1000, "later", clock.get() + 1000),
+          expiries(reopened));
+    }
+  }
+
+  @Test
+  @DisplayName("Test a token the journal cannot log is taken back")
+  void testUnloggedToken() throws IllegalParameterException, TooManyTokensException {
+    SimpleUserManagementService userService = createUsers();
+    SimpleToken tokens = new SimpleToken(null, new ConcurrentHashMap<>(),
+        new ConcurrentHashMap<>(), userService);
+    TokenJournal journal = new TokenJournal(directory, true, 1000, clock::get);
+    tokens.restoreTokens(journal);
+    userService.restoreSessions(journal);
+    tokens.generateToken(1);
+    journal.close();
+
+    assertThrows(IllegalStateException.class, () -> tokens.generateToken(2));
+    assertNull(userService.getUser(2).getToken());
+    assertEquals(TokenIssue.NOT_LOGGED, tokens.generateTokens(List.of(3)).get(3));
+    assertNull(userService.getUser(3).getToken());
+    assertThrows(IllegalStateException.class,
+        () -> userService.login("user3@example.com", "password3"));
+    assertNull(userService.getUser(3).getToken());
+    assertNotNull(userService.getUser(1).getToken());
+  }
+
+  @Test
+  @DisplayName("Test tokens and sessions survive a restart of the services")
+  void testRestartServices() throws IllegalParameterException, TooManyTokensException,
+      WrongLoginCredentialsException {
+    String token;
+    String session;
+    try (TokenJournal journal = new TokenJournal(directory)) {
+      SimpleUserManagementService userService = createUsers();
+      SimpleToken tokens = new SimpleToken(null, new ConcurrentHashMap<>(),
+          new ConcurrentHashMap<>(), userService);
+      assertEquals(0, tokens.restoreTokens(journal));
+      assertEquals(0, userService.restoreSessions(journal));
+      tokens.generateToken(1);
+      tokens.generateTokens(List.of(3));
+      userService.login("user2@example.com", "password2");
+      tokens.removeTokenTimeInfo(userService.getUser(3).getToken());
+      token = userService.getUser(1).getToken().toString();
+      session = userService.getUser(2).getToken().toString();
+    }
+
+    try (TokenJournal journal = new TokenJournal(directory)) {
+      SimpleUserManagementService userService = createUsers();
+      SimpleToken tokens = new SimpleToken(null, new ConcurrentHashMap<>(),
+          new ConcurrentHashMap<>(), userService);
+      assertEquals(1, tokens.restoreTokens(journal));
+      assertEquals(1, userService.restoreSessions(journal));
+      SimpleUser user1 = userService.getUser(1);
+      assertEquals(token, user1.getToken().toString());
+      assertNotNull(tokens.getExpirationTime(user1.getToken()));
+      assertSame(userService.getUser(2), userService.getUserByToken(session));
+      assertNull(userService.getUser(3).getToken());
+    }
+  }
+
+  private static SimpleUserManagementService createUsers() {
+    SimpleUserManagementService userService = new SimpleUserManagementService();
+    for (int i = 1; i <= 3; i++) {
+      userService.createUser("user" + i + "@example.com", "password" + i, false);
+    }
+    return userService;
+  }
+}
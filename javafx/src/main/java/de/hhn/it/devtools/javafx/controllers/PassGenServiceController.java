@@ -23,6 +23,7 @@ import de.hhn.it.devtools.apis.exceptions.WrongLoginCredentialsException;
 import de.hhn.it.devtools.apis.passGen.AdminLockerService;
 import de.hhn.it.devtools.apis.passGen.Locker;
 import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.components.passGen.provider.PasswordHasher;
 import de.hhn.it.devtools.components.passGen.provider.SimpleAdminLockerService;
 import de.hhn.it.devtools.components.passGen.provider.SimpleLockerService;
 import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
@@ -34,7 +35,9 @@ import de.hhn.it.devtools.javafx.passGen.viewmodel.MainScreenViewModel;
 import de.hhn.it.devtools.javafx.passGen.viewmodel.UserManagementViewModel;
 import java.net.URL;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletionException;
 import javafx.animation.TranslateTransition;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Alert;
@@ -95,6 +98,9 @@ public class PassGenServiceController extends Controller implements Initializabl
     logger.info("Creating PassGenServiceController");
 
     createDemoData();
+    // set after the demo users, whose passwords are hashed at their first login off the
+    // FX thread instead of slowing down the start
+    userManagementService.setPasswordHasher(new PasswordHasher());
     createVms();
   }
 
@@ -215,6 +221,10 @@ public class PassGenServiceController extends Controller implements Initializabl
    * This is a placeholder function and should be replaced with actual login logic.
    */
   public void clickLoginButton() {
+    if (loginButton.isDisabled()) {
+      // enter in a text field while a login is still checked
+      return;
+    }
     logger.info("Login button pressed - attempting to authenticate");
 
     try {
@@ -223,17 +233,14 @@ public class PassGenServiceController extends Controller implements Initializabl
         controller.switchTo("LoginScreen", "MainScreen");
         logger.info("Token authentication successful - navigating to MainScreen");
       } else if (areCredentialsPresent()) {
-        userManagementViewModel.login();
-        navigateBasedOnUserRole();
+        loginButton.setDisable(true);
+        userManagementViewModel.login().whenCompleteAsync((ignored, error) ->
+            finishLogin(error), Platform::runLater);
       } else {
         logger.error(
             "Authentication failed: Both token and login credentials are not provided or invalid");
         alertWrongPass();
       }
-    } catch (WrongLoginCredentialsException e) {
-      logger.error("Login error: Wrong credentials", e);
-      shakeFieldLogin(0, 1, 1);
-      alertWrongPass();
     } catch (IllegalParameterException e) {
       logger.error("Login error: Illegal token", e);
       shakeFieldLogin(1, 0, 0);
@@ -242,6 +249,26 @@ public class PassGenServiceController extends Controller implements Initializabl
     }
   }
 
+  /**
+   * Finishes a login with email and password on the FX thread.
+   *
+   * @param error the reason the login failed or null if it succeeded
+   */
+  private void finishLogin(Throwable error) {
+    loginButton.setDisable(false);
+    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+    if (cause == null) {
+      navigateBasedOnUserRole();
+    } else if (cause instanceof WrongLoginCredentialsException) {
+      logger.error("Login error: Wrong credentials", cause);
+      shakeFieldLogin(0, 1, 1);
+      alertWrongPass();
+    } else {
+      logger.error("Login error", cause);
+      alertWrongPass();
+    }
+  }
+
   private boolean isTokenPresent() {
     return userManagementViewModel.tokenProperty().get() != null
         && !userManagementViewModel.tokenProperty().get().isEmpty();
@@ -22,6 +22,7 @@ import de.hhn.it.devtools.apis.exceptions.IllegalParameterException;
 import de.hhn.it.devtools.apis.passGen.AdminLockerService;
 import de.hhn.it.devtools.apis.passGen.Locker;
 import de.hhn.it.devtools.apis.passGen.LockerState;
+import de.hhn.it.devtools.apis.passGen.PackedPasscode;
 import de.hhn.it.devtools.components.passGen.provider.SimpleLocker;
 import de.hhn.it.devtools.components.passGen.provider.SimpleLockerService;
 import javafx.beans.property.ObjectProperty;
@@ -127,7 +128,7 @@ public class LockerViewModel {
   public void createPassCode(Locker locker) throws IllegalParameterException {
     int lockerId = locker.getId();
     lockerService.createLockerPassword(lockerId);
-    passcode.set(String.valueOf(locker.getPassword()));
+    passcode.set(PackedPasscode.toString(locker.getPasscode()));
   }
 
   /**
@@ -234,7 +235,7 @@ public class LockerViewModel {
   public void generatePasscode(Locker locker) {
     try {
       lockerService.createLockerPassword(locker.getId());
-      passcode.set(String.valueOf(locker.getPassword()));
+      passcode.set(PackedPasscode.toString(locker.getPasscode()));
     } catch (IllegalParameterException e) {
       throw new RuntimeException(e);
     }
@@ -247,8 +248,8 @@ public class LockerViewModel {
    */
   public void confirmPasscode(Locker locker) {
     try {
-      int enteredPasscode = Integer.parseInt(passcode.get());
-      lockerService.unlockLocker(locker.getId(), enteredPasscode);
+      long enteredPasscode = PackedPasscode.parse(passcode.get());
+      lockerService.unlockLockerWithPasscode(locker.getId(), enteredPasscode);
     } catch (IllegalParameterException | IllegalStateException e) {
       throw new RuntimeException(e);
     }
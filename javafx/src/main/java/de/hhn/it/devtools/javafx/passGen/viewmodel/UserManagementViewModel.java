@@ -23,6 +23,8 @@ import de.hhn.it.devtools.apis.exceptions.WrongLoginCredentialsException;
 import de.hhn.it.devtools.components.passGen.provider.SimpleToken;
 import de.hhn.it.devtools.components.passGen.provider.SimpleUser;
 import de.hhn.it.devtools.components.passGen.provider.SimpleUserManagementService;
+import java.util.concurrent.CompletableFuture;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -57,31 +59,36 @@ public class UserManagementViewModel {
   }
 
   /**
-   * Logs in a user using email and password.
+   * Logs in a user using email and password. The password is checked on the pool of the
+   * service, so the FX thread is not blocked while it is hashed. The user type and token are
+   * set on the FX thread afterwards.
    *
-   * @throws WrongLoginCredentialsException if the login credentials are incorrect
+   * @return completes when the properties are set, or with a
+   *         {@link WrongLoginCredentialsException} if the login credentials are incorrect
    */
-  public void login() throws WrongLoginCredentialsException {
-    userManagementService.login(email.get(), password.get());
-    for (SimpleUser user : userManagementService.getUsers().values()) {
-      if (user.getAddress().equals(email.get()) && user.getPassword().equals(password.get())) {
-        userType.set(user.isUser());
-        SimpleToken userToken = user.getToken();
-        if (userToken != null) {
-          setToken(userToken.toString());
-          logger.debug("Token generated for user: {} with token: {} and isUser: {}",
-                  email.get(), userToken.toString(), user.isUser());
-        } else {
-          logger.warn("User token is null for user: {}", email.get());
-          // Handle the null token case as required
-          // at the moment for users without token the token is null
-          // token gets generated in that case and renewed every login
-          // if login with email was used. If login with token is used
-          // the token will expire after 599sec
-        }
-      }
+  public CompletableFuture<Void> login() {
+    String address = email.get();
+    return userManagementService.loginAsync(address, password.get())
+        .thenRunAsync(() -> finishLogin(address), Platform::runLater);
+  }
+
+  private void finishLogin(String address) {
+    SimpleUser user = userManagementService.getUserByAddress(address);
+    userType.set(user.isUser());
+    SimpleToken userToken = user.getToken();
+    if (userToken != null) {
+      setToken(userToken.toString());
+      logger.debug("Token generated for user: {} with token: {} and isUser: {}",
+              address, userToken.toString(), user.isUser());
+    } else {
+      logger.warn("User token is null for user: {}", address);
+      // Handle the null token case as required
+      // at the moment for users without token the token is null
+      // token gets generated in that case and renewed every login
+      // if login with email was used. If login with token is used
+      // the token will expire after 599sec
     }
-    logger.info("Login successful for user: {}", email.get());
+    logger.info("Login successful for user: {}", address);
   }
 
   /**
@@ -133,18 +140,12 @@ public class UserManagementViewModel {
    * @throws IllegalParameterException if the token is incorrect
    */
   public void tokenLogin() throws IllegalParameterException {
-    boolean tokenMatch = false;
-    for (SimpleUser user : userManagementService.getUsers().values()) {
-      SimpleToken userToken = user.getToken();
-      if (userToken != null && userToken.toString().equals(token.get())) {
-        tokenMatch = true;
-        userType.set(user.isUser());
-      }
-    }
-    if (!tokenMatch) {
+    SimpleUser user = userManagementService.getUserByToken(token.get());
+    if (user == null) {
       logger.error("Token login failed for token: {}", token.get());
       throw new IllegalParameterException("Token is incorrect.");
     }
+    userType.set(user.isUser());
     logger.info("Token login successful for token: {}", token.get());
   }
 